@@ -0,0 +1,179 @@
+package org.zsz.uniitf.benchmark;
+
+import com.alibaba.fastjson.JSON;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.zsz.uniitf.dispatcher.HandlerAdapter;
+import org.zsz.uniitf.dispatcher.HandlerDefinition;
+import org.zsz.uniitf.dispatcher.RemoteRequestInfo;
+import org.zsz.uniitf.dispatcher.enumerate.InvokerStrategy;
+import org.zsz.uniitf.dispatcher.support.ClassUtil;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 参数转换: 基本类型、枚举、自定义类型参数
+ * adapter 为 HandlerAdapter 预编译的转换, legacy 为逐个参数调用 ClassUtil.converterStringOrJsonValue
+ * (自定义类型先将 argMap 序列化为 JSON 再解析) 的原始方式
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 17:20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BindingBenchmark {
+
+    @Param({"PRIMITIVE", "ENUM", "DTO"})
+    private String kind;
+
+    private HandlerAdapter adapter;
+
+    private HandlerDefinition definition;
+
+    private Map<String, String> argMap;
+
+    private Class<?>[] parameterTypes;
+
+    private String[] parameterNames;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        argMap = new HashMap<>(8);
+        Method method;
+        switch (kind) {
+            case "PRIMITIVE":
+                method = SampleController.class.getMethod("primitive", long.class, int.class, boolean.class);
+                parameterNames = new String[]{"id", "count", "enabled"};
+                argMap.put("id", "1234567");
+                argMap.put("count", "42");
+                argMap.put("enabled", "true");
+                break;
+            case "ENUM":
+                method = SampleController.class.getMethod("enumerate", Color.class, Color.class);
+                parameterNames = new String[]{"from", "to"};
+                argMap.put("from", "RED");
+                argMap.put("to", "BLUE");
+                break;
+            default:
+                method = SampleController.class.getMethod("dto", Order.class);
+                parameterNames = new String[]{"order"};
+                argMap.put("id", "1234567");
+                argMap.put("name", "order-name");
+                argMap.put("amount", "99.5");
+                argMap.put("color", "GREEN");
+                argMap.put("paid", "true");
+        }
+        parameterTypes = method.getParameterTypes();
+        definition = new HandlerDefinition(new RemoteRequestInfo("/sample/" + kind, null), new SampleController(), method);
+        // DTO 参数未标注 @RequestParam, 以整个 argMap 绑定
+        adapter = new HandlerAdapter(definition, InvokerStrategy.METHOD_HANDLE, null, true);
+    }
+
+    @Benchmark
+    public Object[] adapter() {
+        return adapter.resolveArguments(definition, argMap);
+    }
+
+    @Benchmark
+    public Object[] legacy() {
+        Object[] values = new Object[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Class<?> type = parameterTypes[i];
+            if (ClassUtil.isJavaClass(type) || type.isEnum()) {
+                values[i] = ClassUtil.converterStringOrJsonValue(argMap.get(parameterNames[i]), type);
+            } else {
+                values[i] = ClassUtil.converterStringOrJsonValue(JSON.toJSONString(argMap), type);
+            }
+        }
+        return values;
+    }
+
+    public enum Color {
+        RED, GREEN, BLUE
+    }
+
+    public static class Order {
+
+        private long id;
+
+        private String name;
+
+        private double amount;
+
+        private Color color;
+
+        private boolean paid;
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public double getAmount() {
+            return amount;
+        }
+
+        public void setAmount(double amount) {
+            this.amount = amount;
+        }
+
+        public Color getColor() {
+            return color;
+        }
+
+        public void setColor(Color color) {
+            this.color = color;
+        }
+
+        public boolean isPaid() {
+            return paid;
+        }
+
+        public void setPaid(boolean paid) {
+            this.paid = paid;
+        }
+    }
+
+    public static class SampleController {
+
+        public long primitive(@RequestParam("id") long id, @RequestParam("count") int count,
+                              @RequestParam("enabled") boolean enabled) {
+            return enabled ? id + count : id;
+        }
+
+        public String enumerate(@RequestParam("from") Color from, @RequestParam("to") Color to) {
+            return from.name() + to.name();
+        }
+
+        public Order dto(Order order) {
+            return order;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.zsz.uniitf.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.zsz.uniitf.dispatcher.DispatcherService;
+import org.zsz.uniitf.dispatcher.client.DispatcherClient;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.metrics.MetricsRegistry;
+import org.zsz.uniitf.dispatcher.server.DispatcherHttpServer;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 客户端代理经内嵌 HTTP 服务的同步调用: 16 个线程共用 4 个池化连接
+ * batchWindowMillis=0 时每次调用单独发送, 大于 0 时窗口内的调用合并为一次批量请求
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:40
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+public class ClientBenchmark {
+
+    @Param({"0", "1"})
+    private long batchWindowMillis;
+
+    private AnnotationConfigApplicationContext context;
+
+    private DispatcherHttpServer server;
+
+    private DispatcherClient client;
+
+    private UserApi userApi;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(DispatcherProperties.class, MetricsRegistry.class,
+                DispatcherService.class, DispatchBenchmark.BenchController.class);
+        DispatcherProperties properties = context.getBean(DispatcherProperties.class);
+        properties.getServer().setPort(0);
+        server = new DispatcherHttpServer(context.getBean(DispatcherService.class), properties);
+        server.start();
+        properties.getClient().setPort(server.getPort());
+        properties.getClient().setMaxConnections(4);
+        properties.getClient().setBatchWindowMillis(batchWindowMillis);
+        client = new DispatcherClient(properties);
+        userApi = client.create(UserApi.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.destroy();
+        server.stop();
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> call() {
+        return userApi.detail(42L);
+    }
+
+    @RequestMapping("/bench/user")
+    public interface UserApi {
+
+        @GetMapping("/{id}/detail")
+        Map<String, Object> detail(@RequestParam("id") long id);
+    }
+}
@@ -0,0 +1,190 @@
+package org.zsz.uniitf.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.zsz.uniitf.dispatcher.HandlerAdapter;
+import org.zsz.uniitf.dispatcher.HandlerDefinition;
+import org.zsz.uniitf.dispatcher.RemoteRequestInfo;
+import org.zsz.uniitf.dispatcher.codec.CborCodec;
+import org.zsz.uniitf.dispatcher.codec.Codec;
+import org.zsz.uniitf.dispatcher.codec.JsonCodec;
+import org.zsz.uniitf.dispatcher.support.ResultWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 编解码: JSON 与 CBOR 的编码、解码及解码后绑定为处理器参数的耗时
+ * NUMERIC 为 1000 个 double 与 1000 个 long 的数组, RECORDS 为 100 个对象的列表;
+ * 编码后的字节数在 setUp 时输出
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 22:10
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({"JSON", "CBOR"})
+    private String codecType;
+
+    @Param({"NUMERIC", "RECORDS"})
+    private String payload;
+
+    private Codec codec;
+
+    private Map<String, Object> value;
+
+    private byte[] encoded;
+
+    private ByteArrayOutputStream out;
+
+    private HandlerAdapter adapter;
+
+    private HandlerDefinition definition;
+
+    @Setup
+    public void setUp() throws IOException, NoSuchMethodException {
+        codec = "CBOR".equals(codecType) ? new CborCodec() : new JsonCodec(ResultWriter.DEFAULT);
+        value = new LinkedHashMap<>(4);
+        Method method;
+        if ("NUMERIC".equals(payload)) {
+            double[] values = new double[1000];
+            long[] ts = new long[1000];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = 100.0 + i * 0.37;
+                ts[i] = 1600000000000L + i * 1000L;
+            }
+            value.put("name", "cpu.load");
+            value.put("values", values);
+            value.put("ts", ts);
+            method = SampleController.class.getMethod("series", String.class, double[].class, long[].class);
+        } else {
+            List<Row> rows = new ArrayList<>(100);
+            for (int i = 0; i < 100; i++) {
+                rows.add(new Row(100000L + i, "item-" + i, 19.99 + i, i % 37, new Date(1600000000000L + i * 1000L)));
+            }
+            value.put("rows", rows);
+            method = SampleController.class.getMethod("records", List.class);
+        }
+        out = new ByteArrayOutputStream(64 * 1024);
+        codec.encode(value, out);
+        encoded = out.toByteArray();
+        System.out.printf("%n%s %s encoded size: %d bytes%n", codecType, payload, encoded.length);
+        definition = new HandlerDefinition(new RemoteRequestInfo("/sample/" + payload, null), new SampleController(), method);
+        adapter = new HandlerAdapter(definition);
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        out.reset();
+        codec.encode(value, out);
+        return out.size();
+    }
+
+    @Benchmark
+    public Map<String, Object> decode() {
+        return codec.decode(encoded);
+    }
+
+    @Benchmark
+    public Object[] decodeAndBind() {
+        return adapter.resolveArguments(definition, codec.decode(encoded));
+    }
+
+    public static class Row {
+
+        private long id;
+
+        private String name;
+
+        private double price;
+
+        private int stock;
+
+        private Date createTime;
+
+        public Row() {
+        }
+
+        public Row(long id, String name, double price, int stock, Date createTime) {
+            this.id = id;
+            this.name = name;
+            this.price = price;
+            this.stock = stock;
+            this.createTime = createTime;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public void setPrice(double price) {
+            this.price = price;
+        }
+
+        public int getStock() {
+            return stock;
+        }
+
+        public void setStock(int stock) {
+            this.stock = stock;
+        }
+
+        public Date getCreateTime() {
+            return createTime;
+        }
+
+        public void setCreateTime(Date createTime) {
+            this.createTime = createTime;
+        }
+    }
+
+    public static class SampleController {
+
+        public int series(@RequestParam("name") String name, @RequestParam("values") double[] values,
+                          @RequestParam("ts") long[] ts) {
+            return values.length + ts.length;
+        }
+
+        public int records(@RequestParam("rows") List<Row> rows) {
+            return rows.size();
+        }
+    }
+}
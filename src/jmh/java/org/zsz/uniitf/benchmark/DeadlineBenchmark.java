@@ -0,0 +1,66 @@
+package org.zsz.uniitf.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.zsz.uniitf.dispatcher.DispatcherService;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.dto.InvokeOptions;
+import org.zsz.uniitf.dispatcher.metrics.MetricsRegistry;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 截止时间的开销: timeoutMillis=0 时不指定截止时间, 大于 0 时每次调用设置上下文并登记、注销一次监视
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:55
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeadlineBenchmark {
+
+    @Param({"0", "1000"})
+    private long timeoutMillis;
+
+    private AnnotationConfigApplicationContext context;
+
+    private DispatcherService dispatcherService;
+
+    private InvokeOptions options;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(DispatcherProperties.class, MetricsRegistry.class,
+                DispatcherService.class, DispatchBenchmark.BenchController.class);
+        dispatcherService = context.getBean(DispatcherService.class);
+        options = timeoutMillis > 0 ? new InvokeOptions().setTimeoutMillis(timeoutMillis) : null;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String invoke() {
+        Map<String, String> argMap = new HashMap<>(4);
+        argMap.put("id", "42");
+        return dispatcherService.invoke("/bench/user/detail", "GET", argMap, options);
+    }
+}
@@ -0,0 +1,92 @@
+package org.zsz.uniitf.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.zsz.uniitf.dispatcher.DispatcherService;
+import org.zsz.uniitf.dispatcher.annotation.RemoteMethod;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.metrics.MetricsRegistry;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DispatcherService.invoke 完整调用: 查找处理器 + 参数转换 + 调用 + 序列化
+ * 日志级别由 logback-test.xml 设为 WARN, 不计入请求日志的开销
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 17:20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+    @Param({"/bench/user/detail", "/bench/user/42/detail"})
+    private String url;
+
+    private AnnotationConfigApplicationContext context;
+
+    private DispatcherService dispatcherService;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(DispatcherProperties.class, MetricsRegistry.class,
+                DispatcherService.class, BenchController.class);
+        dispatcherService = context.getBean(DispatcherService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String invoke() {
+        Map<String, String> argMap = new HashMap<>(4);
+        argMap.put("id", "42");
+        return dispatcherService.invoke(url, "GET", argMap);
+    }
+
+    @Controller
+    @RequestMapping("/bench/user")
+    public static class BenchController {
+
+        @RemoteMethod
+        @GetMapping("/detail")
+        public Map<String, Object> detail(@RequestParam("id") long id) {
+            return user(id);
+        }
+
+        @RemoteMethod
+        @GetMapping("/{id}/detail")
+        public Map<String, Object> templated(@RequestParam("id") long id) {
+            return user(id);
+        }
+
+        private static Map<String, Object> user(long id) {
+            Map<String, Object> user = new HashMap<>(4);
+            user.put("id", id);
+            user.put("name", "user-" + id);
+            return user;
+        }
+    }
+}
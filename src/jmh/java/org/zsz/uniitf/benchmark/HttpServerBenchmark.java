@@ -0,0 +1,155 @@
+package org.zsz.uniitf.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.zsz.uniitf.dispatcher.DispatcherService;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.metrics.MetricsRegistry;
+import org.zsz.uniitf.dispatcher.server.DispatcherHttpServer;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 内嵌 HTTP 服务的本地压测: 8 个客户端线程各自使用一个 keep-alive 连接
+ * sequential 每次发送一个请求后等待响应, pipelined 一次发送 8 个请求后依次读取响应
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:10
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class HttpServerBenchmark {
+
+    private static final int PIPELINE_DEPTH = 8;
+
+    private static final byte[] REQUEST = "GET /bench/user/42/detail HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] PIPELINED_REQUESTS = new byte[REQUEST.length * PIPELINE_DEPTH];
+
+    static {
+        for (int i = 0; i < PIPELINE_DEPTH; i++) {
+            System.arraycopy(REQUEST, 0, PIPELINED_REQUESTS, i * REQUEST.length, REQUEST.length);
+        }
+    }
+
+    private AnnotationConfigApplicationContext context;
+
+    private DispatcherHttpServer server;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(DispatcherProperties.class, MetricsRegistry.class,
+                DispatcherService.class, DispatchBenchmark.BenchController.class);
+        DispatcherProperties properties = context.getBean(DispatcherProperties.class);
+        properties.getServer().setPort(0);
+        server = new DispatcherHttpServer(context.getBean(DispatcherService.class), properties);
+        server.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop();
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Connection {
+
+        private Socket socket;
+
+        private OutputStream out;
+
+        private InputStream in;
+
+        @Setup
+        public void open(HttpServerBenchmark benchmark) throws IOException {
+            socket = new Socket("127.0.0.1", benchmark.server.getPort());
+            socket.setTcpNoDelay(true);
+            out = socket.getOutputStream();
+            in = new BufferedInputStream(socket.getInputStream());
+        }
+
+        @TearDown
+        public void close() throws IOException {
+            socket.close();
+        }
+
+        /**
+         * 读取一个响应
+         * @return 响应体的字节数
+         */
+        private int readResponse() throws IOException {
+            int contentLength = 0;
+            StringBuilder line = new StringBuilder(64);
+            while (true) {
+                int b = in.read();
+                if (b == -1) {
+                    throw new EOFException();
+                }
+                if (b == '\r') {
+                    continue;
+                }
+                if (b != '\n') {
+                    line.append((char) b);
+                    continue;
+                }
+                if (line.length() == 0) {
+                    break;
+                }
+                String header = line.toString();
+                if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                    contentLength = Integer.parseInt(header.substring(15).trim());
+                }
+                line.setLength(0);
+            }
+            for (int skipped = 0; skipped < contentLength; ) {
+                long count = in.skip(contentLength - skipped);
+                if (count <= 0) {
+                    throw new EOFException();
+                }
+                skipped += count;
+            }
+            return contentLength;
+        }
+    }
+
+    @Benchmark
+    public int sequential(Connection connection) throws IOException {
+        connection.out.write(REQUEST);
+        return connection.readResponse();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PIPELINE_DEPTH)
+    public int pipelined(Connection connection) throws IOException {
+        connection.out.write(PIPELINED_REQUESTS);
+        int total = 0;
+        for (int i = 0; i < PIPELINE_DEPTH; i++) {
+            total += connection.readResponse();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,82 @@
+package org.zsz.uniitf.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.zsz.uniitf.dispatcher.HandlerAdapter;
+import org.zsz.uniitf.dispatcher.HandlerDefinition;
+import org.zsz.uniitf.dispatcher.RemoteRequestInfo;
+import org.zsz.uniitf.dispatcher.enumerate.InvokerStrategy;
+import org.zsz.uniitf.dispatcher.invoke.MethodInvoker;
+import org.zsz.uniitf.dispatcher.invoke.MethodInvokers;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 处理器方法调用方式对比: MethodHandle 与 Method.invoke
+ * invoke 只测调用器本身, process 测 HandlerAdapter 完整的参数转换 + 调用 + 序列化
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 12:20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvokerBenchmark {
+
+    @Param({"METHOD_HANDLE", "REFLECTION"})
+    private InvokerStrategy strategy;
+
+    private MethodInvoker invoker;
+
+    private HandlerAdapter adapter;
+
+    private HandlerDefinition definition;
+
+    private Object[] args;
+
+    private Map<String, String> argMap;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        SampleController controller = new SampleController();
+        definition = new HandlerDefinition(new RemoteRequestInfo("/sample/sum", null), controller,
+                SampleController.class.getMethod("sum", long.class, long.class));
+        invoker = MethodInvokers.create(definition, strategy);
+        adapter = new HandlerAdapter(definition, strategy);
+        args = new Object[]{1L, 2L};
+        argMap = new HashMap<>(4);
+        argMap.put("a", "1");
+        argMap.put("b", "2");
+    }
+
+    @Benchmark
+    public Object invoke() throws Throwable {
+        return invoker.invoke(args);
+    }
+
+    @Benchmark
+    public String process() throws Throwable {
+        return adapter.process(definition, argMap);
+    }
+
+    public static class SampleController {
+
+        public long sum(@RequestParam("a") long a, @RequestParam("b") long b) {
+            return a + b;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package org.zsz.uniitf.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.zsz.uniitf.dispatcher.HandlerAdapter;
+import org.zsz.uniitf.dispatcher.HandlerDefinition;
+import org.zsz.uniitf.dispatcher.HandlerExecution;
+import org.zsz.uniitf.dispatcher.RemoteRequestInfo;
+import org.zsz.uniitf.dispatcher.route.RouteIndex;
+import org.zsz.uniitf.dispatcher.route.RouteMatch;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 路由查找: 字面量 / 模板 / 通配 url 在 10、100、1000 个处理器下的吞吐
+ * 关闭解析结果缓存, 每次查找轮换不同处理器的 url, 测量索引本身的匹配开销
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 17:20
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteBenchmark {
+
+    private static final int URL_COUNT = 1024;
+
+    @Param({"10", "100", "1000"})
+    private int handlerCount;
+
+    @Param({"EXACT", "TEMPLATED", "WILDCARD"})
+    private RouteKind kind;
+
+    private RouteIndex routeIndex;
+
+    private String[] urls;
+
+    private int next;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        SampleController controller = new SampleController();
+        Method method = SampleController.class.getMethod("get");
+        HandlerAdapter adapter = null;
+        List<HandlerExecution> handlers = new ArrayList<>(handlerCount);
+        for (int i = 0; i < handlerCount; i++) {
+            HandlerDefinition definition = new HandlerDefinition(
+                    new RemoteRequestInfo(kind.pattern(i), RequestMethod.GET), controller, method);
+            if (adapter == null) {
+                adapter = new HandlerAdapter(definition);
+            }
+            handlers.add(new HandlerExecution(definition, adapter));
+        }
+        routeIndex = new RouteIndex(handlers, 0);
+        Random random = new Random(42);
+        urls = new String[URL_COUNT];
+        for (int i = 0; i < URL_COUNT; i++) {
+            urls[i] = kind.url(random.nextInt(handlerCount), random.nextInt(100000));
+        }
+        for (String url : urls) {
+            if (routeIndex.match(url, RequestMethod.GET) == null) {
+                throw new IllegalStateException("url 没有匹配到处理器: " + url);
+            }
+        }
+    }
+
+    @Benchmark
+    public RouteMatch match() {
+        String url = urls[next++ & (URL_COUNT - 1)];
+        return routeIndex.match(url, RequestMethod.GET);
+    }
+
+    public enum RouteKind {
+        EXACT {
+            @Override
+            String pattern(int i) {
+                return "/service" + i + "/item/list";
+            }
+
+            @Override
+            String url(int i, int id) {
+                return pattern(i);
+            }
+        },
+        TEMPLATED {
+            @Override
+            String pattern(int i) {
+                return "/service" + i + "/item/{id}";
+            }
+
+            @Override
+            String url(int i, int id) {
+                return "/service" + i + "/item/" + id;
+            }
+        },
+        WILDCARD {
+            @Override
+            String pattern(int i) {
+                return "/service" + i + "/files/**";
+            }
+
+            @Override
+            String url(int i, int id) {
+                return "/service" + i + "/files/" + id + "/content";
+            }
+        };
+
+        abstract String pattern(int i);
+
+        abstract String url(int i, int id);
+    }
+
+    public static class SampleController {
+
+        public String get() {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.zsz.uniitf.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zsz.uniitf.dispatcher.support.ResultWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 结果序列化: 小结果(单个对象)与大结果(1000 个对象的列表)
+ * string 为 String 方式, stream 为直接写出 UTF-8 字节的流方式
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 17:20
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"SMALL", "LARGE"})
+    private String size;
+
+    private Object result;
+
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() {
+        if ("SMALL".equals(size)) {
+            result = row(1);
+            out = new ByteArrayOutputStream(256);
+        } else {
+            List<Map<String, Object>> rows = new ArrayList<>(1000);
+            for (int i = 0; i < 1000; i++) {
+                rows.add(row(i));
+            }
+            result = rows;
+            out = new ByteArrayOutputStream(256 * 1024);
+        }
+    }
+
+    @Benchmark
+    public String string() {
+        return ResultWriter.toJsonString(result);
+    }
+
+    @Benchmark
+    public int stream() throws IOException {
+        out.reset();
+        ResultWriter.DEFAULT.write(result, out);
+        return out.size();
+    }
+
+    private static Map<String, Object> row(int i) {
+        Map<String, Object> row = new LinkedHashMap<>(8);
+        row.put("id", 100000L + i);
+        row.put("name", "item-" + i);
+        row.put("price", 19.99 + i);
+        row.put("stock", i % 37);
+        row.put("tags", "a,b,c");
+        row.put("createTime", new Date(1600000000000L + i));
+        return row;
+    }
+}
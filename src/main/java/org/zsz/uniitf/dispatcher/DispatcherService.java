@@ -1,23 +1,78 @@
 package org.zsz.uniitf.dispatcher;
 
 import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.stereotype.Controller;
 import org.springframework.stereotype.Service;
-import org.springframework.util.AntPathMatcher;
-import org.springframework.util.CollectionUtils;
-import org.springframework.util.PathMatcher;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.zsz.uniitf.dispatcher.annotation.RemoteMethod;
+import org.zsz.uniitf.dispatcher.async.AsyncExecutors;
+import org.zsz.uniitf.dispatcher.async.AsyncResults;
+import org.zsz.uniitf.dispatcher.audit.CallLogger;
+import org.zsz.uniitf.dispatcher.cache.ResponseCache;
+import org.zsz.uniitf.dispatcher.cache.ResponseCacheRegistry;
+import org.zsz.uniitf.dispatcher.coalesce.SingleFlight;
+import org.zsz.uniitf.dispatcher.coalesce.SingleFlightRegistry;
+import org.zsz.uniitf.dispatcher.codec.Codec;
+import org.zsz.uniitf.dispatcher.codec.CodecRegistry;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.deadline.Deadline;
+import org.zsz.uniitf.dispatcher.deadline.DeadlineWatchdog;
+import org.zsz.uniitf.dispatcher.dto.BatchEntry;
+import org.zsz.uniitf.dispatcher.dto.CallLogStats;
+import org.zsz.uniitf.dispatcher.dto.CoalescingStats;
+import org.zsz.uniitf.dispatcher.dto.ConcurrencyStats;
+import org.zsz.uniitf.dispatcher.dto.InvokeOptions;
+import org.zsz.uniitf.dispatcher.dto.MetricsStats;
+import org.zsz.uniitf.dispatcher.dto.ResponseCacheStats;
 import org.zsz.uniitf.dispatcher.dto.Result;
+import org.zsz.uniitf.dispatcher.dto.SlowCallStats;
+import org.zsz.uniitf.dispatcher.dto.TenantStats;
+import org.zsz.uniitf.dispatcher.dto.RouteCacheStats;
+import org.zsz.uniitf.dispatcher.enumerate.BatchMode;
+import org.zsz.uniitf.dispatcher.enumerate.ErrorCode;
+import org.zsz.uniitf.dispatcher.exception.DispatcherException;
+import org.zsz.uniitf.dispatcher.index.HandlerIndex;
+import org.zsz.uniitf.dispatcher.limit.ConcurrencyLimiter;
+import org.zsz.uniitf.dispatcher.limit.ConcurrencyLimiterRegistry;
+import org.zsz.uniitf.dispatcher.metrics.MetricsRegistry;
+import org.zsz.uniitf.dispatcher.metrics.RouteMetrics;
+import org.zsz.uniitf.dispatcher.route.RouteCache;
+import org.zsz.uniitf.dispatcher.route.RouteMatch;
+import org.zsz.uniitf.dispatcher.route.RouteTable;
+import org.zsz.uniitf.dispatcher.schedule.FairScheduler;
+import org.zsz.uniitf.dispatcher.stream.StreamingResults;
+import org.zsz.uniitf.dispatcher.support.HandlerCall;
 import org.zsz.uniitf.dispatcher.support.RemoteRequestInfoHelper;
+import org.zsz.uniitf.dispatcher.trace.CallTrace;
+import org.zsz.uniitf.dispatcher.trace.CallTracer;
+import org.zsz.uniitf.dispatcher.support.ResultWriter;
+import org.zsz.uniitf.dispatcher.support.SerializedResult;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Method;
+import java.nio.channels.WritableByteChannel;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * mainstay通用接口转发服务
@@ -26,36 +81,139 @@ import java.util.*;
  */
 @Service
 @Slf4j
-public class DispatcherService implements ApplicationContextAware {
+public class DispatcherService implements ApplicationContextAware, DisposableBean {
 
     private static final String SCAN_ERROR_TEMPLATE = "DispatcherService 初始化异常 Controller=[%s],method=[%s] 没有查询到 @RequestMapping 信息";
 
-    private static final String FIND_BEST_MATCH_ERROR_TEMPLATE = "根据url:[%s] method:[%s] 查询最优的匹配[%s]没有找到处理器";
-
     private static final String FIND_MATCH_ERROR_TEMPLATE = "根据url:[%s] method:[%s] 没有查找到处理器";
 
-    private static final String GENERAL_PREFIX = "/";
+    private static final String BATCH_SIZE_ERROR_TEMPLATE = "批量调用数量 [%d] 超过上限 [%d]";
+
+    private static final String GLOBAL_LIMITED_TEMPLATE = "并发调用数超过全局上限 [%d]";
+
+    private static final String ROUTE_LIMITED_TEMPLATE = "url:[%s] 并发调用数超过上限 [%d]";
+
+    private static final String CALL_TIMEOUT_TEMPLATE = "url:[%s] 调用超过截止时间";
+
+    private static final String ASYNC_TIMEOUT_TEMPLATE = "url:[%s] %s";
+
+    private static final String DUPLICATE_CONTROLLER_TEMPLATE = "Controller={} 已注册, 忽略";
 
     /**
-     * 匹配url
+     * 当前版本的路由表, 注册、注销处理器时构建新版本后整体替换, 查找时不加锁
      */
-    private static final PathMatcher pathMatcher = new AntPathMatcher();
+    private final AtomicReference<RouteTable> routeTable = new AtomicReference<>(RouteTable.EMPTY);
 
     /**
-     * 处理器定义集合
+     * 注册、注销处理器互斥, 同一时刻只构建一个新版本
      */
-    private List<HandlerDefinition> handlerMappings = new ArrayList<>(50);
+    private final Object registrationLock = new Object();
 
     /**
-     * key=HandlerDefinition value=HandlerAdapter
+     * 按 ClassLoader 加载的编译时索引, 只在持有 registrationLock 时访问
      */
-    private Map<HandlerDefinition, HandlerAdapter> handlerAdapters = new HashMap<>(50);
+    private final Map<ClassLoader, HandlerIndex> handlerIndexes = new WeakHashMap<>(4);
 
     private RemoteRequestInfoHelper helper = new RemoteRequestInfoHelper();
 
-    private void validateInvoke(String url, RequestMethod requestMethod) {
-        if (CollectionUtils.isEmpty(handlerMappings)) {
-            throw new NullPointerException("映射集合 [handlerMappings] 为空,请检查 @RpcMethod 注解是否标注");
+    private final DispatcherProperties properties;
+
+    /**
+     * 流方式调用结果的写出
+     */
+    private final ResultWriter resultWriter;
+
+    /**
+     * 批量调用并行执行的线程池, 线程按需创建, 空闲后回收
+     */
+    private final ThreadPoolExecutor batchExecutor;
+
+    /**
+     * 异步调用执行处理器的线程池
+     */
+    private final ExecutorService asyncExecutor;
+
+    /**
+     * 触发异步结果等待超时的定时器
+     */
+    private final ScheduledThreadPoolExecutor asyncTimer;
+
+    /**
+     * 按处理器统计的调用指标
+     */
+    private final MetricsRegistry metricsRegistry;
+
+    /**
+     * 分阶段耗时追踪, 未开启时为 null, 调用时只做一次判断
+     */
+    private final CallTracer callTracer;
+
+    /**
+     * 采样的异步调用日志, 未开启时为 null
+     */
+    private final CallLogger callLogger;
+
+    /**
+     * 按处理器的响应缓存
+     */
+    private final ResponseCacheRegistry responseCacheRegistry;
+
+    /**
+     * 按处理器的合并执行
+     */
+    private final SingleFlightRegistry singleFlightRegistry;
+
+    /**
+     * 全局及按处理器的并发数上限
+     */
+    private final ConcurrencyLimiterRegistry concurrencyLimiterRegistry;
+
+    /**
+     * 全局并发数上限, 未配置时为 null
+     */
+    private final ConcurrencyLimiter globalLimiter;
+
+    /**
+     * 按租户的公平调度, 未开启时为 null
+     */
+    private final FairScheduler scheduler;
+
+    /**
+     * 按 content type 选择的编解码器
+     */
+    private final CodecRegistry codecRegistry;
+
+    /**
+     * 截止时间的解析及超时中断
+     */
+    private final DeadlineWatchdog deadlineWatchdog;
+
+    public DispatcherService(DispatcherProperties properties, MetricsRegistry metricsRegistry) {
+        this.properties = properties;
+        this.metricsRegistry = metricsRegistry;
+        this.deadlineWatchdog = new DeadlineWatchdog(properties.getDeadline());
+        // 截止时间参数不影响结果, 不区分缓存及合并执行
+        this.responseCacheRegistry = new ResponseCacheRegistry(properties.getResponseCache(), deadlineWatchdog.reservedArgs());
+        this.singleFlightRegistry = new SingleFlightRegistry(deadlineWatchdog.reservedArgs());
+        this.concurrencyLimiterRegistry = new ConcurrencyLimiterRegistry(properties.getConcurrency());
+        this.globalLimiter = concurrencyLimiterRegistry.getGlobal();
+        this.scheduler = properties.getScheduler().isEnabled() ? new FairScheduler(properties.getScheduler()) : null;
+        DispatcherProperties.TraceProperties trace = properties.getTrace();
+        DispatcherProperties.CallLogProperties callLog = properties.getCallLog();
+        this.callLogger = callLog.isEnabled() ? new CallLogger(callLog) : null;
+        this.callTracer = trace.isEnabled() ? new CallTracer(trace.getSlowCallCapacity(), trace.getWindowMillis()) : null;
+        DispatcherProperties.StreamingProperties streaming = properties.getStreaming();
+        this.resultWriter = new ResultWriter(streaming.getFormat(), streaming.getFlushBatchSize());
+        this.codecRegistry = new CodecRegistry(resultWriter);
+        DispatcherProperties.BatchProperties batch = properties.getBatch();
+        this.batchExecutor = AsyncExecutors.newThreadPool("uniitf-batch-", batch.getThreads(), batch.getQueueCapacity());
+        this.asyncExecutor = AsyncExecutors.create(properties.getAsync());
+        this.asyncTimer = AsyncExecutors.newTimer("uniitf-async-timeout-");
+    }
+
+    private void validateInvoke(String url, RequestMethod requestMethod, RouteTable table) {
+        if (table.isEmpty()) {
+            throw new NullPointerException("映射集合为空,请检查 @RpcMethod 注解是否标注");
         }
         if (url == null || requestMethod == null) {
             throw new IllegalArgumentException("url 或 requestMethod 不可为空");
@@ -63,108 +221,609 @@ public class DispatcherService implements ApplicationContextAware {
     }
 
     public String invoke(String url, String httpMethod, Map<String, String> argMap) {
-        log.info("远程调用信息 url:[{}], method=[{}], 参数:{}", url, httpMethod, JSON.toJSONString(argMap));
+        return invoke(url, httpMethod, argMap, (InvokeOptions) null);
+    }
+
+    /**
+     * 带调用选项的调用
+     * @param url
+     * @param httpMethod
+     * @param argMap
+     * @param options 调用选项, 可以为 null
+     * @return 序列化后的结果
+     */
+    public String invoke(String url, String httpMethod, Map<String, String> argMap, InvokeOptions options) {
+        return invokeToJson(url, httpMethod, argMap, options);
+    }
+
+    /**
+     * 以 JSON 请求体调用, 参数直接从请求体绑定, 不需要把数值、嵌套对象等转为字符串
+     * 请求体只扫描一遍, 字段值在绑定参数时按参数类型直接从原文解析, 处理器用不到的字段不会解析; url 模板变量合并到其中
+     * @param url
+     * @param httpMethod
+     * @param body UTF-8 编码的 JSON 对象, 参数名 -> 参数值, 可以为 null
+     * @param options 调用选项, 可以为 null, 不使用其中的 content type
+     * @return 序列化后的结果
+     */
+    public String invoke(String url, String httpMethod, byte[] body, InvokeOptions options) {
+        JSONObject argMap;
         try {
-            RequestMethod requestMethod = RequestMethod.valueOf(httpMethod);
-            // 校验 url 和 requestMethod
-            validateInvoke(url, requestMethod);
-            url = processUrl(url);
-            return doInvoke(url, requestMethod, argMap);
+            argMap = codecRegistry.getDefault().decode(body);
+        } catch (IllegalArgumentException e) {
+            log.error(">>>-- 通用 RPC 请求体解码出错 --<<<", e);
+            return handleException(e);
+        }
+        return invokeToJson(url, httpMethod, argMap, options);
+    }
+
+    /**
+     * 以已解析的 JSON 对象调用, 参数值保留其类型直接绑定, 不经过 JSON 文本; url 模板变量合并到其中
+     * @param url
+     * @param httpMethod
+     * @param body 参数名 -> 参数值, 可以为 null
+     * @param options 调用选项, 可以为 null
+     * @return 序列化后的结果
+     */
+    public String invoke(String url, String httpMethod, JSONObject body, InvokeOptions options) {
+        return invokeToJson(url, httpMethod, body, options);
+    }
+
+    private String invokeToJson(String url, String httpMethod, Map<String, ?> argMap, InvokeOptions options) {
+        CallTrace trace = callTracer == null ? null : callTracer.begin(url, httpMethod, argMap);
+        try {
+            String json = ResultWriter.toJsonString(dispatch(url, httpMethod, argMap, options, trace));
+            if (trace != null) {
+                trace.serialized();
+            }
+            return json;
         } catch (Throwable t) {
+            if (trace != null) {
+                trace.failed();
+            }
             log.error(">>>-- 通用 RPC 方法调用出错 --<<<", t);
             return handleException(t);
+        } finally {
+            if (trace != null) {
+                callTracer.finish(trace);
+            }
         }
     }
 
     /**
-     * 处理 url 上不合适的 /
+     * 调用结果直接以 UTF-8 字节写出到 out, 不生成中间 String
+     * 处理器返回 byte[] / ByteBuffer 时原样写出, 返回 Stream / Iterator / PageFetcher 时逐个元素写出;
+     * 调用出错时写出与 String 方式相同的错误信息
      * @param url
-     * @return
+     * @param httpMethod
+     * @param argMap
+     * @param out 输出, 不会关闭
+     * @throws IOException 写出失败
+     */
+    public void invoke(String url, String httpMethod, Map<String, String> argMap, OutputStream out) throws IOException {
+        invoke(url, httpMethod, argMap, null, result -> resultWriter.write(result, out));
+    }
+
+    /**
+     * 带调用选项的流方式调用, 结果按 options 的 content type 编码, 没有指定时与 {@link #invoke(String, String, Map, OutputStream)} 相同
+     * @param url
+     * @param httpMethod
+     * @param argMap
+     * @param options 调用选项, 可以为 null
+     * @param out 输出, 不会关闭
+     * @throws IOException 写出失败
+     * @see #invoke(String, String, Map, OutputStream)
      */
-    private String processUrl(String url) {
-        // 以 / 结尾 清除最后的 /
-        if (url.endsWith(GENERAL_PREFIX) || url.endsWith("?")) {
-            url = url.substring(0, url.length() - 1);
+    public void invoke(String url, String httpMethod, Map<String, String> argMap, InvokeOptions options, OutputStream out) throws IOException {
+        Codec codec = codecOf(options, out);
+        if (codec != null) {
+            invoke(url, httpMethod, argMap, options, result -> codec.encode(result, out));
         }
-        return url;
     }
 
     /**
-     * 查找合适的 definition 和 adapter 进行方法invoke
+     * 请求体按 options 的 content type 解码为参数后调用, 结果以同一 content type 编码写出
+     * 解码后的参数值保留其类型(数值、数组、嵌套对象等), 绑定时不再经过字符串; url 模板变量合并到其中
      * @param url
-     * @param requestMethod
+     * @param httpMethod
+     * @param body 请求体, 解码后为 参数名 -> 参数值 的对象, 可以为 null
+     * @param options 调用选项, 可以为 null, 没有指定 content type 时为 JSON
+     * @param out 输出, 不会关闭
+     * @throws IOException 写出失败
+     */
+    public void invoke(String url, String httpMethod, byte[] body, InvokeOptions options, OutputStream out) throws IOException {
+        Codec codec = codecOf(options, out);
+        if (codec == null) {
+            return;
+        }
+        JSONObject argMap;
+        try {
+            argMap = codec.decode(body);
+        } catch (IllegalArgumentException e) {
+            log.error(">>>-- 通用 RPC 请求体解码出错 --<<<", e);
+            codec.encode(toFailedResult(e), out);
+            return;
+        }
+        invoke(url, httpMethod, argMap, options, result -> codec.encode(result, out));
+    }
+
+    /**
+     * 按调用选项查找编解码器, 不支持的 content type 以 JSON 写出错误信息
+     * @return 不支持时为 null
+     */
+    private Codec codecOf(InvokeOptions options, OutputStream out) throws IOException {
+        try {
+            return codecRegistry.get(options == null ? null : options.getContentType());
+        } catch (IllegalArgumentException e) {
+            log.error(">>>-- 通用 RPC 方法调用出错 --<<<", e);
+            codecRegistry.getDefault().encode(toFailedResult(e), out);
+            return null;
+        }
+    }
+
+    /**
+     * 调用结果直接写出到 channel, 处理器返回 ByteBuffer 时原样写出
+     * @param url
+     * @param httpMethod
      * @param argMap
-     * @return
+     * @param channel 输出, 不会关闭
+     * @throws IOException 写出失败
+     * @see #invoke(String, String, Map, OutputStream)
      */
-    private String doInvoke(String url, RequestMethod requestMethod, Map<String, String> argMap) throws Throwable {
-        // 存放已匹配到的 url 后续进行最佳匹配
-        List<String> matchingPatterns = new ArrayList<>();
-        // key=urlPattern value=index
-        Map<String, Integer> matchingIndexMap = new HashMap<>(10);
-        for (int index = 0; index < handlerMappings.size(); index++ ) {
-            HandlerDefinition definition = handlerMappings.get(index);
-            RemoteRequestInfo info = definition.getRequestInfo();
-            // 精确匹配
-            if (info.getUrlPattern().equals(url)) {
-                // 匹配方法
-                if (info.getHttpMethod() == null || info.getHttpMethod() == requestMethod) {
-                    log.debug("匹配到:[url:{},method={}],开始方法调用", url, requestMethod);
-                    HandlerAdapter adapter = handlerAdapters.get(definition);
-                    return adapter.process(definition, argMap);
+    public void invoke(String url, String httpMethod, Map<String, String> argMap, WritableByteChannel channel) throws IOException {
+        invoke(url, httpMethod, argMap, null, result -> resultWriter.write(result, channel));
+    }
+
+    private void invoke(String url, String httpMethod, Map<String, ?> argMap, InvokeOptions options, ResultSink sink) throws IOException {
+        CallTrace trace = callTracer == null ? null : callTracer.begin(url, httpMethod, argMap);
+        try {
+            Object result;
+            try {
+                result = dispatch(url, httpMethod, argMap, options, trace);
+            } catch (Throwable t) {
+                if (trace != null) {
+                    trace.failed();
                 }
-                // 方法不匹配继续寻找
-                continue;
+                log.error(">>>-- 通用 RPC 方法调用出错 --<<<", t);
+                sink.write(toFailedResult(t));
+                return;
             }
-            // Pattern match
-            if (info.getHttpMethod() == null || requestMethod == info.getHttpMethod()) {
-                if (pathMatcher.match(info.getUrlPattern(), url)) {
-                    matchingPatterns.add(info.getUrlPattern());
-                    // 记录 urlPattern 的 位置
-                    matchingIndexMap.put(info.getUrlPattern(), index);
+            try {
+                sink.write(result);
+                if (trace != null) {
+                    trace.serialized();
                 }
+            } catch (IOException e) {
+                if (trace != null) {
+                    trace.failed();
+                }
+                throw e;
+            } catch (RuntimeException e) {
+                if (trace != null) {
+                    trace.failed();
+                }
+                // 序列化在写出前完成, 失败时尚未写出任何内容
+                log.error(">>>-- 通用 RPC 方法调用出错 --<<<", e);
+                sink.write(toFailedResult(e));
+            }
+        } finally {
+            if (trace != null) {
+                callTracer.finish(trace);
             }
         }
-        // 开始匹配最优
-        String bestMatch = null;
-        Comparator<String> patternComparator = pathMatcher.getPatternComparator(url);
-        if (!matchingPatterns.isEmpty()) {
-            matchingPatterns.sort(patternComparator);
-            bestMatch = matchingPatterns.get(0);
-        }
-        HandlerDefinition definition;
-        if (bestMatch != null) {
-            // 根据索引取出 definition
-            definition = handlerMappings.get(matchingIndexMap.get(bestMatch));
-            if (definition == null) {
-                if (bestMatch.endsWith(GENERAL_PREFIX)) {
-                    definition = handlerMappings.get(matchingIndexMap.get(bestMatch.substring(0, bestMatch.length() - 1)));
+    }
+
+    /**
+     * 异步调用, 在配置的异步线程池中执行处理器
+     * @see #invokeAsync(String, String, Map, InvokeOptions, Executor)
+     */
+    public CompletableFuture<String> invokeAsync(String url, String httpMethod, Map<String, String> argMap) {
+        return invokeAsync(url, httpMethod, argMap, null, asyncExecutor);
+    }
+
+    /**
+     * 带调用选项的异步调用, 在配置的异步线程池中执行处理器
+     * @see #invokeAsync(String, String, Map, InvokeOptions, Executor)
+     */
+    public CompletableFuture<String> invokeAsync(String url, String httpMethod, Map<String, String> argMap, InvokeOptions options) {
+        return invokeAsync(url, httpMethod, argMap, options, asyncExecutor);
+    }
+
+    /**
+     * 异步调用
+     * @see #invokeAsync(String, String, Map, InvokeOptions, Executor)
+     */
+    public CompletableFuture<String> invokeAsync(String url, String httpMethod, Map<String, String> argMap, Executor executor) {
+        return invokeAsync(url, httpMethod, argMap, null, executor);
+    }
+
+    /**
+     * 异步调用
+     * 处理器返回 CompletionStage / Callable / DeferredResult 时等待其结果后序列化, 等待期间不占用线程,
+     * 等待时间超过 uniitf.dispatcher.async.result-timeout-millis(DeferredResult 指定了超时时间时以其为准)时返回 CALL_TIMEOUT;
+     * 调用出错时 future 以与 String 方式相同的错误信息正常完成, 不会异常完成
+     * @param url
+     * @param httpMethod
+     * @param argMap
+     * @param options 调用选项, 可以为 null; 截止时间只限制到处理器方法返回为止
+     * @param executor 执行处理器及 Callable 的线程池
+     * @return 序列化后的结果
+     */
+    public CompletableFuture<String> invokeAsync(String url, String httpMethod, Map<String, String> argMap,
+                                                 InvokeOptions options, Executor executor) {
+        CallTrace trace = callTracer == null ? null : callTracer.begin(url, httpMethod, argMap);
+        CompletableFuture<Object> handled;
+        try {
+            handled = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return dispatch(url, httpMethod, argMap, options, trace);
+                } catch (Throwable t) {
+                    throw new CompletionException(t);
                 }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            log.error(">>>-- 通用 RPC 异步调用线程池已满 --<<<", e);
+            if (trace != null) {
+                trace.failed();
+                callTracer.finish(trace);
             }
-            if (definition == null) {
-                String errMsg = String.format(FIND_BEST_MATCH_ERROR_TEMPLATE, url, requestMethod, bestMatch);
+            return CompletableFuture.completedFuture(handleException(e));
+        }
+        long timeoutMillis = properties.getAsync().getResultTimeoutMillis();
+        CompletableFuture<String> future = handled
+                .thenCompose(result -> AsyncResults.toFuture(result, executor, timeoutMillis, asyncTimer))
+                .thenApply(result -> {
+                    if (trace == null) {
+                        return ResultWriter.toJsonString(result);
+                    }
+                    trace.awaited();
+                    String json = ResultWriter.toJsonString(result);
+                    trace.serialized();
+                    return json;
+                })
+                .exceptionally(t -> {
+                    Throwable cause = AsyncResults.unwrap(t);
+                    if (cause instanceof TimeoutException) {
+                        cause = new DispatcherException(ErrorCode.CALL_TIMEOUT, String.format(ASYNC_TIMEOUT_TEMPLATE, url, cause.getMessage()));
+                    }
+                    if (trace != null) {
+                        trace.failed();
+                    }
+                    log.error(">>>-- 通用 RPC 方法调用出错 --<<<", cause);
+                    return handleException(cause);
+                });
+        if (trace != null) {
+            future.whenComplete((json, t) -> callTracer.finish(trace));
+        }
+        return future;
+    }
+
+    /**
+     * 校验并调用处理器, 开启追踪时记录查找处理器、参数转换、方法执行各阶段的耗时
+     * @param url
+     * @param httpMethod
+     * @param argMap
+     * @param options 调用选项, 可以为 null
+     * @param trace 未开启追踪时为 null
+     * @return 处理器原始的返回值
+     */
+    private Object dispatch(String url, String httpMethod, Map<String, ?> argMap, InvokeOptions options, CallTrace trace) throws Throwable {
+        RouteMatch match = resolve(url, httpMethod, argMap);
+        if (trace != null) {
+            trace.resolved(match.getDefinition());
+        }
+        return execute(match, argMap, options, trace, null);
+    }
+
+    /**
+     * 校验并查找合适的处理器, 查找后按处理器的采样率记录调用日志
+     * @param url
+     * @param httpMethod
+     * @param argMap 只用于调用日志
+     * @return 最优匹配
+     */
+    private RouteMatch resolve(String url, String httpMethod, Map<String, ?> argMap) {
+        RouteMatch match = null;
+        try {
+            RequestMethod requestMethod = RequestMethod.valueOf(httpMethod);
+            // 只读取一次当前版本, 之后的注册、注销不影响本次调用
+            RouteTable table = routeTable.get();
+            // 校验 url 和 requestMethod
+            validateInvoke(url, requestMethod, table);
+            // 字面量 url 直接命中精确匹配表, 无需处理 url
+            match = table.match(url, requestMethod);
+            if (match == null) {
+                metricsRegistry.recordUnmatched();
+                String errMsg = String.format(FIND_MATCH_ERROR_TEMPLATE, url, requestMethod);
                 throw new IllegalStateException(errMsg);
             }
-        } else {
-            String errMsg = String.format(FIND_MATCH_ERROR_TEMPLATE, url, requestMethod);
-            throw new IllegalStateException(errMsg);
+            if (log.isDebugEnabled()) {
+                log.debug("匹配到:[url:{},method={}] -> [{}],开始方法调用", url, requestMethod, match.getDefinition().getRequestInfo().getUrlPattern());
+            }
+            return match;
+        } finally {
+            if (callLogger != null) {
+                callLogger.log(url, httpMethod, match == null ? null : match.getDefinition(), argMap);
+            }
+        }
+    }
+
+    /**
+     * 调用已匹配的处理器, 开启调度时按租户公平排队后在调度线程池中执行
+     * @param match
+     * @param argMap
+     * @param options 调用选项, 可以为 null
+     * @param trace 未开启追踪时为 null, 排队等待的时间计入参数转换阶段
+     * @param limit 调用方之外的截止时间(如批量调用的总超时), 与解析的截止时间以较早的为准, 可以为 null
+     * @return 处理器原始的返回值
+     * @throws DispatcherException 租户排队的调用数超过上限, 错误码为 TENANT_QUEUE_FULL; 超过截止时间, 错误码为 CALL_TIMEOUT
+     */
+    private Object execute(RouteMatch match, Map<String, ?> argMap, InvokeOptions options, CallTrace trace, Deadline limit) throws Throwable {
+        Deadline deadline = deadlineWatchdog.resolve(match.getHandler().getTimeoutMillis(), argMap, options);
+        if (limit != null) {
+            deadline = limit.min(deadline);
         }
-        // url 中参数处理
-        for (String matchingPattern : matchingPatterns) {
-            if (patternComparator.compare(bestMatch, matchingPattern) == 0) {
-                Map<String, String> vars = pathMatcher.extractUriTemplateVariables(matchingPattern, url);
-                argMap.putAll(vars);
+        if (deadline != null) {
+            return executeBefore(match.getHandler(), deadline, argMap, options, () -> executeAdmitted(match, argMap, trace));
+        }
+        if (scheduler == null) {
+            return executeAdmitted(match, argMap, trace);
+        }
+        return scheduler.execute(resolveTenant(argMap, options), () -> executeAdmitted(match, argMap, trace));
+    }
+
+    /**
+     * 在截止时间前执行, 已截止时不再转换参数、执行处理器; 截止时中断执行线程.
+     * 开启调度时排队等待同样受截止时间限制, 截止时仍在排队的调用不再执行.
+     * 只限制到处理器方法返回为止, 异步结果、流式结果的后续读取不受限制
+     * @param handler
+     * @param deadline
+     * @param argMap
+     * @param options 调用选项, 可以为 null
+     * @param admitted 获取名额后执行处理器
+     * @return 处理器原始的返回值
+     * @throws DispatcherException 超过截止时间, 错误码为 CALL_TIMEOUT
+     */
+    private Object executeBefore(HandlerExecution handler, Deadline deadline, Map<String, ?> argMap,
+                                 InvokeOptions options, HandlerCall admitted) throws Throwable {
+        try {
+            if (scheduler == null) {
+                return invokeWithDeadline(handler, deadline, admitted);
+            }
+            String tenant = resolveTenant(argMap, options);
+            // 等待线程截止时取消排队中的调用, 执行中的调用由执行线程自己中断
+            return invokeWithDeadline(handler, deadline,
+                    () -> scheduler.execute(tenant, () -> invokeWithDeadline(handler, deadline, admitted)));
+        } catch (DispatcherException e) {
+            if (e.getErrorCode() == ErrorCode.CALL_TIMEOUT && handler.getMetrics() != null) {
+                handler.getMetrics().recordTimeout();
             }
+            throw e;
         }
-        HandlerAdapter adapter = handlerAdapters.get(definition);
-        return adapter.process(definition, argMap);
     }
 
-    @Override
-    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
-        register(applicationContext);
+    /**
+     * 在当前线程中监视截止时间执行 call
+     * @throws DispatcherException 执行前已截止, 或执行中超过截止时间, 错误码为 CALL_TIMEOUT
+     */
+    private Object invokeWithDeadline(HandlerExecution handler, Deadline deadline, HandlerCall call) throws Throwable {
+        if (deadline.isExpired()) {
+            throw callTimeout(handler);
+        }
+        DeadlineWatchdog.Guard guard = deadlineWatchdog.guard(deadline);
+        Object result;
+        try {
+            result = call.call();
+        } catch (Throwable t) {
+            // 被中断的处理器抛出的 InterruptedException 等统一为超时
+            if (guard.release()) {
+                throw callTimeout(handler);
+            }
+            throw t;
+        }
+        if (guard.release()) {
+            throw callTimeout(handler);
+        }
+        return result;
+    }
+
+    private static DispatcherException callTimeout(HandlerExecution handler) {
+        return new DispatcherException(ErrorCode.CALL_TIMEOUT,
+                String.format(CALL_TIMEOUT_TEMPLATE, handler.getDefinition().getRequestInfo().getUrlPattern()));
+    }
+
+    private String resolveTenant(Map<String, ?> argMap, InvokeOptions options) {
+        return scheduler.resolveTenant(options == null ? null : options.getTenant(), argMap);
+    }
+
+    /**
+     * 调用已匹配的处理器, 设置了并发数上限时先获取名额
+     * @param match
+     * @param argMap
+     * @param trace 未开启追踪时为 null
+     * @return 处理器原始的返回值
+     */
+    private Object executeAdmitted(RouteMatch match, Map<String, ?> argMap, CallTrace trace) throws Throwable {
+        HandlerExecution handler = match.getHandler();
+        if (globalLimiter == null && handler.getConcurrencyLimiter() == null) {
+            return executeMeasured(match, argMap, trace);
+        }
+        return executeLimited(handler, () -> executeMeasured(match, argMap, trace));
+    }
+
+    /**
+     * 获取全局及处理器的并发名额后执行, 名额不足时直接拒绝, 不排队.
+     * 耗时(至处理器方法返回为止)用于自适应调整上限
+     * @param handler
+     * @param call
+     * @return 处理器原始的返回值
+     * @throws DispatcherException 超过并发数上限, 错误码为 CONCURRENCY_LIMITED
+     */
+    private Object executeLimited(HandlerExecution handler, HandlerCall call) throws Throwable {
+        ConcurrencyLimiter limiter = handler.getConcurrencyLimiter();
+        if (globalLimiter != null && !globalLimiter.tryAcquire()) {
+            throw new DispatcherException(ErrorCode.CONCURRENCY_LIMITED, String.format(GLOBAL_LIMITED_TEMPLATE, globalLimiter.getLimit()));
+        }
+        if (limiter != null && !limiter.tryAcquire()) {
+            if (globalLimiter != null) {
+                globalLimiter.release(0L);
+            }
+            String urlPattern = handler.getDefinition().getRequestInfo().getUrlPattern();
+            throw new DispatcherException(ErrorCode.CONCURRENCY_LIMITED, String.format(ROUTE_LIMITED_TEMPLATE, urlPattern, limiter.getLimit()));
+        }
+        long start = System.nanoTime();
+        try {
+            return call.call();
+        } finally {
+            long latency = System.nanoTime() - start;
+            if (limiter != null) {
+                limiter.release(latency);
+            }
+            if (globalLimiter != null) {
+                globalLimiter.release(latency);
+            }
+        }
     }
 
-    private void register(ApplicationContext applicationContext) throws BeansException {
+    /**
+     * 调用已匹配的处理器, 开启统计时记录调用次数、错误及耗时(至处理器方法返回为止)
+     * @param match
+     * @param argMap
+     * @param trace 未开启追踪时为 null
+     * @return 处理器原始的返回值
+     */
+    private Object executeMeasured(RouteMatch match, Map<String, ?> argMap, CallTrace trace) throws Throwable {
+        RouteMetrics metrics = match.getHandler().getMetrics();
+        if (metrics == null) {
+            return doInvoke(match, argMap, trace);
+        }
+        long start = metrics.begin();
+        Throwable error = null;
+        try {
+            return doInvoke(match, argMap, trace);
+        } catch (Throwable t) {
+            error = t;
+            throw t;
+        } finally {
+            metrics.end(start, error);
+        }
+    }
+
+    /**
+     * 使用已匹配的 definition 和 adapter 进行方法invoke
+     * @param match
+     * @param argMap
+     * @param trace 未开启追踪时为 null
+     * @return 处理器原始的返回值
+     */
+    private Object doInvoke(RouteMatch match, Map<String, ?> argMap, CallTrace trace) throws Throwable {
+        HandlerExecution handler = match.getHandler();
+        Map<String, ?> merged = mergeUriTemplateVariables(match, argMap);
+        if (handler.getResponseCache() == null && handler.getSingleFlight() == null) {
+            if (trace == null) {
+                return handler.handle(merged);
+            }
+            Object[] args = handler.getAdapter().resolveArguments(handler.getDefinition(), merged);
+            trace.bound();
+            Object result = handler.getAdapter().invoke(args);
+            trace.invoked();
+            return result;
+        }
+        if (trace == null) {
+            return invokeShared(handler, merged);
+        }
+        // 命中缓存或合并执行时没有参数转换, 两个阶段合并计入方法执行
+        trace.bound();
+        Object result = invokeShared(handler, merged);
+        trace.invoked();
+        return result;
+    }
+
+    /**
+     * 经过响应缓存及合并执行调用处理器
+     * @param handler
+     * @param argMap 已合并模板变量的参数map
+     * @return 结果可以共用时为 {@link org.zsz.uniitf.dispatcher.support.SerializedResult}, 否则为处理器原始的返回值
+     */
+    private Object invokeShared(HandlerExecution handler, Map<String, ?> argMap) throws Throwable {
+        ResponseCache cache = handler.getResponseCache();
+        return cache == null ? invokeCoalesced(handler, argMap) : invokeCached(handler, cache, argMap);
+    }
+
+    /**
+     * 声明了合并执行时与参数相同的并发调用共用一次执行
+     */
+    private static Object invokeCoalesced(HandlerExecution handler, Map<String, ?> argMap) throws Throwable {
+        SingleFlight singleFlight = handler.getSingleFlight();
+        return singleFlight == null ? handler.handle(argMap) : singleFlight.execute(argMap, () -> handler.handle(argMap));
+    }
+
+    /**
+     * 优先返回缓存的序列化结果, 未命中时执行处理器并缓存;
+     * 命中已过期(stale 时间内)的结果时照常返回, 同时在异步线程池中刷新
+     * @param handler
+     * @param cache
+     * @param argMap 已合并模板变量的参数map
+     * @return 可缓存时为 {@link org.zsz.uniitf.dispatcher.support.SerializedResult}, 否则为处理器原始的返回值
+     */
+    private Object invokeCached(HandlerExecution handler, ResponseCache cache, Map<String, ?> argMap) throws Throwable {
+        String key = cache.key(argMap);
+        ResponseCache.Entry entry = cache.get(key);
+        if (entry == null) {
+            return cache.put(key, invokeCoalesced(handler, argMap));
+        }
+        if (entry.tryStartRefresh()) {
+            refresh(handler, cache, key, entry, copyArguments(argMap));
+        }
+        return entry.getResult();
+    }
+
+    private void refresh(HandlerExecution handler, ResponseCache cache, String key, ResponseCache.Entry entry, Map<String, ?> argMap) {
+        try {
+            asyncExecutor.execute(() -> {
+                try {
+                    cache.put(key, handler.handle(argMap));
+                } catch (Throwable t) {
+                    // 刷新失败时保留旧结果, 后续调用再次尝试
+                    entry.refreshFailed();
+                    log.warn("刷新响应缓存失败, url:[{}], 原因: {}", handler.getDefinition().getRequestInfo().getUrlPattern(), t.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.refreshFailed();
+        }
+    }
+
+    /**
+     * url 中参数处理, 将模板变量合并到 argMap
+     * @param match
+     * @param argMap 为 null 且有模板变量时新建
+     * @return 合并后的参数map
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, ?> mergeUriTemplateVariables(RouteMatch match, Map<String, ?> argMap) {
+        Map<String, String> vars = match.getUriTemplateVariables();
+        if (!vars.isEmpty()) {
+            if (argMap == null) {
+                return new HashMap<>(vars);
+            }
+            // 模板变量为 String, 既可以放入 String 值的参数map, 也可以放入编解码器解码的参数map
+            ((Map<String, Object>) argMap).putAll(vars);
+        }
+        return argMap;
+    }
+
+    /**
+     * 复制参数map, 编解码器解码的参数map 复制后仍为 JSONObject
+     */
+    private static Map<String, ?> copyArguments(Map<String, ?> argMap) {
+        if (argMap == null) {
+            return null;
+        }
+        return argMap instanceof JSONObject ? new JSONObject(new HashMap<String, Object>(argMap)) : new HashMap<String, Object>(argMap);
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
         // 只获取controller中方法
         Map<String, Object> controllerBean = applicationContext.getBeansWithAnnotation(Controller.class);
 
@@ -173,46 +832,591 @@ public class DispatcherService implements ApplicationContextAware {
             return;
         }
         log.info("通用 RPC 转发服务扫描开始[仅扫描 @Controller 中 public 方法]");
-        for (Object controller : controllerBean.values()) {
-            Class<?> handlerType = controller.getClass();
-            Method[] methods = handlerType.getMethods();
-            for (Method method : methods) {
-                if (!method.isAnnotationPresent(RemoteMethod.class)) {
+        register(controllerBean.values());
+    }
+
+    /**
+     * 运行时注册 controller 中的 @RemoteMethod 方法
+     * @param controller
+     * @return 新增的映射数
+     * @see #register(Collection)
+     */
+    public int register(Object controller) {
+        return register(Collections.singletonList(controller));
+    }
+
+    /**
+     * 运行时批量注册 controller 中的 @RemoteMethod 方法, 全部 controller 处理完后只构建一次新版本路由表.
+     * 已注册的 controller 忽略; 任一 controller 的映射不合法时全部不注册
+     * @param controllers
+     * @return 新增的映射数
+     */
+    public int register(Collection<?> controllers) {
+        synchronized (registrationLock) {
+            RouteTable current = routeTable.get();
+            Set<Object> registered = controllersOf(current.getHandlers());
+            DispatcherProperties.RegistrationProperties registration = properties.getRegistration();
+            List<PendingHandler> pending = new ArrayList<>(64);
+            int indexedControllers = 0;
+            int scannedControllers = 0;
+            for (Object controller : controllers) {
+                if (!registered.add(controller)) {
+                    log.warn(DUPLICATE_CONTROLLER_TEMPLATE, ClassUtils.getUserClass(controller).getName());
                     continue;
                 }
-                log.info("通用 RPC 转发服务扫描到 Controller={}, method={}", handlerType.getName(), method.getName());
-                RemoteRequestInfo info = helper.getMappingForMethod(method, handlerType);
-                validateRpcInfo(info, handlerType, method);
-                log.info("rpc info:{}", JSON.toJSONString(info));
-                HandlerDefinition definition = new HandlerDefinition(info, controller, method);
-                handlerMappings.add(definition);
-                handlerAdapters.put(definition, new HandlerAdapter(definition));
+                List<PendingHandler> indexed = registration.isIndexEnabled() ? fromIndex(controller) : null;
+                if (indexed != null) {
+                    pending.addAll(indexed);
+                    indexedControllers++;
+                } else {
+                    scan(controller, pending);
+                    scannedControllers++;
+                }
+            }
+            // 同一方法的多个映射共用一个 adapter, adapter 并行创建
+            HandlerAdapter[] adapters = createAdapters(pending, registration.getParallelism());
+            List<HandlerExecution> handlers = new ArrayList<>(current.size() + pending.size());
+            handlers.addAll(current.getHandlers());
+            for (int i = 0; i < adapters.length; i++) {
+                for (HandlerDefinition definition : pending.get(i).definitions) {
+                    handlers.add(createExecution(definition, adapters[i]));
+                }
+            }
+            int added = handlers.size() - current.size();
+            if (added > 0) {
+                publish(current, handlers);
+            }
+            log.info("通用 RPC 转发服务 {} 个 Controller 使用编译时索引, {} 个 Controller 反射扫描", indexedControllers, scannedControllers);
+            log.info("通用 RPC 转发服务扫描 RpcMethod 完毕,新增{}个方法,共{}个方法", added, current.size() + added);
+            return added;
+        }
+    }
+
+    /**
+     * 运行时注销 controller 的全部映射
+     * @param controller
+     * @return 移除的映射数
+     * @see #unregister(Collection)
+     */
+    public int unregister(Object controller) {
+        return unregister(Collections.singletonList(controller));
+    }
+
+    /**
+     * 运行时批量注销 controller 的全部映射, 只构建一次新版本路由表.
+     * 已查找到处理器的调用仍正常执行完成, 之后的调用不再匹配到这些映射
+     * @param controllers
+     * @return 移除的映射数
+     */
+    public int unregister(Collection<?> controllers) {
+        synchronized (registrationLock) {
+            Set<Object> targets = Collections.newSetFromMap(new IdentityHashMap<>());
+            targets.addAll(controllers);
+            RouteTable current = routeTable.get();
+            List<HandlerExecution> kept = new ArrayList<>(current.size());
+            List<HandlerExecution> removed = new ArrayList<>();
+            for (HandlerExecution handler : current.getHandlers()) {
+                if (targets.contains(handler.getDefinition().getController())) {
+                    removed.add(handler);
+                } else {
+                    kept.add(handler);
+                }
+            }
+            if (removed.isEmpty()) {
+                return 0;
+            }
+            publish(current, kept);
+            // 新版本发布后再移除, 之后的调用不会再使用这些组件
+            for (HandlerExecution handler : removed) {
+                HandlerDefinition definition = handler.getDefinition();
+                metricsRegistry.unregister(definition);
+                responseCacheRegistry.unregister(definition);
+                singleFlightRegistry.unregister(definition);
+                concurrencyLimiterRegistry.unregister(definition);
+            }
+            log.info("通用 RPC 转发服务注销 {} 个方法,剩余{}个方法", removed.size(), kept.size());
+            return removed.size();
+        }
+    }
+
+    /**
+     * 按配置的流式结果格式写出调用结果, 用于在本服务之外写出结果列表等
+     */
+    public ResultWriter getResultWriter() {
+        return resultWriter;
+    }
+
+    /**
+     * 当前路由表的版本号, 每次注册、注销后加 1
+     * @return
+     */
+    public long getRouteTableVersion() {
+        return routeTable.get().getVersion();
+    }
+
+    /**
+     * 是否支持请求体及结果使用该 content type
+     * @param contentType 可以带参数, 为 null 时为 JSON
+     */
+    public boolean supportsContentType(String contentType) {
+        return codecRegistry.supports(contentType);
+    }
+
+    /**
+     * 构建并发布新版本路由表, 只在持有 registrationLock 时调用
+     * 重建索引时解析结果缓存随之重建
+     */
+    private void publish(RouteTable current, List<HandlerExecution> handlers) {
+        routeTable.set(new RouteTable(current.getVersion() + 1, handlers, properties.getRouteCache().getCapacity()));
+    }
+
+    /**
+     * 为处理器绑定统计、缓存、合并执行、并发数上限及执行时间上限
+     */
+    private HandlerExecution createExecution(HandlerDefinition definition, HandlerAdapter adapter) {
+        RouteMetrics metrics = properties.getMetrics().isEnabled() ? metricsRegistry.register(definition) : null;
+        ResponseCache responseCache = responseCacheRegistry.register(definition);
+        SingleFlight singleFlight = singleFlightRegistry.register(definition);
+        ConcurrencyLimiter limiter = concurrencyLimiterRegistry.register(definition);
+        return new HandlerExecution(definition, adapter, metrics, responseCache, singleFlight, limiter,
+                deadlineWatchdog.timeoutOf(definition));
+    }
+
+    private static Set<Object> controllersOf(List<HandlerExecution> handlers) {
+        Set<Object> controllers = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (HandlerExecution handler : handlers) {
+            controllers.add(handler.getDefinition().getController());
+        }
+        return controllers;
+    }
+
+    /**
+     * 按编译时索引获取 controller 的处理器方法, 不扫描方法, 不读取 class 文件
+     * 索引从 controller 的 ClassLoader 加载, 每个 ClassLoader 只加载一次
+     * @param controller
+     * @return controller 没有索引或索引与类不一致时为 null
+     */
+    private List<PendingHandler> fromIndex(Object controller) {
+        Class<?> userType = ClassUtils.getUserClass(controller);
+        ClassLoader classLoader = userType.getClassLoader() != null ? userType.getClassLoader() : ClassUtils.getDefaultClassLoader();
+        HandlerIndex index = handlerIndexes.computeIfAbsent(classLoader, HandlerIndex::load);
+        HandlerIndex.IndexedType indexed = index.get(userType);
+        if (indexed == null) {
+            return null;
+        }
+        List<PendingHandler> pending = new ArrayList<>(indexed.getMethods().size());
+        for (HandlerIndex.IndexedMethod indexedMethod : indexed.getMethods()) {
+            Method method;
+            try {
+                String[] typeNames = indexedMethod.getParameterTypes();
+                Class<?>[] types = new Class<?>[typeNames.length];
+                for (int i = 0; i < typeNames.length; i++) {
+                    types[i] = ClassUtils.forName(typeNames[i], userType.getClassLoader());
+                }
+                method = userType.getMethod(indexedMethod.getName(), types);
+            } catch (ClassNotFoundException | NoSuchMethodException | LinkageError e) {
+                log.warn("Controller={} 的索引与类不一致, 改为反射扫描, 原因: {}", userType.getName(), e.toString());
+                return null;
             }
+            if (!method.isAnnotationPresent(RemoteMethod.class)) {
+                log.warn("Controller={} 的索引与类不一致, 改为反射扫描, 方法 {} 没有 @RemoteMethod", userType.getName(), method.getName());
+                return null;
+            }
+            List<RemoteRequestInfo> infos = helper.combine(indexed.getMappings(), indexedMethod.getMappings());
+            validateRpcInfo(infos, userType, method);
+            pending.add(new PendingHandler(controller, method, infos, indexedMethod.getParameterNames()));
+        }
+        return pending;
+    }
+
+    /**
+     * 反射扫描 controller 中的 @RemoteMethod 方法
+     * @param controller
+     * @param pending 扫描结果
+     */
+    private void scan(Object controller, List<PendingHandler> pending) {
+        Class<?> handlerType = controller.getClass();
+        Method[] methods = handlerType.getMethods();
+        for (Method method : methods) {
+            if (!method.isAnnotationPresent(RemoteMethod.class)) {
+                continue;
+            }
+            log.debug("通用 RPC 转发服务扫描到 Controller={}, method={}", handlerType.getName(), method.getName());
+            List<RemoteRequestInfo> infos = helper.getMappingsForMethod(method, handlerType);
+            validateRpcInfo(infos, handlerType, method);
+            pending.add(new PendingHandler(controller, method, infos, null));
+        }
+    }
+
+    /**
+     * 为每个处理器方法创建 adapter, parallelism 大于 1 时并行创建
+     * @param pending
+     * @param parallelism
+     * @return 与 pending 一一对应的 adapter
+     */
+    private HandlerAdapter[] createAdapters(List<PendingHandler> pending, int parallelism) {
+        HandlerAdapter[] adapters = new HandlerAdapter[pending.size()];
+        if (parallelism <= 1 || pending.size() < 2) {
+            for (int i = 0; i < adapters.length; i++) {
+                adapters[i] = pending.get(i).createAdapter(properties);
+            }
+            return adapters;
+        }
+        ThreadPoolExecutor executor = AsyncExecutors.newThreadPool("uniitf-register-", Math.min(parallelism, pending.size()), pending.size());
+        try {
+            List<Future<HandlerAdapter>> futures = new ArrayList<>(pending.size());
+            for (PendingHandler handler : pending) {
+                futures.add(executor.submit(() -> handler.createAdapter(properties)));
+            }
+            for (int i = 0; i < adapters.length; i++) {
+                adapters[i] = futures.get(i).get();
+            }
+            return adapters;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("DispatcherService 初始化被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            executor.shutdownNow();
         }
-        log.info("通用 RPC 转发服务扫描 RpcMethod 完毕,共{}个方法", handlerMappings.size());
     }
 
     /**
      * 校验 rpcInfo 是否为空
-     * @param info
+     * @param infos
      * @param cls
      * @param method
      */
-    private void validateRpcInfo(RemoteRequestInfo info, Class<?> cls, Method method) {
-        if (info == null || StringUtils.isEmpty(info.getUrlPattern())) {
+    private void validateRpcInfo(List<RemoteRequestInfo> infos, Class<?> cls, Method method) {
+        boolean invalid = infos.isEmpty();
+        for (RemoteRequestInfo info : infos) {
+            invalid |= StringUtils.isEmpty(info.getUrlPattern());
+        }
+        if (invalid) {
             String errorMsg = String.format(SCAN_ERROR_TEMPLATE, cls.getName(), method.getName());
             throw new IllegalStateException(errorMsg);
         }
     }
 
+    /**
+     * 模板 url 解析结果缓存统计, 处理器集合变化重建索引后重新计数
+     * @return
+     */
+    public RouteCacheStats getRouteCacheStats() {
+        RouteCache cache = routeTable.get().getCache();
+        if (cache == null) {
+            return new RouteCacheStats().setEnabled(false);
+        }
+        return new RouteCacheStats()
+                .setEnabled(true)
+                .setCapacity(cache.getCapacity())
+                .setSize(cache.size())
+                .setHitCount(cache.getHitCount())
+                .setMissCount(cache.getMissCount())
+                .setEvictionCount(cache.getEvictionCount());
+    }
+
+    /**
+     * 最近一段时间内最慢的调用及各阶段耗时, 未开启追踪时为空
+     * 只追踪同步的 String 方式及流方式调用
+     * @return
+     */
+    public List<SlowCallStats> getSlowCalls() {
+        return callTracer == null ? Collections.emptyList() : callTracer.snapshot();
+    }
+
+    /**
+     * 调用日志的输出、丢弃及未采样计数
+     * @return 未开启调用日志时为 null
+     */
+    public CallLogStats getCallLogStats() {
+        return callLogger == null ? null : callLogger.getStats();
+    }
+
+    /**
+     * 声明了响应缓存的处理器的缓存统计
+     * @return
+     */
+    public List<ResponseCacheStats> getResponseCacheStats() {
+        return responseCacheRegistry.snapshot();
+    }
+
+    /**
+     * 清除处理器的响应缓存, 处理器的数据变化后调用
+     * @param urlPattern 处理器的 url 模板, 与 @RequestMapping 中一致
+     * @return 清除的条目数
+     */
+    public int invalidateResponseCache(String urlPattern) {
+        return responseCacheRegistry.invalidate(urlPattern);
+    }
+
+    /**
+     * 清除全部响应缓存
+     * @return 清除的条目数
+     */
+    public int invalidateResponseCache() {
+        return responseCacheRegistry.invalidateAll();
+    }
+
+    /**
+     * 声明了合并执行的处理器的合并统计
+     * @return
+     */
+    public List<CoalescingStats> getCoalescingStats() {
+        return singleFlightRegistry.snapshot();
+    }
+
+    /**
+     * 全局及各处理器并发数上限的当前值、并发数及拒绝次数
+     * @return
+     */
+    public ConcurrencyStats getConcurrencyStats() {
+        return concurrencyLimiterRegistry.snapshot();
+    }
+
+    /**
+     * 各租户的排队数及排队等待时间
+     * @return 未开启调度时为空
+     */
+    public List<TenantStats> getTenantStats() {
+        return scheduler == null ? Collections.emptyList() : scheduler.snapshot();
+    }
+
+    /**
+     * 按处理器统计的调用指标快照
+     * @return
+     */
+    public MetricsStats getMetrics() {
+        return metricsRegistry.snapshot();
+    }
+
+    /**
+     * 批量调用, 使用配置的默认执行方式
+     * @param entries 调用列表
+     * @return 与 entries 一一对应的结果
+     * @see #invokeBatch(List, BatchMode)
+     */
+    public List<Result<Object>> invokeBatch(List<BatchEntry> entries) {
+        return invokeBatch(entries, properties.getBatch().getDefaultMode());
+    }
+
+    /**
+     * 批量调用
+     * 先为全部调用查找处理器, 查找失败的调用不再执行; 每个调用的结果单独包装为 Result, 单个调用失败不影响其它调用.
+     * 超过总超时时间时, 未开始的调用不再执行, 执行中的调用被中断(与单个调用的截止时间相同, 见 {@link DeadlineWatchdog}), 均返回 BATCH_TIMEOUT
+     * @param entries 调用列表, 不能超过 uniitf.dispatcher.batch.max-size
+     * @param mode 执行方式
+     * @return 与 entries 一一对应的结果, 成功时 data 为处理器返回值;
+     * 命中响应缓存或合并执行的结果只保留了 JSON, data 为其解析后的值(JSONObject、JSONArray 等)
+     */
+    public List<Result<Object>> invokeBatch(List<BatchEntry> entries, BatchMode mode) {
+        return invokeBatch(entries, mode, null);
+    }
+
+    /**
+     * 带调用选项的批量调用, 每个调用都使用同一调用选项(如租户)
+     * @param entries 调用列表, 不能超过 uniitf.dispatcher.batch.max-size
+     * @param mode 执行方式, 为 null 时使用配置的默认执行方式
+     * @param options 调用选项, 可以为 null
+     * @return 与 entries 一一对应的结果, 成功时 data 为处理器返回值
+     * @see #invokeBatch(List, BatchMode)
+     */
+    public List<Result<Object>> invokeBatch(List<BatchEntry> entries, BatchMode mode, InvokeOptions options) {
+        DispatcherProperties.BatchProperties batch = properties.getBatch();
+        if (mode == null) {
+            mode = batch.getDefaultMode();
+        }
+        if (entries == null || entries.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (entries.size() > batch.getMaxSize()) {
+            throw new IllegalArgumentException(String.format(BATCH_SIZE_ERROR_TEMPLATE, entries.size(), batch.getMaxSize()));
+        }
+        log.info("批量远程调用 size:[{}], mode=[{}]", entries.size(), mode);
+        Deadline deadline = Deadline.after(batch.getTimeoutMillis());
+        int size = entries.size();
+        List<Result<Object>> results = new ArrayList<>(Collections.nCopies(size, null));
+        // 先查找全部处理器
+        RouteMatch[] matches = new RouteMatch[size];
+        for (int i = 0; i < size; i++) {
+            BatchEntry entry = entries.get(i);
+            try {
+                matches[i] = resolve(entry.getUrl(), entry.getHttpMethod(), entry.getArgMap());
+            } catch (Throwable t) {
+                results.set(i, failedEntry(entry, t));
+            }
+        }
+        if (mode == BatchMode.PARALLEL) {
+            invokeParallel(entries, matches, results, deadline, options);
+        } else {
+            invokeSequential(entries, matches, results, deadline, options);
+        }
+        return results;
+    }
+
+    private void invokeSequential(List<BatchEntry> entries, RouteMatch[] matches, List<Result<Object>> results, Deadline deadline, InvokeOptions options) {
+        for (int i = 0; i < matches.length; i++) {
+            if (matches[i] == null) {
+                continue;
+            }
+            if (deadline.isExpired()) {
+                results.set(i, Result.failed(ErrorCode.BATCH_TIMEOUT));
+                continue;
+            }
+            results.set(i, invokeEntry(entries.get(i), matches[i], options, deadline));
+        }
+    }
+
+    private void invokeParallel(List<BatchEntry> entries, RouteMatch[] matches, List<Result<Object>> results, Deadline deadline, InvokeOptions options) {
+        List<Future<Result<Object>>> futures = new ArrayList<>(Collections.nCopies(matches.length, null));
+        for (int i = 0; i < matches.length; i++) {
+            if (matches[i] == null) {
+                continue;
+            }
+            BatchEntry entry = entries.get(i);
+            RouteMatch match = matches[i];
+            try {
+                futures.set(i, batchExecutor.submit(() -> invokeEntry(entry, match, options, deadline)));
+            } catch (RejectedExecutionException e) {
+                log.warn("批量调用线程池已满, url:[{}] 未执行", entry.getUrl());
+                results.set(i, Result.failed(ErrorCode.BATCH_REJECTED));
+            }
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            Future<Result<Object>> future = futures.get(i);
+            if (future == null) {
+                continue;
+            }
+            try {
+                results.set(i, future.get(Math.max(0L, deadline.remainingNanos()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                results.set(i, Result.failed(ErrorCode.BATCH_TIMEOUT));
+            } catch (ExecutionException e) {
+                results.set(i, failedEntry(entries.get(i), e.getCause()));
+            } catch (InterruptedException e) {
+                // 调用线程被中断, 取消剩余的调用
+                Thread.currentThread().interrupt();
+                for (int j = i; j < futures.size(); j++) {
+                    if (futures.get(j) != null) {
+                        futures.get(j).cancel(true);
+                        results.set(j, failedEntry(entries.get(j), e));
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * 执行批量调用中的单个调用, 批量调用的总超时同时作为该调用的截止时间;
+     * 流式结果读取为集合, 已序列化的结果(命中缓存或合并执行)解析后返回
+     */
+    private Result<Object> invokeEntry(BatchEntry entry, RouteMatch match, InvokeOptions options, Deadline deadline) {
+        try {
+            Object result = execute(match, entry.getArgMap(), options, null, deadline);
+            if (StreamingResults.isStreaming(result)) {
+                result = StreamingResults.collect(result);
+            } else if (result instanceof SerializedResult) {
+                result = ((SerializedResult) result).parse();
+            }
+            return Result.ok(result);
+        } catch (DispatcherException e) {
+            // 因批量调用的总超时而中断的调用与未执行的调用一致
+            if (e.getErrorCode() == ErrorCode.CALL_TIMEOUT && deadline.isExpired()) {
+                return Result.failed(ErrorCode.BATCH_TIMEOUT);
+            }
+            return failedEntry(entry, e);
+        } catch (Throwable t) {
+            return failedEntry(entry, t);
+        }
+    }
+
+    private Result<Object> failedEntry(BatchEntry entry, Throwable t) {
+        log.error(">>>-- 批量调用 url:[{}] 出错 --<<<", entry.getUrl(), t);
+        return toFailedResult(t);
+    }
+
+    @Override
+    public void destroy() {
+        batchExecutor.shutdownNow();
+        asyncExecutor.shutdownNow();
+        asyncTimer.shutdownNow();
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        if (callLogger != null) {
+            callLogger.shutdown();
+        }
+        deadlineWatchdog.shutdown();
+    }
+
     /**
      * 处理异常
      * @param t
      * @return
      */
     private String handleException(Throwable t) {
+        return JSON.toJSONString(toFailedResult(t));
+    }
+
+    private <T> Result<T> toFailedResult(Throwable t) {
         log.error("异常原因: {}", t.getMessage());
-        Result result = Result.failed(t.getMessage());
-        return JSON.toJSONString(result);
+        if (t instanceof DispatcherException) {
+            return Result.failed(((DispatcherException) t).getErrorCode().getCode(), t.getMessage());
+        }
+        return Result.failed(t.getMessage());
+    }
+
+    /**
+     * 待创建 adapter 的处理器方法
+     */
+    private static final class PendingHandler {
+
+        private final Method method;
+
+        /**
+         * 方法的每个映射一个 definition
+         */
+        private final List<HandlerDefinition> definitions;
+
+        /**
+         * 索引中的参数名, 为 null 时读取 class 文件获取
+         */
+        private final String[] parameterNames;
+
+        private PendingHandler(Object controller, Method method, List<RemoteRequestInfo> infos, String[] parameterNames) {
+            this.method = method;
+            this.parameterNames = parameterNames;
+            this.definitions = new ArrayList<>(infos.size());
+            for (RemoteRequestInfo info : infos) {
+                if (log.isDebugEnabled()) {
+                    log.debug("rpc info:{}", JSON.toJSONString(info));
+                }
+                definitions.add(new HandlerDefinition(info, controller, method));
+            }
+        }
+
+        private HandlerAdapter createAdapter(DispatcherProperties properties) {
+            return new HandlerAdapter(definitions.get(0), properties.getInvokerStrategy(), parameterNames,
+                    properties.isBindCustomTypeFromArgMap());
+        }
+    }
+
+    /**
+     * 调用结果的写出方式
+     */
+    @FunctionalInterface
+    private interface ResultSink {
+
+        void write(Object result) throws IOException;
     }
 }
\ No newline at end of file
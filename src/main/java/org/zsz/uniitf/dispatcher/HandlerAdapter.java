@@ -1,16 +1,26 @@
 package org.zsz.uniitf.dispatcher;
 
 import com.alibaba.fastjson.JSON;
-import com.alibaba.fastjson.serializer.SerializerFeature;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.util.TypeUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ValueConstants;
+import org.zsz.uniitf.dispatcher.bind.BeanBinder;
+import org.zsz.uniitf.dispatcher.bind.StringConverter;
+import org.zsz.uniitf.dispatcher.bind.StringConverters;
+import org.zsz.uniitf.dispatcher.codec.LazyJsonObject;
+import org.zsz.uniitf.dispatcher.enumerate.InvokerStrategy;
+import org.zsz.uniitf.dispatcher.invoke.MethodInvoker;
+import org.zsz.uniitf.dispatcher.invoke.MethodInvokers;
 import org.zsz.uniitf.dispatcher.support.ClassUtil;
+import org.zsz.uniitf.dispatcher.support.ResultWriter;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
 import java.util.*;
 
 /**
@@ -32,23 +42,54 @@ public class HandlerAdapter {
     private boolean hasParam;
 
     /**
-     * 方法中参数的信息
+     * 方法中参数的信息, 按参数顺序
      */
-    private List<ParamInfo> paramInfoList;
+    private ParamInfo[] params;
 
     /**
-     * 用于解析param的真实名称
+     * 用于解析param的真实名称, 所有 adapter 共用, 同一个类的 class 文件只读取一次
      */
-    private ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+
+    /**
+     * 处理器方法调用器, 注册时绑定 controller 实例
+     */
+    private final MethodInvoker invoker;
 
     public HandlerAdapter(HandlerDefinition definition) {
-        this.paramInfoList = new ArrayList<>();
+        this(definition, InvokerStrategy.METHOD_HANDLE);
+    }
+
+    public HandlerAdapter(HandlerDefinition definition, InvokerStrategy invokerStrategy) {
+        this(definition, invokerStrategy, null);
+    }
+
+    /**
+     * @param definition 处理器定义
+     * @param invokerStrategy 方法调用方式
+     * @param parameterNames 已知的参数名(如编译时索引), 为 null 时读取 class 文件获取
+     */
+    public HandlerAdapter(HandlerDefinition definition, InvokerStrategy invokerStrategy, String[] parameterNames) {
+        this(definition, invokerStrategy, parameterNames, false);
+    }
+
+    /**
+     * @param definition 处理器定义
+     * @param invokerStrategy 方法调用方式
+     * @param parameterNames 已知的参数名(如编译时索引), 为 null 时读取 class 文件获取
+     * @param bindCustomTypeFromArgMap 未标注 @RequestParam 的自定义类型参数是否以整个参数map绑定, 参数map中有参数名时仍按该值转换
+     */
+    public HandlerAdapter(HandlerDefinition definition, InvokerStrategy invokerStrategy, String[] parameterNames,
+                          boolean bindCustomTypeFromArgMap) {
+        this.params = new ParamInfo[0];
         this.hasParam = false;
-        initParams(definition);
+        initParams(definition, parameterNames, bindCustomTypeFromArgMap);
+        this.invoker = MethodInvokers.create(definition, invokerStrategy);
     }
 
-    private void initParams(HandlerDefinition definition) {
-        String[] paramName = parameterNameDiscoverer.getParameterNames(definition.getMethod());
+    private void initParams(HandlerDefinition definition, String[] parameterNames, boolean bindCustomTypeFromArgMap) {
+        String[] paramName = parameterNames != null && parameterNames.length == definition.getMethod().getParameterCount()
+                ? parameterNames : PARAMETER_NAME_DISCOVERER.getParameterNames(definition.getMethod());
         Parameter[] parameters = definition.getMethod().getParameters();
         hasParam = parameters != null && parameters.length != 0;
 
@@ -56,9 +97,10 @@ public class HandlerAdapter {
             return;
         }
 
+        params = new ParamInfo[parameters.length];
         for (int index = 0; index < parameters.length; index++) {
             Parameter param = parameters[index];
-            paramInfoList.add(new ParamInfo(index, paramName[index], param));
+            params[index] = new ParamInfo(index, paramName[index], param, bindCustomTypeFromArgMap);
         }
     }
 
@@ -68,53 +110,55 @@ public class HandlerAdapter {
      * @param definition 处理器定义
      * @param argMap     参数map
      * @return 方法执行的结果
-     * @throws InvocationTargetException
-     * @throws IllegalAccessException
+     * @throws Throwable 参数错误或处理器方法抛出的异常
      */
-    public String process(HandlerDefinition definition, Map<String, String> argMap) throws Throwable {
+    public String process(HandlerDefinition definition, Map<String, ?> argMap) throws Throwable {
+        return ResultWriter.toJsonString(handle(definition, argMap));
+    }
+
+    /**
+     * 转换参数执行方法
+     *
+     * @param definition 处理器定义
+     * @param argMap     参数map
+     * @return 方法原始的返回值
+     * @throws Throwable 参数错误或处理器方法抛出的异常
+     */
+    public Object handle(HandlerDefinition definition, Map<String, ?> argMap) throws Throwable {
+        return invoke(resolveArguments(definition, argMap));
+    }
+
+    /**
+     * 按参数顺序转换参数
+     * 参数值为 String 时按原方式转换; 编解码器解码的参数map(JSONObject)中其它类型的值按参数类型直接转换, 不经过 JSON 文本;
+     * 按需解析的 JSON 请求体({@link LazyJsonObject})只解析参数用到的字段, 并直接从原文解析为参数类型
+     *
+     * @param definition 处理器定义
+     * @param argMap     参数map
+     * @return 方法参数
+     */
+    public Object[] resolveArguments(HandlerDefinition definition, Map<String, ?> argMap) {
         // 如果参数列表为空
         if (Objects.isNull(argMap)) {
             argMap = Collections.emptyMap();
         }
-        Object[] paramValues = new Object[paramInfoList.size()];
-        for (ParamInfo info : paramInfoList) {
-            // 必传参数没有传递
-            if (info.required && !argMap.containsKey(info.name) && info.defaultValue == null) {
-                RemoteRequestInfo requestInfo = definition.getRequestInfo();
-                String errMsg = String.format(PARAM_ERROR_TEMPLATE, requestInfo.getUrlPattern(), requestInfo.getHttpMethod(), info.name);
-                log.error(errMsg);
-                throw new IllegalArgumentException(errMsg);
-            }
-            Object obj = info.defaultValue;
-            try {
-                // 自定义类型直接处理整个argMap
-                if (info.isSelf) {
-                    obj = ClassUtil.converterStringOrJsonValue(JSON.toJSONString(argMap), info.cls);
-                }
-                // 其它类型
-                else {
-                    // 如果没有传递 使用默认值
-                    String value = !argMap.containsKey(info.name) ? info.defaultValue : argMap.get(info.name);
-                    obj = ClassUtil.converterStringOrJsonValue(value, info.cls);
-                }
-            } catch (ClassCastException e) {
-                String errMsg = String.format(CLASS_CAST_ERROR_TEMPLATE, info.cls.getName(), e.getMessage());
-                log.error(errMsg);
-                throw new ClassCastException(errMsg);
-            }
-            paramValues[info.index] = obj;
-        }
-        Object result;
-        try {
-            result = definition.getMethod().invoke(definition.getController(), paramValues);
-        } catch (InvocationTargetException e) {
-            throw e.getTargetException();
+        ParamInfo[] params = this.params;
+        Object[] paramValues = new Object[params.length];
+        for (ParamInfo info : params) {
+            paramValues[info.index] = info.resolve(definition, argMap);
         }
-        // 如果已经是 String 类型 无需处理直接返回
-        if (result instanceof String) {
-            return (String) result;
-        }
-        return JSON.toJSONString(result, SerializerFeature.WriteDateUseDateFormat);
+        return paramValues;
+    }
+
+    /**
+     * 使用已转换的参数执行方法
+     *
+     * @param args 方法参数, {@link #resolveArguments} 的结果
+     * @return 方法原始的返回值
+     * @throws Throwable 处理器方法抛出的异常
+     */
+    public Object invoke(Object[] args) throws Throwable {
+        return invoker.invoke(args);
     }
 
     private static class ParamInfo {
@@ -134,25 +178,66 @@ public class HandlerAdapter {
          */
         private Class<?> cls;
 
+        /**
+         * 含泛型的参数类型, 转换已解码的值时使用
+         */
+        private Type genericType;
+
         /**
          * 是否有必须有值
          */
         private boolean required;
 
         /**
-         * 是否自定义类
+         * 是否以整个 argMap 转换: 未标注 @RequestParam 的 jdk 类型(与原有的绑定方式一致)
          */
         private boolean isSelf;
 
+        /**
+         * 未标注 @RequestParam 的自定义类型是否以整个 argMap 绑定, argMap 中有参数名时仍按该值转换
+         */
+        private boolean bindsArgMap;
+
+        /**
+         * 以整个 argMap 转换的 Map/HashMap 类型直接复制 argMap, 结果与经 JSON 文本转换相同
+         */
+        private boolean copiesArgMap;
+
         /**
          * 参数默认值
          */
         private String defaultValue;
 
-        private ParamInfo(int index, String name, Parameter param) {
+        /**
+         * 以整个 argMap 绑定时自定义类的绑定计划, 为 null 时使用 JSON 方式绑定
+         */
+        private BeanBinder binder;
+
+        /**
+         * 注册时按类型选定的转换器
+         */
+        private StringConverter converter;
+
+        /**
+         * 没有传递时是否直接报错(必传且没有默认值)
+         */
+        private boolean failIfMissing;
+
+        /**
+         * 默认值是否已在注册时转换
+         */
+        private boolean defaultConverted;
+
+        /**
+         * 已转换的默认值(仅不可变类型)
+         */
+        private Object convertedDefaultValue;
+
+        private ParamInfo(int index, String name, Parameter param, boolean bindCustomTypeFromArgMap) {
             this.name = name;
             this.index = index;
             this.cls = param.getType();
+            this.genericType = param.getParameterizedType();
             this.required = false;
             if (param.isAnnotationPresent(RequestParam.class)) {
                 RequestParam requestParam = param.getAnnotation(RequestParam.class);
@@ -160,10 +245,139 @@ public class HandlerAdapter {
                 this.isSelf = false;
                 this.defaultValue = ValueConstants.DEFAULT_NONE.equals(requestParam.defaultValue()) ? null : requestParam.defaultValue();
             }
-            // 自定义类(不属于jdk)
+            // 未标注的 jdk 类型以整个 argMap 转换, 其余类型按参数名转换
             else {
                 isSelf = ClassUtil.isJavaClass(cls);
+                copiesArgMap = cls == Map.class || cls == HashMap.class;
+                bindsArgMap = bindCustomTypeFromArgMap && !isSelf && !cls.isEnum() && !cls.isArray();
+                if (bindsArgMap) {
+                    binder = BeanBinder.forType(cls);
+                }
+            }
+            Class<?> type = cls;
+            this.converter = StringConverters.forType(type, value -> ClassUtil.converterStringOrJsonValue(value, type));
+            this.failIfMissing = required && defaultValue == null;
+            initDefaultValue();
+        }
+
+        /**
+         * 默认值转换结果为不可变类型时提前转换, 每次调用直接使用
+         */
+        private void initDefaultValue() {
+            if (defaultValue == null) {
+                defaultConverted = true;
+                return;
+            }
+            try {
+                Object converted = converter.convert(defaultValue);
+                if (converted == null || converted instanceof String || converted instanceof Number
+                        || converted instanceof Boolean || converted instanceof Enum) {
+                    convertedDefaultValue = converted;
+                    defaultConverted = true;
+                }
+            } catch (RuntimeException e) {
+                // 默认值无法转换时与原来一致, 调用时再抛出异常
+                defaultConverted = false;
+            }
+        }
+
+        /**
+         * 从 argMap 中解析参数值
+         */
+        private Object resolve(HandlerDefinition definition, Map<String, ?> argMap) {
+            try {
+                // 直接处理整个argMap
+                if (isSelf || (bindsArgMap && !argMap.containsKey(name))) {
+                    return resolveArgMap(argMap);
+                }
+                if (argMap instanceof LazyJsonObject) {
+                    LazyJsonObject body = (LazyJsonObject) argMap;
+                    // JSON 字符串仍按原方式转换
+                    if (body.containsKey(name) && !body.isText(name)) {
+                        return checkPrimitive(definition, convertLazy(body, name));
+                    }
+                }
+                Object raw = argMap.get(name);
+                if (raw != null && !(raw instanceof String)) {
+                    return convertDecoded(raw);
+                }
+                String value = (String) raw;
+                if (value == null && !argMap.containsKey(name)) {
+                    // 必传参数没有传递
+                    if (failIfMissing) {
+                        RemoteRequestInfo requestInfo = definition.getRequestInfo();
+                        String errMsg = String.format(PARAM_ERROR_TEMPLATE, requestInfo.getUrlPattern(), requestInfo.getHttpMethod(), name);
+                        log.error(errMsg);
+                        throw new IllegalArgumentException(errMsg);
+                    }
+                    // 如果没有传递 使用默认值
+                    if (defaultConverted) {
+                        return checkPrimitive(definition, convertedDefaultValue);
+                    }
+                    value = defaultValue;
+                }
+                return checkPrimitive(definition, value == null ? null : converter.convert(value));
+            } catch (ClassCastException e) {
+                String errMsg = String.format(CLASS_CAST_ERROR_TEMPLATE, cls.getName(), e.getMessage());
+                log.error(errMsg);
+                throw new ClassCastException(errMsg);
+            }
+        }
+
+        /**
+         * 以整个 argMap 转换: Map/HashMap 类型复制 argMap, 自定义类型有绑定计划时直接绑定(值可以不是字符串), 否则经 JSON 文本转换
+         */
+        private Object resolveArgMap(Map<String, ?> argMap) {
+            if (argMap instanceof LazyJsonObject) {
+                return convertLazy((LazyJsonObject) argMap, null);
+            }
+            if (argMap instanceof JSONObject) {
+                return convertDecoded(argMap);
+            }
+            if (copiesArgMap) {
+                return new HashMap<>(argMap);
+            }
+            return binder != null
+                    ? binder.bind(argMap)
+                    : ClassUtil.converterStringOrJsonValue(JSON.toJSONString(argMap), cls);
+        }
+
+        /**
+         * 转换编解码器解码的值, 类型相同(如 CBOR 的数值数组)时直接使用
+         */
+        private Object convertDecoded(Object value) {
+            if (genericType instanceof Class && cls.isInstance(value)) {
+                return value;
+            }
+            try {
+                return TypeUtils.cast(value, genericType, ParserConfig.getGlobalInstance());
+            } catch (RuntimeException e) {
+                throw new ClassCastException(e.getMessage());
+            }
+        }
+
+        /**
+         * 从按需解析的 JSON 请求体中按参数类型直接解析, key 为 null 时转换整个请求体
+         */
+        private Object convertLazy(LazyJsonObject body, String key) {
+            try {
+                return key == null ? body.toJavaObject(genericType) : body.getObject(key, genericType);
+            } catch (RuntimeException e) {
+                throw new ClassCastException(e.getMessage());
+            }
+        }
+
+        /**
+         * 基本类型参数不能为 null
+         */
+        private Object checkPrimitive(HandlerDefinition definition, Object value) {
+            if (value == null && cls.isPrimitive()) {
+                RemoteRequestInfo requestInfo = definition.getRequestInfo();
+                String errMsg = String.format(PARAM_ERROR_TEMPLATE, requestInfo.getUrlPattern(), requestInfo.getHttpMethod(), name);
+                log.error(errMsg);
+                throw new IllegalArgumentException(errMsg);
             }
+            return value;
         }
     }
 }
\ No newline at end of file
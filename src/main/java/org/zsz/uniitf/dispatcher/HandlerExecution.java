@@ -0,0 +1,108 @@
+package org.zsz.uniitf.dispatcher;
+
+import org.zsz.uniitf.dispatcher.cache.ResponseCache;
+import org.zsz.uniitf.dispatcher.coalesce.SingleFlight;
+import org.zsz.uniitf.dispatcher.limit.ConcurrencyLimiter;
+import org.zsz.uniitf.dispatcher.metrics.RouteMetrics;
+
+import java.util.Map;
+
+/**
+ * 可直接执行的处理器, 注册时将 HandlerDefinition 与其 HandlerAdapter 绑定, 调用时无需再查找 adapter
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 11:20
+ */
+public final class HandlerExecution {
+
+    private final HandlerDefinition definition;
+
+    private final HandlerAdapter adapter;
+
+    /**
+     * 调用统计, 未开启统计时为 null
+     */
+    private final RouteMetrics metrics;
+
+    /**
+     * 响应缓存, 处理器未声明缓存时为 null
+     */
+    private final ResponseCache responseCache;
+
+    /**
+     * 合并执行, 处理器未声明合并执行时为 null
+     */
+    private final SingleFlight singleFlight;
+
+    /**
+     * 并发数上限, 处理器不限制并发数时为 null
+     */
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    /**
+     * 执行时间上限(毫秒), 不限制时为 0
+     */
+    private final long timeoutMillis;
+
+    public HandlerExecution(HandlerDefinition definition, HandlerAdapter adapter) {
+        this(definition, adapter, null);
+    }
+
+    public HandlerExecution(HandlerDefinition definition, HandlerAdapter adapter, RouteMetrics metrics) {
+        this(definition, adapter, metrics, null, null, null);
+    }
+
+    public HandlerExecution(HandlerDefinition definition, HandlerAdapter adapter, RouteMetrics metrics,
+                            ResponseCache responseCache, SingleFlight singleFlight, ConcurrencyLimiter concurrencyLimiter) {
+        this(definition, adapter, metrics, responseCache, singleFlight, concurrencyLimiter, 0L);
+    }
+
+    public HandlerExecution(HandlerDefinition definition, HandlerAdapter adapter, RouteMetrics metrics,
+                            ResponseCache responseCache, SingleFlight singleFlight, ConcurrencyLimiter concurrencyLimiter,
+                            long timeoutMillis) {
+        this.definition = definition;
+        this.adapter = adapter;
+        this.metrics = metrics;
+        this.responseCache = responseCache;
+        this.singleFlight = singleFlight;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public HandlerDefinition getDefinition() {
+        return definition;
+    }
+
+    public HandlerAdapter getAdapter() {
+        return adapter;
+    }
+
+    public RouteMetrics getMetrics() {
+        return metrics;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public SingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * 转换参数执行方法
+     * @param argMap 参数map
+     * @return 方法原始的返回值
+     * @throws Throwable
+     */
+    public Object handle(Map<String, ?> argMap) throws Throwable {
+        return adapter.handle(definition, argMap);
+    }
+}
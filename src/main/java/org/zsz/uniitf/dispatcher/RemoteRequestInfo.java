@@ -31,19 +31,21 @@ public class RemoteRequestInfo {
     }
 
     /**
-     * 将外部 RemoteRequestInfo 和 this 进行结合
+     * 将外部 RemoteRequestInfo 和 this 进行结合, 返回新的 RemoteRequestInfo (类上的映射可能与多个方法映射组合, 不修改自身)
      * @param other
      * @return
      */
     public RemoteRequestInfo combine(RemoteRequestInfo other) {
+        RequestMethod combinedMethod = this.httpMethod;
+        String combinedPattern = this.urlPattern;
         // 外部直接覆盖
         if (other.httpMethod != null) {
-            this.httpMethod = other.httpMethod;
+            combinedMethod = other.httpMethod;
         }
         if (!StringUtils.isEmpty(other.getUrlPattern())) {
-            this.urlPattern = PATH_MATCHER.combine(urlPattern, other.getUrlPattern());
+            combinedPattern = PATH_MATCHER.combine(urlPattern, other.getUrlPattern());
         }
-        return this;
+        return new RemoteRequestInfo(combinedPattern, combinedMethod);
     }
 
     public String getUrlPattern() {
@@ -8,11 +8,59 @@ import java.lang.annotation.Target;
 /**
  * 配合 通用接口 {@link } 使用
  * 只有在 {@link org.springframework.stereotype.Controller} 注解的类中生效
- * 仅做标记使用,有此注解可通过通用接口调用
+ * 有此注解可通过通用接口调用, 属性均为默认值时只做标记使用; 属性改变调用时的行为:
+ * cache* 缓存序列化后的结果, coalesce* 合并参数相同的并发调用, maxConcurrency 限制并发调用数,
+ * timeoutMillis 限制执行时间. 并发数及执行时间上限可以被配置覆盖, 见各属性说明
  * @author Zhang Shengzhe
  * @create 2020-05-28 10:31
  */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface RemoteMethod {
-}
\ No newline at end of file
+
+    /**
+     * 响应缓存时间(毫秒), 大于 0 时缓存序列化后的结果; 只对 GET/HEAD 处理器生效, 其它 http method(包括不限 method)的处理器忽略并输出警告
+     */
+    long cacheTtlMillis() default 0;
+
+    /**
+     * 缓存过期后仍返回旧结果并在后台刷新的时间(毫秒), 0 表示过期即重新执行
+     */
+    long cacheStaleMillis() default 0;
+
+    /**
+     * 缓存的最大条目数
+     */
+    int cacheMaxEntries() default 1000;
+
+    /**
+     * 作为缓存 key 的参数名, 为空时使用全部参数(含 url 模板变量)
+     */
+    String[] cacheKeyParams() default {};
+
+    /**
+     * 是否合并参数相同的并发调用, 只执行一次处理器, 其它调用共用其结果或异常; 不保留执行结束后的结果
+     */
+    boolean coalesce() default false;
+
+    /**
+     * 一次执行最多合并的等待调用数
+     */
+    int coalesceMaxWaiters() default 100;
+
+    /**
+     * 合并窗口(毫秒), 执行开始超过该时间后新的调用不再加入; 加入的调用最多等待该时间, 超过后各自执行
+     */
+    long coalesceWindowMillis() default 1000;
+
+    /**
+     * 并发调用数上限, 超出时直接拒绝; 0 表示不限制. 配置 uniitf.dispatcher.concurrency.route-limits 时以配置为准
+     */
+    int maxConcurrency() default 0;
+
+    /**
+     * 执行时间上限(毫秒), 与调用方指定的截止时间以较早的为准, 超过时中断处理器; 0 表示不限制.
+     * 配置 uniitf.dispatcher.deadline.route-timeouts 时以配置为准
+     */
+    long timeoutMillis() default 0;
+}
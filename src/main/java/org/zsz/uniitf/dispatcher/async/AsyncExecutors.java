@@ -0,0 +1,79 @@
+package org.zsz.uniitf.dispatcher.async;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.enumerate.AsyncExecutorType;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异步调用线程池的创建
+ * 编译目标为 Java 8, 虚拟线程通过反射调用 Executors.newVirtualThreadPerTaskExecutor 创建
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 15:40
+ */
+@Slf4j
+public final class AsyncExecutors {
+
+    private AsyncExecutors() {
+    }
+
+    public static ExecutorService create(DispatcherProperties.AsyncProperties async) {
+        if (async.getExecutorType() == AsyncExecutorType.VIRTUAL) {
+            ExecutorService executor = newVirtualThreadExecutor();
+            if (executor != null) {
+                log.info("通用 RPC 异步调用使用虚拟线程");
+                return executor;
+            }
+        }
+        return newThreadPool("uniitf-async-", async.getThreads(), async.getQueueCapacity());
+    }
+
+    /**
+     * 固定大小的线程池, 线程按需创建, 空闲后回收; 队列满时拒绝提交
+     * @param prefix 线程名前缀
+     * @param threads 线程数
+     * @param queueCapacity 等待队列长度
+     */
+    public static ThreadPoolExecutor newThreadPool(String prefix, int threads, int queueCapacity) {
+        int size = Math.max(1, threads);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, queueCapacity)), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 单线程的定时器, 取消的任务立即从队列中移除
+     * @param prefix 线程名前缀
+     */
+    public static ScheduledThreadPoolExecutor newTimer(String prefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, threadFactory);
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException e) {
+            log.warn("当前 JDK {} 不支持虚拟线程, 异步调用使用平台线程池", System.getProperty("java.version"));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // JDK 19/20 未开启 preview 时抛出 UnsupportedOperationException
+            log.warn("创建虚拟线程池失败, 异步调用使用平台线程池, 原因: {}", e.getMessage());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,142 @@
+package org.zsz.uniitf.dispatcher.async;
+
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 异步返回值: 处理器返回 {@link CompletionStage}、{@link Callable} 或 {@link DeferredResult} 时,
+ * 注册完成回调等待其结果, 等待期间不占用线程; 与 Spring MVC 的异步请求一样, 等待时间有上限
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 15:40
+ */
+public final class AsyncResults {
+
+    private static final String TIMEOUT_TEMPLATE = "异步结果在 %d 毫秒内没有完成";
+
+    /**
+     * DeferredResult#getTimeoutValue, Spring 5.3 之前不是 public
+     */
+    private static final Method GET_TIMEOUT_VALUE = ReflectionUtils.findMethod(DeferredResult.class, "getTimeoutValue");
+
+    static {
+        if (GET_TIMEOUT_VALUE != null) {
+            ReflectionUtils.makeAccessible(GET_TIMEOUT_VALUE);
+        }
+    }
+
+    private AsyncResults() {
+    }
+
+    /**
+     * 是否为异步返回值
+     */
+    public static boolean isAsync(Object result) {
+        return result instanceof CompletionStage || result instanceof Callable || result instanceof DeferredResult;
+    }
+
+    /**
+     * 转换为最终结果的 future, 异步返回值的结果仍为异步返回值时继续等待
+     * @param result 处理器返回值
+     * @param executor 执行 Callable 的线程池
+     * @return 非异步返回值直接作为已完成的结果
+     */
+    public static CompletableFuture<Object> toFuture(Object result, Executor executor) {
+        if (!isAsync(result)) {
+            return CompletableFuture.completedFuture(result);
+        }
+        return adapt(result, executor).thenCompose(value -> toFuture(value, executor));
+    }
+
+    /**
+     * 转换为最终结果的 future, 超过等待时间时以 {@link TimeoutException} 异常完成
+     * DeferredResult 指定了超时时间时使用其超时时间, 超时后设置为同一异常, 之后处理器设置的结果被忽略;
+     * 不会执行 DeferredResult 的 onTimeout 回调及超时结果, 这两者由 Spring MVC 容器触发
+     * @param result 处理器返回值
+     * @param executor 执行 Callable 的线程池
+     * @param timeoutMillis 等待时间(毫秒), 小于等于 0 时不限制
+     * @param timer 触发超时的定时器
+     * @return 非异步返回值直接作为已完成的结果
+     */
+    @SuppressWarnings("unchecked")
+    public static CompletableFuture<Object> toFuture(Object result, Executor executor, long timeoutMillis, ScheduledExecutorService timer) {
+        if (!isAsync(result)) {
+            return CompletableFuture.completedFuture(result);
+        }
+        Long deferredTimeout = result instanceof DeferredResult ? timeoutOf((DeferredResult<?>) result) : null;
+        if (deferredTimeout != null) {
+            timeoutMillis = deferredTimeout;
+        }
+        CompletableFuture<Object> future = toFuture(result, executor);
+        if (timeoutMillis <= 0 || future.isDone()) {
+            return future;
+        }
+        long timeout = timeoutMillis;
+        ScheduledFuture<?> task = timer.schedule(() -> {
+            TimeoutException e = new TimeoutException(String.format(TIMEOUT_TEMPLATE, timeout));
+            if (result instanceof DeferredResult) {
+                ((DeferredResult<Object>) result).setErrorResult(e);
+            }
+            future.completeExceptionally(e);
+        }, timeout, TimeUnit.MILLISECONDS);
+        future.whenComplete((value, t) -> task.cancel(false));
+        return future;
+    }
+
+    /**
+     * 去掉 CompletableFuture 包装的异常
+     */
+    public static Throwable unwrap(Throwable t) {
+        while ((t instanceof CompletionException || t instanceof ExecutionException) && t.getCause() != null) {
+            t = t.getCause();
+        }
+        return t;
+    }
+
+    /**
+     * DeferredResult 创建时指定的超时时间
+     * @return 没有指定或无法读取时为 null
+     */
+    private static Long timeoutOf(DeferredResult<?> result) {
+        return GET_TIMEOUT_VALUE == null ? null : (Long) ReflectionUtils.invokeMethod(GET_TIMEOUT_VALUE, result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<Object> adapt(Object result, Executor executor) {
+        if (result instanceof CompletionStage) {
+            return ((CompletionStage<Object>) result).toCompletableFuture();
+        }
+        if (result instanceof Callable) {
+            Callable<Object> callable = (Callable<Object>) result;
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return callable.call();
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        }
+        // 超时在 toFuture 中处理, 这里只等待结果被设置
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        ((DeferredResult<Object>) result).setResultHandler(value -> {
+            // setErrorResult 设置的异常与 Spring MVC 一样按调用失败处理
+            if (value instanceof Throwable) {
+                future.completeExceptionally((Throwable) value);
+            } else {
+                future.complete(value);
+            }
+        });
+        return future;
+    }
+}
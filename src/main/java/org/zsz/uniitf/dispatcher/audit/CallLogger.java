@@ -0,0 +1,146 @@
+package org.zsz.uniitf.dispatcher.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zsz.uniitf.dispatcher.HandlerDefinition;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.dto.CallLogStats;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 调用日志: 调用线程只做采样判断和参数浅拷贝, 放入有界无锁队列后返回;
+ * 后台线程取出后才格式化参数并输出. 队列满时丢弃并计数, 不阻塞调用线程.
+ * 日志输出到名为 {@link #LOGGER_NAME} 的 logger, 可单独配置级别和 appender
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 17:50
+ */
+@Slf4j
+public final class CallLogger {
+
+    public static final String LOGGER_NAME = "uniitf.dispatcher.call";
+
+    private static final Logger CALL_LOG = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final RingBuffer<CallRecord> buffer;
+
+    private final double defaultSampleRate;
+
+    /**
+     * key=处理器 url value=采样率
+     */
+    private final Map<String, Double> routeSampleRates;
+
+    private final int maxArgChars;
+
+    private final LongAdder loggedCount = new LongAdder();
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    private final LongAdder sampledOutCount = new LongAdder();
+
+    private final Thread drainer;
+
+    private volatile boolean running = true;
+
+    public CallLogger(DispatcherProperties.CallLogProperties properties) {
+        this.buffer = new RingBuffer<>(Math.max(2, properties.getBufferSize()));
+        this.defaultSampleRate = properties.getSampleRate();
+        Map<String, Double> rates = properties.getRouteSampleRates();
+        this.routeSampleRates = rates == null ? Collections.emptyMap() : new ConcurrentHashMap<>(rates);
+        this.maxArgChars = properties.getMaxArgChars();
+        this.drainer = new Thread(this::drain, "uniitf-call-log");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    /**
+     * 记录一次调用, 按处理器的采样率采样
+     * @param url
+     * @param httpMethod
+     * @param definition 匹配到的处理器, 没有查找到时为 null, 使用默认采样率
+     * @param argMap
+     */
+    public void log(String url, String httpMethod, HandlerDefinition definition, Map<String, ?> argMap) {
+        String urlPattern = definition == null ? null : definition.getRequestInfo().getUrlPattern();
+        if (!sampled(urlPattern)) {
+            sampledOutCount.increment();
+            return;
+        }
+        if (!CALL_LOG.isInfoEnabled()) {
+            return;
+        }
+        if (!buffer.offer(new CallRecord(url, httpMethod, urlPattern, argMap))) {
+            droppedCount.increment();
+        }
+    }
+
+    private boolean sampled(String urlPattern) {
+        double rate = defaultSampleRate;
+        if (urlPattern != null && !routeSampleRates.isEmpty()) {
+            Double routeRate = routeSampleRates.get(urlPattern);
+            if (routeRate != null) {
+                rate = routeRate;
+            }
+        }
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private void drain() {
+        long idleParkNanos = 1000L;
+        while (running) {
+            CallRecord record = buffer.poll();
+            if (record == null) {
+                LockSupport.parkNanos(this, idleParkNanos);
+                idleParkNanos = Math.min(idleParkNanos << 1, MAX_IDLE_PARK_NANOS);
+                continue;
+            }
+            idleParkNanos = 1000L;
+            write(record);
+        }
+        // 停止时输出剩余的记录
+        for (CallRecord record = buffer.poll(); record != null; record = buffer.poll()) {
+            write(record);
+        }
+    }
+
+    private void write(CallRecord record) {
+        try {
+            CALL_LOG.info("远程调用信息 url:[{}], method=[{}], 处理器:[{}], 参数:{}",
+                    record.url, record.httpMethod, record.urlPattern, record.renderArgs(maxArgChars));
+            loggedCount.increment();
+        } catch (RuntimeException e) {
+            log.warn("输出调用日志失败: {}", e.getMessage());
+        }
+    }
+
+    public CallLogStats getStats() {
+        return new CallLogStats()
+                .setBufferSize(buffer.capacity())
+                .setLoggedCount(loggedCount.sum())
+                .setDroppedCount(droppedCount.sum())
+                .setSampledOutCount(sampledOutCount.sum());
+    }
+
+    /**
+     * 停止后台线程, 输出队列中剩余的记录
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
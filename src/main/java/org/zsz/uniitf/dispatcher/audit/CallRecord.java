@@ -0,0 +1,83 @@
+package org.zsz.uniitf.dispatcher.audit;
+
+import com.alibaba.fastjson.JSON;
+
+import java.util.Map;
+
+/**
+ * 待输出的调用日志, 参数在真正输出时才格式化
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 17:50
+ */
+final class CallRecord {
+
+    private static final String TRUNCATED_TEMPLATE = "...(共%d个参数, 已截断)";
+
+    final String url;
+
+    final String httpMethod;
+
+    /**
+     * 匹配到的处理器 url, 没有查找到处理器时为 null
+     */
+    final String urlPattern;
+
+    /**
+     * 参数的浅拷贝, 避免调用方之后修改 argMap
+     */
+    private final Object[] args;
+
+    CallRecord(String url, String httpMethod, String urlPattern, Map<String, ?> argMap) {
+        this.url = url;
+        this.httpMethod = httpMethod;
+        this.urlPattern = urlPattern;
+        if (argMap == null) {
+            this.args = null;
+        } else {
+            Object[] copy = new Object[argMap.size() * 2];
+            int i = 0;
+            for (Map.Entry<String, ?> entry : argMap.entrySet()) {
+                if (i >= copy.length) {
+                    break;
+                }
+                copy[i++] = entry.getKey();
+                copy[i++] = entry.getValue();
+            }
+            this.args = copy;
+        }
+    }
+
+    /**
+     * 将参数格式化为 JSON, 超过 maxChars 的部分截断
+     */
+    String renderArgs(int maxChars) {
+        if (args == null) {
+            return "null";
+        }
+        StringBuilder builder = new StringBuilder(Math.min(maxChars, 256) + 32);
+        builder.append('{');
+        for (int i = 0; i < args.length; i += 2) {
+            if (args[i] == null && args[i + 1] == null) {
+                // 拷贝时 argMap 被并发缩小留下的空位
+                continue;
+            }
+            int remaining = maxChars - builder.length();
+            if (remaining <= 0) {
+                builder.append(String.format(TRUNCATED_TEMPLATE, args.length / 2));
+                break;
+            }
+            if (builder.length() > 1) {
+                builder.append(',');
+            }
+            builder.append(JSON.toJSONString(args[i])).append(':');
+            Object raw = args[i + 1];
+            // 编解码器解码的参数值按 JSON 输出
+            String value = raw == null || raw instanceof String ? (String) raw : JSON.toJSONString(raw);
+            if (value != null && value.length() > remaining) {
+                value = value.substring(0, Math.max(0, remaining)) + "...";
+            }
+            builder.append(JSON.toJSONString(value));
+        }
+        return builder.append('}').toString();
+    }
+}
@@ -0,0 +1,274 @@
+package org.zsz.uniitf.dispatcher.bind;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.annotation.JSONField;
+import com.alibaba.fastjson.annotation.JSONType;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.util.TypeUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.ResolvableType;
+import org.zsz.uniitf.dispatcher.support.ClassUtil;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 将参数map直接绑定到自定义类型, 不经过中间的 JSON 文本
+ * 注册时对类型做一次内省, 生成 属性名 -> (setter/public 字段, 转换器) 的绑定计划:
+ * 基本类型、包装类型、BigDecimal、BigInteger、枚举、Date 使用与 fastjson 相同的类型转换,
+ * 自定义类型、集合、Map、数组属性的值按 JSON 解析.
+ * 非字符串的值(如批量调用中以 JSON 传递的数值、布尔值)按属性类型直接转换.
+ * 属性名先精确匹配, 再按 fastjson 的方式忽略大小写及 _ - 匹配.
+ * 计划无法表达的类型(使用 fastjson 注解、没有无参构造器、泛型属性、java.time 等)由 {@link #forType} 返回 null, 调用方继续使用 JSON 方式
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 13:00
+ */
+@Slf4j
+public final class BeanBinder {
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    private static final MethodType WRITER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?> type;
+
+    private final MethodHandle constructor;
+
+    /**
+     * key=属性名
+     */
+    private final Map<String, PropertyWriter> writers;
+
+    /**
+     * key=忽略大小写及 _ - 的属性名
+     */
+    private final Map<String, PropertyWriter> smartWriters;
+
+    private BeanBinder(Class<?> type, MethodHandle constructor, Map<String, PropertyWriter> writers) {
+        this.type = type;
+        this.constructor = constructor;
+        this.writers = writers;
+        this.smartWriters = new HashMap<>(writers.size() * 2);
+        for (PropertyWriter writer : writers.values()) {
+            smartWriters.putIfAbsent(smartKey(writer.name), writer);
+        }
+    }
+
+    /**
+     * 为类型生成绑定计划
+     * @param type 自定义类型
+     * @return 无法处理的类型返回 null
+     */
+    public static BeanBinder forType(Class<?> type) {
+        try {
+            return build(type);
+        } catch (UnsupportedOperationException | IllegalAccessException | NoSuchMethodException | SecurityException e) {
+            log.debug("类型 {} 无法生成绑定计划, 使用 JSON 方式绑定, 原因: {}", type.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 创建实例并绑定参数
+     * @param argMap 参数map, 值为字符串或已解析的值
+     * @return 绑定后的实例
+     * @throws ClassCastException 参数值转换失败
+     */
+    public Object bind(Map<String, ?> argMap) {
+        Object target;
+        try {
+            target = constructor.invokeExact();
+        } catch (Throwable t) {
+            throw new IllegalStateException("创建 " + type.getName() + " 实例失败: " + t.getMessage(), t);
+        }
+        for (Map.Entry<String, ?> entry : argMap.entrySet()) {
+            Object value = entry.getValue();
+            // 与 JSON 方式一致, null 值不设置
+            if (value == null) {
+                continue;
+            }
+            PropertyWriter writer = writers.get(entry.getKey());
+            if (writer == null) {
+                writer = smartWriters.get(smartKey(entry.getKey()));
+                if (writer == null) {
+                    continue;
+                }
+            }
+            writer.write(target, value);
+        }
+        return target;
+    }
+
+    private static BeanBinder build(Class<?> type) throws IllegalAccessException, NoSuchMethodException {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers()) || type.isArray() || type.isEnum()
+                || ClassUtil.isJavaClass(type) || (type.isMemberClass() && !Modifier.isStatic(type.getModifiers()))) {
+            throw new UnsupportedOperationException("不是可实例化的自定义类型");
+        }
+        if (type.getTypeParameters().length > 0) {
+            throw new UnsupportedOperationException("泛型类型");
+        }
+        if (hasFastjsonAnnotation(type)) {
+            throw new UnsupportedOperationException("使用了 fastjson 注解");
+        }
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        Constructor<?> ctor = type.getDeclaredConstructor();
+        ctor.setAccessible(true);
+        MethodHandle constructor = lookup.unreflectConstructor(ctor).asType(CONSTRUCTOR_TYPE);
+
+        Map<String, PropertyWriter> writers = new HashMap<>(16);
+        for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(type)) {
+            Method writeMethod = pd.getWriteMethod();
+            if (writeMethod == null) {
+                continue;
+            }
+            writeMethod.setAccessible(true);
+            Type genericType = writeMethod.getGenericParameterTypes()[0];
+            // 链式 setter 返回 this, 转换为 void 时丢弃返回值
+            MethodHandle setter = lookup.unreflect(writeMethod).asType(WRITER_TYPE);
+            writers.put(pd.getName(), new PropertyWriter(pd.getName(), pd.getPropertyType(), genericType, setter));
+        }
+        for (Field field : type.getFields()) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || writers.containsKey(field.getName())) {
+                continue;
+            }
+            MethodHandle setter = lookup.unreflectSetter(field).asType(WRITER_TYPE);
+            writers.put(field.getName(), new PropertyWriter(field.getName(), field.getType(), field.getGenericType(), setter));
+        }
+        return new BeanBinder(type, constructor, writers);
+    }
+
+    private static boolean hasFastjsonAnnotation(Class<?> type) {
+        for (Class<?> cls = type; cls != null && cls != Object.class; cls = cls.getSuperclass()) {
+            if (cls.isAnnotationPresent(JSONType.class)) {
+                return true;
+            }
+            for (Field field : cls.getDeclaredFields()) {
+                if (field.isAnnotationPresent(JSONField.class)) {
+                    return true;
+                }
+            }
+            for (Method method : cls.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(JSONField.class)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * fastjson smartMatch 的属性名: 忽略大小写, 去除 _ 和 -
+     */
+    private static String smartKey(String name) {
+        StringBuilder builder = null;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '_' || c == '-') {
+                if (builder == null) {
+                    builder = new StringBuilder(name.length());
+                    builder.append(name, 0, i);
+                }
+                continue;
+            }
+            if (builder != null) {
+                builder.append(c);
+            }
+        }
+        return (builder == null ? name : builder.toString()).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 单个属性的写入方式与值转换器
+     */
+    private static final class PropertyWriter {
+
+        private final String name;
+
+        private final Class<?> type;
+
+        private final Type genericType;
+
+        private final MethodHandle setter;
+
+        private final StringConverter converter;
+
+        private PropertyWriter(String name, Class<?> type, Type genericType, MethodHandle setter) {
+            this.name = name;
+            this.type = type;
+            this.genericType = genericType;
+            this.setter = setter;
+            this.converter = converterFor(type, genericType);
+        }
+
+        private void write(Object target, Object value) {
+            Object converted;
+            try {
+                converted = value instanceof String ? converter.convert((String) value) : convert(value);
+            } catch (RuntimeException e) {
+                throw new ClassCastException(e.getMessage());
+            }
+            // 空值无法赋给基本类型, 保持默认值
+            if (converted == null && type.isPrimitive()) {
+                return;
+            }
+            try {
+                setter.invokeExact(target, converted);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        /**
+         * 转换非字符串的值, 类型相同时直接使用
+         */
+        private Object convert(Object value) {
+            if (genericType instanceof Class && type.isInstance(value)) {
+                return value;
+            }
+            return TypeUtils.cast(value, genericType, ParserConfig.getGlobalInstance());
+        }
+
+        private static StringConverter converterFor(Class<?> type, Type genericType) {
+            if (ResolvableType.forType(genericType).hasUnresolvableGenerics()) {
+                throw new UnsupportedOperationException("属性类型含有未确定的泛型: " + genericType);
+            }
+            if (isScalar(type)) {
+                ParserConfig config = ParserConfig.getGlobalInstance();
+                return StringConverters.forType(type, value -> TypeUtils.cast(value, type, config));
+            }
+            // 嵌套的自定义类型、集合、Map、数组按 JSON 解析
+            if (!ClassUtil.isJavaClass(type) || type.isArray()
+                    || Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) {
+                return value -> JSON.parseObject(value, genericType);
+            }
+            throw new UnsupportedOperationException("不支持的属性类型: " + type.getName());
+        }
+
+        private static boolean isScalar(Class<?> type) {
+            return type.isPrimitive() || type.isEnum()
+                    || type == String.class || type == Boolean.class || type == Character.class
+                    || type == Byte.class || type == Short.class || type == Integer.class || type == Long.class
+                    || type == Float.class || type == Double.class
+                    || type == BigDecimal.class || type == BigInteger.class
+                    || type == Date.class;
+        }
+    }
+}
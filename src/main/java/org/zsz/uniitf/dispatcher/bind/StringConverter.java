@@ -0,0 +1,17 @@
+package org.zsz.uniitf.dispatcher.bind;
+
+/**
+ * 字符串参数值转换器, 注册时按目标类型选定
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 13:00
+ */
+@FunctionalInterface
+public interface StringConverter {
+
+    /**
+     * 转换参数值
+     * @param value 非 null 的参数值
+     * @return 转换后的值
+     */
+    Object convert(String value);
+}
@@ -0,0 +1,176 @@
+package org.zsz.uniitf.dispatcher.bind;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 常用类型的 StringConverter
+ * 基本类型、包装类型、BigDecimal、BigInteger 直接解析, 枚举使用缓存的 名称-常量 表,
+ * 快速路径无法处理的值(格式不标准、枚举名不存在等)交给 fallback, 保持与原转换方式一致的结果与异常
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 13:00
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public final class StringConverters {
+
+    private static final StringConverter IDENTITY = value -> value;
+
+    private StringConverters() {
+    }
+
+    /**
+     * 按类型选择转换器
+     * @param cls 目标类型
+     * @param fallback 快速路径无法处理时使用的转换器
+     * @return 没有快速路径的类型直接返回 fallback
+     */
+    public static StringConverter forType(Class<?> cls, StringConverter fallback) {
+        if (cls == String.class) {
+            return IDENTITY;
+        }
+        if (cls == int.class || cls == Integer.class) {
+            return value -> {
+                try {
+                    return Integer.valueOf(value);
+                } catch (NumberFormatException e) {
+                    return fallback.convert(value);
+                }
+            };
+        }
+        if (cls == long.class || cls == Long.class) {
+            return value -> {
+                try {
+                    return Long.valueOf(value);
+                } catch (NumberFormatException e) {
+                    return fallback.convert(value);
+                }
+            };
+        }
+        if (cls == short.class || cls == Short.class) {
+            return value -> {
+                try {
+                    return Short.valueOf(value);
+                } catch (NumberFormatException e) {
+                    return fallback.convert(value);
+                }
+            };
+        }
+        if (cls == byte.class || cls == Byte.class) {
+            return value -> {
+                try {
+                    return Byte.valueOf(value);
+                } catch (NumberFormatException e) {
+                    return fallback.convert(value);
+                }
+            };
+        }
+        if (cls == double.class || cls == Double.class) {
+            return value -> {
+                if (!isPlainNumber(value)) {
+                    return fallback.convert(value);
+                }
+                try {
+                    return Double.valueOf(value);
+                } catch (NumberFormatException e) {
+                    // 1-2、1..2、1e2e3 等由允许的字符组成但格式错误的值
+                    return fallback.convert(value);
+                }
+            };
+        }
+        if (cls == float.class || cls == Float.class) {
+            return value -> {
+                if (!isPlainNumber(value)) {
+                    return fallback.convert(value);
+                }
+                try {
+                    Float converted = Float.valueOf(value);
+                    // 超出 float 范围(上溢为无穷大或下溢为 0)时原方式报错, 0 同样交给 fallback 判断
+                    return converted.isInfinite() || converted == 0 ? fallback.convert(value) : converted;
+                } catch (NumberFormatException e) {
+                    return fallback.convert(value);
+                }
+            };
+        }
+        if (cls == boolean.class || cls == Boolean.class) {
+            return value -> {
+                if ("true".equals(value)) {
+                    return Boolean.TRUE;
+                }
+                if ("false".equals(value)) {
+                    return Boolean.FALSE;
+                }
+                return fallback.convert(value);
+            };
+        }
+        if (cls == BigDecimal.class) {
+            return value -> {
+                if (!isPlainNumber(value)) {
+                    return fallback.convert(value);
+                }
+                try {
+                    return new BigDecimal(value);
+                } catch (NumberFormatException e) {
+                    return fallback.convert(value);
+                }
+            };
+        }
+        if (cls == BigInteger.class) {
+            return value -> {
+                try {
+                    return new BigInteger(value);
+                } catch (NumberFormatException e) {
+                    return fallback.convert(value);
+                }
+            };
+        }
+        if (cls.isEnum()) {
+            return new EnumConverter((Class<? extends Enum>) cls, fallback);
+        }
+        return fallback;
+    }
+
+    /**
+     * 仅由数字、小数点、正负号、指数符号组成且以数字结尾, 排除 NaN、1d、0x1p3 等 Java 可以解析而 JSON 不能解析的写法;
+     * 只检查字符, 组合不合法的值仍会解析失败
+     */
+    private static boolean isPlainNumber(String value) {
+        int length = value.length();
+        if (length == 0 || !Character.isDigit(value.charAt(length - 1))) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (!(c >= '0' && c <= '9') && c != '.' && c != '-' && c != '+' && c != 'e' && c != 'E') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 枚举转换, 名称-常量 表在创建时生成一次
+     */
+    private static final class EnumConverter implements StringConverter {
+
+        private final Map<String, Object> constants;
+
+        private final StringConverter fallback;
+
+        private EnumConverter(Class<? extends Enum> enumType, StringConverter fallback) {
+            Enum[] values = enumType.getEnumConstants();
+            this.constants = new HashMap<>(values.length * 2);
+            for (Enum value : values) {
+                constants.put(value.name(), value);
+            }
+            this.fallback = fallback;
+        }
+
+        @Override
+        public Object convert(String value) {
+            Object constant = constants.get(value);
+            return constant != null ? constant : fallback.convert(value);
+        }
+    }
+}
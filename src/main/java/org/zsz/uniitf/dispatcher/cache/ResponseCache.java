@@ -0,0 +1,257 @@
+package org.zsz.uniitf.dispatcher.cache;
+
+import org.zsz.uniitf.dispatcher.HandlerDefinition;
+import org.zsz.uniitf.dispatcher.dto.ResponseCacheStats;
+import org.zsz.uniitf.dispatcher.support.ArgumentKeys;
+import org.zsz.uniitf.dispatcher.support.SerializedResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个处理器的响应缓存, 缓存序列化后的结果字节
+ * key 为按参数名排序的参数(或指定的 key 参数), 截止时间等保留参数不参与; 条目数及所有处理器共用的总字节数有上限,
+ * 超出时先淘汰已过期的条目, 再按过期时间从早到晚淘汰.
+ * 过期后 stale 时间内仍返回旧结果, 同一 key 只由一个调用触发后台刷新
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 18:30
+ */
+public final class ResponseCache {
+
+    /**
+     * 每个条目除结果字节外的估算开销
+     */
+    private static final int ENTRY_OVERHEAD = 96;
+
+    /**
+     * 一次淘汰后保留的比例, 避免每次写入都淘汰
+     */
+    private static final double EVICT_TO_RATIO = 0.9;
+
+    private final HandlerDefinition definition;
+
+    private final long ttlNanos;
+
+    private final long staleNanos;
+
+    private final int maxEntries;
+
+    /**
+     * 为 null 时使用全部参数
+     */
+    private final String[] keyParams;
+
+    /**
+     * 使用全部参数时排除的参数名
+     */
+    private final Set<String> ignoredParams;
+
+    private final ResponseCacheBudget budget;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>(64);
+
+    private final AtomicLong bytes = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder staleHitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * 处理器已注销, 不再缓存新结果
+     */
+    private volatile boolean closed;
+
+    ResponseCache(HandlerDefinition definition, long ttlMillis, long staleMillis, int maxEntries,
+                  String[] keyParams, Set<String> ignoredParams, ResponseCacheBudget budget) {
+        this.definition = definition;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.staleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, staleMillis));
+        this.maxEntries = Math.max(1, maxEntries);
+        this.keyParams = keyParams.length == 0 ? null : keyParams.clone();
+        this.ignoredParams = ignoredParams;
+        this.budget = budget;
+    }
+
+    public HandlerDefinition getDefinition() {
+        return definition;
+    }
+
+    /**
+     * 由参数生成缓存 key
+     * @param argMap 已合并 url 模板变量的参数
+     */
+    public String key(Map<String, ?> argMap) {
+        return keyParams == null ? ArgumentKeys.of(argMap, ignoredParams) : ArgumentKeys.of(argMap, keyParams);
+    }
+
+    /**
+     * 查找缓存
+     * @return 未命中或已超过 stale 时间时为 null
+     */
+    public Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        long age = System.nanoTime() - entry.expiresAt;
+        if (age < 0) {
+            hitCount.increment();
+            return entry;
+        }
+        if (age < staleNanos) {
+            staleHitCount.increment();
+            return entry;
+        }
+        remove(key, entry);
+        missCount.increment();
+        return null;
+    }
+
+    /**
+     * 序列化并缓存结果
+     * @return 可缓存时为序列化后的结果, 否则为原始结果
+     */
+    public Object put(String key, Object result) {
+        if (!SerializedResult.isSupported(result)) {
+            return result;
+        }
+        SerializedResult serialized = SerializedResult.of(result);
+        Entry entry = new Entry(serialized, System.nanoTime() + ttlNanos, ENTRY_OVERHEAD + key.length() * 2 + serialized.getBytes().length);
+        Entry previous = entries.put(key, entry);
+        account(entry.size - (previous == null ? 0 : previous.size));
+        if (closed) {
+            // 注销时仍在执行的调用, 结果不再保留
+            remove(key, entry);
+            return serialized;
+        }
+        if (entries.size() > maxEntries || budget.isExceeded()) {
+            evict();
+        }
+        return serialized;
+    }
+
+    /**
+     * 清空该处理器的缓存
+     * @return 清除的条目数
+     */
+    public int invalidate() {
+        int removed = 0;
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 处理器注销时清空缓存, 之后的结果不再缓存
+     */
+    void close() {
+        closed = true;
+        invalidate();
+    }
+
+    private boolean remove(String key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            account(-entry.size);
+            return true;
+        }
+        return false;
+    }
+
+    private void account(long delta) {
+        bytes.addAndGet(delta);
+        budget.add(delta);
+    }
+
+    private synchronized void evict() {
+        int targetEntries = (int) (maxEntries * EVICT_TO_RATIO);
+        if (entries.size() <= maxEntries && !budget.isExceeded()) {
+            return;
+        }
+        List<Map.Entry<String, Entry>> candidates = new ArrayList<>(entries.entrySet());
+        // 已过期的(expiresAt 最早)最先淘汰
+        candidates.sort(Comparator.comparingLong(e -> e.getValue().expiresAt));
+        for (Map.Entry<String, Entry> candidate : candidates) {
+            if (entries.size() <= targetEntries && budget.isBelowTarget()) {
+                break;
+            }
+            if (remove(candidate.getKey(), candidate.getValue())) {
+                evictionCount.increment();
+            }
+        }
+    }
+
+    public ResponseCacheStats snapshot() {
+        long hits = hitCount.sum();
+        long staleHits = staleHitCount.sum();
+        long misses = missCount.sum();
+        long lookups = hits + staleHits + misses;
+        return new ResponseCacheStats()
+                .setUrlPattern(definition.getRequestInfo().getUrlPattern())
+                .setHttpMethod(definition.getRequestInfo().getHttpMethod())
+                .setTtlMillis(TimeUnit.NANOSECONDS.toMillis(ttlNanos))
+                .setMaxEntries(maxEntries)
+                .setKeyParams(keyParams == null ? null : Arrays.asList(keyParams))
+                .setSize(entries.size())
+                .setBytes(bytes.get())
+                .setHitCount(hits)
+                .setStaleHitCount(staleHits)
+                .setMissCount(misses)
+                .setEvictionCount(evictionCount.sum())
+                .setHitRate(lookups == 0 ? 0.0 : (double) (hits + staleHits) / lookups);
+    }
+
+    /**
+     * 缓存条目
+     */
+    public static final class Entry {
+
+        private final SerializedResult result;
+
+        private final long expiresAt;
+
+        private final int size;
+
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(SerializedResult result, long expiresAt, int size) {
+            this.result = result;
+            this.expiresAt = expiresAt;
+            this.size = size;
+        }
+
+        public SerializedResult getResult() {
+            return result;
+        }
+
+        /**
+         * 已过期(处于 stale 时间内)且尚未开始刷新时返回 true, 同一条目只返回一次
+         */
+        public boolean tryStartRefresh() {
+            return System.nanoTime() - expiresAt >= 0 && refreshing.compareAndSet(false, true);
+        }
+
+        /**
+         * 刷新未能执行时恢复, 允许后续调用再次触发
+         */
+        public void refreshFailed() {
+            refreshing.set(false);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.zsz.uniitf.dispatcher.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 所有处理器的响应缓存共用的字节数上限
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 18:30
+ */
+final class ResponseCacheBudget {
+
+    private static final double TARGET_RATIO = 0.9;
+
+    private final long maxBytes;
+
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    ResponseCacheBudget(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    void add(long delta) {
+        usedBytes.addAndGet(delta);
+    }
+
+    boolean isExceeded() {
+        return usedBytes.get() > maxBytes;
+    }
+
+    /**
+     * 淘汰时降到上限的 90% 以下
+     */
+    boolean isBelowTarget() {
+        return usedBytes.get() <= maxBytes * TARGET_RATIO;
+    }
+}
@@ -0,0 +1,115 @@
+package org.zsz.uniitf.dispatcher.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.zsz.uniitf.dispatcher.HandlerDefinition;
+import org.zsz.uniitf.dispatcher.annotation.RemoteMethod;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.dto.ResponseCacheStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按处理器的响应缓存
+ * 注册时为声明了 @RemoteMethod(cacheTtlMillis) 的 HandlerDefinition 创建 ResponseCache 并绑定到 HandlerExecution,
+ * 所有缓存共用一个总字节数上限. 只有 GET/HEAD 处理器可以缓存, 其它 http method(包括不限 method)的处理器忽略该声明
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 18:30
+ */
+@Slf4j
+public class ResponseCacheRegistry {
+
+    private static final String NOT_CACHEABLE_TEMPLATE = "url:[{}] method:[{}] 不是 GET/HEAD 处理器, 忽略 {}#{} 声明的响应缓存";
+
+    private final boolean enabled;
+
+    private final ResponseCacheBudget budget;
+
+    /**
+     * 不参与缓存 key 的参数名
+     */
+    private final Set<String> ignoredParams;
+
+    /**
+     * key=HandlerDefinition value=ResponseCache
+     */
+    private final Map<HandlerDefinition, ResponseCache> caches = new ConcurrentHashMap<>(16);
+
+    /**
+     * @param ignoredParams 不参与缓存 key 的参数名, 如截止时间参数
+     */
+    public ResponseCacheRegistry(DispatcherProperties.ResponseCacheProperties properties, Set<String> ignoredParams) {
+        this.enabled = properties.isEnabled();
+        this.budget = new ResponseCacheBudget(properties.getMaxBytes());
+        this.ignoredParams = ignoredParams;
+    }
+
+    /**
+     * 获取处理器的缓存, 不存在时按注解创建
+     * @return 未启用、处理器未声明缓存或不是 GET/HEAD 处理器时为 null
+     */
+    public ResponseCache register(HandlerDefinition definition) {
+        RemoteMethod remoteMethod = definition.getMethod().getAnnotation(RemoteMethod.class);
+        if (!enabled || remoteMethod == null || remoteMethod.cacheTtlMillis() <= 0) {
+            return null;
+        }
+        RequestMethod httpMethod = definition.getRequestInfo().getHttpMethod();
+        if (httpMethod != RequestMethod.GET && httpMethod != RequestMethod.HEAD) {
+            // 缓存会跳过有副作用的调用
+            log.warn(NOT_CACHEABLE_TEMPLATE, definition.getRequestInfo().getUrlPattern(), httpMethod,
+                    definition.getController().getClass().getName(), definition.getMethod().getName());
+            return null;
+        }
+        return caches.computeIfAbsent(definition, def -> new ResponseCache(def,
+                remoteMethod.cacheTtlMillis(), remoteMethod.cacheStaleMillis(),
+                remoteMethod.cacheMaxEntries(), remoteMethod.cacheKeyParams(), ignoredParams, budget));
+    }
+
+    /**
+     * 处理器注销后移除其缓存, 释放占用的容量
+     */
+    public void unregister(HandlerDefinition definition) {
+        ResponseCache cache = caches.remove(definition);
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    /**
+     * 清除 url 模板为 urlPattern 的处理器的缓存
+     * @return 清除的条目数
+     */
+    public int invalidate(String urlPattern) {
+        int removed = 0;
+        for (ResponseCache cache : caches.values()) {
+            if (cache.getDefinition().getRequestInfo().getUrlPattern().equals(urlPattern)) {
+                removed += cache.invalidate();
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 清除全部缓存
+     * @return 清除的条目数
+     */
+    public int invalidateAll() {
+        int removed = 0;
+        for (ResponseCache cache : caches.values()) {
+            removed += cache.invalidate();
+        }
+        return removed;
+    }
+
+    public List<ResponseCacheStats> snapshot() {
+        List<ResponseCacheStats> stats = new ArrayList<>(caches.size());
+        for (ResponseCache cache : caches.values()) {
+            stats.add(cache.snapshot());
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,132 @@
+package org.zsz.uniitf.dispatcher.client;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.zsz.uniitf.dispatcher.exception.RemoteInvokeException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 合并窗口内的调用
+ * 窗口从第一个调用加入时开始, 窗口结束或调用数达到 maxBatchSize 时把已加入的调用交给发送线程池, 合并为一次批量请求
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:40
+ */
+final class CallBatcher {
+
+    private final long windowMillis;
+
+    private final int maxBatchSize;
+
+    private final Executor sendExecutor;
+
+    private final Consumer<List<PendingCall>> sender;
+
+    /**
+     * 窗口结束时触发发送
+     */
+    private final ScheduledThreadPoolExecutor timer;
+
+    private List<PendingCall> pending;
+
+    private ScheduledFuture<?> flushTask;
+
+    private boolean closed;
+
+    /**
+     * @param windowMillis 合并窗口
+     * @param maxBatchSize 一次批量请求最多包含的调用数
+     * @param sendExecutor 执行发送的线程池
+     * @param sender 发送一批调用, 并完成其中每个调用的 future
+     */
+    CallBatcher(long windowMillis, int maxBatchSize, Executor sendExecutor, Consumer<List<PendingCall>> sender) {
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.sendExecutor = sendExecutor;
+        this.sender = sender;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("uniitf-client-batch-");
+        threadFactory.setDaemon(true);
+        this.timer = new ScheduledThreadPoolExecutor(1, threadFactory);
+        this.timer.setRemoveOnCancelPolicy(true);
+        this.pending = new ArrayList<>(this.maxBatchSize);
+    }
+
+    /**
+     * 加入当前窗口
+     */
+    void submit(PendingCall call) {
+        List<PendingCall> full = null;
+        synchronized (this) {
+            if (closed) {
+                call.fail(new RemoteInvokeException(null, "客户端已关闭"));
+                return;
+            }
+            pending.add(call);
+            if (pending.size() >= maxBatchSize) {
+                full = drain();
+            } else if (pending.size() == 1) {
+                flushTask = timer.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+    }
+
+    /**
+     * 窗口结束, 发送已加入的调用
+     */
+    private void flush() {
+        List<PendingCall> calls;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            calls = drain();
+        }
+        dispatch(calls);
+    }
+
+    private List<PendingCall> drain() {
+        List<PendingCall> calls = pending;
+        pending = new ArrayList<>(maxBatchSize);
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        return calls;
+    }
+
+    private void dispatch(List<PendingCall> calls) {
+        try {
+            sendExecutor.execute(() -> sender.accept(calls));
+        } catch (RejectedExecutionException e) {
+            RemoteInvokeException failure = new RemoteInvokeException(null, "客户端发送线程池已满");
+            for (PendingCall call : calls) {
+                call.fail(failure);
+            }
+        }
+    }
+
+    /**
+     * 停止合并, 当前窗口内的调用失败
+     */
+    void close() {
+        List<PendingCall> calls;
+        synchronized (this) {
+            closed = true;
+            calls = drain();
+        }
+        timer.shutdownNow();
+        RemoteInvokeException failure = new RemoteInvokeException(null, "客户端已关闭");
+        for (PendingCall call : calls) {
+            call.fail(failure);
+        }
+    }
+}
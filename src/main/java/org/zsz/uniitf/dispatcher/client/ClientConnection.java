@@ -0,0 +1,227 @@
+package org.zsz.uniitf.dispatcher.client;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * 到服务端的一个持久连接, 同一时间只由一个线程使用
+ * 请求以 Content-Length 发送, 响应必须带 Content-Length(内嵌 HTTP 服务总是如此); 服务端要求关闭或响应不完整时连接不再复用
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:40
+ */
+final class ClientConnection implements Closeable {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * 状态行及单个响应头的最大长度
+     */
+    private static final int MAX_LINE_LENGTH = 8 * 1024;
+
+    private final Socket socket;
+
+    private final InputStream in;
+
+    private final OutputStream out;
+
+    private final StringBuilder line = new StringBuilder(128);
+
+    /**
+     * 已完成的请求数, 为 0 时是新建的连接
+     */
+    private int exchanges;
+
+    /**
+     * 当前请求是否已完整写出, 写出后服务端可能已开始处理
+     */
+    private boolean requestWritten;
+
+    /**
+     * 当前请求是否已读到响应的字节
+     */
+    private boolean responseStarted;
+
+    private long lastUsedNanos;
+
+    private ClientConnection(Socket socket) throws IOException {
+        this.socket = socket;
+        this.in = new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE);
+        this.out = new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE);
+        this.lastUsedNanos = System.nanoTime();
+    }
+
+    static ClientConnection open(String host, int port, int connectTimeoutMillis, int readTimeoutMillis) throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            socket.setSoTimeout(readTimeoutMillis);
+            socket.connect(new InetSocketAddress(host, port), connectTimeoutMillis);
+            return new ClientConnection(socket);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 发送一个请求并读取完整的响应
+     * @param head 请求行及请求头, 以 "Content-Length: " 结尾, 长度及空行由此处补全
+     * @param body 请求体
+     * @return 响应
+     * @throws IOException 读写失败、超时或响应格式错误, 之后连接不能再使用
+     */
+    Response exchange(byte[] head, byte[] body) throws IOException {
+        requestWritten = false;
+        responseStarted = false;
+        out.write(head);
+        out.write(Integer.toString(body.length).getBytes(StandardCharsets.US_ASCII));
+        out.write('\r');
+        out.write('\n');
+        out.write('\r');
+        out.write('\n');
+        out.write(body);
+        out.flush();
+        requestWritten = true;
+        Response response = readResponse();
+        exchanges++;
+        lastUsedNanos = System.nanoTime();
+        return response;
+    }
+
+    private Response readResponse() throws IOException {
+        String statusLine = readLine();
+        // 状态行: HTTP/1.1 200 OK
+        if (!statusLine.startsWith("HTTP/1.") || statusLine.length() < 12 || statusLine.charAt(8) != ' ') {
+            throw new IOException("响应的状态行格式错误: " + statusLine);
+        }
+        int status;
+        try {
+            status = Integer.parseInt(statusLine.substring(9, 12));
+        } catch (NumberFormatException e) {
+            throw new IOException("响应的状态码格式错误: " + statusLine);
+        }
+        boolean keepAlive = statusLine.charAt(7) == '1';
+        int contentLength = -1;
+        for (String header = readLine(); !header.isEmpty(); header = readLine()) {
+            int colon = header.indexOf(':');
+            if (colon <= 0) {
+                throw new IOException("响应头格式错误: " + header);
+            }
+            String name = header.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = header.substring(colon + 1).trim();
+            if ("content-length".equals(name)) {
+                try {
+                    contentLength = Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    throw new IOException("响应的 Content-Length 格式错误: " + value);
+                }
+            } else if ("connection".equals(name)) {
+                keepAlive = !"close".equalsIgnoreCase(value) && (keepAlive || "keep-alive".equalsIgnoreCase(value));
+            } else if ("transfer-encoding".equals(name)) {
+                throw new IOException("不支持的响应 Transfer-Encoding: " + value);
+            }
+        }
+        if (contentLength < 0) {
+            throw new IOException("响应没有 Content-Length");
+        }
+        byte[] body = new byte[contentLength];
+        for (int read = 0; read < contentLength; ) {
+            int count = in.read(body, read, contentLength - read);
+            if (count == -1) {
+                throw new EOFException("响应体不完整");
+            }
+            read += count;
+        }
+        return new Response(status, body, keepAlive);
+    }
+
+    private String readLine() throws IOException {
+        line.setLength(0);
+        while (true) {
+            int b = in.read();
+            if (b == -1) {
+                throw new EOFException(responseStarted ? "响应不完整" : "连接已被服务端关闭");
+            }
+            responseStarted = true;
+            if (b == '\n') {
+                int length = line.length();
+                if (length > 0 && line.charAt(length - 1) == '\r') {
+                    line.setLength(length - 1);
+                }
+                return line.toString();
+            }
+            if (line.length() >= MAX_LINE_LENGTH) {
+                throw new IOException("响应头过长");
+            }
+            line.append((char) b);
+        }
+    }
+
+    /**
+     * 是否复用过, 复用的连接可能已被服务端因空闲关闭
+     */
+    boolean isReused() {
+        return exchanges > 0;
+    }
+
+    /**
+     * 当前请求是否已完整写出, 写出失败时请求一定未被服务端处理
+     */
+    boolean isRequestWritten() {
+        return requestWritten;
+    }
+
+    /**
+     * 当前请求是否已读到响应的字节, 没有读到时请求可能未被服务端处理
+     */
+    boolean isResponseStarted() {
+        return responseStarted;
+    }
+
+    /**
+     * 空闲时间是否超过 idleTimeoutNanos
+     */
+    boolean isExpired(long now, long idleTimeoutNanos) {
+        return now - lastUsedNanos >= idleTimeoutNanos;
+    }
+
+    @Override
+    public void close() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // 关闭失败时忽略
+        }
+    }
+
+    /**
+     * 完整读取的响应
+     */
+    static final class Response {
+
+        final int status;
+
+        final byte[] body;
+
+        /**
+         * 连接是否可以继续使用
+         */
+        final boolean keepAlive;
+
+        private Response(int status, byte[] body, boolean keepAlive) {
+            this.status = status;
+            this.body = body;
+            this.keepAlive = keepAlive;
+        }
+    }
+}
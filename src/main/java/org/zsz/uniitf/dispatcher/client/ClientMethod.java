@@ -0,0 +1,254 @@
+package org.zsz.uniitf.dispatcher.client;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.util.ParameterizedTypeImpl;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.zsz.uniitf.dispatcher.RemoteRequestInfo;
+import org.zsz.uniitf.dispatcher.dto.BatchEntry;
+import org.zsz.uniitf.dispatcher.dto.Result;
+import org.zsz.uniitf.dispatcher.exception.RemoteInvokeException;
+import org.zsz.uniitf.dispatcher.support.ClassUtil;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * 客户端接口方法的调用信息, 创建代理时解析一次
+ * 参数名与服务端绑定规则一致: 取参数名(接口需以 -parameters 编译), 无法获取时取 @RequestParam 的名称;
+ * 没有 @RequestParam 的自定义类型参数展开为其属性, 与服务端开启 bind-custom-type-from-arg-map 时按整个参数map 绑定对应;
+ * url 模板变量替换为同名参数的值
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:40
+ */
+final class ClientMethod {
+
+    private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+
+    private static final String DEFAULT_HTTP_METHOD = "POST";
+
+    private final Method method;
+
+    /**
+     * url 按模板变量切分后的片段, 偶数下标为字面量, 奇数下标为变量名
+     */
+    private final String[] urlSegments;
+
+    private final String httpMethod;
+
+    /**
+     * 参数名, 展开为属性的参数为 null
+     */
+    private final String[] paramNames;
+
+    /**
+     * 参数是否为 url 模板变量, 模板变量不再放入参数map
+     */
+    private final boolean[] templateParams;
+
+    /**
+     * 服务端返回的 Result 类型, data 为方法返回值(CompletableFuture 时为其元素)类型
+     */
+    private final Type resultType;
+
+    private final boolean voidResult;
+
+    private final boolean primitiveResult;
+
+    /**
+     * 返回值是否为 CompletableFuture / CompletionStage
+     */
+    private final boolean async;
+
+    private ClientMethod(Method method, RemoteRequestInfo info) {
+        this.method = method;
+        this.httpMethod = info.getHttpMethod() == null ? DEFAULT_HTTP_METHOD : info.getHttpMethod().name();
+        this.urlSegments = splitTemplate(info.getUrlPattern());
+        Parameter[] parameters = method.getParameters();
+        String[] discovered = PARAMETER_NAME_DISCOVERER.getParameterNames(method);
+        this.paramNames = new String[parameters.length];
+        this.templateParams = new boolean[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Class<?> type = parameters[i].getType();
+            RequestParam requestParam = parameters[i].getAnnotation(RequestParam.class);
+            if (requestParam == null && !ClassUtil.isJavaClass(type) && !type.isEnum() && !type.isArray()) {
+                continue;
+            }
+            // 服务端按参数名绑定, 不使用 @RequestParam 的名称; 无法获取参数名时才使用
+            String name = discovered != null ? discovered[i]
+                    : requestParam == null ? null : StringUtils.isEmpty(requestParam.value()) ? requestParam.name() : requestParam.value();
+            if (StringUtils.isEmpty(name)) {
+                throw new IllegalStateException(String.format("无法获取接口方法 [%s] 的参数名, 请以 -parameters 编译或使用 @RequestParam 指定", method));
+            }
+            paramNames[i] = name;
+            for (int j = 1; j < urlSegments.length; j += 2) {
+                templateParams[i] |= urlSegments[j].equals(name);
+            }
+        }
+        for (int j = 1; j < urlSegments.length; j += 2) {
+            if (indexOf(paramNames, urlSegments[j]) == -1) {
+                throw new IllegalStateException(String.format("接口方法 [%s] 没有与 url 模板变量 [%s] 同名的参数", method, urlSegments[j]));
+            }
+        }
+        Class<?> returnClass = method.getReturnType();
+        Type dataType = method.getGenericReturnType();
+        this.async = returnClass == CompletableFuture.class || returnClass == CompletionStage.class;
+        if (async) {
+            dataType = dataType instanceof ParameterizedType ? ((ParameterizedType) dataType).getActualTypeArguments()[0] : Object.class;
+            returnClass = dataType instanceof Class ? (Class<?>) dataType : Object.class;
+        }
+        this.voidResult = returnClass == void.class || returnClass == Void.class;
+        this.primitiveResult = returnClass.isPrimitive() && !voidResult;
+        if (voidResult || !(dataType instanceof Class || dataType instanceof ParameterizedType)) {
+            dataType = Object.class;
+        } else if (primitiveResult) {
+            dataType = ClassUtils.resolvePrimitiveIfNecessary(returnClass);
+        }
+        this.resultType = new ParameterizedTypeImpl(new Type[]{dataType}, null, Result.class);
+    }
+
+    /**
+     * 解析接口方法
+     * @param method 接口方法
+     * @param mappings 方法的映射, 由 RemoteRequestInfoHelper 组合接口与方法上的 @RequestMapping 生成
+     * @return 没有映射时为 null; 有多个映射时使用第一个
+     */
+    static ClientMethod of(Method method, List<RemoteRequestInfo> mappings) {
+        if (mappings.isEmpty()) {
+            return null;
+        }
+        return new ClientMethod(method, mappings.get(0));
+    }
+
+    /**
+     * 生成批量调用中的一个调用, 参数值保留其类型, 由服务端按参数类型绑定; 为 null 的参数不传递, 服务端使用默认值
+     * @param args 方法参数, 没有参数时为 null
+     */
+    BatchEntry toEntry(Object[] args) {
+        JSONObject argMap = new JSONObject(Math.max(16, paramNames.length * 2));
+        for (int i = 0; i < paramNames.length; i++) {
+            Object arg = args[i];
+            if (arg == null || templateParams[i]) {
+                continue;
+            }
+            if (paramNames[i] != null) {
+                argMap.put(paramNames[i], arg);
+            } else {
+                // 自定义类型的属性作为参数, 已有的同名参数优先
+                for (Map.Entry<String, Object> property : ((JSONObject) JSON.toJSON(arg)).entrySet()) {
+                    argMap.putIfAbsent(property.getKey(), property.getValue());
+                }
+            }
+        }
+        return new BatchEntry().setUrl(expandUrl(args)).setHttpMethod(httpMethod).setArgMap(argMap);
+    }
+
+    private String expandUrl(Object[] args) {
+        if (urlSegments.length == 1) {
+            return urlSegments[0];
+        }
+        StringBuilder url = new StringBuilder(64);
+        for (int i = 0; i < urlSegments.length; i++) {
+            if (i % 2 == 0) {
+                url.append(urlSegments[i]);
+                continue;
+            }
+            Object value = args[indexOf(paramNames, urlSegments[i])];
+            if (value == null) {
+                throw new IllegalArgumentException(String.format("接口方法 [%s] 的 url 模板变量 [%s] 为 null", method.getName(), urlSegments[i]));
+            }
+            url.append(value instanceof Enum ? ((Enum<?>) value).name() : String.valueOf(value));
+        }
+        return url.toString();
+    }
+
+    /**
+     * 从服务端返回的 Result 中取出返回值
+     * @throws RemoteInvokeException 调用失败, 或基本类型的返回值为 null
+     */
+    Object decode(Result<?> result) {
+        if (result == null) {
+            throw new RemoteInvokeException(null, "服务端没有返回接口方法 [" + method.getName() + "] 的结果");
+        }
+        if (!Result.SUCCESS.equals(result.getCode())) {
+            throw new RemoteInvokeException(result.getCode(), result.getMessage());
+        }
+        if (voidResult) {
+            return null;
+        }
+        if (result.getData() == null && primitiveResult) {
+            throw new RemoteInvokeException(result.getCode(), "接口方法 [" + method.getName() + "] 的返回值为 null, 不能转为基本类型");
+        }
+        return result.getData();
+    }
+
+    Type getResultType() {
+        return resultType;
+    }
+
+    boolean isAsync() {
+        return async;
+    }
+
+    Method getMethod() {
+        return method;
+    }
+
+    /**
+     * 按 {name} 或 {name:regex} 切分 url 模板
+     */
+    private static String[] splitTemplate(String urlPattern) {
+        List<String> segments = new ArrayList<>(4);
+        int start = 0;
+        int open;
+        while ((open = urlPattern.indexOf('{', start)) != -1) {
+            int close = closingBrace(urlPattern, open);
+            if (close == -1) {
+                break;
+            }
+            segments.add(urlPattern.substring(start, open));
+            String variable = urlPattern.substring(open + 1, close);
+            int colon = variable.indexOf(':');
+            segments.add((colon == -1 ? variable : variable.substring(0, colon)).trim());
+            start = close + 1;
+        }
+        segments.add(urlPattern.substring(start));
+        return segments.toArray(new String[0]);
+    }
+
+    /**
+     * 与 { 对应的 }, 正则中可以有成对的 {}
+     */
+    private static int closingBrace(String text, int open) {
+        int depth = 0;
+        for (int i = open; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(String[] names, String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (name.equals(names[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,118 @@
+package org.zsz.uniitf.dispatcher.client;
+
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 持久连接池, 连接总数不超过 maxConnections
+ * 空闲连接后进先出, 最近使用的连接先被复用, 空闲超时的连接在取用或归还时关闭
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:40
+ */
+final class ConnectionPool {
+
+    private final String host;
+
+    private final int port;
+
+    private final int connectTimeoutMillis;
+
+    private final int readTimeoutMillis;
+
+    private final long idleTimeoutNanos;
+
+    private final int maxConnections;
+
+    /**
+     * 可以使用的连接数, 包括空闲的连接
+     */
+    private final Semaphore permits;
+
+    private final Deque<ClientConnection> idle = new ArrayDeque<>();
+
+    private boolean closed;
+
+    ConnectionPool(DispatcherProperties.ClientProperties properties) {
+        this.host = properties.getHost();
+        this.port = properties.getPort();
+        this.connectTimeoutMillis = properties.getConnectTimeoutMillis();
+        this.readTimeoutMillis = properties.getReadTimeoutMillis();
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(properties.getIdleTimeoutMillis());
+        this.maxConnections = Math.max(1, properties.getMaxConnections());
+        this.permits = new Semaphore(maxConnections);
+    }
+
+    /**
+     * 取用一个连接, 没有空闲连接时新建; 用完后必须调用 {@link #release} 归还
+     * @throws IOException 等待连接超时或建立连接失败
+     * @throws InterruptedException 等待时被中断
+     */
+    ClientConnection acquire() throws IOException, InterruptedException {
+        if (!permits.tryAcquire(readTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            throw new IOException("等待空闲连接超时, 连接数上限 " + maxConnections);
+        }
+        try {
+            long now = System.nanoTime();
+            ClientConnection connection;
+            while ((connection = pollIdle()) != null) {
+                if (!connection.isExpired(now, idleTimeoutNanos)) {
+                    return connection;
+                }
+                connection.close();
+            }
+            return ClientConnection.open(host, port, connectTimeoutMillis, readTimeoutMillis);
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 归还连接
+     * @param connection
+     * @param reusable 为 false 时关闭连接, 如读写失败或服务端要求关闭
+     */
+    void release(ClientConnection connection, boolean reusable) {
+        ClientConnection expired = null;
+        synchronized (this) {
+            if (reusable && !closed) {
+                idle.push(connection);
+                // 最久未使用的连接在队尾
+                ClientConnection eldest = idle.peekLast();
+                if (eldest != connection && eldest.isExpired(System.nanoTime(), idleTimeoutNanos)) {
+                    expired = idle.pollLast();
+                }
+                connection = null;
+            }
+        }
+        if (connection != null) {
+            connection.close();
+        }
+        if (expired != null) {
+            expired.close();
+        }
+        permits.release();
+    }
+
+    /**
+     * 关闭全部空闲连接, 使用中的连接归还时关闭
+     */
+    void close() {
+        synchronized (this) {
+            closed = true;
+            for (ClientConnection connection : idle) {
+                connection.close();
+            }
+            idle.clear();
+        }
+    }
+
+    private synchronized ClientConnection pollIdle() {
+        return idle.poll();
+    }
+}
@@ -0,0 +1,279 @@
+package org.zsz.uniitf.dispatcher.client;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.zsz.uniitf.dispatcher.async.AsyncExecutors;
+import org.zsz.uniitf.dispatcher.codec.JsonCodec;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.dto.BatchEntry;
+import org.zsz.uniitf.dispatcher.dto.Result;
+import org.zsz.uniitf.dispatcher.exception.RemoteInvokeException;
+import org.zsz.uniitf.dispatcher.support.RemoteRequestInfoHelper;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 调用通用接口内嵌 HTTP 服务的客户端, uniitf.dispatcher.client.enabled=true 时创建为 bean, 也可以直接创建
+ * {@link #create(Class)} 为标注 @RequestMapping 的接口生成代理, 映射规则与服务端相同(由 RemoteRequestInfoHelper 组合接口与方法上的映射),
+ * 同一接口也可以由服务端的 controller 实现. 每次调用以服务端的批量调用路径发送, 响应总是包装为 Result, 失败时抛出 {@link RemoteInvokeException};
+ * 返回 CompletableFuture 的方法在发送线程池中异步调用.
+ * 连接为池化的持久连接; 配置合并窗口时, 窗口内的调用(含不同线程、不同方法)合并为一次批量请求
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:40
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "uniitf.dispatcher.client", name = "enabled", havingValue = "true")
+public class DispatcherClient implements DisposableBean {
+
+    private static final String CONTENT_TYPE = JsonCodec.CONTENT_TYPE + ";charset=UTF-8";
+
+    private final DispatcherProperties.ClientProperties properties;
+
+    private final RemoteRequestInfoHelper requestInfoHelper = new RemoteRequestInfoHelper();
+
+    private final ConnectionPool connectionPool;
+
+    private final ThreadPoolExecutor sendExecutor;
+
+    /**
+     * 没有配置合并窗口时为 null
+     */
+    private final CallBatcher batcher;
+
+    /**
+     * 请求行及固定的请求头, 以 "Content-Length: " 结尾
+     */
+    private final byte[] requestHead;
+
+    private final Map<Class<?>, Object> proxies = new ConcurrentHashMap<>();
+
+    public DispatcherClient(DispatcherProperties properties) {
+        this.properties = properties.getClient();
+        this.connectionPool = new ConnectionPool(this.properties);
+        this.sendExecutor = AsyncExecutors.newThreadPool("uniitf-client-", this.properties.getThreads(), this.properties.getQueueCapacity());
+        this.batcher = this.properties.getBatchWindowMillis() > 0
+                ? new CallBatcher(this.properties.getBatchWindowMillis(), this.properties.getMaxBatchSize(), sendExecutor, this::send)
+                : null;
+        StringBuilder head = new StringBuilder(256)
+                .append("POST ").append(this.properties.getBatchPath()).append(" HTTP/1.1\r\n")
+                .append("Host: ").append(this.properties.getHost()).append(':').append(this.properties.getPort()).append("\r\n")
+                .append("Content-Type: ").append(CONTENT_TYPE).append("\r\n")
+                .append("Accept: ").append(JsonCodec.CONTENT_TYPE).append("\r\n");
+        if (!StringUtils.isEmpty(this.properties.getTenant())) {
+            head.append(this.properties.getTenantHeader()).append(": ").append(this.properties.getTenant()).append("\r\n");
+        }
+        this.requestHead = head.append("Content-Length: ").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 为接口生成代理, 同一接口只生成一次
+     * @param api 接口, 抽象方法都需要有 @RequestMapping 映射(可以继承自接口上的映射), default 方法不能调用
+     * @return 线程安全的代理
+     * @throws IllegalArgumentException 不是接口, 或方法没有映射、参数名无法获取等
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T create(Class<T> api) {
+        return (T) proxies.computeIfAbsent(api, this::newProxy);
+    }
+
+    private Object newProxy(Class<?> api) {
+        if (!api.isInterface()) {
+            throw new IllegalArgumentException("[" + api.getName() + "] 不是接口");
+        }
+        Map<Method, ClientMethod> methods = new HashMap<>(32);
+        for (Method method : api.getMethods()) {
+            if (method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            ClientMethod clientMethod;
+            try {
+                clientMethod = ClientMethod.of(method, requestInfoHelper.getMappingsForMethod(method, api));
+            } catch (IllegalStateException e) {
+                throw new IllegalArgumentException(e.getMessage(), e);
+            }
+            if (clientMethod == null) {
+                throw new IllegalArgumentException(String.format("接口方法 [%s] 没有 @RequestMapping 映射", method));
+            }
+            methods.put(method, clientMethod);
+        }
+        log.info("通用接口客户端代理 [{}] 已创建, 方法数 {}", api.getName(), methods.size());
+        return Proxy.newProxyInstance(api.getClassLoader(), new Class<?>[]{api}, new ClientInvocationHandler(api, methods));
+    }
+
+    /**
+     * 调用一个方法, 同步方法等待结果, 异步方法直接返回 future
+     */
+    private Object invoke(ClientMethod method, Object[] args) throws Throwable {
+        PendingCall call = new PendingCall(method, method.toEntry(args));
+        if (batcher != null) {
+            batcher.submit(call);
+        } else if (method.isAsync()) {
+            try {
+                sendExecutor.execute(() -> send(Collections.singletonList(call)));
+            } catch (RejectedExecutionException e) {
+                call.fail(new RemoteInvokeException(null, "客户端发送线程池已满"));
+            }
+        } else {
+            // 同步且不合并时在调用线程中发送
+            send(Collections.singletonList(call));
+        }
+        if (method.isAsync()) {
+            return call.future;
+        }
+        try {
+            return call.future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RemoteInvokeException("等待调用结果时被中断", e);
+        }
+    }
+
+    /**
+     * 以一次批量请求发送调用, 完成每个调用的 future
+     */
+    private void send(List<PendingCall> calls) {
+        List<BatchEntry> entries = new ArrayList<>(calls.size());
+        Type[] resultTypes = new Type[calls.size()];
+        boolean idempotent = true;
+        for (int i = 0; i < calls.size(); i++) {
+            BatchEntry entry = calls.get(i).entry;
+            entries.add(entry);
+            resultTypes[i] = calls.get(i).method.getResultType();
+            idempotent &= isIdempotent(entry.getHttpMethod());
+        }
+        RemoteInvokeException failure;
+        try {
+            ClientConnection.Response response = exchange(JSON.toJSONBytes(entries), idempotent);
+            if (response.status == 200) {
+                List<Object> results = JSON.parseArray(new String(response.body, StandardCharsets.UTF_8), resultTypes);
+                for (int i = 0; i < calls.size(); i++) {
+                    calls.get(i).complete(results != null && i < results.size() ? (Result<?>) results.get(i) : null);
+                }
+                return;
+            }
+            failure = failedResponse(response);
+        } catch (IOException e) {
+            failure = new RemoteInvokeException("调用通用接口失败: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = new RemoteInvokeException("等待连接时被中断", e);
+        } catch (RuntimeException e) {
+            failure = new RemoteInvokeException("解析通用接口的响应失败: " + e.getMessage(), e);
+        }
+        log.error(">>>-- 通用接口客户端调用出错, 调用数 {} --<<<", calls.size(), failure);
+        for (PendingCall call : calls) {
+            call.fail(failure);
+        }
+    }
+
+    private static boolean isIdempotent(String httpMethod) {
+        return "GET".equalsIgnoreCase(httpMethod) || "HEAD".equalsIgnoreCase(httpMethod);
+    }
+
+    /**
+     * 发送请求并读取响应
+     * 复用的连接可能已被服务端因空闲关闭, 此时换一个连接重试: 请求未完整写出时总是重试;
+     * 已写出但没有读到任何响应字节(读取超时除外)时服务端可能已执行, 只有全部为 GET/HEAD 调用才重试, 避免重复执行
+     * @param idempotent 批量请求中的调用是否都是 GET/HEAD
+     */
+    private ClientConnection.Response exchange(byte[] body, boolean idempotent) throws IOException, InterruptedException {
+        while (true) {
+            ClientConnection connection = connectionPool.acquire();
+            boolean reusable = false;
+            try {
+                ClientConnection.Response response = connection.exchange(requestHead, body);
+                reusable = response.keepAlive;
+                return response;
+            } catch (SocketTimeoutException e) {
+                throw e;
+            } catch (IOException e) {
+                boolean retryable = !connection.isRequestWritten() || (idempotent && !connection.isResponseStarted());
+                if (!connection.isReused() || !retryable) {
+                    throw e;
+                }
+                log.debug("复用的连接已失效, 使用新连接重试: {}", e.getMessage());
+            } finally {
+                connectionPool.release(connection, reusable);
+            }
+        }
+    }
+
+    /**
+     * 服务端拒绝整个请求(非 200), 响应体为失败的 Result
+     */
+    private static RemoteInvokeException failedResponse(ClientConnection.Response response) {
+        try {
+            JSONObject result = JSON.parseObject(new String(response.body, StandardCharsets.UTF_8));
+            if (result != null && result.getString("code") != null) {
+                return new RemoteInvokeException(result.getString("code"), "HTTP " + response.status + ": " + result.getString("message"));
+            }
+        } catch (RuntimeException e) {
+            // 响应体不是 Result 时只使用状态码
+        }
+        return new RemoteInvokeException(null, "HTTP " + response.status);
+    }
+
+    @Override
+    public void destroy() {
+        if (batcher != null) {
+            batcher.close();
+        }
+        sendExecutor.shutdown();
+        connectionPool.close();
+    }
+
+    private final class ClientInvocationHandler implements InvocationHandler {
+
+        private final Class<?> api;
+
+        private final Map<Method, ClientMethod> methods;
+
+        private ClientInvocationHandler(Class<?> api, Map<Method, ClientMethod> methods) {
+            this.api = api;
+            this.methods = methods;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            ClientMethod clientMethod = methods.get(method);
+            if (clientMethod != null) {
+                return DispatcherClient.this.invoke(clientMethod, args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return "DispatcherClient proxy for " + api.getName();
+                }
+            }
+            throw new UnsupportedOperationException("不支持调用接口方法 [" + method + "]");
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.zsz.uniitf.dispatcher.client;
+
+import org.zsz.uniitf.dispatcher.dto.BatchEntry;
+import org.zsz.uniitf.dispatcher.dto.Result;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 等待发送或等待结果的调用
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:40
+ */
+final class PendingCall {
+
+    final ClientMethod method;
+
+    final BatchEntry entry;
+
+    final CompletableFuture<Object> future = new CompletableFuture<>();
+
+    PendingCall(ClientMethod method, BatchEntry entry) {
+        this.method = method;
+        this.entry = entry;
+    }
+
+    /**
+     * 按服务端返回的 Result 完成调用
+     */
+    void complete(Result<?> result) {
+        try {
+            future.complete(method.decode(result));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    void fail(Throwable t) {
+        future.completeExceptionally(t);
+    }
+}
@@ -0,0 +1,183 @@
+package org.zsz.uniitf.dispatcher.coalesce;
+
+import org.zsz.uniitf.dispatcher.HandlerDefinition;
+import org.zsz.uniitf.dispatcher.deadline.Deadline;
+import org.zsz.uniitf.dispatcher.deadline.DeadlineContext;
+import org.zsz.uniitf.dispatcher.dto.CoalescingStats;
+import org.zsz.uniitf.dispatcher.support.ArgumentKeys;
+import org.zsz.uniitf.dispatcher.support.HandlerCall;
+import org.zsz.uniitf.dispatcher.support.SerializedResult;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个处理器的合并执行: 参数(截止时间等保留参数除外)相同的并发调用只执行一次处理器, 其它调用等待并共用其结果或异常.
+ * 执行结束即移除, 不保留结果.
+ * 执行开始超过合并窗口后或等待数达到上限后, 新的调用不再加入, 而是各自执行.
+ * 结果不能共用时(流式结果、异步结果、二进制结果)等待的调用也各自执行.
+ * 加入后最多等待一个合并窗口, 调用有截止时间时不超过截止时间; 超时后仍未截止的调用各自执行
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 19:10
+ */
+public final class SingleFlight {
+
+    /**
+     * 结果不能共用的标记
+     */
+    private static final Object NOT_SHARED = new Object();
+
+    private final HandlerDefinition definition;
+
+    private final int maxWaiters;
+
+    private final long windowNanos;
+
+    /**
+     * 不参与 key 的参数名
+     */
+    private final Set<String> ignoredParams;
+
+    /**
+     * key=参数生成的 key value=执行中的调用
+     */
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>(64);
+
+    private final LongAdder executionCount = new LongAdder();
+
+    private final LongAdder coalescedCount = new LongAdder();
+
+    private final LongAdder overflowCount = new LongAdder();
+
+    private final LongAdder waitTimeoutCount = new LongAdder();
+
+    SingleFlight(HandlerDefinition definition, int maxWaiters, long windowMillis, Set<String> ignoredParams) {
+        this.definition = definition;
+        this.maxWaiters = Math.max(1, maxWaiters);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.ignoredParams = ignoredParams;
+    }
+
+    /**
+     * 执行或加入参数相同的执行中调用
+     * @param argMap 已合并 url 模板变量的参数
+     * @param call 执行处理器
+     * @return 结果可以共用时为 {@link SerializedResult}, 否则为处理器原始的返回值
+     * @throws Throwable 处理器抛出的异常, 等待的调用抛出同一个异常
+     */
+    public Object execute(Map<String, ?> argMap, HandlerCall call) throws Throwable {
+        String key = ArgumentKeys.of(argMap, ignoredParams);
+        Flight created = new Flight(System.nanoTime());
+        while (true) {
+            Flight flight = flights.get(key);
+            if (flight == null) {
+                if (flights.putIfAbsent(key, created) == null) {
+                    break;
+                }
+                continue;
+            }
+            if (flight.tryJoin()) {
+                coalescedCount.increment();
+                Object shared = await(flight);
+                return shared == NOT_SHARED ? call.call() : shared;
+            }
+            overflowCount.increment();
+            // 不再接受加入的调用由新的调用替换, 替换失败时各自执行
+            if (!flights.replace(key, flight, created)) {
+                return call.call();
+            }
+            break;
+        }
+        executionCount.increment();
+        try {
+            Object result = call.call();
+            if (SerializedResult.isSupported(result)) {
+                result = SerializedResult.of(result);
+                created.future.complete(result);
+            } else {
+                created.future.complete(NOT_SHARED);
+            }
+            return result;
+        } catch (Throwable t) {
+            created.future.completeExceptionally(t);
+            throw t;
+        } finally {
+            flights.remove(key, created);
+        }
+    }
+
+    /**
+     * 等待加入的调用结束
+     * @return 结果不能共用或等待超时时为 NOT_SHARED
+     * @throws TimeoutException 等待期间调用已截止, 不再执行
+     */
+    private Object await(Flight flight) throws Throwable {
+        Deadline deadline = DeadlineContext.current();
+        long timeoutNanos = deadline == null ? windowNanos : Math.min(windowNanos, deadline.remainingNanos());
+        try {
+            return flight.future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            waitTimeoutCount.increment();
+            if (deadline != null && deadline.isExpired()) {
+                throw e;
+            }
+            return NOT_SHARED;
+        }
+    }
+
+    public CoalescingStats snapshot() {
+        return new CoalescingStats()
+                .setUrlPattern(definition.getRequestInfo().getUrlPattern())
+                .setHttpMethod(definition.getRequestInfo().getHttpMethod())
+                .setMaxWaiters(maxWaiters)
+                .setWindowMillis(TimeUnit.NANOSECONDS.toMillis(windowNanos))
+                .setInFlight(flights.size())
+                .setExecutionCount(executionCount.sum())
+                .setCoalescedCount(coalescedCount.sum())
+                .setOverflowCount(overflowCount.sum())
+                .setWaitTimeoutCount(waitTimeoutCount.sum());
+    }
+
+    /**
+     * 执行中的调用
+     */
+    private final class Flight {
+
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        private final long startedAt;
+
+        private final AtomicInteger waiters = new AtomicInteger();
+
+        private Flight(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        /**
+         * 在合并窗口内且等待数未达到上限时加入
+         */
+        private boolean tryJoin() {
+            if (System.nanoTime() - startedAt > windowNanos) {
+                return false;
+            }
+            while (true) {
+                int current = waiters.get();
+                if (current >= maxWaiters) {
+                    return false;
+                }
+                if (waiters.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
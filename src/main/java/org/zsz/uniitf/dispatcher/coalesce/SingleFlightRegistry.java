@@ -0,0 +1,65 @@
+package org.zsz.uniitf.dispatcher.coalesce;
+
+import org.zsz.uniitf.dispatcher.HandlerDefinition;
+import org.zsz.uniitf.dispatcher.annotation.RemoteMethod;
+import org.zsz.uniitf.dispatcher.dto.CoalescingStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按处理器的合并执行
+ * 注册时为声明了 @RemoteMethod(coalesce = true) 的 HandlerDefinition 创建 SingleFlight 并绑定到 HandlerExecution
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 19:10
+ */
+public class SingleFlightRegistry {
+
+    /**
+     * key=HandlerDefinition value=SingleFlight
+     */
+    private final Map<HandlerDefinition, SingleFlight> flights = new ConcurrentHashMap<>(16);
+
+    /**
+     * 不参与合并 key 的参数名
+     */
+    private final Set<String> ignoredParams;
+
+    /**
+     * @param ignoredParams 不参与合并 key 的参数名, 如截止时间参数
+     */
+    public SingleFlightRegistry(Set<String> ignoredParams) {
+        this.ignoredParams = ignoredParams;
+    }
+
+    /**
+     * 获取处理器的合并执行, 不存在时按注解创建
+     * @return 处理器未声明合并执行时为 null
+     */
+    public SingleFlight register(HandlerDefinition definition) {
+        RemoteMethod remoteMethod = definition.getMethod().getAnnotation(RemoteMethod.class);
+        if (remoteMethod == null || !remoteMethod.coalesce()) {
+            return null;
+        }
+        return flights.computeIfAbsent(definition, def -> new SingleFlight(def,
+                remoteMethod.coalesceMaxWaiters(), remoteMethod.coalesceWindowMillis(), ignoredParams));
+    }
+
+    /**
+     * 处理器注销后移除其合并执行, 执行中的调用不受影响
+     */
+    public void unregister(HandlerDefinition definition) {
+        flights.remove(definition);
+    }
+
+    public List<CoalescingStats> snapshot() {
+        List<CoalescingStats> stats = new ArrayList<>(flights.size());
+        for (SingleFlight flight : flights.values()) {
+            stats.add(flight.snapshot());
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,81 @@
+package org.zsz.uniitf.dispatcher.codec;
+
+import com.alibaba.fastjson.util.FieldInfo;
+import com.alibaba.fastjson.util.TypeUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 自定义类型的可序列化属性, 与 fastjson 序列化的属性一致(名称、@JSONField 等)
+ * 每个类型只内省一次, 读取属性使用 MethodHandle
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 22:10
+ */
+final class BeanProperties {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ConcurrentMap<Class<?>, BeanProperties> CACHE = new ConcurrentHashMap<>(64);
+
+    private final String[] names;
+
+    private final MethodHandle[] getters;
+
+    private BeanProperties(String[] names, MethodHandle[] getters) {
+        this.names = names;
+        this.getters = getters;
+    }
+
+    static BeanProperties of(Class<?> type) {
+        BeanProperties properties = CACHE.get(type);
+        return properties != null ? properties : CACHE.computeIfAbsent(type, BeanProperties::build);
+    }
+
+    private static BeanProperties build(Class<?> type) {
+        List<FieldInfo> fields = TypeUtils.computeGetters(type, null);
+        String[] names = new String[fields.size()];
+        MethodHandle[] getters = new MethodHandle[fields.size()];
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            for (int i = 0; i < names.length; i++) {
+                FieldInfo field = fields.get(i);
+                names[i] = field.name;
+                MethodHandle getter;
+                if (field.method != null) {
+                    field.method.setAccessible(true);
+                    getter = lookup.unreflect(field.method);
+                } else {
+                    field.field.setAccessible(true);
+                    getter = lookup.unreflectGetter(field.field);
+                }
+                getters[i] = getter.asType(GETTER_TYPE);
+            }
+        } catch (IllegalAccessException | SecurityException e) {
+            throw new IllegalStateException("无法读取 " + type.getName() + " 的属性: " + e.getMessage(), e);
+        }
+        return new BeanProperties(names, getters);
+    }
+
+    int size() {
+        return names.length;
+    }
+
+    String name(int index) {
+        return names[index];
+    }
+
+    Object get(int index, Object bean) {
+        try {
+            return getters[index].invokeExact(bean);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
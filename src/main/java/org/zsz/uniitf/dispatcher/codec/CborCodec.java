@@ -0,0 +1,44 @@
+package org.zsz.uniitf.dispatcher.codec;
+
+import com.alibaba.fastjson.JSONObject;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * CBOR(RFC 8949) 编解码, 数值较多的参数和结果比 JSON 更小, 编解码不需要解析数字文本.
+ * 数值数组(int[] / long[] / double[] 等)编码为类型化数组, 解码后直接绑定到同类型的参数, 不逐个转换元素.
+ * 结果中的 Date 为毫秒时间戳, 与 JSON 的日期格式不同
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 22:10
+ * @see CborWriter
+ * @see CborReader
+ */
+public final class CborCodec implements Codec {
+
+    public static final String CONTENT_TYPE = "application/cbor";
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public JSONObject decode(byte[] body) {
+        if (body == null || body.length == 0) {
+            return new JSONObject();
+        }
+        Object decoded = new CborReader(body).readDocument();
+        if (!(decoded instanceof JSONObject)) {
+            throw new IllegalArgumentException("请求体不是 CBOR map");
+        }
+        return (JSONObject) decoded;
+    }
+
+    @Override
+    public void encode(Object result, OutputStream out) throws IOException {
+        CborWriter writer = new CborWriter(out);
+        writer.writeValue(result);
+        writer.flush();
+    }
+}
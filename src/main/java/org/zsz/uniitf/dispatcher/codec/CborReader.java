@@ -0,0 +1,369 @@
+package org.zsz.uniitf.dispatcher.codec;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import static org.zsz.uniitf.dispatcher.codec.CborWriter.*;
+
+/**
+ * CBOR(RFC 8949) 解码
+ * map 解码为 JSONObject(非字符串的 key 转为字符串), array 解码为 JSONArray,
+ * 整数为 Integer / Long / BigInteger, 浮点数为 Float / Double, byte string 为 byte[],
+ * 标签 2/3 为 BigInteger, 标签 4 为 BigDecimal, {@link CborWriter} 输出的类型化数组为对应的基本类型数组, 其它标签忽略.
+ * 声明的长度不超过剩余字节数, 嵌套层数不超过 {@link CborWriter#MAX_DEPTH}, 格式错误时抛出 IllegalArgumentException
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 22:10
+ */
+final class CborReader {
+
+    private static final String FORMAT_ERROR_TEMPLATE = "CBOR 格式错误: %s, 位置 [%d]";
+
+    private static final int INDEFINITE = 31;
+
+    /**
+     * 预分配的集合容量上限, 更多的元素按需扩容
+     */
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+
+    /**
+     * 表示 break 的标记
+     */
+    private static final Object BREAK_MARK = new Object();
+
+    private final byte[] data;
+
+    private int position;
+
+    CborReader(byte[] data) {
+        this.data = data;
+    }
+
+    /**
+     * 读取唯一的顶层值, 之后不能有多余的字节
+     */
+    Object readDocument() {
+        Object value = readValue(0);
+        if (value == BREAK_MARK) {
+            throw error("意外的 break");
+        }
+        if (position != data.length) {
+            throw error("顶层值之后有多余的字节");
+        }
+        return value;
+    }
+
+    private Object readValue(int depth) {
+        if (depth > MAX_DEPTH) {
+            throw error("嵌套层数超过 " + MAX_DEPTH);
+        }
+        int initial = readByte();
+        int major = initial >>> 5;
+        int info = initial & 0x1f;
+        switch (major) {
+            case MAJOR_UNSIGNED:
+                return readUnsigned(info);
+            case MAJOR_NEGATIVE:
+                return readNegative(info);
+            case MAJOR_BYTES:
+                return readBytes(info);
+            case MAJOR_TEXT:
+                return new String(readBytes(info), StandardCharsets.UTF_8);
+            case MAJOR_ARRAY:
+                return readArray(info, depth);
+            case MAJOR_MAP:
+                return readMap(info, depth);
+            case MAJOR_TAG:
+                return readTagged(readArgument(info), depth);
+            default:
+                return readSimple(info);
+        }
+    }
+
+    private Object readUnsigned(int info) {
+        long value = readArgument(info);
+        if (value < 0) {
+            // 超过 long 范围的 64 位无符号整数
+            return new BigInteger(Long.toUnsignedString(value));
+        }
+        return value <= Integer.MAX_VALUE ? (Object) (int) value : (Object) value;
+    }
+
+    private Object readNegative(int info) {
+        long value = readArgument(info);
+        if (value < 0) {
+            return BigInteger.valueOf(-1L).subtract(new BigInteger(Long.toUnsignedString(value)));
+        }
+        long negative = ~value;
+        return negative >= Integer.MIN_VALUE ? (Object) (int) negative : (Object) negative;
+    }
+
+    private byte[] readBytes(int info) {
+        if (info != INDEFINITE) {
+            int length = readLength(info);
+            byte[] bytes = new byte[length];
+            System.arraycopy(data, position, bytes, 0, length);
+            position += length;
+            return bytes;
+        }
+        // 分段的 byte / text string
+        int major = (data[position - 1] & 0xff) >>> 5;
+        ByteArrayOutputStream chunks = new ByteArrayOutputStream();
+        while (true) {
+            int initial = readByte();
+            if (initial == BREAK) {
+                return chunks.toByteArray();
+            }
+            if (initial >>> 5 != major || (initial & 0x1f) == INDEFINITE) {
+                throw error("分段字符串的类型不一致");
+            }
+            int length = readLength(initial & 0x1f);
+            chunks.write(data, position, length);
+            position += length;
+        }
+    }
+
+    private JSONArray readArray(int info, int depth) {
+        if (info == INDEFINITE) {
+            JSONArray array = new JSONArray();
+            while (true) {
+                Object element = readValue(depth + 1);
+                if (element == BREAK_MARK) {
+                    return array;
+                }
+                array.add(element);
+            }
+        }
+        int size = readLength(info);
+        JSONArray array = new JSONArray(Math.min(size, MAX_INITIAL_CAPACITY));
+        for (int i = 0; i < size; i++) {
+            array.add(readElement(depth));
+        }
+        return array;
+    }
+
+    private JSONObject readMap(int info, int depth) {
+        boolean indefinite = info == INDEFINITE;
+        int size = indefinite ? -1 : readLength(info);
+        JSONObject map = new JSONObject(indefinite ? 16 : Math.max(16, Math.min(size, MAX_INITIAL_CAPACITY) * 2));
+        for (int i = 0; indefinite || i < size; i++) {
+            Object key = readValue(depth + 1);
+            if (key == BREAK_MARK) {
+                if (indefinite) {
+                    return map;
+                }
+                throw error("意外的 break");
+            }
+            map.put(key instanceof String ? (String) key : String.valueOf(key), readElement(depth));
+        }
+        return map;
+    }
+
+    private Object readElement(int depth) {
+        Object element = readValue(depth + 1);
+        if (element == BREAK_MARK) {
+            throw error("意外的 break");
+        }
+        return element;
+    }
+
+    private Object readTagged(long tag, int depth) {
+        switch (tag > Integer.MAX_VALUE || tag < 0 ? -1 : (int) tag) {
+            case TAG_POSITIVE_BIGNUM:
+            case TAG_NEGATIVE_BIGNUM:
+                return readBignum(tag == TAG_POSITIVE_BIGNUM, depth);
+            case TAG_DECIMAL_FRACTION:
+                return readDecimal(depth);
+            case TAG_INT8_ARRAY:
+            case TAG_INT16_ARRAY:
+            case TAG_INT32_ARRAY:
+            case TAG_INT64_ARRAY:
+            case TAG_FLOAT32_ARRAY:
+            case TAG_FLOAT64_ARRAY:
+                return readTypedArray((int) tag, depth);
+            default:
+                return readElement(depth);
+        }
+    }
+
+    private BigInteger readBignum(boolean positive, int depth) {
+        Object content = readElement(depth);
+        if (!(content instanceof byte[])) {
+            throw error("bignum 的内容不是 byte string");
+        }
+        BigInteger magnitude = new BigInteger(1, (byte[]) content);
+        return positive ? magnitude : magnitude.not();
+    }
+
+    private BigDecimal readDecimal(int depth) {
+        Object content = readElement(depth);
+        if (!(content instanceof JSONArray) || ((JSONArray) content).size() != 2) {
+            throw error("decimal fraction 的内容不是两个元素的数组");
+        }
+        JSONArray parts = (JSONArray) content;
+        Object exponent = parts.get(0);
+        Object mantissa = parts.get(1);
+        if (!(exponent instanceof Integer) || !(mantissa instanceof Number) || mantissa instanceof Float || mantissa instanceof Double) {
+            throw error("decimal fraction 的指数或尾数不是整数");
+        }
+        BigInteger unscaled = mantissa instanceof BigInteger ? (BigInteger) mantissa : BigInteger.valueOf(((Number) mantissa).longValue());
+        return new BigDecimal(unscaled, -(Integer) exponent);
+    }
+
+    private Object readTypedArray(int tag, int depth) {
+        Object content = readElement(depth);
+        if (!(content instanceof byte[])) {
+            throw error("类型化数组的内容不是 byte string");
+        }
+        byte[] bytes = (byte[]) content;
+        switch (tag) {
+            case TAG_INT8_ARRAY:
+                return bytes;
+            case TAG_INT16_ARRAY: {
+                short[] values = new short[elementCount(bytes, Short.BYTES)];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = (short) (((bytes[i * 2] & 0xff) << 8) | (bytes[i * 2 + 1] & 0xff));
+                }
+                return values;
+            }
+            case TAG_INT32_ARRAY: {
+                int[] values = new int[elementCount(bytes, Integer.BYTES)];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = intAt(bytes, i * 4);
+                }
+                return values;
+            }
+            case TAG_INT64_ARRAY: {
+                long[] values = new long[elementCount(bytes, Long.BYTES)];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = longAt(bytes, i * 8);
+                }
+                return values;
+            }
+            case TAG_FLOAT32_ARRAY: {
+                float[] values = new float[elementCount(bytes, Float.BYTES)];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = Float.intBitsToFloat(intAt(bytes, i * 4));
+                }
+                return values;
+            }
+            default: {
+                double[] values = new double[elementCount(bytes, Double.BYTES)];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = Double.longBitsToDouble(longAt(bytes, i * 8));
+                }
+                return values;
+            }
+        }
+    }
+
+    private int elementCount(byte[] bytes, int elementSize) {
+        if (bytes.length % elementSize != 0) {
+            throw error("类型化数组的长度不是元素大小的整数倍");
+        }
+        return bytes.length / elementSize;
+    }
+
+    private Object readSimple(int info) {
+        switch (info) {
+            case FALSE & 0x1f:
+                return Boolean.FALSE;
+            case TRUE & 0x1f:
+                return Boolean.TRUE;
+            case NULL & 0x1f:
+            case (NULL & 0x1f) + 1:
+                // null 与 undefined
+                return null;
+            case 25:
+                return halfToFloat((short) readFixed(2));
+            case FLOAT32 & 0x1f:
+                return Float.intBitsToFloat((int) readFixed(4));
+            case FLOAT64 & 0x1f:
+                return Double.longBitsToDouble(readFixed(8));
+            case INDEFINITE:
+                return BREAK_MARK;
+            default:
+                throw error("不支持的 simple value " + info);
+        }
+    }
+
+    private static float halfToFloat(short bits) {
+        int sign = (bits & 0x8000) != 0 ? -1 : 1;
+        int exponent = (bits >>> 10) & 0x1f;
+        int fraction = bits & 0x3ff;
+        if (exponent == 0) {
+            return sign * Math.scalb(fraction, -24);
+        }
+        if (exponent == 0x1f) {
+            return fraction == 0 ? sign * Float.POSITIVE_INFINITY : Float.NaN;
+        }
+        return sign * Math.scalb(fraction + 1024, exponent - 25);
+    }
+
+    /**
+     * 读取长度, 不能超过剩余的字节数
+     */
+    private int readLength(int info) {
+        long length = readArgument(info);
+        if (length < 0 || length > data.length - position) {
+            throw error("长度 " + Long.toUnsignedString(length) + " 超过剩余的字节数");
+        }
+        return (int) length;
+    }
+
+    /**
+     * 读取 major type 的参数, 64 位时按无符号数返回
+     */
+    private long readArgument(int info) {
+        if (info < 24) {
+            return info;
+        }
+        switch (info) {
+            case 24:
+                return readFixed(1);
+            case 25:
+                return readFixed(2);
+            case 26:
+                return readFixed(4);
+            case 27:
+                return readFixed(8);
+            default:
+                throw error("不支持的长度编码 " + info);
+        }
+    }
+
+    private long readFixed(int length) {
+        if (data.length - position < length) {
+            throw error("数据不完整");
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            value = (value << 8) | (data[position++] & 0xff);
+        }
+        return value;
+    }
+
+    private int readByte() {
+        if (position >= data.length) {
+            throw error("数据不完整");
+        }
+        return data[position++] & 0xff;
+    }
+
+    private static int intAt(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xff) << 24) | ((bytes[offset + 1] & 0xff) << 16)
+                | ((bytes[offset + 2] & 0xff) << 8) | (bytes[offset + 3] & 0xff);
+    }
+
+    private static long longAt(byte[] bytes, int offset) {
+        return ((long) intAt(bytes, offset) << 32) | (intAt(bytes, offset + 4) & 0xffffffffL);
+    }
+
+    private IllegalArgumentException error(String reason) {
+        return new IllegalArgumentException(String.format(FORMAT_ERROR_TEMPLATE, reason, position));
+    }
+}
@@ -0,0 +1,450 @@
+package org.zsz.uniitf.dispatcher.codec;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.parser.Feature;
+import org.zsz.uniitf.dispatcher.stream.StreamingResults;
+import org.zsz.uniitf.dispatcher.support.ClassUtil;
+import org.zsz.uniitf.dispatcher.support.SerializedResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CBOR(RFC 8949) 编码, 写入内部缓冲区, 缓冲区满时写出
+ * 整数使用最短的长度, 可以无损表示为 float32 的浮点数使用 float32;
+ * int[] / long[] / short[] / float[] / double[] 编码为 RFC 8746 的大端序类型化数组(一个标签加一段字节), 不逐个编码元素;
+ * BigInteger 超出 long 范围时为 bignum(标签 2/3), BigDecimal 为 decimal fraction(标签 4);
+ * Date 为毫秒时间戳, 枚举为名称, 自定义类型按 fastjson 序列化的属性编码为 map, 值为 null 的属性不输出(与 JSON 一致)
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 22:10
+ */
+final class CborWriter {
+
+    static final int MAJOR_UNSIGNED = 0;
+
+    static final int MAJOR_NEGATIVE = 1;
+
+    static final int MAJOR_BYTES = 2;
+
+    static final int MAJOR_TEXT = 3;
+
+    static final int MAJOR_ARRAY = 4;
+
+    static final int MAJOR_MAP = 5;
+
+    static final int MAJOR_TAG = 6;
+
+    static final int MAJOR_SIMPLE = 7;
+
+    static final int FALSE = 0xf4;
+
+    static final int TRUE = 0xf5;
+
+    static final int NULL = 0xf6;
+
+    static final int FLOAT32 = 0xfa;
+
+    static final int FLOAT64 = 0xfb;
+
+    static final int INDEFINITE_ARRAY = 0x9f;
+
+    static final int BREAK = 0xff;
+
+    static final int TAG_POSITIVE_BIGNUM = 2;
+
+    static final int TAG_NEGATIVE_BIGNUM = 3;
+
+    static final int TAG_DECIMAL_FRACTION = 4;
+
+    /**
+     * RFC 8746 大端序类型化数组
+     */
+    static final int TAG_INT8_ARRAY = 72;
+
+    static final int TAG_INT16_ARRAY = 73;
+
+    static final int TAG_INT32_ARRAY = 74;
+
+    static final int TAG_INT64_ARRAY = 75;
+
+    static final int TAG_FLOAT32_ARRAY = 81;
+
+    static final int TAG_FLOAT64_ARRAY = 82;
+
+    /**
+     * 嵌套层数上限, 防止循环引用
+     */
+    static final int MAX_DEPTH = 256;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * 已缓存结果(JSON)转为 CBOR 时小数解析为 double, 不使用 BigDecimal
+     */
+    private static final int SERIALIZED_PARSER_FEATURES = JSON.DEFAULT_PARSER_FEATURE & ~Feature.UseBigDecimal.mask;
+
+    private final OutputStream out;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private int position;
+
+    private int depth;
+
+    CborWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * 写出缓冲区中的内容
+     */
+    void flush() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+        out.flush();
+    }
+
+    void writeValue(Object value) throws IOException {
+        if (value == null) {
+            writeByte(NULL);
+        } else if (value instanceof String) {
+            writeText((String) value);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            writeLong(((Number) value).longValue());
+        } else if (value instanceof Double) {
+            writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Map) {
+            writeMap((Map<?, ?>) value);
+        } else if (value instanceof Collection) {
+            writeCollection((Collection<?>) value);
+        } else if (value.getClass().isArray()) {
+            writeArray(value);
+        } else {
+            writeOther(value);
+        }
+    }
+
+    private void writeOther(Object value) throws IOException {
+        if (value instanceof BigDecimal) {
+            writeDecimal((BigDecimal) value);
+        } else if (value instanceof BigInteger) {
+            writeBigInteger((BigInteger) value);
+        } else if (value instanceof AtomicInteger || value instanceof AtomicLong || value instanceof LongAdder) {
+            writeLong(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Character || value instanceof Enum) {
+            writeText(value instanceof Enum ? ((Enum<?>) value).name() : value.toString());
+        } else if (value instanceof Date) {
+            writeLong(((Date) value).getTime());
+        } else if (value instanceof ByteBuffer) {
+            writeBytes((ByteBuffer) value);
+        } else if (value instanceof SerializedResult) {
+            // CBOR 数据项自定界, 缓存的编码结果可以直接嵌入
+            byte[] encoded = ((SerializedResult) value).encoded(CborCodec.CONTENT_TYPE, CborWriter::encodeSerialized);
+            writeRaw(encoded, 0, encoded.length);
+        } else if (StreamingResults.isStreaming(value)) {
+            writeStreaming(value);
+        } else if (ClassUtil.isJavaClass(value.getClass())) {
+            // 其它 jdk 类型(java.time、UUID 等)与 JSON 的表示一致
+            Object json = JSON.toJSON(value);
+            if (json == value) {
+                writeText(value.toString());
+            } else {
+                writeValue(json);
+            }
+        } else {
+            writeBean(value);
+        }
+    }
+
+    /**
+     * 已缓存结果(JSON)解析后编码为 CBOR, 结果缓存在 SerializedResult 中, 同一结果只解析一次
+     */
+    private static byte[] encodeSerialized(SerializedResult result) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(result.getBytes().length);
+        CborWriter writer = new CborWriter(out);
+        try {
+            writer.writeValue(JSON.parse(result.toString(), SERIALIZED_PARSER_FEATURES));
+            writer.flush();
+        } catch (IOException e) {
+            // 写入内存不会失败
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private void writeMap(Map<?, ?> map) throws IOException {
+        enter();
+        writeHead(MAJOR_MAP, map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            writeText(String.valueOf(entry.getKey()));
+            writeValue(entry.getValue());
+        }
+        depth--;
+    }
+
+    private void writeCollection(Collection<?> collection) throws IOException {
+        enter();
+        writeHead(MAJOR_ARRAY, collection.size());
+        for (Object element : collection) {
+            writeValue(element);
+        }
+        depth--;
+    }
+
+    private void writeStreaming(Object result) throws IOException {
+        enter();
+        writeByte(INDEFINITE_ARRAY);
+        try {
+            StreamingResults.forEach(result, this::writeValue);
+        } catch (RuntimeException e) {
+            // 已写出部分元素, 无法再表达错误, 中断输出
+            throw new IOException("流式结果输出中断: " + e.getMessage(), e);
+        }
+        writeByte(BREAK);
+        depth--;
+    }
+
+    private void writeBean(Object bean) throws IOException {
+        BeanProperties properties = BeanProperties.of(bean.getClass());
+        Object[] values = new Object[properties.size()];
+        int count = 0;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = properties.get(i, bean);
+            if (values[i] != null) {
+                count++;
+            }
+        }
+        enter();
+        writeHead(MAJOR_MAP, count);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                writeText(properties.name(i));
+                writeValue(values[i]);
+            }
+        }
+        depth--;
+    }
+
+    private void writeArray(Object array) throws IOException {
+        if (array instanceof byte[]) {
+            byte[] bytes = (byte[]) array;
+            writeHead(MAJOR_BYTES, bytes.length);
+            writeRaw(bytes, 0, bytes.length);
+        } else if (array instanceof double[]) {
+            double[] values = (double[]) array;
+            writeTypedHead(TAG_FLOAT64_ARRAY, values.length, Long.BYTES);
+            for (double value : values) {
+                writeLongBits(Double.doubleToRawLongBits(value));
+            }
+        } else if (array instanceof long[]) {
+            long[] values = (long[]) array;
+            writeTypedHead(TAG_INT64_ARRAY, values.length, Long.BYTES);
+            for (long value : values) {
+                writeLongBits(value);
+            }
+        } else if (array instanceof int[]) {
+            int[] values = (int[]) array;
+            writeTypedHead(TAG_INT32_ARRAY, values.length, Integer.BYTES);
+            for (int value : values) {
+                writeIntBits(value);
+            }
+        } else if (array instanceof float[]) {
+            float[] values = (float[]) array;
+            writeTypedHead(TAG_FLOAT32_ARRAY, values.length, Float.BYTES);
+            for (float value : values) {
+                writeIntBits(Float.floatToRawIntBits(value));
+            }
+        } else if (array instanceof short[]) {
+            short[] values = (short[]) array;
+            writeTypedHead(TAG_INT16_ARRAY, values.length, Short.BYTES);
+            for (short value : values) {
+                ensure(2);
+                buffer[position++] = (byte) (value >>> 8);
+                buffer[position++] = (byte) value;
+            }
+        } else if (array instanceof char[]) {
+            writeText(new String((char[]) array));
+        } else if (array instanceof boolean[]) {
+            boolean[] values = (boolean[]) array;
+            writeHead(MAJOR_ARRAY, values.length);
+            for (boolean value : values) {
+                writeByte(value ? TRUE : FALSE);
+            }
+        } else {
+            Object[] values = (Object[]) array;
+            enter();
+            writeHead(MAJOR_ARRAY, values.length);
+            for (Object value : values) {
+                writeValue(value);
+            }
+            depth--;
+        }
+    }
+
+    private void writeTypedHead(int tag, int length, int elementSize) throws IOException {
+        writeHead(MAJOR_TAG, tag);
+        writeHead(MAJOR_BYTES, (long) length * elementSize);
+    }
+
+    void writeLong(long value) throws IOException {
+        if (value >= 0) {
+            writeHead(MAJOR_UNSIGNED, value);
+        } else {
+            writeHead(MAJOR_NEGATIVE, ~value);
+        }
+    }
+
+    private void writeDouble(double value) throws IOException {
+        float narrowed = (float) value;
+        if (narrowed == value) {
+            writeFloat(narrowed);
+            return;
+        }
+        writeByte(FLOAT64);
+        writeLongBits(Double.doubleToRawLongBits(value));
+    }
+
+    private void writeFloat(float value) throws IOException {
+        writeByte(FLOAT32);
+        writeIntBits(Float.floatToRawIntBits(value));
+    }
+
+    private void writeBigInteger(BigInteger value) throws IOException {
+        if (value.bitLength() < Long.SIZE) {
+            writeLong(value.longValue());
+            return;
+        }
+        boolean negative = value.signum() < 0;
+        byte[] magnitude = (negative ? value.not() : value).toByteArray();
+        // 去除补码的符号字节
+        int offset = magnitude[0] == 0 ? 1 : 0;
+        writeHead(MAJOR_TAG, negative ? TAG_NEGATIVE_BIGNUM : TAG_POSITIVE_BIGNUM);
+        writeHead(MAJOR_BYTES, magnitude.length - offset);
+        writeRaw(magnitude, offset, magnitude.length - offset);
+    }
+
+    private void writeDecimal(BigDecimal value) throws IOException {
+        writeHead(MAJOR_TAG, TAG_DECIMAL_FRACTION);
+        writeHead(MAJOR_ARRAY, 2);
+        writeLong(-(long) value.scale());
+        writeBigInteger(value.unscaledValue());
+    }
+
+    private void writeText(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeHead(MAJOR_TEXT, bytes.length);
+        writeRaw(bytes, 0, bytes.length);
+    }
+
+    private void writeBytes(ByteBuffer value) throws IOException {
+        ByteBuffer bytes = value.duplicate();
+        writeHead(MAJOR_BYTES, bytes.remaining());
+        while (bytes.hasRemaining()) {
+            ensure(1);
+            int length = Math.min(bytes.remaining(), buffer.length - position);
+            bytes.get(buffer, position, length);
+            position += length;
+        }
+    }
+
+    /**
+     * 写出 major type 及长度/数值, 使用最短的编码
+     */
+    private void writeHead(int major, long value) throws IOException {
+        int type = major << 5;
+        ensure(9);
+        if (value < 24) {
+            buffer[position++] = (byte) (type | (int) value);
+        } else if (value < 0x100) {
+            buffer[position++] = (byte) (type | 24);
+            buffer[position++] = (byte) value;
+        } else if (value < 0x10000) {
+            buffer[position++] = (byte) (type | 25);
+            buffer[position++] = (byte) (value >>> 8);
+            buffer[position++] = (byte) value;
+        } else if (value < 0x100000000L) {
+            buffer[position++] = (byte) (type | 26);
+            putInt((int) value);
+        } else {
+            buffer[position++] = (byte) (type | 27);
+            putLong(value);
+        }
+    }
+
+    private void writeByte(int value) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeIntBits(int value) throws IOException {
+        ensure(4);
+        putInt(value);
+    }
+
+    private void writeLongBits(long value) throws IOException {
+        ensure(8);
+        putLong(value);
+    }
+
+    private void putInt(int value) {
+        buffer[position++] = (byte) (value >>> 24);
+        buffer[position++] = (byte) (value >>> 16);
+        buffer[position++] = (byte) (value >>> 8);
+        buffer[position++] = (byte) value;
+    }
+
+    private void putLong(long value) {
+        putInt((int) (value >>> 32));
+        putInt((int) value);
+    }
+
+    private void writeRaw(byte[] bytes, int offset, int length) throws IOException {
+        if (length > buffer.length - position) {
+            // 大段内容不经过缓冲区
+            flushBuffer();
+            if (length > buffer.length) {
+                out.write(bytes, offset, length);
+                return;
+            }
+        }
+        System.arraycopy(bytes, offset, buffer, position, length);
+        position += length;
+    }
+
+    private void ensure(int length) throws IOException {
+        if (buffer.length - position < length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+
+    private void enter() {
+        if (++depth > MAX_DEPTH) {
+            throw new IllegalStateException("CBOR 编码嵌套层数超过 " + MAX_DEPTH + ", 可能存在循环引用");
+        }
+    }
+}
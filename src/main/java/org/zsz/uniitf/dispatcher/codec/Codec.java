@@ -0,0 +1,38 @@
+package org.zsz.uniitf.dispatcher.codec;
+
+import com.alibaba.fastjson.JSONObject;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 参数解码与结果编码, 调用时按 {@link org.zsz.uniitf.dispatcher.dto.InvokeOptions#getContentType()} 选择.
+ * 内置 JSON({@link JsonCodec}) 与 CBOR({@link CborCodec}),
+ * 其它实现可以在 META-INF/services/org.zsz.uniitf.dispatcher.codec.Codec 中声明, content type 相同时替换内置实现
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 22:10
+ */
+public interface Codec {
+
+    /**
+     * @return 处理的 content type, 小写且不含参数, 如 application/json
+     */
+    String getContentType();
+
+    /**
+     * 将请求体解码为 参数名 -> 参数值
+     * 参数值保留解码后的类型(数值、字符串、JSONObject、JSONArray、数组等), 绑定时按处理器参数类型转换
+     * @param body 请求体, 为 null 或空时返回空对象
+     * @return 可以修改, url 模板变量会合并到其中
+     * @throws IllegalArgumentException 请求体格式错误或不是对象
+     */
+    JSONObject decode(byte[] body);
+
+    /**
+     * 编码处理器返回值并写出
+     * @param result 处理器返回值或失败的 Result
+     * @param out 输出, 不会关闭
+     * @throws IOException 写出失败
+     */
+    void encode(Object result, OutputStream out) throws IOException;
+}
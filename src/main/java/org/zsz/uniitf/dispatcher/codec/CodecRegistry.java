@@ -0,0 +1,84 @@
+package org.zsz.uniitf.dispatcher.codec;
+
+import lombok.extern.slf4j.Slf4j;
+import org.zsz.uniitf.dispatcher.support.ResultWriter;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * 按 content type 查找编解码器, 创建后只读
+ * 内置 JSON 与 CBOR, 之后加载 META-INF/services 中声明的实现, content type 相同时后加载的替换先加载的
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 22:10
+ */
+@Slf4j
+public final class CodecRegistry {
+
+    private static final String UNSUPPORTED_TEMPLATE = "不支持的 content type: [%s], 支持 %s";
+
+    /**
+     * key=content type
+     */
+    private final Map<String, Codec> codecs = new HashMap<>(8);
+
+    /**
+     * 没有指定 content type 时使用, 为 JSON
+     */
+    private final Codec defaultCodec;
+
+    /**
+     * @param resultWriter JSON 结果的写出方式
+     */
+    public CodecRegistry(ResultWriter resultWriter) {
+        register(new JsonCodec(resultWriter));
+        register(new CborCodec());
+        for (Codec codec : ServiceLoader.load(Codec.class, CodecRegistry.class.getClassLoader())) {
+            log.info("加载编解码器 {} -> {}", codec.getContentType(), codec.getClass().getName());
+            register(codec);
+        }
+        this.defaultCodec = codecs.get(JsonCodec.CONTENT_TYPE);
+    }
+
+    private void register(Codec codec) {
+        codecs.put(normalize(codec.getContentType()), codec);
+    }
+
+    public Codec getDefault() {
+        return defaultCodec;
+    }
+
+    /**
+     * 查找编解码器
+     * @param contentType 可以带参数(如 application/json;charset=UTF-8), 为 null 或空白时使用默认的 JSON
+     * @return 编解码器
+     * @throws IllegalArgumentException 不支持的 content type
+     */
+    public Codec get(String contentType) {
+        String mediaType = contentType == null ? "" : normalize(contentType);
+        if (mediaType.isEmpty()) {
+            return defaultCodec;
+        }
+        Codec codec = codecs.get(mediaType);
+        if (codec == null) {
+            throw new IllegalArgumentException(String.format(UNSUPPORTED_TEMPLATE, contentType, codecs.keySet()));
+        }
+        return codec;
+    }
+
+    /**
+     * 是否支持 content type, 为 null 或空白时为默认的 JSON
+     */
+    public boolean supports(String contentType) {
+        String mediaType = contentType == null ? "" : normalize(contentType);
+        return mediaType.isEmpty() || codecs.containsKey(mediaType);
+    }
+
+    private static String normalize(String contentType) {
+        int parameters = contentType.indexOf(';');
+        String mediaType = parameters == -1 ? contentType : contentType.substring(0, parameters);
+        return mediaType.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,58 @@
+package org.zsz.uniitf.dispatcher.codec;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONObject;
+import org.zsz.uniitf.dispatcher.support.ResultWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * fastjson 编解码, 默认的 content type
+ * 编码与原流方式调用一致, 由 {@link ResultWriter} 写出;
+ * 解码为 {@link LazyJsonObject}, 字段值在绑定参数时才解析, fastjson 可以容忍的非严格格式按原方式完整解析
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 22:10
+ */
+public final class JsonCodec implements Codec {
+
+    public static final String CONTENT_TYPE = "application/json";
+
+    private final ResultWriter resultWriter;
+
+    public JsonCodec(ResultWriter resultWriter) {
+        this.resultWriter = resultWriter;
+    }
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public JSONObject decode(byte[] body) {
+        if (body == null || body.length == 0) {
+            return new JSONObject();
+        }
+        JSONObject lazy = LazyJsonObject.scan(body);
+        if (lazy != null) {
+            return lazy;
+        }
+        Object parsed;
+        try {
+            parsed = JSON.parse(body);
+        } catch (JSONException e) {
+            throw new IllegalArgumentException("请求体不是合法的 JSON: " + e.getMessage(), e);
+        }
+        if (!(parsed instanceof JSONObject)) {
+            throw new IllegalArgumentException("请求体不是 JSON 对象");
+        }
+        return (JSONObject) parsed;
+    }
+
+    @Override
+    public void encode(Object result, OutputStream out) throws IOException {
+        resultWriter.write(result, out);
+    }
+}
@@ -0,0 +1,492 @@
+package org.zsz.uniitf.dispatcher.codec;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.util.TypeUtils;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 按需解析字段的 JSON 对象
+ * 创建时只扫描一遍请求体, 校验格式并记录每个顶层字段值在请求体中的位置, 不生成字段值;
+ * 字段值在第一次读取时才解析, {@link #getObject(String, Type)} 按目标类型直接从原文解析, 不生成中间的 JSONObject / JSONArray.
+ * 不是线程安全的
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 22:40
+ */
+public final class LazyJsonObject extends JSONObject {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Fields fields;
+
+    private LazyJsonObject(Fields fields) {
+        super(fields);
+        this.fields = fields;
+    }
+
+    /**
+     * 扫描请求体
+     * @param body UTF-8 编码的 JSON
+     * @return 不是严格格式的 JSON 对象(如单引号、注释等 fastjson 可以容忍的写法)时为 null, 由调用方完整解析
+     */
+    static LazyJsonObject scan(byte[] body) {
+        Map<String, Object> values = new Scanner(body).scanObject();
+        return values == null ? null : new LazyJsonObject(new Fields(body, values));
+    }
+
+    /**
+     * 字段值是否为 JSON 字符串, 不会解析字段值
+     * @param key
+     * @return 字段不存在时为 false
+     */
+    public boolean isText(String key) {
+        return fields.isText(key);
+    }
+
+    /**
+     * 没有读取过的字段直接从原文解析为 type, 不生成中间的 JSON 值
+     */
+    @Override
+    public <T> T getObject(String key, Type type) {
+        return fields.getObject(key, type);
+    }
+
+    @Override
+    public <T> T getObject(String key, Class<T> clazz) {
+        return fields.getObject(key, clazz);
+    }
+
+    /**
+     * 整个对象转换为 type, 没有修改过时直接从原文解析
+     * @param type
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T toJavaObject(Type type) {
+        if (type instanceof Class && ((Class<?>) type).isInstance(this)) {
+            return (T) this;
+        }
+        if (!fields.modified) {
+            return JSON.parseObject(new String(fields.data, StandardCharsets.UTF_8), type);
+        }
+        return TypeUtils.cast(this, type, ParserConfig.getGlobalInstance());
+    }
+
+    @Override
+    public <T> T toJavaObject(Class<T> clazz) {
+        return toJavaObject((Type) clazz);
+    }
+
+    /**
+     * 字段值在请求体中的位置
+     */
+    private static final class Slice {
+
+        private final int start;
+
+        private final int end;
+
+        private Slice(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * 字段, 值为 {@link Slice} 时尚未解析
+     */
+    private static final class Fields extends AbstractMap<String, Object> {
+
+        /**
+         * 18 位以内的整数不会是 Long.MIN_VALUE, 用于表示无法直接解析
+         */
+        private static final long NOT_LONG = Long.MIN_VALUE;
+
+        private final byte[] data;
+
+        private final Map<String, Object> values;
+
+        /**
+         * 是否放入或删除过字段, 修改后不能再从原文整体解析
+         */
+        private boolean modified;
+
+        private Fields(byte[] data, Map<String, Object> values) {
+            this.data = data;
+            this.values = values;
+        }
+
+        private String text(Slice slice) {
+            return new String(data, slice.start, slice.end - slice.start, StandardCharsets.UTF_8);
+        }
+
+        private Object materialize(Object value) {
+            return value instanceof Slice ? JSON.parse(text((Slice) value)) : value;
+        }
+
+        private boolean isText(String key) {
+            Object value = values.get(key);
+            return value instanceof Slice ? data[((Slice) value).start] == '"' : value instanceof String;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T getObject(String key, Type type) {
+            Object value = values.get(key);
+            if (value instanceof Slice) {
+                Object array = parseNumberArray((Slice) value, type);
+                return array != null ? (T) array : JSON.parseObject(text((Slice) value), type);
+            }
+            return TypeUtils.cast(value, type, ParserConfig.getGlobalInstance());
+        }
+
+        /**
+         * int[] / long[] / double[] 直接从原文解析, 不经过 fastjson 的中间值
+         * @return 不是数值数组、有 null 等元素或整数超出范围时为 null, 由 fastjson 解析
+         */
+        private Object parseNumberArray(Slice slice, Type type) {
+            if ((type != int[].class && type != long[].class && type != double[].class) || data[slice.start] != '[') {
+                return null;
+            }
+            // 扫描时已校验格式, 这里只需按 ',' 切分
+            int count = 0;
+            boolean empty = true;
+            for (int i = slice.start + 1; i < slice.end - 1; i++) {
+                byte b = data[i];
+                if (b == ',') {
+                    count++;
+                } else if (b == '"' || b == '[' || b == '{') {
+                    return null;
+                } else if (!isWhitespace(b)) {
+                    empty = false;
+                }
+            }
+            int length = empty ? 0 : count + 1;
+            long[] longs = type == double[].class ? null : new long[length];
+            double[] doubles = type == double[].class ? new double[length] : null;
+            int start = slice.start + 1;
+            for (int index = 0; index < length; index++) {
+                int end = start;
+                while (end < slice.end - 1 && data[end] != ',') {
+                    end++;
+                }
+                int tokenStart = start;
+                int tokenEnd = end;
+                while (isWhitespace(data[tokenStart])) {
+                    tokenStart++;
+                }
+                while (isWhitespace(data[tokenEnd - 1])) {
+                    tokenEnd--;
+                }
+                if (data[tokenStart] != '-' && (data[tokenStart] < '0' || data[tokenStart] > '9')) {
+                    return null;
+                }
+                if (doubles != null) {
+                    doubles[index] = Double.parseDouble(new String(data, tokenStart, tokenEnd - tokenStart, StandardCharsets.ISO_8859_1));
+                } else {
+                    long parsed = parseLong(tokenStart, tokenEnd);
+                    if (parsed == NOT_LONG || (type == int[].class && (parsed < Integer.MIN_VALUE || parsed > Integer.MAX_VALUE))) {
+                        return null;
+                    }
+                    longs[index] = parsed;
+                }
+                start = end + 1;
+            }
+            if (type != int[].class) {
+                return doubles != null ? doubles : longs;
+            }
+            int[] ints = new int[length];
+            for (int i = 0; i < length; i++) {
+                ints[i] = (int) longs[i];
+            }
+            return ints;
+        }
+
+        /**
+         * @return 不是 18 位以内的整数时为 {@link #NOT_LONG}
+         */
+        private long parseLong(int start, int end) {
+            boolean negative = data[start] == '-';
+            int digitStart = negative ? start + 1 : start;
+            if (end - digitStart > 18) {
+                return NOT_LONG;
+            }
+            long value = 0;
+            for (int i = digitStart; i < end; i++) {
+                byte b = data[i];
+                if (b < '0' || b > '9') {
+                    return NOT_LONG;
+                }
+                value = value * 10 + (b - '0');
+            }
+            return negative ? -value : value;
+        }
+
+        private static boolean isWhitespace(byte b) {
+            return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+        }
+
+        @Override
+        public Object get(Object key) {
+            Object value = values.get(key);
+            if (value instanceof Slice) {
+                value = materialize(value);
+                values.put((String) key, value);
+            }
+            return value;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return values.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return values.size();
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            modified = true;
+            return materialize(values.put(key, value));
+        }
+
+        @Override
+        public Object remove(Object key) {
+            modified = true;
+            return materialize(values.remove(key));
+        }
+
+        @Override
+        public void clear() {
+            modified = true;
+            values.clear();
+        }
+
+        /**
+         * 遍历时解析全部字段, 修改只能通过 put / remove
+         */
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            for (Entry<String, Object> entry : values.entrySet()) {
+                if (entry.getValue() instanceof Slice) {
+                    entry.setValue(materialize(entry.getValue()));
+                }
+            }
+            return Collections.unmodifiableSet(values.entrySet());
+        }
+    }
+
+    /**
+     * 校验严格格式的 JSON 并记录顶层字段的位置, 不生成任何值
+     */
+    private static final class Scanner {
+
+        private static final int MAX_DEPTH = 512;
+
+        private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+
+        private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+
+        private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+        private final byte[] data;
+
+        private int position;
+
+        private Scanner(byte[] data) {
+            this.data = data;
+        }
+
+        /**
+         * @return 格式不符时为 null
+         */
+        private Map<String, Object> scanObject() {
+            skipWhitespace();
+            if (!consume('{')) {
+                return null;
+            }
+            Map<String, Object> values = new LinkedHashMap<>();
+            skipWhitespace();
+            if (!consume('}')) {
+                do {
+                    skipWhitespace();
+                    int keyStart = position;
+                    if (!skipString()) {
+                        return null;
+                    }
+                    String key = key(keyStart, position);
+                    skipWhitespace();
+                    if (!consume(':')) {
+                        return null;
+                    }
+                    skipWhitespace();
+                    int start = position;
+                    if (!skipValue(1)) {
+                        return null;
+                    }
+                    // 重复的 key 与 fastjson 一致, 后面的值覆盖前面的
+                    values.put(key, new Slice(start, position));
+                    skipWhitespace();
+                } while (consume(','));
+                if (!consume('}')) {
+                    return null;
+                }
+            }
+            skipWhitespace();
+            return position == data.length ? values : null;
+        }
+
+        private String key(int start, int end) {
+            for (int i = start + 1; i < end - 1; i++) {
+                if (data[i] == '\\') {
+                    return (String) JSON.parse(new String(data, start, end - start, StandardCharsets.UTF_8));
+                }
+            }
+            return new String(data, start + 1, end - start - 2, StandardCharsets.UTF_8);
+        }
+
+        private boolean skipValue(int depth) {
+            if (depth > MAX_DEPTH || position >= data.length) {
+                return false;
+            }
+            switch (data[position]) {
+                case '"':
+                    return skipString();
+                case '{':
+                    return skipContainer('}', true, depth);
+                case '[':
+                    return skipContainer(']', false, depth);
+                case 't':
+                    return skipLiteral(TRUE);
+                case 'f':
+                    return skipLiteral(FALSE);
+                case 'n':
+                    return skipLiteral(NULL);
+                default:
+                    return skipNumber();
+            }
+        }
+
+        private boolean skipContainer(char close, boolean object, int depth) {
+            position++;
+            skipWhitespace();
+            if (consume(close)) {
+                return true;
+            }
+            do {
+                skipWhitespace();
+                if (object) {
+                    if (!skipString()) {
+                        return false;
+                    }
+                    skipWhitespace();
+                    if (!consume(':')) {
+                        return false;
+                    }
+                    skipWhitespace();
+                }
+                if (!skipValue(depth + 1)) {
+                    return false;
+                }
+                skipWhitespace();
+            } while (consume(','));
+            return consume(close);
+        }
+
+        private boolean skipString() {
+            if (!consume('"')) {
+                return false;
+            }
+            while (position < data.length) {
+                int b = data[position++] & 0xff;
+                if (b == '"') {
+                    return true;
+                }
+                if (b < 0x20) {
+                    return false;
+                }
+                if (b == '\\') {
+                    if (position >= data.length) {
+                        return false;
+                    }
+                    int escaped = data[position++];
+                    if (escaped == 'u') {
+                        for (int i = 0; i < 4; i++) {
+                            if (position >= data.length || Character.digit(data[position++], 16) < 0) {
+                                return false;
+                            }
+                        }
+                    } else if ("\"\\/bfnrt".indexOf(escaped) < 0) {
+                        return false;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean skipLiteral(byte[] literal) {
+            if (data.length - position < literal.length) {
+                return false;
+            }
+            for (byte b : literal) {
+                if (data[position++] != b) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean skipNumber() {
+            consume('-');
+            // 0 之后不能再有整数部分的数字
+            if (!consume('0') && skipDigits() == 0) {
+                return false;
+            }
+            if (consume('.') && skipDigits() == 0) {
+                return false;
+            }
+            if (consume('e') || consume('E')) {
+                if (!consume('+')) {
+                    consume('-');
+                }
+                return skipDigits() > 0;
+            }
+            return true;
+        }
+
+        private int skipDigits() {
+            int start = position;
+            while (position < data.length && data[position] >= '0' && data[position] <= '9') {
+                position++;
+            }
+            return position - start;
+        }
+
+        private void skipWhitespace() {
+            while (position < data.length) {
+                byte b = data[position];
+                if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                    return;
+                }
+                position++;
+            }
+        }
+
+        private boolean consume(char expected) {
+            if (position < data.length && data[position] == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,557 @@
+package org.zsz.uniitf.dispatcher.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.zsz.uniitf.dispatcher.enumerate.AsyncExecutorType;
+import org.zsz.uniitf.dispatcher.enumerate.BatchMode;
+import org.zsz.uniitf.dispatcher.enumerate.ConcurrencyLimitMode;
+import org.zsz.uniitf.dispatcher.enumerate.InvokerStrategy;
+import org.zsz.uniitf.dispatcher.enumerate.StreamFormat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 通用接口转发服务配置, 前缀 uniitf.dispatcher
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 11:50
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "uniitf.dispatcher")
+public class DispatcherProperties {
+
+    /**
+     * 模板 url 解析结果缓存
+     */
+    private RouteCacheProperties routeCache = new RouteCacheProperties();
+
+    /**
+     * 处理器方法调用方式
+     */
+    private InvokerStrategy invokerStrategy = InvokerStrategy.METHOD_HANDLE;
+
+    /**
+     * 未标注 @RequestParam 的自定义类型参数是否以整个参数map绑定(属性名对应参数名);
+     * 参数map中有与参数名同名的值时仍按该值(JSON)转换. 默认 false, 与原有方式一致, 只按参数名转换
+     */
+    private boolean bindCustomTypeFromArgMap = false;
+
+    /**
+     * 流式结果输出
+     */
+    private StreamingProperties streaming = new StreamingProperties();
+
+    /**
+     * 批量调用
+     */
+    private BatchProperties batch = new BatchProperties();
+
+    /**
+     * 异步调用
+     */
+    private AsyncProperties async = new AsyncProperties();
+
+    /**
+     * 调用统计
+     */
+    private MetricsProperties metrics = new MetricsProperties();
+
+    /**
+     * 分阶段耗时追踪
+     */
+    private TraceProperties trace = new TraceProperties();
+
+    /**
+     * 调用日志
+     */
+    private CallLogProperties callLog = new CallLogProperties();
+
+    /**
+     * 响应缓存
+     */
+    private ResponseCacheProperties responseCache = new ResponseCacheProperties();
+
+    /**
+     * 并发数上限
+     */
+    private ConcurrencyProperties concurrency = new ConcurrencyProperties();
+
+    /**
+     * 按租户的公平调度
+     */
+    private SchedulerProperties scheduler = new SchedulerProperties();
+
+    /**
+     * 启动时注册处理器
+     */
+    private RegistrationProperties registration = new RegistrationProperties();
+
+    /**
+     * 内嵌的 NIO HTTP 服务
+     */
+    private ServerProperties server = new ServerProperties();
+
+    /**
+     * 调用截止时间
+     */
+    private DeadlineProperties deadline = new DeadlineProperties();
+
+    /**
+     * 调用通用接口的客户端
+     */
+    private ClientProperties client = new ClientProperties();
+
+    @Data
+    public static class RouteCacheProperties {
+
+        /**
+         * 缓存的 (url, method) 最大数量, 0 表示不启用
+         */
+        private int capacity = 1024;
+    }
+
+    @Data
+    public static class StreamingProperties {
+
+        /**
+         * 处理器返回 Stream / Iterator / PageFetcher 时的输出格式
+         */
+        private StreamFormat format = StreamFormat.NDJSON;
+
+        /**
+         * 每写出多少个元素 flush 一次
+         */
+        private int flushBatchSize = 100;
+    }
+
+    @Data
+    public static class BatchProperties {
+
+        /**
+         * 单次批量调用最多包含的调用数
+         */
+        private int maxSize = 100;
+
+        /**
+         * 单次批量调用的总超时时间(毫秒)
+         */
+        private long timeoutMillis = 30000;
+
+        /**
+         * 未指定时的执行方式
+         */
+        private BatchMode defaultMode = BatchMode.SEQUENTIAL;
+
+        /**
+         * 并行执行的线程数
+         */
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * 并行执行的等待队列长度, 队列满时该调用直接失败
+         */
+        private int queueCapacity = 1000;
+    }
+
+    @Data
+    public static class AsyncProperties {
+
+        /**
+         * 执行处理器的线程类型
+         */
+        private AsyncExecutorType executorType = AsyncExecutorType.PLATFORM;
+
+        /**
+         * 平台线程池的线程数
+         */
+        private int threads = Runtime.getRuntime().availableProcessors() * 2;
+
+        /**
+         * 平台线程池的等待队列长度, 队列满时调用直接失败
+         */
+        private int queueCapacity = 10000;
+
+        /**
+         * 等待处理器返回的 CompletionStage / Callable / DeferredResult 完成的时间(毫秒), 超时返回 CALL_TIMEOUT;
+         * DeferredResult 指定了超时时间时以其为准, 小于等于 0 时不限制
+         */
+        private long resultTimeoutMillis = 30000;
+    }
+
+    @Data
+    public static class MetricsProperties {
+
+        /**
+         * 是否按处理器统计调用次数、错误及耗时
+         */
+        private boolean enabled = true;
+
+        /**
+         * 是否注册统计查询接口 /uniitf/dispatcher/metrics
+         */
+        private boolean endpointEnabled = false;
+    }
+
+    @Data
+    public static class TraceProperties {
+
+        /**
+         * 是否记录每次调用查找处理器、参数转换、方法执行、结果序列化各阶段的耗时
+         */
+        private boolean enabled = false;
+
+        /**
+         * 保留最慢调用的数量
+         */
+        private int slowCallCapacity = 32;
+
+        /**
+         * 慢调用记录的时间窗口(毫秒), 超过窗口的记录过期
+         */
+        private long windowMillis = 60000;
+    }
+
+    @Data
+    public static class CallLogProperties {
+
+        /**
+         * 是否输出调用日志
+         */
+        private boolean enabled = true;
+
+        /**
+         * 默认采样率, 0 ~ 1
+         */
+        private double sampleRate = 1.0;
+
+        /**
+         * 按处理器 url 配置的采样率, 如 route-sample-rates[/user/{id}]=0.1
+         */
+        private Map<String, Double> routeSampleRates = new HashMap<>();
+
+        /**
+         * 参数格式化后的最大字符数, 超出部分截断
+         */
+        private int maxArgChars = 1024;
+
+        /**
+         * 待输出日志队列长度, 队列满时丢弃
+         */
+        private int bufferSize = 8192;
+    }
+
+    @Data
+    public static class ResponseCacheProperties {
+
+        /**
+         * 是否启用 @RemoteMethod(cacheTtlMillis) 声明的响应缓存
+         */
+        private boolean enabled = true;
+
+        /**
+         * 所有处理器缓存结果的总字节数上限, 超出时淘汰最早过期的条目
+         */
+        private long maxBytes = 64L * 1024 * 1024;
+    }
+
+    @Data
+    public static class ConcurrencyProperties {
+
+        /**
+         * 全部处理器合计的并发调用数上限, 0 表示不限制
+         */
+        private int globalLimit = 0;
+
+        /**
+         * 按处理器 url 配置的并发调用数上限, 优先于 @RemoteMethod(maxConcurrency), 如 route-limits[/user/{id}]=20
+         */
+        private Map<String, Integer> routeLimits = new HashMap<>();
+
+        /**
+         * 处理器上限的调整方式, 自适应方式下配置的上限为初始值
+         */
+        private ConcurrencyLimitMode mode = ConcurrencyLimitMode.FIXED;
+
+        /**
+         * 自适应方式下上限的最小值
+         */
+        private int minLimit = 1;
+
+        /**
+         * 自适应方式下上限的最大值
+         */
+        private int maxLimit = 1000;
+
+        /**
+         * AIMD 方式下视为过载的耗时(毫秒)
+         */
+        private long aimdTimeoutMillis = 1000;
+
+        /**
+         * AIMD 方式下过载时上限乘以的比例
+         */
+        private double aimdBackoffRatio = 0.9;
+
+        /**
+         * GRADIENT 方式下长期平均耗时的窗口(调用次数)
+         */
+        private int gradientLongWindow = 600;
+
+        /**
+         * GRADIENT 方式下每次调整的平滑系数, 0 ~ 1
+         */
+        private double gradientSmoothing = 0.2;
+    }
+
+    @Data
+    public static class SchedulerProperties {
+
+        /**
+         * 是否按租户加权公平排队后在调度线程池中执行处理器
+         */
+        private boolean enabled = false;
+
+        /**
+         * 调度线程池的线程数, 即同时执行的处理器数上限
+         */
+        private int threads = Runtime.getRuntime().availableProcessors() * 2;
+
+        /**
+         * 调用方未指定租户时, 从该参数读取租户
+         */
+        private String tenantArg = "tenant";
+
+        /**
+         * 无法确定租户时使用的租户
+         */
+        private String defaultTenant = "default";
+
+        /**
+         * 按租户配置的权重, 未配置的租户为 1, 如 weights[web]=8
+         */
+        private Map<String, Integer> weights = new HashMap<>();
+
+        /**
+         * 每个租户排队的调用数上限, 超出时直接拒绝
+         */
+        private int maxQueueDepth = 1000;
+
+        /**
+         * 按租户配置的排队上限, 优先于 max-queue-depth
+         */
+        private Map<String, Integer> queueDepths = new HashMap<>();
+
+        /**
+         * 租户数上限. 租户可以由调用方通过参数指定, 达到上限时淘汰空闲的未配置租户, 仍没有空位时新租户计入默认租户; 配置的租户及默认租户总是保留
+         */
+        private int maxTenants = 1000;
+
+        /**
+         * 没有排队调用且超过该时间(毫秒)没有新调用的未配置租户可以被淘汰, 其统计一并移除
+         */
+        private long tenantIdleMillis = 60000;
+    }
+
+    @Data
+    public static class RegistrationProperties {
+
+        /**
+         * 是否使用编译时生成的 @RemoteMethod 索引, 没有索引的 Controller 仍按反射扫描
+         */
+        private boolean indexEnabled = true;
+
+        /**
+         * 并行创建处理器 adapter 的线程数, 1 表示在启动线程中逐个创建
+         */
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+    }
+
+    @Data
+    public static class DeadlineProperties {
+
+        /**
+         * 调用方未在调用选项中指定截止时间时, 从该参数读取超时时间(毫秒)
+         */
+        private String timeoutArg = "_timeoutMillis";
+
+        /**
+         * 调用方未在调用选项中指定截止时间时, 从该参数读取截止时间(epoch 毫秒)
+         */
+        private String deadlineArg = "_deadlineMillis";
+
+        /**
+         * 处理器的默认执行时间上限(毫秒), 0 表示不限制; 处理器声明 @RemoteMethod(timeoutMillis) 时以声明为准
+         */
+        private long defaultTimeoutMillis = 0;
+
+        /**
+         * 按处理器 url 配置的执行时间上限(毫秒), 优先于 @RemoteMethod(timeoutMillis), 如 route-timeouts[/user/{id}]=500
+         */
+        private Map<String, Long> routeTimeouts = new HashMap<>();
+
+        /**
+         * 检查已截止调用并中断其执行线程的间隔(毫秒), 中断最多延迟一个间隔
+         */
+        private long tickMillis = 5;
+    }
+
+    @Data
+    public static class ServerProperties {
+
+        /**
+         * 是否启动内嵌的 HTTP/1.1 服务, 请求不经过 Spring MVC 直接交给 DispatcherService
+         */
+        private boolean enabled = false;
+
+        /**
+         * 监听地址
+         */
+        private String host = "0.0.0.0";
+
+        /**
+         * 监听端口, 0 表示随机端口
+         */
+        private int port = 8099;
+
+        /**
+         * 等待 accept 的连接数上限
+         */
+        private int backlog = 1024;
+
+        /**
+         * 处理连接读写的 selector 线程数
+         */
+        private int selectorThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+
+        /**
+         * 执行处理器的线程数
+         */
+        private int handlerThreads = Runtime.getRuntime().availableProcessors() * 2;
+
+        /**
+         * 执行处理器的等待队列长度, 队列满时返回 503
+         */
+        private int queueCapacity = 10000;
+
+        /**
+         * 请求行及请求头的最大字节数, 超出时返回 431
+         */
+        private int maxHeaderBytes = 8 * 1024;
+
+        /**
+         * 请求体的最大字节数, 超出时返回 413
+         */
+        private int maxBodyBytes = 4 * 1024 * 1024;
+
+        /**
+         * 每个连接同时处理的流水线请求数上限, 达到上限后暂停读取该连接
+         */
+        private int maxPipelinedRequests = 16;
+
+        /**
+         * 没有请求的连接保持的时间(毫秒), 超过后关闭
+         */
+        private long idleTimeoutMillis = 60000;
+
+        /**
+         * 响应使用的堆外缓冲区大小
+         */
+        private int bufferSize = 16 * 1024;
+
+        /**
+         * 响应的最大字节数; 响应完整写入缓冲区后以 Content-Length 写出, 流式结果同样如此, 超出时返回 500
+         */
+        private int maxResponseBytes = 64 * 1024 * 1024;
+
+        /**
+         * 缓存的堆外缓冲区数量上限, 超出的缓冲区用完后释放
+         */
+        private int maxPooledBuffers = 1024;
+
+        /**
+         * 读取租户的请求头
+         */
+        private String tenantHeader = "X-Tenant";
+
+        /**
+         * 批量调用的路径, POST JSON 数组, 元素为 {@link org.zsz.uniitf.dispatcher.dto.BatchEntry}; 为空时不开启
+         */
+        private String batchPath = "/uniitf/dispatcher/batch";
+    }
+
+    @Data
+    public static class ClientProperties {
+
+        /**
+         * 是否创建客户端 bean
+         */
+        private boolean enabled = false;
+
+        /**
+         * 服务地址
+         */
+        private String host = "127.0.0.1";
+
+        /**
+         * 服务端口
+         */
+        private int port = 8099;
+
+        /**
+         * 服务端批量调用的路径, 与服务端 uniitf.dispatcher.server.batch-path 一致
+         */
+        private String batchPath = "/uniitf/dispatcher/batch";
+
+        /**
+         * 连接数上限, 连接全部使用中时等待归还
+         */
+        private int maxConnections = 16;
+
+        /**
+         * 建立连接的超时时间(毫秒)
+         */
+        private int connectTimeoutMillis = 1000;
+
+        /**
+         * 读取响应的超时时间(毫秒), 也是等待空闲连接的超时时间
+         */
+        private int readTimeoutMillis = 30000;
+
+        /**
+         * 连接空闲超过该时间(毫秒)后不再复用, 应小于服务端的 idle-timeout-millis
+         */
+        private long idleTimeoutMillis = 30000;
+
+        /**
+         * 合并调用的窗口(毫秒), 窗口内的调用合并为一次批量请求; 0 表示不合并
+         */
+        private long batchWindowMillis = 0;
+
+        /**
+         * 一次批量请求最多包含的调用数, 达到后立即发送, 不能超过服务端的 uniitf.dispatcher.batch.max-size
+         */
+        private int maxBatchSize = 100;
+
+        /**
+         * 发送请求的线程数, 用于返回 CompletableFuture 的方法及合并后的批量请求
+         */
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * 发送请求的等待队列长度, 队列满时调用直接失败
+         */
+        private int queueCapacity = 10000;
+
+        /**
+         * 租户, 为空时不发送租户请求头
+         */
+        private String tenant;
+
+        /**
+         * 发送租户的请求头, 与服务端 uniitf.dispatcher.server.tenant-header 一致
+         */
+        private String tenantHeader = "X-Tenant";
+    }
+}
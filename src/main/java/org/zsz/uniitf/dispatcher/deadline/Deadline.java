@@ -0,0 +1,73 @@
+package org.zsz.uniitf.dispatcher.deadline;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 调用的截止时间, 按 System.nanoTime 计算, 不受系统时钟调整影响
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:55
+ */
+public final class Deadline {
+
+    /**
+     * 超时时间的上限, 避免 nanoTime 相加溢出
+     */
+    private static final long MAX_TIMEOUT_NANOS = Long.MAX_VALUE / 4;
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * 从当前开始经过 timeoutMillis 后截止
+     * @param timeoutMillis 小于等于 0 时已截止
+     */
+    public static Deadline after(long timeoutMillis) {
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(timeoutMillis, 0L));
+        if (timeoutNanos > MAX_TIMEOUT_NANOS) {
+            timeoutNanos = MAX_TIMEOUT_NANOS;
+        }
+        return new Deadline(System.nanoTime() + timeoutNanos);
+    }
+
+    /**
+     * 在 epoch 毫秒 epochMillis 截止
+     */
+    public static Deadline at(long epochMillis) {
+        long timeoutMillis = epochMillis - System.currentTimeMillis();
+        return after(timeoutMillis);
+    }
+
+    /**
+     * 与 other 中较早的截止时间
+     * @param other 可以为 null
+     */
+    public Deadline min(Deadline other) {
+        return other == null || deadlineNanos - other.deadlineNanos <= 0 ? this : other;
+    }
+
+    /**
+     * 剩余的时间(纳秒), 已截止时小于等于 0
+     */
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    /**
+     * 剩余的时间(毫秒), 已截止时为 0
+     */
+    public long remainingMillis() {
+        return Math.max(0L, TimeUnit.NANOSECONDS.toMillis(remainingNanos()));
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline[remaining=" + remainingMillis() + "ms]";
+    }
+}
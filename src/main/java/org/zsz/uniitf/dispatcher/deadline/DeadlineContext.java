@@ -0,0 +1,55 @@
+package org.zsz.uniitf.dispatcher.deadline;
+
+/**
+ * 处理器执行期间可以读取的截止时间, 用于把剩余时间传给下游调用或提前放弃耗时的操作
+ * 只在执行处理器的线程中有效, 处理器返回后(含异步结果、流式结果的后续读取)不再有效
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:55
+ */
+public final class DeadlineContext {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private DeadlineContext() {
+    }
+
+    /**
+     * 当前调用的截止时间
+     * @return 没有截止时间或不在处理器执行期间时为 null
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 当前调用剩余的时间(毫秒)
+     * @return 没有截止时间时为 Long.MAX_VALUE, 已截止时为 0
+     */
+    public static long remainingMillis() {
+        Deadline deadline = CURRENT.get();
+        return deadline == null ? Long.MAX_VALUE : deadline.remainingMillis();
+    }
+
+    /**
+     * 当前调用是否已超过截止时间
+     */
+    public static boolean isExpired() {
+        Deadline deadline = CURRENT.get();
+        return deadline != null && deadline.isExpired();
+    }
+
+    /**
+     * 设置当前线程的截止时间
+     * @return 之前的截止时间, 结束时传给 {@link #restore}
+     */
+    static Deadline enter(Deadline deadline) {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(deadline);
+        return previous;
+    }
+
+    static void restore(Deadline previous) {
+        // 不 remove, 线程池线程之后的调用复用同一个 entry
+        CURRENT.set(previous);
+    }
+}
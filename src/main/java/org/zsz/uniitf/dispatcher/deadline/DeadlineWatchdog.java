@@ -0,0 +1,228 @@
+package org.zsz.uniitf.dispatcher.deadline;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.zsz.uniitf.dispatcher.HandlerDefinition;
+import org.zsz.uniitf.dispatcher.annotation.RemoteMethod;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.dto.InvokeOptions;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * 解析调用的截止时间, 并在截止时中断仍在执行的线程
+ * 调用方的截止时间优先取调用选项, 其次取保留参数(不从参数中移除); 处理器的执行时间上限优先取配置 route-timeouts,
+ * 其次取 @RemoteMethod(timeoutMillis), 最后取 default-timeout-millis. 两者都有时以较早的为准.
+ * 执行中的调用登记在集合中, 由一个线程按 tick-millis 的间隔检查并中断已截止的调用, 登记、注销不唤醒该线程;
+ * 中断最多延迟一个间隔, 且只对响应中断的处理器(sleep、wait、可中断 IO、Future.get 等)有效, 其余处理器在返回后才判定超时
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:55
+ */
+public class DeadlineWatchdog {
+
+    private static final String ILLEGAL_ARG_TEMPLATE = "参数 [%s] 不是整数毫秒: %s";
+
+    private final DispatcherProperties.DeadlineProperties properties;
+
+    /**
+     * 监视中的调用
+     */
+    private final Set<Guard> guards = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 定时检查已截止的调用, 第一次监视时才开始
+     */
+    private final ScheduledThreadPoolExecutor timer;
+
+    private volatile boolean started;
+
+    public DeadlineWatchdog(DispatcherProperties.DeadlineProperties properties) {
+        this.properties = properties;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("uniitf-deadline-");
+        threadFactory.setDaemon(true);
+        this.timer = new ScheduledThreadPoolExecutor(1, threadFactory);
+    }
+
+    /**
+     * 处理器的执行时间上限
+     * @return 毫秒, 不限制时为 0
+     */
+    public long timeoutOf(HandlerDefinition definition) {
+        Long configured = properties.getRouteTimeouts().get(definition.getRequestInfo().getUrlPattern());
+        if (configured != null) {
+            return Math.max(0L, configured);
+        }
+        RemoteMethod remoteMethod = definition.getMethod().getAnnotation(RemoteMethod.class);
+        if (remoteMethod != null && remoteMethod.timeoutMillis() > 0) {
+            return remoteMethod.timeoutMillis();
+        }
+        return Math.max(0L, properties.getDefaultTimeoutMillis());
+    }
+
+    /**
+     * 解析一次调用的截止时间
+     * @param routeTimeoutMillis 处理器的执行时间上限, 0 表示不限制
+     * @param argMap 调用参数
+     * @param options 调用选项, 可以为 null
+     * @return 没有截止时间时为 null
+     * @throws IllegalArgumentException 保留参数不是整数
+     */
+    public Deadline resolve(long routeTimeoutMillis, Map<String, ?> argMap, InvokeOptions options) {
+        Deadline deadline = null;
+        Long timeoutMillis = options == null ? null : options.getTimeoutMillis();
+        Long deadlineMillis = options == null ? null : options.getDeadlineMillis();
+        if (timeoutMillis == null && deadlineMillis == null && argMap != null && !argMap.isEmpty()) {
+            timeoutMillis = longArg(argMap, properties.getTimeoutArg());
+            deadlineMillis = longArg(argMap, properties.getDeadlineArg());
+        }
+        if (timeoutMillis != null) {
+            deadline = Deadline.after(timeoutMillis);
+        }
+        if (deadlineMillis != null) {
+            deadline = Deadline.at(deadlineMillis).min(deadline);
+        }
+        if (routeTimeoutMillis > 0) {
+            deadline = Deadline.after(routeTimeoutMillis).min(deadline);
+        }
+        return deadline;
+    }
+
+    /**
+     * 保留的截止时间参数名, 不影响处理器的结果, 生成缓存及合并执行的 key 时排除
+     */
+    public Set<String> reservedArgs() {
+        Set<String> names = new HashSet<>(4);
+        for (String name : new String[]{properties.getTimeoutArg(), properties.getDeadlineArg()}) {
+            if (name != null && !name.isEmpty()) {
+                names.add(name);
+            }
+        }
+        return Collections.unmodifiableSet(names);
+    }
+
+    private static Long longArg(Map<String, ?> argMap, String name) {
+        if (name == null || name.isEmpty()) {
+            return null;
+        }
+        Object value = argMap.get(name);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        String text = value.toString().trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format(ILLEGAL_ARG_TEMPLATE, name, text));
+        }
+    }
+
+    /**
+     * 开始监视当前线程: 设置 DeadlineContext, 截止时中断当前线程. 必须在同一线程中调用 {@link Guard#release()}
+     */
+    public Guard guard(Deadline deadline) {
+        if (!started) {
+            start();
+        }
+        Guard guard = new Guard(this, Thread.currentThread(), deadline, DeadlineContext.enter(deadline));
+        guards.add(guard);
+        return guard;
+    }
+
+    private synchronized void start() {
+        if (started) {
+            return;
+        }
+        long tickMillis = Math.max(1L, properties.getTickMillis());
+        try {
+            timer.scheduleWithFixedDelay(this::interruptExpired, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 已关闭时只设置上下文, 返回后仍判定超时
+        }
+        started = true;
+    }
+
+    private void interruptExpired() {
+        for (Guard guard : guards) {
+            if (guard.deadline.isExpired()) {
+                guards.remove(guard);
+                guard.fire();
+            }
+        }
+    }
+
+    public void shutdown() {
+        timer.shutdownNow();
+        guards.clear();
+    }
+
+    /**
+     * 一次监视, 截止时的中断与正常结束通过状态互斥: 结束后不会再中断该线程, 已中断时结束前清除中断标记
+     */
+    public static final class Guard {
+
+        private static final int RUNNING = 0;
+
+        private static final int RELEASED = 1;
+
+        private static final int INTERRUPTING = 2;
+
+        private static final int INTERRUPTED = 3;
+
+        private static final AtomicIntegerFieldUpdater<Guard> STATE = AtomicIntegerFieldUpdater.newUpdater(Guard.class, "state");
+
+        private final DeadlineWatchdog watchdog;
+
+        private final Thread thread;
+
+        private final Deadline deadline;
+
+        private final Deadline previous;
+
+        private volatile int state = RUNNING;
+
+        private Guard(DeadlineWatchdog watchdog, Thread thread, Deadline deadline, Deadline previous) {
+            this.watchdog = watchdog;
+            this.thread = thread;
+            this.deadline = deadline;
+            this.previous = previous;
+        }
+
+        private void fire() {
+            if (STATE.compareAndSet(this, RUNNING, INTERRUPTING)) {
+                thread.interrupt();
+                state = INTERRUPTED;
+            }
+        }
+
+        /**
+         * 结束监视, 恢复之前的 DeadlineContext
+         * @return 是否已超过截止时间, 包括未响应中断、截止后才返回的情况
+         */
+        public boolean release() {
+            DeadlineContext.restore(previous);
+            if (STATE.compareAndSet(this, RUNNING, RELEASED)) {
+                watchdog.guards.remove(this);
+                return deadline.isExpired();
+            }
+            // 等待中断完成后清除, 中断只针对本次调用, 不能影响线程之后的任务
+            while (state == INTERRUPTING) {
+                Thread.yield();
+            }
+            Thread.interrupted();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.zsz.uniitf.dispatcher.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.Map;
+
+/**
+ * 批量调用中的单个调用
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 15:00
+ */
+@Data
+@Accessors(chain = true)
+public class BatchEntry {
+
+    private String url;
+
+    private String httpMethod;
+
+    /**
+     * 参数名 -> 参数值, 值为字符串或已解码的值(数值、数组、嵌套对象等, 使用 JSONObject 时按参数类型直接绑定)
+     */
+    private Map<String, ?> argMap;
+}
@@ -0,0 +1,31 @@
+package org.zsz.uniitf.dispatcher.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 调用日志统计
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 17:50
+ */
+@Data
+@Accessors(chain = true)
+public class CallLogStats {
+
+    private int bufferSize;
+
+    /**
+     * 已输出的日志数
+     */
+    private long loggedCount;
+
+    /**
+     * 队列满被丢弃的日志数
+     */
+    private long droppedCount;
+
+    /**
+     * 未被采样的调用数
+     */
+    private long sampledOutCount;
+}
@@ -0,0 +1,51 @@
+package org.zsz.uniitf.dispatcher.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+/**
+ * 单个处理器的合并执行统计
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 19:10
+ */
+@Data
+@Accessors(chain = true)
+public class CoalescingStats {
+
+    private String urlPattern;
+
+    /**
+     * null 表示不限 http method
+     */
+    private RequestMethod httpMethod;
+
+    private int maxWaiters;
+
+    private long windowMillis;
+
+    /**
+     * 正在执行的不同参数的调用数
+     */
+    private int inFlight;
+
+    /**
+     * 实际执行处理器的次数
+     */
+    private long executionCount;
+
+    /**
+     * 加入其它调用、未执行处理器的次数
+     */
+    private long coalescedCount;
+
+    /**
+     * 因超过合并窗口或等待数上限而未能加入的次数, 这些调用另起一次执行
+     */
+    private long overflowCount;
+
+    /**
+     * 加入后等待超时的次数, 未截止的调用各自执行
+     */
+    private long waitTimeoutCount;
+}
@@ -0,0 +1,37 @@
+package org.zsz.uniitf.dispatcher.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.zsz.uniitf.dispatcher.enumerate.ConcurrencyLimitMode;
+
+/**
+ * 单个并发数上限的状态
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 19:40
+ */
+@Data
+@Accessors(chain = true)
+public class ConcurrencyLimitStats {
+
+    /**
+     * 全局上限时为 null
+     */
+    private String urlPattern;
+
+    /**
+     * null 表示不限 http method
+     */
+    private RequestMethod httpMethod;
+
+    private ConcurrencyLimitMode mode;
+
+    /**
+     * 当前上限, 自适应方式下随耗时变化
+     */
+    private int limit;
+
+    private int inFlight;
+
+    private long rejectedCount;
+}
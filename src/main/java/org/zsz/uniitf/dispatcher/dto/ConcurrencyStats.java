@@ -0,0 +1,26 @@
+package org.zsz.uniitf.dispatcher.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+/**
+ * 并发数上限的状态
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 19:40
+ */
+@Data
+@Accessors(chain = true)
+public class ConcurrencyStats {
+
+    /**
+     * 全局上限, 未配置时为 null
+     */
+    private ConcurrencyLimitStats global;
+
+    /**
+     * 设置了上限的处理器
+     */
+    private List<ConcurrencyLimitStats> routes;
+}
@@ -0,0 +1,35 @@
+package org.zsz.uniitf.dispatcher.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 调用选项, 由调用方从请求头等参数以外的来源传入
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 20:10
+ */
+@Data
+@Accessors(chain = true)
+public class InvokeOptions {
+
+    /**
+     * 调用方(租户), 开启调度时用于公平排队; 为 null 时取参数 uniitf.dispatcher.scheduler.tenant-arg
+     */
+    private String tenant;
+
+    /**
+     * 参数及结果的 content type, 如 application/json、application/cbor, 为 null 时为 JSON;
+     * 只用于请求体方式及流方式调用, String 方式的结果始终为 JSON
+     */
+    private String contentType;
+
+    /**
+     * 超时时间(毫秒), 从调用开始计算; 与 deadlineMillis 都为 null 时取参数 uniitf.dispatcher.deadline.timeout-arg
+     */
+    private Long timeoutMillis;
+
+    /**
+     * 截止时间(epoch 毫秒), 与 timeoutMillis 同时指定时以较早的为准; 都为 null 时取参数 uniitf.dispatcher.deadline.deadline-arg
+     */
+    private Long deadlineMillis;
+}
@@ -0,0 +1,23 @@
+package org.zsz.uniitf.dispatcher.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+/**
+ * 通用接口调用统计
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 16:20
+ */
+@Data
+@Accessors(chain = true)
+public class MetricsStats {
+
+    /**
+     * 没有查找到处理器的调用数
+     */
+    private long unmatchedCount;
+
+    private List<RouteMetricsStats> routes;
+}
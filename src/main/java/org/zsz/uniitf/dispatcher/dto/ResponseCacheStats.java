@@ -0,0 +1,56 @@
+package org.zsz.uniitf.dispatcher.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.util.List;
+
+/**
+ * 单个处理器的响应缓存统计
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 18:30
+ */
+@Data
+@Accessors(chain = true)
+public class ResponseCacheStats {
+
+    private String urlPattern;
+
+    /**
+     * null 表示不限 http method
+     */
+    private RequestMethod httpMethod;
+
+    private long ttlMillis;
+
+    private int maxEntries;
+
+    /**
+     * 作为缓存 key 的参数名, null 表示全部参数
+     */
+    private List<String> keyParams;
+
+    private int size;
+
+    /**
+     * 缓存条目占用的估算字节数
+     */
+    private long bytes;
+
+    private long hitCount;
+
+    /**
+     * 过期后返回旧结果的次数
+     */
+    private long staleHitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    /**
+     * (hitCount + staleHitCount) / 查找次数
+     */
+    private double hitRate;
+}
@@ -0,0 +1,26 @@
+package org.zsz.uniitf.dispatcher.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 模板 url 解析结果缓存统计
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 11:50
+ */
+@Data
+@Accessors(chain = true)
+public class RouteCacheStats {
+
+    private boolean enabled;
+
+    private int capacity;
+
+    private int size;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+}
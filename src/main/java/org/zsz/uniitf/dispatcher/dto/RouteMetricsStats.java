@@ -0,0 +1,58 @@
+package org.zsz.uniitf.dispatcher.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.util.Map;
+
+/**
+ * 单个处理器的调用统计, 耗时单位为微秒
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 16:20
+ */
+@Data
+@Accessors(chain = true)
+public class RouteMetricsStats {
+
+    private String urlPattern;
+
+    /**
+     * null 表示不限 http method
+     */
+    private RequestMethod httpMethod;
+
+    /**
+     * 处理器方法, 类名#方法名
+     */
+    private String handler;
+
+    private long callCount;
+
+    private long errorCount;
+
+    /**
+     * key=异常类名 value=次数
+     */
+    private Map<String, Long> errorsByType;
+
+    /**
+     * 超过截止时间的调用数
+     */
+    private long timeoutCount;
+
+    /**
+     * 正在执行的调用数
+     */
+    private long inFlight;
+
+    private double meanMicros;
+
+    private double maxMicros;
+
+    private double p50Micros;
+
+    private double p99Micros;
+
+    private double p999Micros;
+}
@@ -0,0 +1,59 @@
+package org.zsz.uniitf.dispatcher.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 慢调用的分阶段耗时, 耗时单位为微秒
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 16:50
+ */
+@Data
+@Accessors(chain = true)
+public class SlowCallStats {
+
+    private String url;
+
+    private String httpMethod;
+
+    /**
+     * 匹配到的处理器 url, 没有查找到处理器时为 null
+     */
+    private String urlPattern;
+
+    /**
+     * 调用开始时间(毫秒时间戳)
+     */
+    private long startTime;
+
+    private boolean failed;
+
+    private int argCount;
+
+    /**
+     * 参数 key 与 value 的字符总数
+     */
+    private long argChars;
+
+    private double totalMicros;
+
+    /**
+     * 查找处理器
+     */
+    private double resolveMicros;
+
+    /**
+     * 参数转换
+     */
+    private double bindMicros;
+
+    /**
+     * 处理器方法执行
+     */
+    private double invokeMicros;
+
+    /**
+     * 结果序列化及写出
+     */
+    private double serializeMicros;
+}
@@ -0,0 +1,50 @@
+package org.zsz.uniitf.dispatcher.dto;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 单个租户的调度统计, 等待时间为排队至开始执行, 单位为微秒
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 20:10
+ */
+@Data
+@Accessors(chain = true)
+public class TenantStats {
+
+    private String tenant;
+
+    private int weight;
+
+    private int maxQueueDepth;
+
+    /**
+     * 排队中的调用数
+     */
+    private int queueDepth;
+
+    /**
+     * 入队的调用数, 不含被拒绝的调用
+     */
+    private long submittedCount;
+
+    private long startedCount;
+
+    /**
+     * 排队数超过上限被拒绝的次数
+     */
+    private long rejectedCount;
+
+    /**
+     * 调用线程被中断, 排队中被取消的次数
+     */
+    private long cancelledCount;
+
+    private double meanWaitMicros;
+
+    private double maxWaitMicros;
+
+    private double p50WaitMicros;
+
+    private double p99WaitMicros;
+}
@@ -0,0 +1,17 @@
+package org.zsz.uniitf.dispatcher.enumerate;
+
+/**
+ * 异步调用使用的线程类型
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 15:40
+ */
+public enum AsyncExecutorType {
+    /**
+     * 固定大小的平台线程池
+     */
+    PLATFORM,
+    /**
+     * 每个调用一个虚拟线程, 运行时 JDK 不支持时回退为 PLATFORM
+     */
+    VIRTUAL
+}
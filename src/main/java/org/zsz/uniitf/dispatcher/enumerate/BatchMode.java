@@ -0,0 +1,17 @@
+package org.zsz.uniitf.dispatcher.enumerate;
+
+/**
+ * 批量调用的执行方式
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 15:00
+ */
+public enum BatchMode {
+    /**
+     * 在调用线程中按顺序逐个执行
+     */
+    SEQUENTIAL,
+    /**
+     * 提交到有界的批量调用线程池并行执行
+     */
+    PARALLEL
+}
@@ -0,0 +1,21 @@
+package org.zsz.uniitf.dispatcher.enumerate;
+
+/**
+ * 并发数上限的调整方式
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 19:40
+ */
+public enum ConcurrencyLimitMode {
+    /**
+     * 固定为配置的上限
+     */
+    FIXED,
+    /**
+     * 耗时超过阈值时按比例降低上限, 否则逐个增加
+     */
+    AIMD,
+    /**
+     * 按长期耗时与当前耗时的比值调整上限, 耗时上升时降低, 恢复后增加
+     */
+    GRADIENT
+}
@@ -11,7 +11,27 @@ public enum ErrorCode {
     /**
      * 异常
      */
-    COMMON_FAILED("999999", "未知异常")
+    COMMON_FAILED("999999", "未知异常"),
+    /**
+     * 批量调用超时, 未执行或未完成
+     */
+    BATCH_TIMEOUT("900001", "批量调用超时"),
+    /**
+     * 批量调用线程池已满
+     */
+    BATCH_REJECTED("900002", "批量调用线程池已满"),
+    /**
+     * 并发调用数超过上限, 直接拒绝
+     */
+    CONCURRENCY_LIMITED("900003", "并发调用数超过上限"),
+    /**
+     * 租户排队的调用数超过上限, 直接拒绝
+     */
+    TENANT_QUEUE_FULL("900004", "租户排队的调用数超过上限"),
+    /**
+     * 调用超过截止时间, 未执行或执行被中断
+     */
+    CALL_TIMEOUT("900005", "调用超过截止时间")
     ;
 
     private String code;
@@ -0,0 +1,17 @@
+package org.zsz.uniitf.dispatcher.enumerate;
+
+/**
+ * 处理器方法的调用方式
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 12:20
+ */
+public enum InvokerStrategy {
+    /**
+     * 注册时绑定 controller 实例生成 MethodHandle, 无法链接时回退为反射
+     */
+    METHOD_HANDLE,
+    /**
+     * Method.invoke 反射调用
+     */
+    REFLECTION
+}
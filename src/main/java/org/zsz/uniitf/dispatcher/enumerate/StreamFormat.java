@@ -0,0 +1,17 @@
+package org.zsz.uniitf.dispatcher.enumerate;
+
+/**
+ * 流式结果(Stream / Iterator / PageFetcher)的输出格式
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 14:10
+ */
+public enum StreamFormat {
+    /**
+     * 每个元素一行 JSON (newline-delimited JSON)
+     */
+    NDJSON,
+    /**
+     * 逐个元素写出的 JSON 数组
+     */
+    JSON_ARRAY
+}
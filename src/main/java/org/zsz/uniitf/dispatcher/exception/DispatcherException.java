@@ -0,0 +1,25 @@
+package org.zsz.uniitf.dispatcher.exception;
+
+import org.zsz.uniitf.dispatcher.enumerate.ErrorCode;
+
+/**
+ * 转发服务拒绝或中止调用, 返回的 Result 使用对应的 {@link ErrorCode}
+ * 过载时可能大量抛出, 不记录堆栈
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 19:40
+ */
+public class DispatcherException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ErrorCode errorCode;
+
+    public DispatcherException(ErrorCode errorCode, String message) {
+        super(message, null, false, false);
+        this.errorCode = errorCode;
+    }
+
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+}
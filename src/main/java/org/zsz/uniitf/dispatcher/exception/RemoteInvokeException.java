@@ -0,0 +1,28 @@
+package org.zsz.uniitf.dispatcher.exception;
+
+/**
+ * 客户端调用通用接口失败
+ * 服务端返回失败的 Result 时 code 为其错误码, 连接、读写等传输失败时 code 为 null
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:40
+ */
+public class RemoteInvokeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String code;
+
+    public RemoteInvokeException(String code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+    public RemoteInvokeException(String message, Throwable cause) {
+        super(message, cause);
+        this.code = null;
+    }
+
+    public String getCode() {
+        return code;
+    }
+}
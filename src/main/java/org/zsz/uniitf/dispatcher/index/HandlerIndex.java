@@ -0,0 +1,198 @@
+package org.zsz.uniitf.dispatcher.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.zsz.uniitf.dispatcher.RemoteRequestInfo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 编译时由 {@link RemoteMethodIndexProcessor} 生成的 @RemoteMethod 处理器索引
+ * 每个 jar / 输出目录一个索引文件, 启动时读取 classpath 中全部索引; 没有索引的类仍按反射扫描
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 20:50
+ */
+@Slf4j
+public final class HandlerIndex {
+
+    public static final String LOCATION = "META-INF/uniitf/remote-methods.index";
+
+    static final String HEADER = "# uniitf remote method index v1";
+
+    static final String TYPE = "type";
+
+    static final String METHOD = "method";
+
+    static final String MAPPING = "mapping";
+
+    /**
+     * 不限 http method
+     */
+    static final String ANY_METHOD = "*";
+
+    /**
+     * 参数名未知, 启动时读取 class 文件获取
+     */
+    static final String UNKNOWN = "?";
+
+    public static final HandlerIndex EMPTY = new HandlerIndex(Collections.emptyMap());
+
+    /**
+     * key=类的二进制名
+     */
+    private final Map<String, IndexedType> types;
+
+    private HandlerIndex(Map<String, IndexedType> types) {
+        this.types = types;
+    }
+
+    /**
+     * 读取 classpath 中全部索引, 读取失败的索引忽略
+     */
+    public static HandlerIndex load(ClassLoader classLoader) {
+        Map<String, IndexedType> types = new HashMap<>(64);
+        try {
+            Enumeration<URL> resources = classLoader.getResources(LOCATION);
+            while (resources.hasMoreElements()) {
+                URL url = resources.nextElement();
+                try {
+                    read(url, types);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("读取 @RemoteMethod 索引 {} 失败, 相关类按反射扫描, 原因: {}", url, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("查找 @RemoteMethod 索引失败, 按反射扫描, 原因: {}", e.getMessage());
+        }
+        return types.isEmpty() ? EMPTY : new HandlerIndex(types);
+    }
+
+    private static void read(URL url, Map<String, IndexedType> types) throws IOException {
+        Map<String, IndexedType> parsed = new HashMap<>(16);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+            IndexedType type = null;
+            List<RemoteRequestInfo> mappings = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\t", -1);
+                switch (fields[0]) {
+                    case TYPE:
+                        type = new IndexedType();
+                        mappings = type.mappings;
+                        parsed.put(fields[1], type);
+                        break;
+                    case METHOD:
+                        IndexedMethod method = new IndexedMethod(fields[1], split(fields[2]),
+                                UNKNOWN.equals(fields[3]) ? null : split(fields[3]));
+                        type.methods.add(method);
+                        mappings = method.mappings;
+                        break;
+                    case MAPPING:
+                        RequestMethod httpMethod = ANY_METHOD.equals(fields[1]) ? null : RequestMethod.valueOf(fields[1]);
+                        mappings.add(new RemoteRequestInfo(fields[2], httpMethod));
+                        break;
+                    default:
+                        throw new IllegalStateException("无法识别的索引行: " + line);
+                }
+            }
+        }
+        // 整个文件读取成功后才生效
+        types.putAll(parsed);
+    }
+
+    private static String[] split(String value) {
+        return value.isEmpty() ? new String[0] : value.split(",");
+    }
+
+    public boolean isEmpty() {
+        return types.isEmpty();
+    }
+
+    /**
+     * 获取类的索引
+     * @param type controller 类(非代理类)
+     * @return 没有索引时为 null
+     */
+    public IndexedType get(Class<?> type) {
+        return types.get(type.getName());
+    }
+
+    /**
+     * 单个类的索引
+     */
+    public static final class IndexedType {
+
+        /**
+         * 类上 @RequestMapping 的映射
+         */
+        private final List<RemoteRequestInfo> mappings = new ArrayList<>(1);
+
+        private final List<IndexedMethod> methods = new ArrayList<>();
+
+        public List<RemoteRequestInfo> getMappings() {
+            return mappings;
+        }
+
+        public List<IndexedMethod> getMethods() {
+            return methods;
+        }
+    }
+
+    /**
+     * 单个 @RemoteMethod 方法的索引
+     */
+    public static final class IndexedMethod {
+
+        private final String name;
+
+        /**
+         * 擦除泛型后的参数类型名
+         */
+        private final String[] parameterTypes;
+
+        /**
+         * 参数名, 未知时为 null
+         */
+        private final String[] parameterNames;
+
+        /**
+         * 方法上 @RequestMapping 的映射
+         */
+        private final List<RemoteRequestInfo> mappings = new ArrayList<>(1);
+
+        private IndexedMethod(String name, String[] parameterTypes, String[] parameterNames) {
+            this.name = name;
+            this.parameterTypes = parameterTypes;
+            this.parameterNames = parameterNames;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String[] getParameterTypes() {
+            return parameterTypes;
+        }
+
+        public String[] getParameterNames() {
+            return parameterNames;
+        }
+
+        public List<RemoteRequestInfo> getMappings() {
+            return mappings;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package org.zsz.uniitf.dispatcher.index;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 编译时生成 @RemoteMethod 处理器索引 {@link HandlerIndex#LOCATION}
+ * 对声明了 @RemoteMethod 方法的类, 记录类上及每个 public @RemoteMethod 方法(含继承的)上合并后的 @RequestMapping 映射、
+ * 参数类型和参数名, 启动时 {@link HandlerIndex} 读取索引, 无需扫描方法和读取 class 文件获取参数名.
+ * 只使用 javax.lang.model, 不加载被编译的类
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 20:50
+ */
+@SupportedAnnotationTypes(RemoteMethodIndexProcessor.REMOTE_METHOD)
+public class RemoteMethodIndexProcessor extends AbstractProcessor {
+
+    static final String REMOTE_METHOD = "org.zsz.uniitf.dispatcher.annotation.RemoteMethod";
+
+    private static final String REQUEST_MAPPING = "org.springframework.web.bind.annotation.RequestMapping";
+
+    /**
+     * 未使用 -parameters 编译的 class 文件中的参数名
+     */
+    private static final Pattern SYNTHETIC_NAME = Pattern.compile("arg\\d+");
+
+    /**
+     * key=类的二进制名 value=索引内容
+     */
+    private final Map<String, String> entries = new LinkedHashMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+        TypeElement remoteMethod = processingEnv.getElementUtils().getTypeElement(REMOTE_METHOD);
+        if (remoteMethod == null) {
+            return false;
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(remoteMethod)) {
+            Element enclosing = element.getEnclosingElement();
+            if (element.getKind() == ElementKind.METHOD && enclosing.getKind() == ElementKind.CLASS) {
+                TypeElement type = (TypeElement) enclosing;
+                String name = processingEnv.getElementUtils().getBinaryName(type).toString();
+                if (!entries.containsKey(name) && !type.getModifiers().contains(Modifier.ABSTRACT)) {
+                    entries.put(name, describe(type, name));
+                }
+            }
+        }
+        return false;
+    }
+
+    private String describe(TypeElement type, String name) {
+        StringBuilder builder = new StringBuilder(256);
+        builder.append(HandlerIndex.TYPE).append('\t').append(name).append('\n');
+        appendMappings(builder, typeMapping(type));
+        for (Element member : processingEnv.getElementUtils().getAllMembers(type)) {
+            if (member.getKind() != ElementKind.METHOD || !member.getModifiers().contains(Modifier.PUBLIC)
+                    || member.getModifiers().contains(Modifier.STATIC) || findAnnotation(member, REMOTE_METHOD) == null) {
+                continue;
+            }
+            ExecutableElement method = (ExecutableElement) member;
+            List<String> types = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            boolean namesKnown = true;
+            for (VariableElement param : method.getParameters()) {
+                types.add(typeName(param.asType()));
+                String paramName = param.getSimpleName().toString();
+                names.add(paramName);
+                namesKnown &= !SYNTHETIC_NAME.matcher(paramName).matches();
+            }
+            builder.append(HandlerIndex.METHOD).append('\t').append(method.getSimpleName())
+                    .append('\t').append(String.join(",", types))
+                    .append('\t').append(namesKnown ? String.join(",", names) : HandlerIndex.UNKNOWN)
+                    .append('\n');
+            appendMappings(builder, mapping(method));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 类上的映射, 与 AnnotatedElementUtils.findMergedAnnotation 一致, 类上没有时查找父类
+     */
+    private Mapping typeMapping(TypeElement type) {
+        for (TypeElement current = type; current != null; current = superclass(current)) {
+            Mapping mapping = mapping(current);
+            if (mapping != null) {
+                return mapping;
+            }
+        }
+        return null;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        return superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+
+    /**
+     * 元素上的 @RequestMapping 或以其为元注解的组合注解(@GetMapping 等)
+     * @return 没有时为 null
+     */
+    private Mapping mapping(Element element) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(REQUEST_MAPPING)) {
+                return new Mapping(paths(annotation), values(annotation, "method"));
+            }
+            AnnotationMirror meta = findAnnotation(annotationType, REQUEST_MAPPING);
+            if (meta != null) {
+                return new Mapping(paths(annotation), values(meta, "method"));
+            }
+        }
+        return null;
+    }
+
+    private static List<String> paths(AnnotationMirror annotation) {
+        List<String> paths = values(annotation, "value");
+        return paths.isEmpty() ? values(annotation, "path") : paths;
+    }
+
+    /**
+     * 注解上显式设置的属性值, 枚举值取常量名
+     */
+    private static List<String> values(AnnotationMirror annotation, String attribute) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+            if (!entry.getKey().getSimpleName().contentEquals(attribute)) {
+                continue;
+            }
+            Object value = entry.getValue().getValue();
+            List<String> values = new ArrayList<>();
+            if (value instanceof List) {
+                for (Object item : (List<?>) value) {
+                    values.add(valueOf(((AnnotationValue) item).getValue()));
+                }
+            } else {
+                values.add(valueOf(value));
+            }
+            return values;
+        }
+        return Collections.emptyList();
+    }
+
+    private static String valueOf(Object value) {
+        return value instanceof VariableElement ? ((VariableElement) value).getSimpleName().toString() : String.valueOf(value);
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 擦除泛型后可由 ClassUtils.forName 加载的类型名
+     */
+    private String typeName(TypeMirror type) {
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        if (erased.getKind() == TypeKind.ARRAY) {
+            return typeName(((ArrayType) erased).getComponentType()) + "[]";
+        }
+        if (erased.getKind() == TypeKind.DECLARED) {
+            return processingEnv.getElementUtils().getBinaryName((TypeElement) ((DeclaredType) erased).asElement()).toString();
+        }
+        return erased.toString();
+    }
+
+    private static void appendMappings(StringBuilder builder, Mapping mapping) {
+        if (mapping == null) {
+            return;
+        }
+        List<String> paths = mapping.paths.isEmpty() ? Collections.singletonList("") : mapping.paths;
+        List<String> methods = mapping.methods.isEmpty() ? Collections.singletonList(HandlerIndex.ANY_METHOD) : mapping.methods;
+        for (String path : paths) {
+            for (String method : methods) {
+                builder.append(HandlerIndex.MAPPING).append('\t').append(method).append('\t').append(path).append('\n');
+            }
+        }
+    }
+
+    private void writeIndex() {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", HandlerIndex.LOCATION);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write(HandlerIndex.HEADER);
+                writer.write('\n');
+                for (String entry : entries.values()) {
+                    writer.write(entry);
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "生成 @RemoteMethod 索引失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 合并后的映射
+     */
+    private static final class Mapping {
+
+        private final List<String> paths;
+
+        private final List<String> methods;
+
+        private Mapping(List<String> paths, List<String> methods) {
+            this.paths = paths;
+            this.methods = methods;
+        }
+    }
+}
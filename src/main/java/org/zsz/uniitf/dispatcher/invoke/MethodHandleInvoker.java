@@ -0,0 +1,37 @@
+package org.zsz.uniitf.dispatcher.invoke;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * MethodHandle 调用
+ * 注册时将方法绑定到 controller 实例并适配为 (Object[])Object, 调用时使用 invokeExact, 没有访问检查与异常包装
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 12:20
+ */
+public final class MethodHandleInvoker implements MethodInvoker {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    private final MethodHandle handle;
+
+    /**
+     * @param target controller 实例
+     * @param method 处理器方法
+     * @throws IllegalAccessException 方法无法访问时
+     */
+    public MethodHandleInvoker(Object target, Method method) throws IllegalAccessException {
+        MethodHandle unreflected = MethodHandles.lookup().unreflect(method);
+        this.handle = unreflected
+                .bindTo(target)
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(INVOKER_TYPE);
+    }
+
+    @Override
+    public Object invoke(Object[] args) throws Throwable {
+        return handle.invokeExact(args);
+    }
+}
@@ -0,0 +1,17 @@
+package org.zsz.uniitf.dispatcher.invoke;
+
+/**
+ * 处理器方法调用器, 注册时创建并绑定 controller 实例
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 12:20
+ */
+public interface MethodInvoker {
+
+    /**
+     * 调用处理器方法
+     * @param args 方法参数
+     * @return 方法返回值
+     * @throws Throwable 处理器方法抛出的原始异常(不包装为 InvocationTargetException)
+     */
+    Object invoke(Object[] args) throws Throwable;
+}
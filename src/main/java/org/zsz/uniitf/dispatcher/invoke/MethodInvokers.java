@@ -0,0 +1,47 @@
+package org.zsz.uniitf.dispatcher.invoke;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.ReflectionUtils;
+import org.zsz.uniitf.dispatcher.HandlerDefinition;
+import org.zsz.uniitf.dispatcher.enumerate.InvokerStrategy;
+
+import java.lang.reflect.Method;
+
+/**
+ * 按 {@link InvokerStrategy} 创建 MethodInvoker
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 12:20
+ */
+@Slf4j
+public final class MethodInvokers {
+
+    private MethodInvokers() {
+    }
+
+    public static MethodInvoker create(HandlerDefinition definition, InvokerStrategy strategy) {
+        Object controller = definition.getController();
+        Method method = definition.getMethod();
+        if (strategy == InvokerStrategy.REFLECTION) {
+            return new ReflectiveMethodInvoker(controller, method);
+        }
+        try {
+            return new MethodHandleInvoker(controller, method);
+        } catch (IllegalAccessException e) {
+            // 非 public 类中的方法等, 设置可访问后重试
+            try {
+                ReflectionUtils.makeAccessible(method);
+                return new MethodHandleInvoker(controller, method);
+            } catch (RuntimeException | IllegalAccessException retry) {
+                return fallback(controller, method, retry);
+            }
+        } catch (RuntimeException e) {
+            return fallback(controller, method, e);
+        }
+    }
+
+    private static MethodInvoker fallback(Object controller, Method method, Exception cause) {
+        log.warn("Controller={}, method={} 无法生成 MethodHandle, 回退为反射调用, 原因: {}",
+                controller.getClass().getName(), method.getName(), cause.getMessage());
+        return new ReflectiveMethodInvoker(controller, method);
+    }
+}
@@ -0,0 +1,34 @@
+package org.zsz.uniitf.dispatcher.invoke;
+
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Method.invoke 反射调用
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 12:20
+ */
+public final class ReflectiveMethodInvoker implements MethodInvoker {
+
+    private final Object target;
+
+    private final Method method;
+
+    public ReflectiveMethodInvoker(Object target, Method method) {
+        this.target = target;
+        this.method = method;
+        // 跳过每次调用的访问检查
+        ReflectionUtils.makeAccessible(method);
+    }
+
+    @Override
+    public Object invoke(Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
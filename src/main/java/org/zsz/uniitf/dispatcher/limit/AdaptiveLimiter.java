@@ -0,0 +1,58 @@
+package org.zsz.uniitf.dispatcher.limit;
+
+import org.zsz.uniitf.dispatcher.enumerate.ConcurrencyLimitMode;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 根据耗时调整上限, 上限保持在 [minLimit, maxLimit] 内
+ * 调整在锁内进行, 锁被占用时丢弃该次耗时, 调用线程不会等待
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 19:40
+ */
+abstract class AdaptiveLimiter extends ConcurrencyLimiter {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    /**
+     * 未取整的上限
+     */
+    private double estimate;
+
+    AdaptiveLimiter(ConcurrencyLimitMode mode, int initialLimit, int minLimit, int maxLimit) {
+        super(mode, clamp(initialLimit, minLimit, maxLimit));
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimate = limit;
+    }
+
+    @Override
+    protected final void onSample(long latencyNanos, int inFlight) {
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            estimate = Math.max(minLimit, Math.min(maxLimit, update(estimate, latencyNanos, inFlight)));
+            limit = (int) estimate;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 计算新的上限, 在锁内调用
+     * @param estimate 当前未取整的上限
+     * @param latencyNanos 调用耗时
+     * @param inFlight 包含本次调用在内的并发数
+     * @return 新的上限, 超出范围时截断
+     */
+    protected abstract double update(double estimate, long latencyNanos, int inFlight);
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
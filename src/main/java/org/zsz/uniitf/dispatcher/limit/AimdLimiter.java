@@ -0,0 +1,35 @@
+package org.zsz.uniitf.dispatcher.limit;
+
+import org.zsz.uniitf.dispatcher.enumerate.ConcurrencyLimitMode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 加性增、乘性减: 耗时超过阈值时上限乘以 backoffRatio;
+ * 否则在并发数达到上限一半以上(上限确实被用到)时上限加 1
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 19:40
+ */
+final class AimdLimiter extends AdaptiveLimiter {
+
+    private final long timeoutNanos;
+
+    private final double backoffRatio;
+
+    AimdLimiter(int initialLimit, int minLimit, int maxLimit, long timeoutMillis, double backoffRatio) {
+        super(ConcurrencyLimitMode.AIMD, initialLimit, minLimit, maxLimit);
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        this.backoffRatio = backoffRatio;
+    }
+
+    @Override
+    protected double update(double estimate, long latencyNanos, int inFlight) {
+        if (latencyNanos > timeoutNanos) {
+            return estimate * backoffRatio;
+        }
+        if (inFlight * 2 >= estimate) {
+            return estimate + 1;
+        }
+        return estimate;
+    }
+}
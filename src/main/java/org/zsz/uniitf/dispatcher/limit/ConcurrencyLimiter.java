@@ -0,0 +1,77 @@
+package org.zsz.uniitf.dispatcher.limit;
+
+import org.zsz.uniitf.dispatcher.dto.ConcurrencyLimitStats;
+import org.zsz.uniitf.dispatcher.enumerate.ConcurrencyLimitMode;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 并发调用数上限, 超过上限的调用直接拒绝, 不排队
+ * 子类在每次调用结束时根据耗时调整上限
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 19:40
+ */
+public abstract class ConcurrencyLimiter {
+
+    private final ConcurrencyLimitMode mode;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * 当前上限
+     */
+    protected volatile int limit;
+
+    protected ConcurrencyLimiter(ConcurrencyLimitMode mode, int limit) {
+        this.mode = mode;
+        this.limit = limit;
+    }
+
+    /**
+     * 获取一个并发名额
+     * @return 已达到上限时为 false
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejectedCount.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 释放名额, 与成功的 {@link #tryAcquire} 一一对应
+     * @param latencyNanos 调用耗时
+     */
+    public void release(long latencyNanos) {
+        int current = inFlight.getAndDecrement();
+        onSample(latencyNanos, current);
+    }
+
+    /**
+     * 调用结束时调整上限
+     * @param latencyNanos 调用耗时
+     * @param inFlight 包含本次调用在内的并发数
+     */
+    protected abstract void onSample(long latencyNanos, int inFlight);
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public ConcurrencyLimitStats snapshot() {
+        return new ConcurrencyLimitStats()
+                .setMode(mode)
+                .setLimit(limit)
+                .setInFlight(inFlight.get())
+                .setRejectedCount(rejectedCount.sum());
+    }
+}
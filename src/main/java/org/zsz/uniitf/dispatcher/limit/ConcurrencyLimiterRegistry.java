@@ -0,0 +1,99 @@
+package org.zsz.uniitf.dispatcher.limit;
+
+import org.zsz.uniitf.dispatcher.HandlerDefinition;
+import org.zsz.uniitf.dispatcher.annotation.RemoteMethod;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.dto.ConcurrencyLimitStats;
+import org.zsz.uniitf.dispatcher.dto.ConcurrencyStats;
+import org.zsz.uniitf.dispatcher.enumerate.ConcurrencyLimitMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 全局及按处理器的并发数上限
+ * 处理器的上限优先取配置 route-limits, 其次取 @RemoteMethod(maxConcurrency), 都没有时不限制;
+ * 自适应方式下以该值为初始上限. 全局上限固定不变
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 19:40
+ */
+public class ConcurrencyLimiterRegistry {
+
+    private final DispatcherProperties.ConcurrencyProperties properties;
+
+    /**
+     * 全局上限, 未配置时为 null
+     */
+    private final ConcurrencyLimiter global;
+
+    /**
+     * key=HandlerDefinition value=ConcurrencyLimiter
+     */
+    private final Map<HandlerDefinition, ConcurrencyLimiter> limiters = new ConcurrentHashMap<>(16);
+
+    public ConcurrencyLimiterRegistry(DispatcherProperties.ConcurrencyProperties properties) {
+        this.properties = properties;
+        this.global = properties.getGlobalLimit() > 0 ? new FixedLimiter(properties.getGlobalLimit()) : null;
+    }
+
+    public ConcurrencyLimiter getGlobal() {
+        return global;
+    }
+
+    /**
+     * 获取处理器的并发数上限, 不存在时创建
+     * @return 处理器不限制并发数时为 null
+     */
+    public ConcurrencyLimiter register(HandlerDefinition definition) {
+        int limit = limitOf(definition);
+        if (limit <= 0) {
+            return null;
+        }
+        return limiters.computeIfAbsent(definition, def -> create(limit));
+    }
+
+    /**
+     * 处理器注销后移除其并发数上限, 执行中的调用仍释放到原 limiter
+     */
+    public void unregister(HandlerDefinition definition) {
+        limiters.remove(definition);
+    }
+
+    private int limitOf(HandlerDefinition definition) {
+        Integer configured = properties.getRouteLimits().get(definition.getRequestInfo().getUrlPattern());
+        if (configured != null) {
+            return configured;
+        }
+        RemoteMethod remoteMethod = definition.getMethod().getAnnotation(RemoteMethod.class);
+        return remoteMethod == null ? 0 : remoteMethod.maxConcurrency();
+    }
+
+    private ConcurrencyLimiter create(int limit) {
+        ConcurrencyLimitMode mode = properties.getMode();
+        int minLimit = properties.getMinLimit();
+        int maxLimit = Math.max(minLimit, properties.getMaxLimit());
+        switch (mode) {
+            case AIMD:
+                return new AimdLimiter(limit, minLimit, maxLimit, properties.getAimdTimeoutMillis(), properties.getAimdBackoffRatio());
+            case GRADIENT:
+                return new GradientLimiter(limit, minLimit, maxLimit, properties.getGradientLongWindow(), properties.getGradientSmoothing());
+            default:
+                return new FixedLimiter(limit);
+        }
+    }
+
+    public ConcurrencyStats snapshot() {
+        List<ConcurrencyLimitStats> routes = new ArrayList<>(limiters.size());
+        for (Map.Entry<HandlerDefinition, ConcurrencyLimiter> entry : limiters.entrySet()) {
+            HandlerDefinition definition = entry.getKey();
+            routes.add(entry.getValue().snapshot()
+                    .setUrlPattern(definition.getRequestInfo().getUrlPattern())
+                    .setHttpMethod(definition.getRequestInfo().getHttpMethod()));
+        }
+        return new ConcurrencyStats()
+                .setGlobal(global == null ? null : global.snapshot())
+                .setRoutes(routes);
+    }
+}
@@ -0,0 +1,19 @@
+package org.zsz.uniitf.dispatcher.limit;
+
+import org.zsz.uniitf.dispatcher.enumerate.ConcurrencyLimitMode;
+
+/**
+ * 固定上限
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 19:40
+ */
+final class FixedLimiter extends ConcurrencyLimiter {
+
+    FixedLimiter(int limit) {
+        super(ConcurrencyLimitMode.FIXED, limit);
+    }
+
+    @Override
+    protected void onSample(long latencyNanos, int inFlight) {
+    }
+}
@@ -0,0 +1,53 @@
+package org.zsz.uniitf.dispatcher.limit;
+
+import org.zsz.uniitf.dispatcher.enumerate.ConcurrencyLimitMode;
+
+/**
+ * 梯度方式: 以长期平均耗时为基准, gradient = clamp(tolerance * longRtt / rtt, 0.5, 1),
+ * 新上限 = 上限 * gradient + sqrt(上限)(允许的排队量), 再按 smoothing 平滑.
+ * 耗时上升时 gradient 小于 1, 上限下降; 耗时恢复后 gradient 为 1, 上限逐步增加.
+ * 并发数不到上限一半时不加排队量, 上限只降不升, 避免空闲时上限无限增长
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 19:40
+ */
+final class GradientLimiter extends AdaptiveLimiter {
+
+    private static final double TOLERANCE = 1.5;
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    /**
+     * 长期耗时的平均窗口(调用次数)
+     */
+    private final int longWindow;
+
+    private final double smoothing;
+
+    private double longRtt;
+
+    private long samples;
+
+    GradientLimiter(int initialLimit, int minLimit, int maxLimit, int longWindow, double smoothing) {
+        super(ConcurrencyLimitMode.GRADIENT, initialLimit, minLimit, maxLimit);
+        this.longWindow = Math.max(1, longWindow);
+        this.smoothing = smoothing;
+    }
+
+    @Override
+    protected double update(double estimate, long latencyNanos, int inFlight) {
+        double rtt = Math.max(1L, latencyNanos);
+        // 预热阶段使用算术平均, 之后使用指数移动平均
+        samples++;
+        double factor = samples < longWindow ? 1.0 / samples : 1.0 / longWindow;
+        longRtt = longRtt * (1 - factor) + rtt * factor;
+        // 持续过载后长期耗时被抬高, 当前耗时明显回落时加快长期耗时的回落
+        if (longRtt / rtt > 2) {
+            longRtt *= 0.95;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, TOLERANCE * longRtt / rtt));
+        // 上限未被用到时不加排队量, 只随耗时上升下降
+        double queue = inFlight * 2 < estimate ? 0 : Math.sqrt(estimate);
+        double next = estimate * gradient + queue;
+        return estimate * (1 - smoothing) + next * smoothing;
+    }
+}
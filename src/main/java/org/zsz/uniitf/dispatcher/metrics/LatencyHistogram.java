@@ -0,0 +1,106 @@
+package org.zsz.uniitf.dispatcher.metrics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 固定内存的延迟直方图(HDR 方式的对数-线性分桶)
+ * 每个 2 的幂区间再等分为 {@link #SUB_BUCKET_COUNT} 个桶, 相对误差不超过 1/32;
+ * 记录范围 0 ~ 2^{@link #MAX_MAGNITUDE} 纳秒(约 68 秒), 超出范围的值记入最后一个桶.
+ * 每个桶是分段的 LongAdder, 热点路由的同一个桶被并发记录时分散到不同的计数单元, 不争用同一个变量;
+ * 桶在第一次记录时创建, 只占用实际出现的延迟区间
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 16:20
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int MAX_MAGNITUDE = 36;
+
+    private static final long MAX_VALUE = (1L << MAX_MAGNITUDE) - 1;
+
+    private static final int BUCKET_COUNT = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    /**
+     * 未记录过的桶为 null
+     */
+    private final AtomicReferenceArray<LongAdder> counts = new AtomicReferenceArray<>(BUCKET_COUNT);
+
+    /**
+     * 记录一次耗时
+     * @param nanos 纳秒
+     */
+    public void record(long nanos) {
+        int index = indexOf(Math.min(Math.max(nanos, 0L), MAX_VALUE));
+        LongAdder counter = counts.get(index);
+        if (counter == null) {
+            counter = new LongAdder();
+            if (!counts.compareAndSet(index, null, counter)) {
+                counter = counts.get(index);
+            }
+        }
+        counter.increment();
+    }
+
+    /**
+     * 当前计数的快照, 用于计算分位数
+     */
+    public long[] snapshot() {
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            LongAdder counter = counts.get(i);
+            snapshot[i] = counter == null ? 0L : counter.sum();
+        }
+        return snapshot;
+    }
+
+    /**
+     * 计算分位数
+     * @param snapshot {@link #snapshot()} 的结果
+     * @param quantile 0 ~ 1
+     * @return 分位数所在桶的中间值(纳秒), 没有记录时为 0
+     */
+    public static long valueAt(long[] snapshot, double quantile) {
+        long total = 0;
+        for (long count : snapshot) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return lowerBound(i) + (width(i) >> 1);
+            }
+        }
+        return MAX_VALUE;
+    }
+
+    static int indexOf(long value) {
+        if (value < 2 * SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int mantissa = (int) (value >>> shift);
+        return (shift + 1) * SUB_BUCKET_COUNT + (mantissa - SUB_BUCKET_COUNT);
+    }
+
+    static long lowerBound(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long mantissa = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return mantissa << shift;
+    }
+
+    private static long width(int index) {
+        return index < 2 * SUB_BUCKET_COUNT ? 1L : 1L << (index / SUB_BUCKET_COUNT - 1);
+    }
+}
@@ -0,0 +1,33 @@
+package org.zsz.uniitf.dispatcher.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.zsz.uniitf.dispatcher.annotation.RemoteMethod;
+import org.zsz.uniitf.dispatcher.dto.MetricsStats;
+
+/**
+ * 调用统计查询, uniitf.dispatcher.metrics.endpoint-enabled=true 时注册, 可通过通用接口或 http 调用
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 16:20
+ */
+@Controller
+@RequestMapping("/uniitf/dispatcher")
+@ConditionalOnProperty(prefix = "uniitf.dispatcher.metrics", name = "endpoint-enabled", havingValue = "true")
+public class MetricsController {
+
+    private final MetricsRegistry metricsRegistry;
+
+    public MetricsController(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @RemoteMethod
+    @ResponseBody
+    @GetMapping("/metrics")
+    public MetricsStats metrics() {
+        return metricsRegistry.snapshot();
+    }
+}
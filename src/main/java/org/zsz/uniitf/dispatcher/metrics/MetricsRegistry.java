@@ -0,0 +1,68 @@
+package org.zsz.uniitf.dispatcher.metrics;
+
+import org.springframework.stereotype.Component;
+import org.zsz.uniitf.dispatcher.HandlerDefinition;
+import org.zsz.uniitf.dispatcher.dto.MetricsStats;
+import org.zsz.uniitf.dispatcher.dto.RouteMetricsStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按处理器统计的调用指标
+ * 注册时为每个 HandlerDefinition 创建 RouteMetrics 并绑定到 HandlerExecution, 调用时不再查找
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 16:20
+ */
+@Component
+public class MetricsRegistry {
+
+    /**
+     * key=HandlerDefinition value=RouteMetrics
+     */
+    private final Map<HandlerDefinition, RouteMetrics> routes = new ConcurrentHashMap<>(64);
+
+    private final LongAdder unmatchedCount = new LongAdder();
+
+    /**
+     * 获取处理器的统计, 不存在时创建
+     */
+    public RouteMetrics register(HandlerDefinition definition) {
+        return routes.computeIfAbsent(definition, RouteMetrics::new);
+    }
+
+    /**
+     * 处理器注销后移除其统计
+     */
+    public void unregister(HandlerDefinition definition) {
+        routes.remove(definition);
+    }
+
+    /**
+     * 获取处理器的统计
+     * @return 未注册时为 null
+     */
+    public RouteMetrics get(HandlerDefinition definition) {
+        return routes.get(definition);
+    }
+
+    /**
+     * 记录一次没有查找到处理器的调用
+     */
+    public void recordUnmatched() {
+        unmatchedCount.increment();
+    }
+
+    public MetricsStats snapshot() {
+        List<RouteMetricsStats> stats = new ArrayList<>(routes.size());
+        for (RouteMetrics metrics : routes.values()) {
+            stats.add(metrics.snapshot());
+        }
+        return new MetricsStats()
+                .setUnmatchedCount(unmatchedCount.sum())
+                .setRoutes(stats);
+    }
+}
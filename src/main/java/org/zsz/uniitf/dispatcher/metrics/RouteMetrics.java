@@ -0,0 +1,113 @@
+package org.zsz.uniitf.dispatcher.metrics;
+
+import org.zsz.uniitf.dispatcher.HandlerDefinition;
+import org.zsz.uniitf.dispatcher.dto.RouteMetricsStats;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个处理器的调用统计
+ * 计数均为分段的 LongAdder, 并发记录时不争用同一个变量
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 16:20
+ */
+public final class RouteMetrics {
+
+    private static final double NANOS_PER_MICRO = 1000.0;
+
+    private final HandlerDefinition definition;
+
+    private final LongAdder callCount = new LongAdder();
+
+    private final LongAdder errorCount = new LongAdder();
+
+    /**
+     * key=异常类型
+     */
+    private final Map<Class<?>, LongAdder> errorsByType = new ConcurrentHashMap<>(8);
+
+    /**
+     * 超过截止时间的调用数, 包括执行前已截止、排队中截止的调用
+     */
+    private final LongAdder timeoutCount = new LongAdder();
+
+    private final LongAdder inFlight = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    public RouteMetrics(HandlerDefinition definition) {
+        this.definition = definition;
+    }
+
+    public HandlerDefinition getDefinition() {
+        return definition;
+    }
+
+    /**
+     * 调用开始
+     * @return 开始时间, 传给 {@link #end}
+     */
+    public long begin() {
+        inFlight.increment();
+        return System.nanoTime();
+    }
+
+    /**
+     * 调用结束
+     * @param start {@link #begin()} 的返回值
+     * @param error 调用抛出的异常, 成功时为 null
+     */
+    public void end(long start, Throwable error) {
+        long nanos = System.nanoTime() - start;
+        inFlight.decrement();
+        callCount.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        histogram.record(nanos);
+        if (error != null) {
+            errorCount.increment();
+            Class<?> type = error.getClass();
+            LongAdder counter = errorsByType.get(type);
+            if (counter == null) {
+                counter = errorsByType.computeIfAbsent(type, key -> new LongAdder());
+            }
+            counter.increment();
+        }
+    }
+
+    /**
+     * 调用超过截止时间
+     */
+    public void recordTimeout() {
+        timeoutCount.increment();
+    }
+
+    public RouteMetricsStats snapshot() {
+        long calls = callCount.sum();
+        long[] buckets = histogram.snapshot();
+        Map<String, Long> errors = new HashMap<>(errorsByType.size() * 2);
+        errorsByType.forEach((type, counter) -> errors.put(type.getName(), counter.sum()));
+        return new RouteMetricsStats()
+                .setUrlPattern(definition.getRequestInfo().getUrlPattern())
+                .setHttpMethod(definition.getRequestInfo().getHttpMethod())
+                .setHandler(definition.getMethod().getDeclaringClass().getName() + "#" + definition.getMethod().getName())
+                .setCallCount(calls)
+                .setErrorCount(errorCount.sum())
+                .setErrorsByType(errors)
+                .setTimeoutCount(timeoutCount.sum())
+                .setInFlight(inFlight.sum())
+                .setMeanMicros(calls == 0 ? 0 : totalNanos.sum() / NANOS_PER_MICRO / calls)
+                .setMaxMicros(maxNanos.get() / NANOS_PER_MICRO)
+                .setP50Micros(LatencyHistogram.valueAt(buckets, 0.5) / NANOS_PER_MICRO)
+                .setP99Micros(LatencyHistogram.valueAt(buckets, 0.99) / NANOS_PER_MICRO)
+                .setP999Micros(LatencyHistogram.valueAt(buckets, 0.999) / NANOS_PER_MICRO);
+    }
+}
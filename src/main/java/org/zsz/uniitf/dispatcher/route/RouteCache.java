@@ -0,0 +1,150 @@
+package org.zsz.uniitf.dispatcher.route;
+
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 模板 url 解析结果缓存
+ * key=(原始 url, http method) value=最优匹配及已提取的模板变量
+ * 按 url hash 分段, 每段为一个按访问顺序淘汰的 LinkedHashMap(LRU), value 为按 http method 下标存放的数组, 查找时不创建组合 key
+ * 总容量(url 数量)有上限, 避免高基数 id 导致内存无限增长
+ * 缓存随 RouteIndex 一同创建, 处理器集合变化重建索引时旧缓存自然失效
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 11:50
+ */
+public final class RouteCache {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private static final int METHOD_COUNT = RequestMethod.values().length;
+
+    /**
+     * 每段最少容纳的数量, 容量较小时减少分段数
+     */
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+
+    private final int capacity;
+
+    private final int segmentMask;
+
+    private final Segment[] segments;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    public RouteCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("RouteCache 容量必须大于 0");
+        }
+        this.capacity = capacity;
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && segmentCount * 2 * MIN_SEGMENT_CAPACITY <= capacity) {
+            segmentCount <<= 1;
+        }
+        this.segmentMask = segmentCount - 1;
+        this.segments = new Segment[segmentCount];
+        int segmentCapacity = Math.max(1, capacity / segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    public RouteMatch get(String url, RequestMethod requestMethod) {
+        Segment segment = segmentFor(url);
+        RouteMatch match = null;
+        synchronized (segment) {
+            RouteMatch[] byMethod = segment.get(url);
+            if (byMethod != null) {
+                match = byMethod[requestMethod.ordinal()];
+            }
+        }
+        if (match != null) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return match;
+    }
+
+    public void put(String url, RequestMethod requestMethod, RouteMatch match) {
+        Segment segment = segmentFor(url);
+        synchronized (segment) {
+            RouteMatch[] byMethod = segment.get(url);
+            if (byMethod == null) {
+                byMethod = new RouteMatch[METHOD_COUNT];
+                segment.put(url, byMethod);
+            }
+            byMethod[requestMethod.ordinal()] = match;
+        }
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    private Segment segmentFor(String url) {
+        int h = url.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & segmentMask];
+    }
+
+    /**
+     * 单个分段, 调用方持有分段锁, 超过容量时淘汰最久未访问的 url
+     */
+    private final class Segment extends LinkedHashMap<String, RouteMatch[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        private Segment(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RouteMatch[]> eldest) {
+            if (size() > maxSize) {
+                evictionCount.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,591 @@
+package org.zsz.uniitf.dispatcher.route;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.zsz.uniitf.dispatcher.HandlerDefinition;
+import org.zsz.uniitf.dispatcher.HandlerExecution;
+import org.zsz.uniitf.dispatcher.RemoteRequestInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 路由索引
+ * 注册时一次性构建, 查找时不再线性扫描全部映射:
+ * 1. 字面量 url 按 (url, http method) 查精确匹配表, 一次 hash 查找且不分配对象,
+ *    表中同时登记了末尾带 / 和 ? 的 url, 命中时无需再处理 url
+ * 2. 其余模式按路径段构建前缀树(字面量 / {var} / * / ** / 其它段模式), 一次遍历完成匹配与模板变量提取
+ * 3. 前缀树无法表达的模式(不以 / 开头、以 / 结尾、包含空段)回退为 AntPathMatcher 线性匹配
+ * 4. 可选的 {@link RouteCache} 缓存 2、3 的结果, 同一个具体 url 再次调用时不再匹配与提取模板变量
+ * 多个模式同时匹配时按注册顺序排列后使用 {@link AntPathMatcher#getPatternComparator(String)} 排序选择最优, 与原线性扫描的优先级一致,
+ * 模板变量同样合并自与最优匹配优先级相同的全部模式.
+ * 与原线性扫描不同的是: 同一 urlPattern 同时有指定 http method 与未指定 http method 的映射时, 总是选择指定了 http method 的映射
+ * (与 Spring MVC 一致), 原线性扫描对字面量 url 选择先注册的、对模式选择后注册的; 同一 urlPattern 及 http method 的重复映射保留先注册的
+ * 构建完成后只读, 可并发查找
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 10:30
+ */
+@Slf4j
+public final class RouteIndex {
+
+    private static final String PATH_SEPARATOR = "/";
+
+    private static final String DOUBLE_WILDCARD = "**";
+
+    private static final String SINGLE_WILDCARD = "*";
+
+    private static final String DUPLICATE_MAPPING_TEMPLATE = "url:[{}] method:[{}] 存在重复映射, 保留 {}#{}, 忽略 {}#{}";
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    /**
+     * url 末尾需要去除的字符
+     */
+    private static final char[] TRAILING_CHARS = {'/', '?'};
+
+    /**
+     * 全部处理器, 注册顺序
+     */
+    private final List<HandlerExecution> handlers;
+
+    /**
+     * 字面量 url 精确匹配表 key=http method, value=(原始 url -> 匹配结果)
+     * 没有配置 http method 的映射登记在每个 http method 下(指定了相同 http method 的映射优先)
+     */
+    private final Map<RequestMethod, Map<String, RouteMatch>> exactRoutes = new EnumMap<>(RequestMethod.class);
+
+    /**
+     * 前缀树根节点
+     */
+    private final Node root = new Node(NodeType.LITERAL, "");
+
+    /**
+     * 无法放入前缀树的映射, 使用 AntPathMatcher 线性匹配
+     */
+    private final List<HandlerExecution> fallbackRoutes = new ArrayList<>();
+
+    /**
+     * 处理器的注册顺序, 多个模式同时匹配时使用
+     */
+    private final Map<HandlerExecution, Integer> registrationOrder = new IdentityHashMap<>();
+
+    /**
+     * 模板 url 解析结果缓存, 为 null 时不缓存
+     */
+    private final RouteCache cache;
+
+    public RouteIndex(Collection<HandlerExecution> handlers) {
+        this(handlers, 0);
+    }
+
+    /**
+     * @param handlers 处理器
+     * @param cacheCapacity 模板 url 解析结果缓存容量, 小于等于 0 时不缓存
+     */
+    public RouteIndex(Collection<HandlerExecution> handlers, int cacheCapacity) {
+        this.cache = cacheCapacity > 0 ? new RouteCache(cacheCapacity) : null;
+        this.handlers = new ArrayList<>(handlers);
+        for (int i = 0; i < this.handlers.size(); i++) {
+            registrationOrder.put(this.handlers.get(i), i);
+        }
+        // 字面量 url 的方法表 key=urlPattern
+        Map<String, MethodTable> literalRoutes = new LinkedHashMap<>();
+        for (HandlerExecution handler : this.handlers) {
+            addRoute(handler, literalRoutes);
+        }
+        buildExactRoutes(literalRoutes);
+    }
+
+    public List<HandlerExecution> getHandlers() {
+        return Collections.unmodifiableList(handlers);
+    }
+
+    /**
+     * @return 模板 url 解析结果缓存, 没有启用时为 null
+     */
+    public RouteCache getCache() {
+        return cache;
+    }
+
+    private void addRoute(HandlerExecution handler, Map<String, MethodTable> literalRoutes) {
+        String pattern = handler.getDefinition().getRequestInfo().getUrlPattern();
+        boolean literal = !isPattern(pattern);
+        if (!isTreePattern(pattern)) {
+            fallbackRoutes.add(handler);
+            if (literal) {
+                literalRoutes.computeIfAbsent(pattern, MethodTable::new).register(handler);
+            }
+            return;
+        }
+        Node node = root;
+        for (String segment : tokenize(pattern)) {
+            node = node.getOrCreateChild(segment);
+        }
+        if (node.routes == null) {
+            node.routes = new MethodTable(pattern);
+        }
+        node.routes.register(handler);
+        if (literal) {
+            // 与前缀树节点共享同一张方法表
+            literalRoutes.put(pattern, node.routes);
+        }
+    }
+
+    private void buildExactRoutes(Map<String, MethodTable> literalRoutes) {
+        Map<HandlerExecution, RouteMatch> matches = new IdentityHashMap<>();
+        for (RequestMethod requestMethod : RequestMethod.values()) {
+            Map<String, RouteMatch> routes = new HashMap<>(literalRoutes.size() * 4);
+            for (MethodTable table : literalRoutes.values()) {
+                HandlerExecution handler = table.lookup(requestMethod);
+                if (handler == null) {
+                    continue;
+                }
+                RouteMatch match = matches.computeIfAbsent(handler, h -> new RouteMatch(h, Collections.emptyMap()));
+                String pattern = table.urlPattern;
+                // 处理后等于 pattern 的原始 url
+                if (normalize(pattern).equals(pattern)) {
+                    routes.putIfAbsent(pattern, match);
+                }
+                for (char trailing : TRAILING_CHARS) {
+                    routes.putIfAbsent(pattern + trailing, match);
+                }
+            }
+            exactRoutes.put(requestMethod, routes);
+        }
+    }
+
+    /**
+     * 查找最优匹配
+     * @param rawUrl 调用方传入的 url
+     * @param requestMethod http method
+     * @return 没有匹配时返回 null
+     */
+    public RouteMatch match(String rawUrl, RequestMethod requestMethod) {
+        // 精确匹配
+        RouteMatch exact = exactRoutes.get(requestMethod).get(rawUrl);
+        if (exact != null) {
+            return exact;
+        }
+        if (cache == null) {
+            return matchPattern(rawUrl, requestMethod);
+        }
+        RouteMatch cached = cache.get(rawUrl, requestMethod);
+        if (cached != null) {
+            return cached;
+        }
+        RouteMatch match = matchPattern(rawUrl, requestMethod);
+        if (match != null) {
+            cache.put(rawUrl, requestMethod, match);
+        }
+        return match;
+    }
+
+    private RouteMatch matchPattern(String rawUrl, RequestMethod requestMethod) {
+        // 方法不匹配或非字面量, 继续匹配模式
+        String url = normalize(rawUrl);
+        MatchCollector collector;
+        if (url.startsWith(PATH_SEPARATOR) && !url.endsWith(PATH_SEPARATOR)) {
+            collector = new MatchCollector(url, requestMethod, tokenize(url));
+            collect(root, 0, collector);
+            matchLinear(fallbackRoutes, collector);
+        } else {
+            // 以 / 结尾的 url 匹配规则特殊, 按原方式对全部映射线性匹配
+            collector = new MatchCollector(url, requestMethod, new String[0]);
+            matchLinear(handlers, collector);
+        }
+        return collector.toMatch();
+    }
+
+    private void collect(Node node, int index, MatchCollector collector) {
+        String[] segments = collector.segments;
+        if (index == segments.length) {
+            if (node.routes != null) {
+                HandlerExecution handler = node.routes.lookup(collector.requestMethod);
+                if (handler != null) {
+                    collector.offer(handler, true);
+                }
+            }
+            // ** 可以匹配 0 个路径段
+            for (Node child : node.dynamicChildren) {
+                if (child.type == NodeType.DOUBLE_WILDCARD) {
+                    collect(child, index, collector);
+                }
+            }
+            return;
+        }
+        String segment = segments[index];
+        Node literalChild = node.literalChildren.get(segment);
+        if (literalChild != null) {
+            collect(literalChild, index + 1, collector);
+        }
+        for (Node child : node.dynamicChildren) {
+            switch (child.type) {
+                case DOUBLE_WILDCARD:
+                    for (int next = index; next <= segments.length; next++) {
+                        collect(child, next, collector);
+                    }
+                    break;
+                case SINGLE_WILDCARD:
+                    collect(child, index + 1, collector);
+                    break;
+                case VARIABLE:
+                    collector.push(child, index);
+                    collect(child, index + 1, collector);
+                    collector.pop();
+                    break;
+                case PATTERN:
+                    if (PATH_MATCHER.match(child.segment, segment)) {
+                        collector.push(child, index);
+                        collect(child, index + 1, collector);
+                        collector.pop();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void matchLinear(List<HandlerExecution> candidates, MatchCollector collector) {
+        for (HandlerExecution handler : candidates) {
+            RemoteRequestInfo info = handler.getDefinition().getRequestInfo();
+            if (info.getHttpMethod() != null && info.getHttpMethod() != collector.requestMethod) {
+                continue;
+            }
+            if (PATH_MATCHER.match(info.getUrlPattern(), collector.url)) {
+                collector.offer(handler, false);
+            }
+        }
+    }
+
+    /**
+     * 处理 url 上不合适的 /, 以 / 或 ? 结尾时清除最后一个字符
+     */
+    private static String normalize(String url) {
+        if (url.isEmpty()) {
+            return url;
+        }
+        char last = url.charAt(url.length() - 1);
+        for (char trailing : TRAILING_CHARS) {
+            if (last == trailing) {
+                return url.substring(0, url.length() - 1);
+            }
+        }
+        return url;
+    }
+
+    /**
+     * 是否可以放入前缀树: 以 / 开头, 不以 / 结尾, 不包含空段
+     */
+    private static boolean isTreePattern(String pattern) {
+        return pattern.startsWith(PATH_SEPARATOR)
+                && !pattern.endsWith(PATH_SEPARATOR)
+                && !pattern.contains(PATH_SEPARATOR + PATH_SEPARATOR);
+    }
+
+    private static boolean isPattern(String pattern) {
+        return pattern.indexOf('*') != -1 || pattern.indexOf('?') != -1 || pattern.indexOf('{') != -1;
+    }
+
+    /**
+     * 与 AntPathMatcher 相同的分段方式(不 trim, 忽略空段)
+     */
+    private static String[] tokenize(String path) {
+        return StringUtils.tokenizeToStringArray(path, PATH_SEPARATOR, false, true);
+    }
+
+    private enum NodeType {
+        /**
+         * 字面量段
+         */
+        LITERAL,
+        /**
+         * {var}
+         */
+        VARIABLE,
+        /**
+         * *
+         */
+        SINGLE_WILDCARD,
+        /**
+         * **
+         */
+        DOUBLE_WILDCARD,
+        /**
+         * 其它段模式, 如 {id:\d+}、*.json、a?c
+         */
+        PATTERN
+    }
+
+    private static final class Node {
+
+        private final NodeType type;
+
+        /**
+         * 原始路径段
+         */
+        private final String segment;
+
+        /**
+         * VARIABLE 节点的变量名
+         */
+        private final String variableName;
+
+        private Map<String, Node> literalChildren = Collections.emptyMap();
+
+        /**
+         * 非字面量子节点, key=原始路径段
+         */
+        private final Map<String, Node> dynamicChildMap = new LinkedHashMap<>(4);
+
+        private Node[] dynamicChildren = new Node[0];
+
+        /**
+         * 以该节点结束的映射
+         */
+        private MethodTable routes;
+
+        private Node(NodeType type, String segment) {
+            this.type = type;
+            this.segment = segment;
+            this.variableName = type == NodeType.VARIABLE ? segment.substring(1, segment.length() - 1) : null;
+        }
+
+        private Node getOrCreateChild(String segment) {
+            NodeType childType = typeOf(segment);
+            if (childType == NodeType.LITERAL) {
+                if (literalChildren.isEmpty()) {
+                    literalChildren = new HashMap<>(8);
+                }
+                return literalChildren.computeIfAbsent(segment, s -> new Node(NodeType.LITERAL, s));
+            }
+            Node child = dynamicChildMap.get(segment);
+            if (child == null) {
+                child = new Node(childType, segment);
+                dynamicChildMap.put(segment, child);
+                dynamicChildren = dynamicChildMap.values().toArray(new Node[0]);
+            }
+            return child;
+        }
+
+        private static NodeType typeOf(String segment) {
+            if (DOUBLE_WILDCARD.equals(segment)) {
+                return NodeType.DOUBLE_WILDCARD;
+            }
+            if (SINGLE_WILDCARD.equals(segment)) {
+                return NodeType.SINGLE_WILDCARD;
+            }
+            if (!isPattern(segment)) {
+                return NodeType.LITERAL;
+            }
+            boolean simpleVariable = segment.length() > 2
+                    && segment.charAt(0) == '{'
+                    && segment.indexOf('{', 1) == -1
+                    && segment.indexOf('}') == segment.length() - 1
+                    && segment.indexOf(':') == -1
+                    && segment.indexOf('*') == -1
+                    && segment.indexOf('?') == -1;
+            return simpleVariable ? NodeType.VARIABLE : NodeType.PATTERN;
+        }
+    }
+
+    /**
+     * 同一 urlPattern 下按 http method 区分的处理器
+     */
+    private static final class MethodTable {
+
+        private final String urlPattern;
+
+        private final Map<RequestMethod, HandlerExecution> methods = new EnumMap<>(RequestMethod.class);
+
+        /**
+         * 没有配置 http method 的处理器
+         */
+        private HandlerExecution anyMethod;
+
+        private MethodTable(String urlPattern) {
+            this.urlPattern = urlPattern;
+        }
+
+        private void register(HandlerExecution handler) {
+            HandlerDefinition definition = handler.getDefinition();
+            RequestMethod httpMethod = definition.getRequestInfo().getHttpMethod();
+            HandlerExecution existing = httpMethod == null ? anyMethod : methods.get(httpMethod);
+            if (existing != null) {
+                HandlerDefinition kept = existing.getDefinition();
+                log.warn(DUPLICATE_MAPPING_TEMPLATE, urlPattern, httpMethod,
+                        kept.getController().getClass().getName(), kept.getMethod().getName(),
+                        definition.getController().getClass().getName(), definition.getMethod().getName());
+                return;
+            }
+            if (httpMethod == null) {
+                anyMethod = handler;
+            } else {
+                methods.put(httpMethod, handler);
+            }
+        }
+
+        /**
+         * 优先匹配指定了 http method 的处理器
+         */
+        private HandlerExecution lookup(RequestMethod requestMethod) {
+            HandlerExecution handler = methods.get(requestMethod);
+            return handler != null ? handler : anyMethod;
+        }
+    }
+
+    /**
+     * 单次查找的状态: 当前捕获的模板变量段与已匹配的候选
+     */
+    private final class MatchCollector {
+
+        private final String url;
+
+        private final RequestMethod requestMethod;
+
+        private final String[] segments;
+
+        private final Node[] captureNodes;
+
+        private final int[] captureIndexes;
+
+        private int captureSize;
+
+        /**
+         * 第一个候选, 绝大多数查找只有一个候选, 不创建集合
+         */
+        private Candidate first;
+
+        private List<Candidate> candidates;
+
+        private MatchCollector(String url, RequestMethod requestMethod, String[] segments) {
+            this.url = url;
+            this.requestMethod = requestMethod;
+            this.segments = segments;
+            this.captureNodes = new Node[segments.length];
+            this.captureIndexes = new int[segments.length];
+        }
+
+        private void push(Node node, int index) {
+            captureNodes[captureSize] = node;
+            captureIndexes[captureSize] = index;
+            captureSize++;
+        }
+
+        private void pop() {
+            captureSize--;
+        }
+
+        private void offer(HandlerExecution handler, boolean fromTree) {
+            if (first == null) {
+                first = new Candidate(handler, fromTree, this);
+                return;
+            }
+            // ** 的不同对齐方式可能多次匹配到同一个处理器, 保留第一次
+            if (first.handler == handler) {
+                return;
+            }
+            if (candidates == null) {
+                candidates = new ArrayList<>(4);
+                candidates.add(first);
+            }
+            for (Candidate candidate : candidates) {
+                if (candidate.handler == handler) {
+                    return;
+                }
+            }
+            candidates.add(new Candidate(handler, fromTree, this));
+        }
+
+        private RouteMatch toMatch() {
+            if (first == null) {
+                return null;
+            }
+            if (candidates == null) {
+                return new RouteMatch(first.handler, first.variables(url, segments));
+            }
+            // 比较器并非全序, 按注册顺序排列后再排序, 保证与原线性扫描选出相同的最优匹配
+            candidates.sort(Comparator.comparingInt(candidate -> registrationOrder.get(candidate.handler)));
+            Comparator<String> patternComparator = PATH_MATCHER.getPatternComparator(url);
+            candidates.sort((c1, c2) -> patternComparator.compare(c1.pattern(), c2.pattern()));
+            Candidate best = candidates.get(0);
+            Map<String, String> variables = best.variables(url, segments);
+            Map<String, String> merged = null;
+            for (int i = 1; i < candidates.size(); i++) {
+                Candidate candidate = candidates.get(i);
+                // 与原线性扫描一样按排序后的顺序合并, 同名变量后者覆盖前者
+                if (patternComparator.compare(best.pattern(), candidate.pattern()) == 0) {
+                    if (merged == null) {
+                        merged = new LinkedHashMap<>(variables);
+                    }
+                    merged.putAll(candidate.variables(url, segments));
+                }
+            }
+            return new RouteMatch(best.handler, merged == null ? variables : Collections.unmodifiableMap(merged));
+        }
+    }
+
+    /**
+     * 候选匹配及其捕获的模板变量段
+     */
+    private static final class Candidate {
+
+        private final HandlerExecution handler;
+
+        /**
+         * 是否来自前缀树(模板变量已捕获), 否则需要用 AntPathMatcher 提取
+         */
+        private final boolean fromTree;
+
+        private final Node[] captureNodes;
+
+        private final int[] captureIndexes;
+
+        private Candidate(HandlerExecution handler, boolean fromTree, MatchCollector collector) {
+            this.handler = handler;
+            this.fromTree = fromTree;
+            int size = fromTree ? collector.captureSize : 0;
+            this.captureNodes = Arrays.copyOf(collector.captureNodes, size);
+            this.captureIndexes = Arrays.copyOf(collector.captureIndexes, size);
+        }
+
+        private String pattern() {
+            return handler.getDefinition().getRequestInfo().getUrlPattern();
+        }
+
+        /**
+         * 匹配结果可能被缓存共享, 返回的模板变量不允许修改
+         */
+        private Map<String, String> variables(String url, String[] segments) {
+            if (!fromTree) {
+                return Collections.unmodifiableMap(PATH_MATCHER.extractUriTemplateVariables(pattern(), url));
+            }
+            if (captureNodes.length == 0) {
+                return Collections.emptyMap();
+            }
+            Map<String, String> variables = new LinkedHashMap<>(captureNodes.length * 2);
+            for (int i = 0; i < captureNodes.length; i++) {
+                Node node = captureNodes[i];
+                String value = segments[captureIndexes[i]];
+                if (node.type == NodeType.VARIABLE) {
+                    variables.put(node.variableName, value);
+                } else {
+                    variables.putAll(PATH_MATCHER.extractUriTemplateVariables(node.segment, value));
+                }
+            }
+            return Collections.unmodifiableMap(variables);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.zsz.uniitf.dispatcher.route;
+
+import org.zsz.uniitf.dispatcher.HandlerDefinition;
+import org.zsz.uniitf.dispatcher.HandlerExecution;
+
+import java.util.Map;
+
+/**
+ * 路由匹配结果
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 10:30
+ */
+public final class RouteMatch {
+
+    /**
+     * 最优匹配的处理器
+     */
+    private final HandlerExecution handler;
+
+    /**
+     * url 中解析出的模板变量
+     */
+    private final Map<String, String> uriTemplateVariables;
+
+    RouteMatch(HandlerExecution handler, Map<String, String> uriTemplateVariables) {
+        this.handler = handler;
+        this.uriTemplateVariables = uriTemplateVariables;
+    }
+
+    public HandlerExecution getHandler() {
+        return handler;
+    }
+
+    public HandlerDefinition getDefinition() {
+        return handler.getDefinition();
+    }
+
+    public Map<String, String> getUriTemplateVariables() {
+        return uriTemplateVariables;
+    }
+}
@@ -0,0 +1,71 @@
+package org.zsz.uniitf.dispatcher.route;
+
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.zsz.uniitf.dispatcher.HandlerExecution;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 某一版本的全部处理器及其路由索引, 创建后不再修改
+ * 注册、注销处理器时在旁边构建新版本后整体替换, 查找时只读取当前版本, 不加锁也不复制;
+ * 已查找到处理器的调用继续使用查找时的版本执行, 不受之后的替换影响
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 21:40
+ */
+public final class RouteTable {
+
+    public static final RouteTable EMPTY = new RouteTable(0L, Collections.emptyList(), 0);
+
+    /**
+     * 版本号, 每次替换加 1
+     */
+    private final long version;
+
+    private final RouteIndex index;
+
+    /**
+     * @param version 版本号
+     * @param handlers 全部处理器, 注册顺序
+     * @param cacheCapacity 模板 url 解析结果缓存容量, 小于等于 0 时不缓存
+     */
+    public RouteTable(long version, Collection<HandlerExecution> handlers, int cacheCapacity) {
+        this.version = version;
+        this.index = new RouteIndex(handlers, cacheCapacity);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isEmpty() {
+        return index.getHandlers().isEmpty();
+    }
+
+    public int size() {
+        return index.getHandlers().size();
+    }
+
+    /**
+     * @return 全部处理器, 注册顺序, 不可修改
+     */
+    public List<HandlerExecution> getHandlers() {
+        return index.getHandlers();
+    }
+
+    /**
+     * @return 模板 url 解析结果缓存, 没有启用时为 null
+     */
+    public RouteCache getCache() {
+        return index.getCache();
+    }
+
+    /**
+     * 查找最优匹配
+     * @see RouteIndex#match(String, RequestMethod)
+     */
+    public RouteMatch match(String url, RequestMethod requestMethod) {
+        return index.match(url, requestMethod);
+    }
+}
@@ -0,0 +1,344 @@
+package org.zsz.uniitf.dispatcher.schedule;
+
+import org.zsz.uniitf.dispatcher.async.AsyncExecutors;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.dto.TenantStats;
+import org.zsz.uniitf.dispatcher.enumerate.ErrorCode;
+import org.zsz.uniitf.dispatcher.exception.DispatcherException;
+import org.zsz.uniitf.dispatcher.support.HandlerCall;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 按调用方(租户)加权公平调度处理器的执行
+ * 每个租户的调用按到达顺序排队, 全部调用按自计时公平排队(SCFQ)的完成标记出队:
+ * 标记 = max(虚拟时间, 该租户上一个标记) + 1 / 权重, 虚拟时间为最近出队调用的标记.
+ * 权重大的租户标记增长慢, 按权重比例获得执行机会; 空闲租户的调用不会因其它租户的积压而排在后面.
+ * 出队的调用在有界的线程池中执行, 调用线程等待其结果; 线程执行完一个调用后直接取下一个, 不再经过线程池队列.
+ * 租户可以由调用方通过参数指定, 租户数达到 max-tenants 时先淘汰空闲超过 tenant-idle-millis 的未配置租户(连同其统计),
+ * 仍没有空位时新租户的调用计入默认租户
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 20:10
+ */
+public class FairScheduler {
+
+    private static final String QUEUE_FULL_TEMPLATE = "租户 [%s] 排队的调用数超过上限 [%d]";
+
+    private final DispatcherProperties.SchedulerProperties properties;
+
+    private final int threads;
+
+    private final ThreadPoolExecutor workers;
+
+    /**
+     * 保护 queue、virtualTime、running 及各租户的 lastFinish、depth
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final PriorityQueue<Task> queue = new PriorityQueue<>(64, FairScheduler::compare);
+
+    /**
+     * key=租户, 新增租户、淘汰空闲租户在锁内进行
+     */
+    private final Map<String, TenantQueue> tenants = new ConcurrentHashMap<>(16);
+
+    private final long tenantIdleNanos;
+
+    /**
+     * 下一次允许淘汰空闲租户的时间, 避免租户数已满时每个新租户都扫描一次, 在锁内读写
+     */
+    private long nextEvictNanos;
+
+    private double virtualTime;
+
+    /**
+     * 正在执行的调用数, 不超过 threads
+     */
+    private int running;
+
+    /**
+     * 同一标记按到达顺序
+     */
+    private long sequence;
+
+    public FairScheduler(DispatcherProperties.SchedulerProperties properties) {
+        this.properties = properties;
+        this.threads = Math.max(1, properties.getThreads());
+        this.workers = AsyncExecutors.newThreadPool("uniitf-scheduler-", threads, threads);
+        this.tenantIdleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, properties.getTenantIdleMillis()));
+        this.nextEvictNanos = System.nanoTime();
+    }
+
+    /**
+     * 确定调用的租户: 优先使用调用方指定的租户, 其次取参数 tenant-arg, 都没有时为默认租户
+     * @param tenant 调用方指定的租户, 可以为 null
+     * @param argMap 参数map, 可以为 null
+     */
+    public String resolveTenant(String tenant, Map<String, ?> argMap) {
+        if (tenant != null && !tenant.isEmpty()) {
+            return tenant;
+        }
+        Object fromArgs = argMap == null ? null : argMap.get(properties.getTenantArg());
+        String resolved = fromArgs == null ? null : fromArgs.toString();
+        return resolved == null || resolved.isEmpty() ? properties.getDefaultTenant() : resolved;
+    }
+
+    /**
+     * 排队执行并等待结果
+     * @param tenant 租户
+     * @param call 处理器调用
+     * @return 处理器的返回值
+     * @throws DispatcherException 租户排队的调用数超过上限, 错误码为 TENANT_QUEUE_FULL
+     * @throws Throwable 处理器抛出的异常
+     */
+    public Object execute(String tenant, HandlerCall call) throws Throwable {
+        TenantQueue tenantQueue = tenants.get(tenant);
+        if (tenantQueue == null) {
+            tenantQueue = register(tenant);
+        }
+        Task task = enqueue(tenantQueue, call);
+        drain();
+        try {
+            return task.future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            // 调用线程被中断, 未开始的调用不再执行
+            cancel(task);
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    /**
+     * 新增租户, 租户数已满时淘汰空闲租户, 仍没有空位时使用默认租户
+     */
+    private TenantQueue register(String tenant) {
+        lock.lock();
+        try {
+            return registerLocked(tenant);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 同 {@link #register}, 在锁内调用
+     */
+    private TenantQueue registerLocked(String tenant) {
+        TenantQueue tenantQueue = tenants.get(tenant);
+        if (tenantQueue != null) {
+            return tenantQueue;
+        }
+        if (tenants.size() >= properties.getMaxTenants() && !isConfigured(tenant)) {
+            evictIdle();
+            if (tenants.size() >= properties.getMaxTenants()) {
+                tenant = properties.getDefaultTenant();
+                tenantQueue = tenants.get(tenant);
+                if (tenantQueue != null) {
+                    return tenantQueue;
+                }
+            }
+        }
+        tenantQueue = newTenantQueue(tenant);
+        tenants.put(tenant, tenantQueue);
+        return tenantQueue;
+    }
+
+    /**
+     * 配置了权重或排队上限的租户及默认租户不淘汰
+     */
+    private boolean isConfigured(String tenant) {
+        return tenant.equals(properties.getDefaultTenant())
+                || properties.getWeights().containsKey(tenant) || properties.getQueueDepths().containsKey(tenant);
+    }
+
+    /**
+     * 淘汰没有排队调用且空闲超过 tenant-idle-millis 的租户, 在锁内调用
+     */
+    private void evictIdle() {
+        long now = System.nanoTime();
+        if (now - nextEvictNanos < 0) {
+            return;
+        }
+        // 每个空闲周期最多扫描 10 次
+        nextEvictNanos = now + Math.max(tenantIdleNanos / 10, TimeUnit.MILLISECONDS.toNanos(100));
+        for (Iterator<TenantQueue> it = tenants.values().iterator(); it.hasNext(); ) {
+            TenantQueue tenant = it.next();
+            if (tenant.depth == 0 && now - tenant.lastActiveNanos >= tenantIdleNanos && !isConfigured(tenant.name)) {
+                it.remove();
+            }
+        }
+    }
+
+    private TenantQueue newTenantQueue(String tenant) {
+        Integer weight = properties.getWeights().get(tenant);
+        Integer depth = properties.getQueueDepths().get(tenant);
+        return new TenantQueue(tenant, weight == null ? 1 : Math.max(1, weight),
+                depth == null ? properties.getMaxQueueDepth() : depth);
+    }
+
+    /**
+     * 加入队列
+     * @param registered 锁外取得的租户, 期间可能已被淘汰, 此时重新注册, 避免调用计入已移除的租户
+     */
+    private Task enqueue(TenantQueue registered, HandlerCall call) {
+        TenantQueue tenant;
+        Task task;
+        lock.lock();
+        try {
+            tenant = tenants.get(registered.name) == registered ? registered : registerLocked(registered.name);
+            if (tenant.depth >= tenant.maxDepth) {
+                tenant.rejectedCount.increment();
+                throw new DispatcherException(ErrorCode.TENANT_QUEUE_FULL, String.format(QUEUE_FULL_TEMPLATE, tenant.name, tenant.maxDepth));
+            }
+            tenant.depth++;
+            tenant.lastActiveNanos = System.nanoTime();
+            tenant.lastFinish = Math.max(virtualTime, tenant.lastFinish) + 1.0 / tenant.weight;
+            task = new Task(tenant, call, tenant.lastFinish, sequence++);
+            queue.add(task);
+        } finally {
+            lock.unlock();
+        }
+        tenant.submittedCount.increment();
+        return task;
+    }
+
+    /**
+     * 有空闲线程时取出调用交给线程池执行
+     */
+    private void drain() {
+        while (true) {
+            Task task;
+            lock.lock();
+            try {
+                if (running >= threads) {
+                    return;
+                }
+                task = poll();
+                if (task == null) {
+                    return;
+                }
+                running++;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                workers.execute(() -> runLoop(task));
+            } catch (RejectedExecutionException e) {
+                lock.lock();
+                try {
+                    running--;
+                } finally {
+                    lock.unlock();
+                }
+                task.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * 执行调用, 结束后在同一线程中继续执行下一个排队的调用
+     */
+    private void runLoop(Task first) {
+        Task task = first;
+        while (task != null) {
+            task.run();
+            lock.lock();
+            try {
+                task = poll();
+                if (task == null) {
+                    running--;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 取出标记最小的调用, 在锁内调用
+     */
+    private Task poll() {
+        Task task = queue.poll();
+        if (task != null) {
+            virtualTime = task.finish;
+            task.tenant.depth--;
+        }
+        return task;
+    }
+
+    private void cancel(Task task) {
+        lock.lock();
+        try {
+            if (queue.remove(task)) {
+                task.tenant.depth--;
+                task.tenant.cancelledCount.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int compare(Task a, Task b) {
+        int result = Double.compare(a.finish, b.finish);
+        return result != 0 ? result : Long.compare(a.sequence, b.sequence);
+    }
+
+    public List<TenantStats> snapshot() {
+        List<TenantStats> stats = new ArrayList<>(tenants.size());
+        for (TenantQueue tenant : tenants.values()) {
+            stats.add(tenant.snapshot());
+        }
+        return stats;
+    }
+
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * 排队中的调用
+     */
+    private static final class Task {
+
+        private final TenantQueue tenant;
+
+        private final HandlerCall call;
+
+        private final long enqueuedAt = System.nanoTime();
+
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        private final double finish;
+
+        private final long sequence;
+
+        private Task(TenantQueue tenant, HandlerCall call, double finish, long sequence) {
+            this.tenant = tenant;
+            this.call = call;
+            this.finish = finish;
+            this.sequence = sequence;
+        }
+
+        private void run() {
+            tenant.recordWait(System.nanoTime() - enqueuedAt);
+            try {
+                future.complete(call.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.zsz.uniitf.dispatcher.schedule;
+
+import org.zsz.uniitf.dispatcher.dto.TenantStats;
+import org.zsz.uniitf.dispatcher.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个租户的调度状态及排队等待统计
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 20:10
+ */
+final class TenantQueue {
+
+    private static final double NANOS_PER_MICRO = 1000.0;
+
+    final String name;
+
+    final int weight;
+
+    final int maxDepth;
+
+    /**
+     * 排队中的调用数, 在 FairScheduler 的锁内读写
+     */
+    volatile int depth;
+
+    /**
+     * 最近入队调用的完成标记, 在 FairScheduler 的锁内读写
+     */
+    double lastFinish;
+
+    /**
+     * 最近入队的时间, 在 FairScheduler 的锁内读写, 用于淘汰空闲租户
+     */
+    long lastActiveNanos = System.nanoTime();
+
+    final LongAdder submittedCount = new LongAdder();
+
+    final LongAdder rejectedCount = new LongAdder();
+
+    final LongAdder cancelledCount = new LongAdder();
+
+    private final LongAdder startedCount = new LongAdder();
+
+    private final LongAdder totalWaitNanos = new LongAdder();
+
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0L);
+
+    private final LatencyHistogram waitHistogram = new LatencyHistogram();
+
+    TenantQueue(String name, int weight, int maxDepth) {
+        this.name = name;
+        this.weight = weight;
+        this.maxDepth = maxDepth;
+    }
+
+    void recordWait(long nanos) {
+        startedCount.increment();
+        totalWaitNanos.add(nanos);
+        maxWaitNanos.accumulate(nanos);
+        waitHistogram.record(nanos);
+    }
+
+    TenantStats snapshot() {
+        long started = startedCount.sum();
+        long[] buckets = waitHistogram.snapshot();
+        return new TenantStats()
+                .setTenant(name)
+                .setWeight(weight)
+                .setMaxQueueDepth(maxDepth)
+                .setQueueDepth(depth)
+                .setSubmittedCount(submittedCount.sum())
+                .setStartedCount(started)
+                .setRejectedCount(rejectedCount.sum())
+                .setCancelledCount(cancelledCount.sum())
+                .setMeanWaitMicros(started == 0 ? 0 : totalWaitNanos.sum() / NANOS_PER_MICRO / started)
+                .setMaxWaitMicros(maxWaitNanos.get() / NANOS_PER_MICRO)
+                .setP50WaitMicros(LatencyHistogram.valueAt(buckets, 0.5) / NANOS_PER_MICRO)
+                .setP99WaitMicros(LatencyHistogram.valueAt(buckets, 0.99) / NANOS_PER_MICRO);
+    }
+}
@@ -0,0 +1,114 @@
+package org.zsz.uniitf.dispatcher.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 写入池化堆外缓冲区的输出流, 写满一个缓冲区后取下一个
+ * 响应全部写入后才能确定 Content-Length, 流式结果同样完整缓冲, 写入量超过上限时抛出 {@link LimitExceededException}
+ * 只由执行处理器的线程使用
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:10
+ */
+final class DirectBufferOutputStream extends OutputStream {
+
+    private final BufferPool pool;
+
+    /**
+     * 可写入的字节数上限
+     */
+    private final int maxSize;
+
+    private final List<ByteBuffer> buffers = new ArrayList<>(4);
+
+    private ByteBuffer current;
+
+    private int size;
+
+    DirectBufferOutputStream(BufferPool pool, int maxSize) {
+        this.pool = pool;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        checkLimit(1);
+        writable().put((byte) b);
+        size++;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        checkLimit(length);
+        while (length > 0) {
+            ByteBuffer buffer = writable();
+            int count = Math.min(length, buffer.remaining());
+            buffer.put(bytes, offset, count);
+            offset += count;
+            length -= count;
+            size += count;
+        }
+    }
+
+    private void checkLimit(int length) throws LimitExceededException {
+        if (length > maxSize - size) {
+            throw new LimitExceededException(maxSize);
+        }
+    }
+
+    private ByteBuffer writable() {
+        if (current == null || !current.hasRemaining()) {
+            current = pool.acquire();
+            buffers.add(current);
+        }
+        return current;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 在写入的内容前加上响应头, 返回可直接写出的缓冲区
+     * @param head 响应头所在的缓冲区, 已切换为读模式
+     */
+    ByteBuffer[] toBuffers(ByteBuffer head) {
+        ByteBuffer[] result = new ByteBuffer[buffers.size() + 1];
+        result[0] = head;
+        for (int i = 0; i < buffers.size(); i++) {
+            ByteBuffer buffer = buffers.get(i);
+            buffer.flip();
+            result[i + 1] = buffer;
+        }
+        buffers.clear();
+        current = null;
+        return result;
+    }
+
+    /**
+     * 丢弃已写入的内容, 缓冲区归还到池中
+     */
+    void discard() {
+        for (ByteBuffer buffer : buffers) {
+            pool.release(buffer);
+        }
+        buffers.clear();
+        current = null;
+        size = 0;
+    }
+
+    /**
+     * 写入量超过上限, 继承 IOException 使调用按写出失败处理, 不再向同一输出写入错误信息
+     */
+    static final class LimitExceededException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        LimitExceededException(int maxSize) {
+            super("响应超过 " + maxSize + " 字节的上限", null);
+        }
+    }
+}
@@ -0,0 +1,432 @@
+package org.zsz.uniitf.dispatcher.server;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONObject;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.zsz.uniitf.dispatcher.DispatcherService;
+import org.zsz.uniitf.dispatcher.async.AsyncExecutors;
+import org.zsz.uniitf.dispatcher.codec.JsonCodec;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.dto.BatchEntry;
+import org.zsz.uniitf.dispatcher.dto.InvokeOptions;
+import org.zsz.uniitf.dispatcher.dto.Result;
+import org.zsz.uniitf.dispatcher.enumerate.BatchMode;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 内嵌的 HTTP/1.1 服务, uniitf.dispatcher.server.enabled=true 时随 Spring 容器启动, 也可以直接创建后调用 {@link #start()}
+ * 请求不经过 Spring MVC, 按路径及 method 直接交给 DispatcherService:
+ * 有请求体(表单除外)时按 Content-Type 解码为参数, 否则参数为查询字符串及表单; 结果按请求的 Content-Type 或 Accept 编码, 默认为 JSON.
+ * 配置的批量调用路径接收 JSON 数组, 交给 {@link DispatcherService#invokeBatch(List, BatchMode, InvokeOptions)}.
+ * 连接由少量 selector 线程非阻塞读写, 支持 keep-alive 及流水线请求, 处理器在单独的线程池中执行, 响应写入池化的堆外缓冲区后直接写出.
+ * 响应不使用 chunked 编码: 流式结果也要全部写入缓冲区后才写出, 最多占用 max-response-bytes 的堆外内存, 超出时返回 500;
+ * 结果很大或需要边生成边发送时直接使用 {@link DispatcherService#invoke(String, String, Map, OutputStream)}
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:10
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "uniitf.dispatcher.server", name = "enabled", havingValue = "true")
+public class DispatcherHttpServer implements SmartLifecycle {
+
+    private static final String JSON_CONTENT_TYPE = JsonCodec.CONTENT_TYPE + ";charset=UTF-8";
+
+    private static final String FORM_CONTENT_TYPE = "application/x-www-form-urlencoded";
+
+    private static final int JOIN_TIMEOUT_MILLIS = 5000;
+
+    private final DispatcherService dispatcherService;
+
+    private final DispatcherProperties.ServerProperties properties;
+
+    private final Limits limits;
+
+    private final BufferPool bufferPool;
+
+    private final AtomicInteger nextLoop = new AtomicInteger();
+
+    private ServerSocketChannel serverChannel;
+
+    private SelectorLoop[] loops;
+
+    private ThreadPoolExecutor handlerExecutor;
+
+    private volatile boolean running;
+
+    public DispatcherHttpServer(DispatcherService dispatcherService, DispatcherProperties properties) {
+        this.dispatcherService = dispatcherService;
+        this.properties = properties.getServer();
+        this.limits = new Limits(this.properties);
+        // 响应头写在第一个缓冲区中, 缓冲区不能太小
+        this.bufferPool = new BufferPool(Math.max(1024, this.properties.getBufferSize()), this.properties.getMaxPooledBuffers());
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        try {
+            handlerExecutor = AsyncExecutors.newThreadPool("uniitf-http-", properties.getHandlerThreads(), properties.getQueueCapacity());
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            serverChannel.bind(new InetSocketAddress(properties.getHost(), properties.getPort()), properties.getBacklog());
+            serverChannel.configureBlocking(false);
+            loops = new SelectorLoop[Math.max(1, properties.getSelectorThreads())];
+            for (int i = 0; i < loops.length; i++) {
+                loops[i] = new SelectorLoop(this, "uniitf-http-selector-" + i);
+            }
+            loops[0].accept(serverChannel);
+            for (SelectorLoop loop : loops) {
+                loop.start();
+            }
+        } catch (IOException e) {
+            shutdown();
+            throw new IllegalStateException("通用接口 HTTP 服务启动失败, 端口 [" + properties.getPort() + "]: " + e.getMessage(), e);
+        }
+        running = true;
+        log.info("通用接口 HTTP 服务已启动, 端口 [{}], selector 线程 {}, 处理线程 {}", getPort(), loops.length, properties.getHandlerThreads());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        shutdown();
+        log.info("通用接口 HTTP 服务已停止");
+    }
+
+    private void shutdown() {
+        if (loops != null) {
+            for (SelectorLoop loop : loops) {
+                if (loop != null) {
+                    loop.shutdown();
+                }
+            }
+            for (SelectorLoop loop : loops) {
+                try {
+                    if (loop != null) {
+                        loop.join(JOIN_TIMEOUT_MILLIS);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            loops = null;
+        }
+        if (serverChannel != null) {
+            try {
+                serverChannel.close();
+            } catch (IOException e) {
+                log.debug("关闭监听端口失败: {}", e.getMessage());
+            }
+            serverChannel = null;
+        }
+        if (handlerExecutor != null) {
+            handlerExecutor.shutdownNow();
+            handlerExecutor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 实际监听的端口, 配置为 0 时为随机分配的端口
+     * @return 未启动时为 -1
+     */
+    public synchronized int getPort() {
+        if (serverChannel == null) {
+            return -1;
+        }
+        try {
+            return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    Limits getLimits() {
+        return limits;
+    }
+
+    BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    SelectorLoop nextLoop() {
+        SelectorLoop[] current = loops;
+        return current[Math.floorMod(nextLoop.getAndIncrement(), current.length)];
+    }
+
+    /**
+     * 在处理线程池中执行请求, 线程池已满时直接响应 503
+     */
+    void execute(HttpConnection connection, HttpRequest request, Exchange exchange) {
+        try {
+            handlerExecutor.execute(() -> handle(connection, request, exchange));
+        } catch (RejectedExecutionException e) {
+            exchange.complete(errorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), "通用接口 HTTP 服务繁忙", exchange.isClose()));
+            connection.completed(exchange);
+        }
+    }
+
+    private void handle(HttpConnection connection, HttpRequest request, Exchange exchange) {
+        DirectBufferOutputStream out = new DirectBufferOutputStream(bufferPool, limits.maxResponseBytes);
+        ByteBuffer[] response;
+        try {
+            String contentType = invoke(request, out);
+            int length = out.size();
+            if ("HEAD".equals(request.getMethod())) {
+                out.discard();
+            }
+            response = out.toBuffers(head(HttpStatus.OK.value(), contentType, length, exchange.isClose()));
+        } catch (HttpException e) {
+            out.discard();
+            response = errorResponse(e.getStatus(), e.getMessage(), exchange.isClose());
+        } catch (DirectBufferOutputStream.LimitExceededException e) {
+            out.discard();
+            log.warn("通用接口 HTTP 响应过大 [{} {}]: {}", request.getMethod(), request.getPath(), e.getMessage());
+            response = errorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), e.getMessage(), exchange.isClose());
+        } catch (Throwable t) {
+            out.discard();
+            log.error(">>>-- 通用接口 HTTP 请求处理出错 --<<<", t);
+            response = errorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), t.getMessage(), exchange.isClose());
+        }
+        exchange.complete(response);
+        connection.completed(exchange);
+    }
+
+    /**
+     * 调用 DispatcherService, 结果写出到 out
+     * @return 响应的 Content-Type
+     */
+    private String invoke(HttpRequest request, DirectBufferOutputStream out) throws IOException {
+        InvokeOptions options = new InvokeOptions().setTenant(request.getHeader(limits.tenantHeader));
+        if (request.getPath().equals(limits.batchPath)) {
+            return invokeBatch(request, options, out);
+        }
+        byte[] body = request.getBody();
+        String requestType = request.getHeader("content-type");
+        if (body.length > 0 && !isForm(requestType)) {
+            if (!dispatcherService.supportsContentType(requestType)) {
+                throw new HttpException(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(), "不支持的 Content-Type: " + requestType);
+            }
+            options.setContentType(requestType);
+            dispatcherService.invoke(request.getPath(), request.getMethod(), body, options, out);
+            return responseContentType(requestType);
+        }
+        Map<String, String> argMap = new HashMap<>(16);
+        if (request.getQuery() != null) {
+            parseParameters(request.getQuery(), argMap);
+        }
+        if (body.length > 0) {
+            parseParameters(new String(body, StandardCharsets.UTF_8), argMap);
+        }
+        String accepted = acceptedType(request.getHeader("accept"));
+        options.setContentType(accepted);
+        dispatcherService.invoke(request.getPath(), request.getMethod(), argMap, options, out);
+        return responseContentType(accepted);
+    }
+
+    /**
+     * 批量调用, 请求体为 {@link BatchEntry} 的 JSON 数组, 响应为与之一一对应的 Result 的 JSON 数组;
+     * 查询字符串的 mode 参数指定执行方式, 没有时使用配置的默认执行方式
+     * @return 响应的 Content-Type
+     */
+    private String invokeBatch(HttpRequest request, InvokeOptions options, DirectBufferOutputStream out) throws IOException {
+        if (!"POST".equals(request.getMethod())) {
+            throw new HttpException(HttpStatus.METHOD_NOT_ALLOWED.value(), "批量调用只支持 POST");
+        }
+        String requestType = request.getHeader("content-type");
+        if (requestType != null && !JsonCodec.CONTENT_TYPE.equals(mediaType(requestType))) {
+            throw new HttpException(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(), "批量调用不支持的 Content-Type: " + requestType);
+        }
+        BatchMode mode = null;
+        if (request.getQuery() != null) {
+            Map<String, String> parameters = new HashMap<>(4);
+            parseParameters(request.getQuery(), parameters);
+            String modeName = parameters.get("mode");
+            if (modeName != null) {
+                try {
+                    mode = BatchMode.valueOf(modeName.toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new HttpException(HttpStatus.BAD_REQUEST.value(), "不支持的批量调用执行方式: " + modeName);
+                }
+            }
+        }
+        List<Result<Object>> results;
+        try {
+            results = dispatcherService.invokeBatch(parseBatch(request.getBody()), mode, options);
+        } catch (IllegalArgumentException e) {
+            throw new HttpException(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+        }
+        dispatcherService.getResultWriter().write(results, out);
+        return JSON_CONTENT_TYPE;
+    }
+
+    private static List<BatchEntry> parseBatch(byte[] body) {
+        Object parsed;
+        try {
+            parsed = body.length == 0 ? null : JSON.parse(body);
+        } catch (JSONException e) {
+            throw new HttpException(HttpStatus.BAD_REQUEST.value(), "批量调用的请求体不是合法的 JSON: " + e.getMessage());
+        }
+        if (!(parsed instanceof JSONArray)) {
+            throw new HttpException(HttpStatus.BAD_REQUEST.value(), "批量调用的请求体不是 JSON 数组");
+        }
+        JSONArray array = (JSONArray) parsed;
+        List<BatchEntry> entries = new ArrayList<>(array.size());
+        for (Object element : array) {
+            if (!(element instanceof JSONObject)) {
+                throw new HttpException(HttpStatus.BAD_REQUEST.value(), "批量调用的元素不是 JSON 对象");
+            }
+            JSONObject entry = (JSONObject) element;
+            Object argMap = entry.get("argMap");
+            if (argMap != null && !(argMap instanceof JSONObject)) {
+                throw new HttpException(HttpStatus.BAD_REQUEST.value(), "批量调用的 argMap 不是 JSON 对象");
+            }
+            entries.add(new BatchEntry().setUrl(entry.getString("url")).setHttpMethod(entry.getString("httpMethod"))
+                    .setArgMap(argMap == null ? new JSONObject() : (JSONObject) argMap));
+        }
+        return entries;
+    }
+
+    private static boolean isForm(String contentType) {
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(FORM_CONTENT_TYPE);
+    }
+
+    /**
+     * Accept 中第一个支持的 content type, 通配符及不支持的类型忽略
+     * @return 没有时为 null, 即 JSON
+     */
+    private String acceptedType(String accept) {
+        if (accept == null) {
+            return null;
+        }
+        for (String range : accept.split(",")) {
+            String mediaType = mediaType(range);
+            if (!mediaType.isEmpty() && mediaType.indexOf('*') == -1 && dispatcherService.supportsContentType(mediaType)) {
+                return mediaType;
+            }
+        }
+        return null;
+    }
+
+    private static String responseContentType(String contentType) {
+        String mediaType = contentType == null ? "" : mediaType(contentType);
+        return mediaType.isEmpty() || JsonCodec.CONTENT_TYPE.equals(mediaType) ? JSON_CONTENT_TYPE : mediaType;
+    }
+
+    private static String mediaType(String contentType) {
+        int parameters = contentType.indexOf(';');
+        String mediaType = parameters == -1 ? contentType : contentType.substring(0, parameters);
+        return mediaType.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 解析查询字符串或表单, 同名参数取第一个
+     */
+    private static void parseParameters(String text, Map<String, String> argMap) {
+        for (String pair : text.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int equals = pair.indexOf('=');
+            String name = decodeParameter(equals == -1 ? pair : pair.substring(0, equals));
+            String value = equals == -1 ? "" : decodeParameter(pair.substring(equals + 1));
+            argMap.putIfAbsent(name, value);
+        }
+    }
+
+    private static String decodeParameter(String text) {
+        try {
+            return URLDecoder.decode(text, StandardCharsets.UTF_8.name());
+        } catch (IllegalArgumentException | UnsupportedEncodingException e) {
+            throw new HttpException(HttpStatus.BAD_REQUEST.value(), "参数编码错误: " + text);
+        }
+    }
+
+    /**
+     * 错误响应, 内容与 DispatcherService 调用失败时相同的 JSON
+     */
+    ByteBuffer[] errorResponse(int status, String message, boolean close) {
+        byte[] body = JSON.toJSONString(Result.failed(message)).getBytes(StandardCharsets.UTF_8);
+        ByteBuffer head = head(status, JSON_CONTENT_TYPE, body.length, close);
+        ByteBuffer content = bufferPool.getBufferSize() >= body.length ? bufferPool.acquire() : ByteBuffer.allocateDirect(body.length);
+        content.put(body).flip();
+        return new ByteBuffer[]{head, content};
+    }
+
+    private ByteBuffer head(int status, String contentType, int contentLength, boolean close) {
+        HttpStatus httpStatus = HttpStatus.resolve(status);
+        String text = "HTTP/1.1 " + status + " " + (httpStatus == null ? "" : httpStatus.getReasonPhrase()) + "\r\n"
+                + "Content-Type: " + contentType + "\r\n"
+                + "Content-Length: " + contentLength + "\r\n"
+                + "Connection: " + (close ? "close" : "keep-alive") + "\r\n\r\n";
+        ByteBuffer head = bufferPool.acquire();
+        head.put(text.getBytes(StandardCharsets.ISO_8859_1)).flip();
+        return head;
+    }
+
+    /**
+     * 读写时使用的配置, 启动时固定
+     */
+    static final class Limits {
+
+        final int maxHeaderBytes;
+
+        final int maxBodyBytes;
+
+        final int maxPipelinedRequests;
+
+        final int maxResponseBytes;
+
+        final long idleTimeoutMillis;
+
+        final String tenantHeader;
+
+        /**
+         * 批量调用的路径, 没有开启时为 null
+         */
+        final String batchPath;
+
+        private Limits(DispatcherProperties.ServerProperties properties) {
+            this.maxHeaderBytes = properties.getMaxHeaderBytes();
+            this.maxBodyBytes = properties.getMaxBodyBytes();
+            this.maxPipelinedRequests = Math.max(1, properties.getMaxPipelinedRequests());
+            this.maxResponseBytes = Math.max(0, properties.getMaxResponseBytes());
+            this.idleTimeoutMillis = properties.getIdleTimeoutMillis();
+            this.tenantHeader = properties.getTenantHeader().toLowerCase(Locale.ROOT);
+            this.batchPath = StringUtils.isEmpty(properties.getBatchPath()) ? null : properties.getBatchPath();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.zsz.uniitf.dispatcher.server;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 一个请求的响应, 同一连接上按请求顺序写出
+ * 响应由执行处理器的线程设置, 其余状态只由连接所在的 selector 线程访问
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:10
+ */
+final class Exchange {
+
+    /**
+     * 响应后是否关闭连接
+     */
+    private final boolean close;
+
+    private volatile ByteBuffer[] response;
+
+    /**
+     * 下一个要写出的缓冲区
+     */
+    private int offset;
+
+    private boolean released;
+
+    Exchange(boolean close) {
+        this.close = close;
+    }
+
+    boolean isClose() {
+        return close;
+    }
+
+    boolean isComplete() {
+        return response != null;
+    }
+
+    void complete(ByteBuffer[] response) {
+        this.response = response;
+    }
+
+    ByteBuffer[] getResponse() {
+        return response;
+    }
+
+    int getOffset() {
+        return offset;
+    }
+
+    /**
+     * 跳过已写完的缓冲区
+     * @return 是否全部写完
+     */
+    boolean advance() {
+        while (offset < response.length && !response[offset].hasRemaining()) {
+            offset++;
+        }
+        return offset == response.length;
+    }
+
+    /**
+     * 缓冲区归还到池中, 重复调用时忽略
+     */
+    void release(BufferPool pool) {
+        if (released || response == null) {
+            return;
+        }
+        released = true;
+        for (ByteBuffer buffer : response) {
+            pool.release(buffer);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package org.zsz.uniitf.dispatcher.server;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * 一个 keep-alive 连接, 只由所属的 selector 线程访问
+ * 流水线的请求依次解析后并行执行, 响应按请求顺序写出; 执行中的请求达到上限时暂停读取
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:10
+ */
+@Slf4j
+final class HttpConnection {
+
+    private static final int INITIAL_READ_BUFFER_SIZE = 8 * 1024;
+
+    private static final byte[] CONTINUE = "HTTP/1.1 100 Continue\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final DispatcherHttpServer server;
+
+    private final SelectorLoop loop;
+
+    private final SocketChannel channel;
+
+    private final SelectionKey key;
+
+    private final HttpRequestDecoder decoder;
+
+    /**
+     * 写模式
+     */
+    private ByteBuffer readBuffer = ByteBuffer.allocate(INITIAL_READ_BUFFER_SIZE);
+
+    /**
+     * 已读取、未写完响应的请求, 按请求顺序
+     */
+    private final Deque<Exchange> pending = new ArrayDeque<>();
+
+    private long lastActiveMillis = System.currentTimeMillis();
+
+    /**
+     * 不再读取新请求(对端关闭输出或请求要求关闭连接)
+     */
+    private boolean inputDone;
+
+    private boolean continueSent;
+
+    /**
+     * 响应没有一次写完, 等待可写
+     */
+    private boolean writeBlocked;
+
+    private boolean closed;
+
+    HttpConnection(DispatcherHttpServer server, SelectorLoop loop, SocketChannel channel, SelectionKey key) {
+        this.server = server;
+        this.loop = loop;
+        this.channel = channel;
+        this.key = key;
+        DispatcherHttpServer.Limits limits = server.getLimits();
+        this.decoder = new HttpRequestDecoder(limits.maxHeaderBytes, limits.maxBodyBytes);
+    }
+
+    void onReadable() {
+        int read;
+        try {
+            read = channel.read(readBuffer);
+        } catch (IOException e) {
+            close();
+            return;
+        }
+        if (read < 0) {
+            inputDone = true;
+            if (pending.isEmpty()) {
+                close();
+            } else {
+                updateInterest();
+            }
+            return;
+        }
+        lastActiveMillis = System.currentTimeMillis();
+        processBuffered();
+    }
+
+    void onWritable() {
+        flush();
+    }
+
+    /**
+     * 解析缓冲区中已读取的请求并提交执行
+     */
+    private void processBuffered() {
+        int maxPipelined = server.getLimits().maxPipelinedRequests;
+        readBuffer.flip();
+        try {
+            while (!inputDone && pending.size() < maxPipelined) {
+                HttpRequest request = decoder.decode(readBuffer);
+                if (request == null) {
+                    break;
+                }
+                continueSent = false;
+                Exchange exchange = new Exchange(!request.isKeepAlive());
+                if (exchange.isClose()) {
+                    inputDone = true;
+                }
+                pending.add(exchange);
+                server.execute(this, request, exchange);
+            }
+        } catch (HttpException e) {
+            // 请求格式错误时无法确定下一个请求的起点, 响应后关闭连接
+            inputDone = true;
+            readBuffer.clear();
+            Exchange exchange = new Exchange(true);
+            exchange.complete(server.errorResponse(e.getStatus(), e.getMessage(), true));
+            pending.add(exchange);
+            flush();
+            return;
+        }
+        readBuffer.compact();
+        ensureReadCapacity();
+        sendContinueIfExpected();
+        updateInterest();
+    }
+
+    /**
+     * 缓冲区已满而请求未到齐时扩大, 最大为请求头与请求体的上限之和
+     */
+    private void ensureReadCapacity() {
+        int required = readBuffer.position() + decoder.getPendingBodyLength();
+        if (readBuffer.hasRemaining() && required <= readBuffer.capacity()) {
+            return;
+        }
+        DispatcherHttpServer.Limits limits = server.getLimits();
+        int capacity = Math.max(readBuffer.capacity() * 2, required);
+        capacity = Math.min(capacity, limits.maxHeaderBytes + limits.maxBodyBytes + INITIAL_READ_BUFFER_SIZE);
+        if (capacity > readBuffer.capacity()) {
+            ByteBuffer larger = ByteBuffer.allocate(capacity);
+            readBuffer.flip();
+            larger.put(readBuffer);
+            readBuffer = larger;
+        }
+    }
+
+    /**
+     * 请求头带 Expect: 100-continue 时, 前面的响应都已写出后通知对端发送请求体
+     */
+    private void sendContinueIfExpected() {
+        if (continueSent || !pending.isEmpty() || !decoder.isExpectingContinue()) {
+            return;
+        }
+        continueSent = true;
+        try {
+            // 响应很短, 非阻塞写出失败时对端在超时后仍会发送请求体
+            channel.write(ByteBuffer.wrap(CONTINUE));
+        } catch (IOException e) {
+            close();
+        }
+    }
+
+    /**
+     * 执行处理器的线程设置响应后调用
+     */
+    void completed(Exchange exchange) {
+        loop.execute(() -> {
+            if (closed) {
+                exchange.release(server.getBufferPool());
+            } else {
+                flush();
+            }
+        });
+    }
+
+    /**
+     * 按请求顺序写出已完成的响应
+     */
+    private void flush() {
+        if (closed) {
+            return;
+        }
+        while (!pending.isEmpty()) {
+            Exchange exchange = pending.peek();
+            if (!exchange.isComplete()) {
+                break;
+            }
+            ByteBuffer[] response = exchange.getResponse();
+            try {
+                channel.write(response, exchange.getOffset(), response.length - exchange.getOffset());
+            } catch (IOException e) {
+                close();
+                return;
+            }
+            writeBlocked = !exchange.advance();
+            if (writeBlocked) {
+                // 对端接收缓慢, 等待可写
+                updateInterest();
+                return;
+            }
+            pending.poll();
+            exchange.release(server.getBufferPool());
+            lastActiveMillis = System.currentTimeMillis();
+            if (exchange.isClose()) {
+                close();
+                return;
+            }
+        }
+        if (inputDone && pending.isEmpty()) {
+            close();
+            return;
+        }
+        if (readBuffer.position() > 0 && pending.size() < server.getLimits().maxPipelinedRequests) {
+            // 暂停读取期间已缓冲的流水线请求
+            processBuffered();
+            return;
+        }
+        updateInterest();
+    }
+
+    private void updateInterest() {
+        if (closed || !key.isValid()) {
+            return;
+        }
+        int ops = writeBlocked ? SelectionKey.OP_WRITE : 0;
+        if (!inputDone && pending.size() < server.getLimits().maxPipelinedRequests) {
+            ops |= SelectionKey.OP_READ;
+        }
+        if (key.interestOps() != ops) {
+            key.interestOps(ops);
+        }
+    }
+
+    /**
+     * 没有执行中的请求且超过空闲时间
+     */
+    boolean isIdle(long now, long idleTimeoutMillis) {
+        return pending.isEmpty() && now - lastActiveMillis > idleTimeoutMillis;
+    }
+
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("关闭连接失败: {}", e.getMessage());
+        }
+        // 未完成的响应在完成时归还缓冲区
+        for (Exchange exchange : pending) {
+            exchange.release(server.getBufferPool());
+        }
+        pending.clear();
+        loop.removed(this);
+    }
+}
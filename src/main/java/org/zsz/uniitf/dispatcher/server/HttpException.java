@@ -0,0 +1,22 @@
+package org.zsz.uniitf.dispatcher.server;
+
+/**
+ * HTTP 层的错误, 按 status 直接响应, 不进入 DispatcherService
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:10
+ */
+final class HttpException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    HttpException(int status, String message) {
+        super(message, null, false, false);
+        this.status = status;
+    }
+
+    int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,97 @@
+package org.zsz.uniitf.dispatcher.server;
+
+import java.util.Map;
+
+/**
+ * 解析后的 HTTP 请求
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:10
+ */
+final class HttpRequest {
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private final String method;
+
+    /**
+     * 已解码的路径, 不含查询字符串
+     */
+    private final String path;
+
+    /**
+     * 未解码的查询字符串, 没有时为 null
+     */
+    private final String query;
+
+    /**
+     * 是否为 HTTP/1.0
+     */
+    private final boolean http10;
+
+    /**
+     * key=小写的请求头名称
+     */
+    private final Map<String, String> headers;
+
+    private byte[] body = EMPTY_BODY;
+
+    HttpRequest(String method, String path, String query, boolean http10, Map<String, String> headers) {
+        this.method = method;
+        this.path = path;
+        this.query = query;
+        this.http10 = http10;
+        this.headers = headers;
+    }
+
+    String getMethod() {
+        return method;
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    String getQuery() {
+        return query;
+    }
+
+    boolean isHttp10() {
+        return http10;
+    }
+
+    /**
+     * @param name 小写的请求头名称
+     * @return 没有时为 null
+     */
+    String getHeader(String name) {
+        return headers.get(name);
+    }
+
+    byte[] getBody() {
+        return body;
+    }
+
+    void setBody(byte[] body) {
+        this.body = body;
+    }
+
+    /**
+     * 响应后是否保持连接, HTTP/1.1 默认保持, HTTP/1.0 需要 Connection: keep-alive
+     */
+    boolean isKeepAlive() {
+        String connection = headers.get("connection");
+        if (connection == null) {
+            return !http10;
+        }
+        for (String token : connection.split(",")) {
+            String option = token.trim();
+            if ("close".equalsIgnoreCase(option)) {
+                return false;
+            }
+            if ("keep-alive".equalsIgnoreCase(option)) {
+                return true;
+            }
+        }
+        return !http10;
+    }
+}
@@ -0,0 +1,207 @@
+package org.zsz.uniitf.dispatcher.server;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * HTTP/1.1 请求的增量解析, 每个连接一个
+ * 请求头解析后保留, 请求体到齐前不会重复解析; 请求体需要 Content-Length, 不支持 chunked
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:10
+ */
+final class HttpRequestDecoder {
+
+    private final int maxHeaderBytes;
+
+    private final int maxBodyBytes;
+
+    /**
+     * 已解析请求头、等待请求体的请求
+     */
+    private HttpRequest head;
+
+    private int bodyLength;
+
+    HttpRequestDecoder(int maxHeaderBytes, int maxBodyBytes) {
+        this.maxHeaderBytes = maxHeaderBytes;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    /**
+     * 从 buffer 中解析一个完整的请求, 消费的字节从 buffer 中读出
+     * @param buffer 读模式
+     * @return 数据不完整时为 null
+     * @throws HttpException 请求格式错误或超过限制
+     */
+    HttpRequest decode(ByteBuffer buffer) {
+        if (head == null) {
+            skipLeadingLineBreaks(buffer);
+            int end = findHeaderEnd(buffer);
+            if (end == -1) {
+                if (buffer.remaining() > maxHeaderBytes) {
+                    throw new HttpException(431, "请求头超过 " + maxHeaderBytes + " 字节");
+                }
+                return null;
+            }
+            if (end - buffer.position() > maxHeaderBytes) {
+                throw new HttpException(431, "请求头超过 " + maxHeaderBytes + " 字节");
+            }
+            byte[] bytes = new byte[end - buffer.position()];
+            buffer.get(bytes);
+            head = parseHead(new String(bytes, StandardCharsets.ISO_8859_1));
+            bodyLength = contentLength(head);
+        }
+        if (buffer.remaining() < bodyLength) {
+            return null;
+        }
+        HttpRequest request = head;
+        if (bodyLength > 0) {
+            byte[] body = new byte[bodyLength];
+            buffer.get(body);
+            request.setBody(body);
+        }
+        head = null;
+        bodyLength = 0;
+        return request;
+    }
+
+    /**
+     * 当前请求还需要的字节数, 用于扩大读缓冲区
+     * @return 请求头未到齐时为 0
+     */
+    int getPendingBodyLength() {
+        return head == null ? 0 : bodyLength;
+    }
+
+    /**
+     * 已解析请求头的请求是否在等待 100-continue
+     */
+    boolean isExpectingContinue() {
+        return head != null && bodyLength > 0 && "100-continue".equalsIgnoreCase(head.getHeader("expect"));
+    }
+
+    /**
+     * 请求之间的空行忽略
+     */
+    private static void skipLeadingLineBreaks(ByteBuffer buffer) {
+        while (buffer.hasRemaining()) {
+            byte b = buffer.get(buffer.position());
+            if (b != '\r' && b != '\n') {
+                return;
+            }
+            buffer.position(buffer.position() + 1);
+        }
+    }
+
+    /**
+     * @return 请求头之后第一个字节的位置, 没有找到空行时为 -1
+     */
+    private static int findHeaderEnd(ByteBuffer buffer) {
+        int limit = buffer.limit();
+        for (int i = buffer.position(); i < limit; i++) {
+            if (buffer.get(i) != '\n') {
+                continue;
+            }
+            if (i + 1 < limit && buffer.get(i + 1) == '\n') {
+                return i + 2;
+            }
+            if (i + 2 < limit && buffer.get(i + 1) == '\r' && buffer.get(i + 2) == '\n') {
+                return i + 3;
+            }
+        }
+        return -1;
+    }
+
+    private static HttpRequest parseHead(String text) {
+        String[] lines = text.split("\r?\n");
+        String[] requestLine = lines[0].split(" ");
+        if (requestLine.length != 3) {
+            throw new HttpException(400, "请求行格式错误: " + lines[0]);
+        }
+        String version = requestLine[2];
+        if (!version.startsWith("HTTP/1.")) {
+            throw new HttpException(505, "不支持的 HTTP 版本: " + version);
+        }
+        Map<String, String> headers = new HashMap<>(16);
+        for (int i = 1; i < lines.length; i++) {
+            String line = lines[i];
+            if (line.isEmpty()) {
+                continue;
+            }
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                throw new HttpException(400, "请求头格式错误: " + line);
+            }
+            String name = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = line.substring(colon + 1).trim();
+            // 重复的请求头按逗号合并
+            headers.merge(name, value, (first, second) -> first + "," + second);
+        }
+        String target = requestLine[1];
+        if (!target.startsWith("/")) {
+            // absolute-form, 如 http://host:port/path
+            int scheme = target.indexOf("://");
+            if (scheme == -1) {
+                throw new HttpException(400, "不支持的请求目标: " + target);
+            }
+            int pathStart = target.indexOf('/', scheme + 3);
+            target = pathStart == -1 ? "/" : target.substring(pathStart);
+        }
+        int question = target.indexOf('?');
+        String path = question == -1 ? target : target.substring(0, question);
+        String query = question == -1 ? null : target.substring(question + 1);
+        return new HttpRequest(requestLine[0], decodePath(path), query, "HTTP/1.0".equals(version), headers);
+    }
+
+    private int contentLength(HttpRequest request) {
+        if (request.getHeader("transfer-encoding") != null) {
+            throw new HttpException(411, "不支持 Transfer-Encoding 请求体, 请使用 Content-Length");
+        }
+        String value = request.getHeader("content-length");
+        if (value == null) {
+            return 0;
+        }
+        long length;
+        try {
+            length = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new HttpException(400, "Content-Length 格式错误: " + value);
+        }
+        if (length < 0) {
+            throw new HttpException(400, "Content-Length 格式错误: " + value);
+        }
+        if (length > maxBodyBytes) {
+            throw new HttpException(413, "请求体超过 " + maxBodyBytes + " 字节");
+        }
+        return (int) length;
+    }
+
+    /**
+     * 路径按 UTF-8 解码 %XX, '+' 保持不变
+     */
+    private static String decodePath(String path) {
+        if (path.indexOf('%') == -1) {
+            return path;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(path.length());
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c != '%') {
+                out.write(c);
+                continue;
+            }
+            int high = i + 2 < path.length() ? Character.digit(path.charAt(i + 1), 16) : -1;
+            int low = high == -1 ? -1 : Character.digit(path.charAt(i + 2), 16);
+            if (low == -1) {
+                throw new HttpException(400, "路径编码错误: " + path);
+            }
+            out.write((high << 4) | low);
+            i += 2;
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
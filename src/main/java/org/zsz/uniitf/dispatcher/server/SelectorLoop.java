@@ -0,0 +1,202 @@
+package org.zsz.uniitf.dispatcher.server;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * selector 线程, 负责所属连接的读写; 第一个线程同时负责 accept, 新连接轮流分配给各个线程
+ * 其它线程通过 {@link #execute} 提交的任务在本线程中执行, 连接的状态不需要加锁
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:10
+ */
+@Slf4j
+final class SelectorLoop implements Runnable {
+
+    /**
+     * select 的超时时间(毫秒), 也是检查空闲连接的间隔
+     */
+    private static final long SELECT_TIMEOUT_MILLIS = 1000;
+
+    private final DispatcherHttpServer server;
+
+    private final Selector selector;
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 是否已唤醒 selector, 避免重复调用 wakeup
+     */
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+
+    private final Set<HttpConnection> connections = new HashSet<>();
+
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    /**
+     * 只有第一个线程不为 null
+     */
+    private ServerSocketChannel serverChannel;
+
+    SelectorLoop(DispatcherHttpServer server, String name) throws IOException {
+        this.server = server;
+        this.selector = Selector.open();
+        this.thread = new Thread(this, name);
+        // 不使用 Spring MVC 时由 selector 线程保持进程运行
+        this.thread.setDaemon(false);
+    }
+
+    void accept(ServerSocketChannel serverChannel) throws IOException {
+        this.serverChannel = serverChannel;
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * 在本线程中执行任务
+     */
+    void execute(Runnable task) {
+        tasks.add(task);
+        if (Thread.currentThread() != thread && wakeupPending.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * 把新连接注册到本线程
+     */
+    void register(SocketChannel channel) {
+        execute(() -> {
+            try {
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                HttpConnection connection = new HttpConnection(server, this, channel, key);
+                key.attach(connection);
+                connections.add(connection);
+            } catch (IOException e) {
+                log.warn("注册连接失败: {}", e.getMessage());
+                closeQuietly(channel);
+            }
+        });
+    }
+
+    void removed(HttpConnection connection) {
+        connections.remove(connection);
+    }
+
+    @Override
+    public void run() {
+        long lastIdleCheck = System.currentTimeMillis();
+        while (running) {
+            try {
+                selector.select(SELECT_TIMEOUT_MILLIS);
+                wakeupPending.set(false);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    process(key);
+                }
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    task.run();
+                }
+                long now = System.currentTimeMillis();
+                if (now - lastIdleCheck >= SELECT_TIMEOUT_MILLIS) {
+                    lastIdleCheck = now;
+                    closeIdle(now);
+                }
+            } catch (ClosedSelectorException e) {
+                break;
+            } catch (IOException | RuntimeException e) {
+                log.error("通用接口 HTTP 服务 selector 线程出错", e);
+            }
+        }
+        for (HttpConnection connection : new ArrayList<>(connections)) {
+            connection.close();
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            log.debug("关闭 selector 失败: {}", e.getMessage());
+        }
+    }
+
+    private void process(SelectionKey key) throws IOException {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            acceptAll();
+            return;
+        }
+        HttpConnection connection = (HttpConnection) key.attachment();
+        if (key.isWritable()) {
+            connection.onWritable();
+        }
+        if (key.isValid() && key.isReadable()) {
+            connection.onReadable();
+        }
+    }
+
+    private void acceptAll() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            } catch (IOException e) {
+                log.warn("配置连接失败: {}", e.getMessage());
+                closeQuietly(channel);
+                continue;
+            }
+            server.nextLoop().register(channel);
+        }
+    }
+
+    private void closeIdle(long now) {
+        long idleTimeoutMillis = server.getLimits().idleTimeoutMillis;
+        for (HttpConnection connection : new ArrayList<>(connections)) {
+            if (connection.isIdle(now, idleTimeoutMillis)) {
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * 停止后关闭所有连接
+     */
+    void shutdown() {
+        running = false;
+        selector.wakeup();
+    }
+
+    void join(long millis) throws InterruptedException {
+        thread.join(millis);
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("关闭连接失败: {}", e.getMessage());
+        }
+    }
+}
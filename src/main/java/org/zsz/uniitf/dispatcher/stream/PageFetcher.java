@@ -0,0 +1,19 @@
+package org.zsz.uniitf.dispatcher.stream;
+
+import java.util.List;
+
+/**
+ * 分页回调, 处理器返回此类型时按页拉取并逐个元素写出, 不需要一次加载全部数据
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 14:10
+ */
+@FunctionalInterface
+public interface PageFetcher<T> {
+
+    /**
+     * 拉取一页数据
+     * @param pageNo 页码, 从 1 开始
+     * @return 该页数据, null 或空集合表示没有更多数据
+     */
+    List<T> fetch(int pageNo);
+}
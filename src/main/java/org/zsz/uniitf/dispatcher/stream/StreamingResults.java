@@ -0,0 +1,228 @@
+package org.zsz.uniitf.dispatcher.stream;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.zsz.uniitf.dispatcher.dto.Result;
+import org.zsz.uniitf.dispatcher.enumerate.StreamFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * 流式结果: 处理器返回 {@link Stream}、{@link Iterator} 或 {@link PageFetcher} 时逐个元素序列化写出,
+ * 同一时刻只持有一个元素的序列化结果, 内存占用与结果总量无关.
+ * 只有写出完成后才拉取下一个元素, 输出端写入阻塞时不会继续读取数据(背压)
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 14:10
+ */
+@Slf4j
+public final class StreamingResults {
+
+    private static final int NEW_LINE = '\n';
+
+    private StreamingResults() {
+    }
+
+    /**
+     * 是否为流式结果
+     */
+    public static boolean isStreaming(Object result) {
+        return result instanceof Stream || result instanceof Iterator || result instanceof PageFetcher;
+    }
+
+    /**
+     * 将流式结果全部读取为集合, 用于需要完整结果的 String 方式
+     */
+    public static List<Object> collect(Object result) {
+        List<Object> elements = new ArrayList<>();
+        try (ElementSource source = ElementSource.of(result)) {
+            while (source.hasNext()) {
+                elements.add(source.next());
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * 逐个元素写出
+     * 写出 NDJSON 过程中出错时追加一行失败的 Result 后结束;
+     * JSON_ARRAY 无法在已写出的数组后表达错误, 直接抛出 IOException 中断输出
+     * @param result 流式结果
+     * @param out 输出
+     * @param format 输出格式
+     * @param flushBatchSize 每写出多少个元素 flush 一次
+     * @throws IOException 写出失败或 JSON_ARRAY 输出中断
+     */
+    public static void write(Object result, OutputStream out, StreamFormat format, int flushBatchSize) throws IOException {
+        boolean array = format == StreamFormat.JSON_ARRAY;
+        int batchSize = Math.max(1, flushBatchSize);
+        try (ElementSource source = ElementSource.of(result)) {
+            if (array) {
+                out.write('[');
+            }
+            int count = 0;
+            while (true) {
+                try {
+                    if (!source.hasNext()) {
+                        break;
+                    }
+                    Object element = source.next();
+                    if (array && count > 0) {
+                        out.write(',');
+                    }
+                    // 元素先序列化到 fastjson 的缓冲区再写出, 序列化失败时不会写出半个元素
+                    JSON.writeJSONString(out, element, SerializerFeature.WriteDateUseDateFormat);
+                } catch (RuntimeException e) {
+                    failed(e, out, array);
+                    return;
+                }
+                if (!array) {
+                    out.write(NEW_LINE);
+                }
+                if (++count % batchSize == 0) {
+                    out.flush();
+                }
+            }
+            if (array) {
+                out.write(']');
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * 逐个元素交给 consumer 处理, 用于 JSON 以外的编码方式逐个写出, 结束后关闭底层资源
+     * @param result 流式结果
+     * @param consumer 元素的处理
+     * @throws IOException consumer 写出失败
+     */
+    public static void forEach(Object result, ElementConsumer consumer) throws IOException {
+        try (ElementSource source = ElementSource.of(result)) {
+            while (source.hasNext()) {
+                consumer.accept(source.next());
+            }
+        }
+    }
+
+    private static void failed(RuntimeException e, OutputStream out, boolean array) throws IOException {
+        log.error(">>>-- 流式结果输出中断 --<<<", e);
+        if (array) {
+            throw new IOException("流式结果输出中断: " + e.getMessage(), e);
+        }
+        JSON.writeJSONString(out, Result.failed(e.getMessage()));
+        out.write(NEW_LINE);
+        out.flush();
+    }
+
+    /**
+     * 流式结果元素的处理
+     */
+    @FunctionalInterface
+    public interface ElementConsumer {
+
+        void accept(Object element) throws IOException;
+    }
+
+    /**
+     * 统一的元素来源, 结束后关闭底层资源
+     */
+    private abstract static class ElementSource implements Iterator<Object>, AutoCloseable {
+
+        @SuppressWarnings("unchecked")
+        private static ElementSource of(Object result) {
+            if (result instanceof Stream) {
+                Stream<Object> stream = (Stream<Object>) result;
+                return new IteratorSource(stream.iterator(), stream);
+            }
+            if (result instanceof Iterator) {
+                Iterator<Object> iterator = (Iterator<Object>) result;
+                return new IteratorSource(iterator, iterator instanceof AutoCloseable ? (AutoCloseable) iterator : null);
+            }
+            if (result instanceof PageFetcher) {
+                return new PageSource((PageFetcher<Object>) result);
+            }
+            throw new IllegalArgumentException("不是流式结果: " + result);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class IteratorSource extends ElementSource {
+
+        private final Iterator<Object> iterator;
+
+        private final AutoCloseable resource;
+
+        private IteratorSource(Iterator<Object> iterator, AutoCloseable resource) {
+            this.iterator = iterator;
+            this.resource = resource;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public Object next() {
+            return iterator.next();
+        }
+
+        @Override
+        public void close() {
+            if (resource == null) {
+                return;
+            }
+            try {
+                resource.close();
+            } catch (Exception e) {
+                log.warn("关闭流式结果失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static final class PageSource extends ElementSource {
+
+        private final PageFetcher<Object> fetcher;
+
+        private int pageNo;
+
+        private Iterator<Object> page = Collections.emptyIterator();
+
+        private boolean finished;
+
+        private PageSource(PageFetcher<Object> fetcher) {
+            this.fetcher = fetcher;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!page.hasNext() && !finished) {
+                List<Object> next = fetcher.fetch(++pageNo);
+                if (next == null || next.isEmpty()) {
+                    finished = true;
+                } else {
+                    page = next.iterator();
+                }
+            }
+            return page.hasNext();
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.next();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.zsz.uniitf.dispatcher.support;
+
+import com.alibaba.fastjson.JSON;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 由调用参数生成的 key, 参数顺序不影响结果
+ * 参数名和参数值均以长度前缀分隔, 参数值中的任意字符都不会造成 key 冲突;
+ * 编解码器解码的参数值不是 String, 按 JSON 文本参与 key
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 19:10
+ */
+public final class ArgumentKeys {
+
+    private ArgumentKeys() {
+    }
+
+    /**
+     * 使用全部参数
+     * @param argMap 参数map, 可以为 null
+     */
+    public static String of(Map<String, ?> argMap) {
+        return of(argMap, Collections.<String>emptySet());
+    }
+
+    /**
+     * 使用除 excluded 以外的全部参数, 如不影响结果的截止时间参数
+     * @param argMap 参数map, 可以为 null
+     * @param excluded 不参与 key 的参数名
+     */
+    public static String of(Map<String, ?> argMap, Set<String> excluded) {
+        if (argMap == null || argMap.isEmpty()) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(64);
+        for (Map.Entry<String, ?> entry : new TreeMap<>(argMap).entrySet()) {
+            if (!excluded.contains(entry.getKey())) {
+                append(builder, entry.getKey(), entry.getValue());
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 只使用指定的参数
+     * @param argMap 参数map, 可以为 null
+     * @param names 参数名
+     */
+    public static String of(Map<String, ?> argMap, String[] names) {
+        StringBuilder builder = new StringBuilder(64);
+        for (String name : names) {
+            append(builder, name, argMap == null ? null : argMap.get(name));
+        }
+        return builder.toString();
+    }
+
+    private static void append(StringBuilder builder, String name, Object raw) {
+        builder.append(name.length()).append(':').append(name);
+        if (raw == null) {
+            builder.append('-');
+        } else {
+            String value = raw instanceof String ? (String) raw : JSON.toJSONString(raw);
+            builder.append(value.length()).append(':').append(value);
+        }
+    }
+}
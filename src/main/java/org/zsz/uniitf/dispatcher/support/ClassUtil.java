@@ -4,6 +4,9 @@ import com.alibaba.fastjson.JSON;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.util.Assert;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * 反射工具类
  * @author Zhang Shengzhe
@@ -12,6 +15,11 @@ import org.springframework.util.Assert;
 @SuppressWarnings({"rawtypes", "unchecked"})
 public final class ClassUtil {
 
+    /**
+     * 枚举转换器缓存 key=枚举类型
+     */
+    private static final Map<Class<?>, StringToEnum> ENUM_CONVERTERS = new ConcurrentHashMap<>(16);
+
     /**
      * 判断一个类是JAVA类型还是用户定义类型
      * @param cls
@@ -33,7 +41,7 @@ public final class ClassUtil {
         } else if (cls == String.class) {
             return val;
         } else if (cls.isEnum()) {
-            return new StringToEnum(ClassUtil.getEnumType(cls)).convert(val);
+            return ENUM_CONVERTERS.computeIfAbsent(cls, type -> new StringToEnum(ClassUtil.getEnumType(type))).convert(val);
         } else if (cls == Object.class) {
             return JSON.toJSONString(val);
         } else {
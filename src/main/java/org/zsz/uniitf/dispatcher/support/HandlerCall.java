@@ -0,0 +1,17 @@
+package org.zsz.uniitf.dispatcher.support;
+
+/**
+ * 一次处理器调用, 可以在其它线程中执行或由多个调用共用
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 20:10
+ */
+@FunctionalInterface
+public interface HandlerCall {
+
+    /**
+     * 执行
+     * @return 处理器的返回值
+     * @throws Throwable 处理器抛出的异常
+     */
+    Object call() throws Throwable;
+}
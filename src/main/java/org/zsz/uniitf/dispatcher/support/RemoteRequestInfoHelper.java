@@ -7,6 +7,11 @@ import org.zsz.uniitf.dispatcher.RemoteRequestInfo;
 
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * RemoteRequestInfo 助手类
@@ -16,31 +21,58 @@ import java.lang.reflect.Method;
 public final class RemoteRequestInfoHelper {
     /**
      * 为方法创建 RemoteRequestInfo
+     * {@link RequestMapping#value()} 与 {@link RequestMapping#method()} 中的每一项都会生成一个 RemoteRequestInfo
      * @param method
      * @param handlerType
-     * @return
+     * @return 没有 @RequestMapping 信息时返回空集合
      */
-    public RemoteRequestInfo getMappingForMethod(Method method, Class<?> handlerType) {
-        RemoteRequestInfo info = createRequestMappingInfo(method);
-        if (info != null) {
-            // 为类创建 RpcRequestInfo
-            RemoteRequestInfo typeInfo = createRequestMappingInfo(handlerType);
-            if (typeInfo != null) {
-                info = typeInfo.combine(info);
+    public List<RemoteRequestInfo> getMappingsForMethod(Method method, Class<?> handlerType) {
+        List<RemoteRequestInfo> infos = createRequestMappingInfos(method);
+        if (infos.isEmpty()) {
+            return infos;
+        }
+        // 为类创建 RpcRequestInfo
+        List<RemoteRequestInfo> typeInfos = createRequestMappingInfos(handlerType);
+        if (typeInfos.isEmpty()) {
+            return infos;
+        }
+        return combine(typeInfos, infos);
+    }
+
+    /**
+     * 类与方法上的映射两两组合, 去除组合后重复的映射
+     * @param typeInfos 类上的映射
+     * @param infos 方法上的映射
+     * @return 方法上没有映射时返回空集合, 类上没有映射时返回方法上的映射
+     */
+    public List<RemoteRequestInfo> combine(List<RemoteRequestInfo> typeInfos, List<RemoteRequestInfo> infos) {
+        if (infos.isEmpty() || typeInfos.isEmpty()) {
+            return infos;
+        }
+        Set<RemoteRequestInfo> combined = new LinkedHashSet<>(typeInfos.size() * infos.size());
+        for (RemoteRequestInfo typeInfo : typeInfos) {
+            for (RemoteRequestInfo info : infos) {
+                combined.add(typeInfo.combine(info));
             }
         }
-        return info;
+        return new ArrayList<>(combined);
     }
 
-    private RemoteRequestInfo createRequestMappingInfo(AnnotatedElement element) {
+    private List<RemoteRequestInfo> createRequestMappingInfos(AnnotatedElement element) {
         RequestMapping requestMapping = AnnotatedElementUtils.findMergedAnnotation(element, RequestMapping.class);
-        return requestMapping != null ? createRequestMappingInfo(requestMapping) : null;
+        return requestMapping != null ? createRequestMappingInfos(requestMapping) : Collections.emptyList();
     }
 
-    private RemoteRequestInfo createRequestMappingInfo(RequestMapping requestMapping) {
-        String urlPattern = requestMapping.value().length == 0 ? "" : requestMapping.value()[0];
+    private List<RemoteRequestInfo> createRequestMappingInfos(RequestMapping requestMapping) {
+        String[] urlPatterns = requestMapping.value().length == 0 ? new String[]{""} : requestMapping.value();
         // 为 null 时 为没有设置配置方法（all http method）
-        RequestMethod method = requestMapping.method().length == 0 ? null : requestMapping.method()[0];
-        return new RemoteRequestInfo(urlPattern, method);
+        RequestMethod[] methods = requestMapping.method().length == 0 ? new RequestMethod[]{null} : requestMapping.method();
+        List<RemoteRequestInfo> infos = new ArrayList<>(urlPatterns.length * methods.length);
+        for (String urlPattern : urlPatterns) {
+            for (RequestMethod method : methods) {
+                infos.add(new RemoteRequestInfo(urlPattern, method));
+            }
+        }
+        return infos;
     }
 }
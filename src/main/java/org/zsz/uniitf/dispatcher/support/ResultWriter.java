@@ -0,0 +1,138 @@
+package org.zsz.uniitf.dispatcher.support;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import org.zsz.uniitf.dispatcher.enumerate.StreamFormat;
+import org.zsz.uniitf.dispatcher.stream.StreamingResults;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 处理器返回值的序列化
+ * String 方式与原来一致; 流方式直接写出 UTF-8 字节:
+ * 对象由 fastjson 序列化到其线程内复用的缓冲区后写出, 不生成中间 String,
+ * byte[] / ByteBuffer 返回值原样写出, 不做复制,
+ * Stream / Iterator / PageFetcher 返回值按 {@link StreamFormat} 逐个元素写出
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 13:40
+ */
+public final class ResultWriter {
+
+    public static final ResultWriter DEFAULT = new ResultWriter(StreamFormat.NDJSON, 100);
+
+    private static final int COPY_BUFFER_SIZE = 8192;
+
+    /**
+     * 流式结果的输出格式
+     */
+    private final StreamFormat streamFormat;
+
+    /**
+     * 流式结果每写出多少个元素 flush 一次
+     */
+    private final int flushBatchSize;
+
+    public ResultWriter(StreamFormat streamFormat, int flushBatchSize) {
+        this.streamFormat = streamFormat;
+        this.flushBatchSize = flushBatchSize;
+    }
+
+    /**
+     * 序列化为 String
+     * @param result 处理器返回值
+     * @return String 返回值原样返回, 流式结果读取全部元素后序列化为 JSON 数组, 其它序列化为 JSON
+     */
+    public static String toJsonString(Object result) {
+        // 如果已经是 String 类型 无需处理直接返回
+        if (result instanceof String) {
+            return (String) result;
+        }
+        if (result instanceof SerializedResult) {
+            return result.toString();
+        }
+        if (StreamingResults.isStreaming(result)) {
+            result = StreamingResults.collect(result);
+        }
+        return JSON.toJSONString(result, SerializerFeature.WriteDateUseDateFormat);
+    }
+
+    /**
+     * 序列化为 UTF-8 字节, 与 {@link #toJsonString} 的结果一致
+     * @param result 处理器返回值, 不能为流式结果
+     * @return
+     */
+    public static byte[] toJsonBytes(Object result) {
+        if (result instanceof String) {
+            return ((String) result).getBytes(StandardCharsets.UTF_8);
+        }
+        if (result instanceof SerializedResult) {
+            return ((SerializedResult) result).getBytes();
+        }
+        return JSON.toJSONBytes(result, SerializerFeature.WriteDateUseDateFormat);
+    }
+
+    /**
+     * 写出到 OutputStream
+     * @param result 处理器返回值
+     * @param out 输出, 不会关闭
+     * @throws IOException 写出失败
+     */
+    public void write(Object result, OutputStream out) throws IOException {
+        if (result instanceof byte[]) {
+            out.write((byte[]) result);
+        } else if (result instanceof SerializedResult) {
+            out.write(((SerializedResult) result).getBytes());
+        } else if (result instanceof ByteBuffer) {
+            writeBuffer(((ByteBuffer) result).duplicate(), out);
+        } else if (result instanceof String) {
+            out.write(((String) result).getBytes(StandardCharsets.UTF_8));
+        } else if (StreamingResults.isStreaming(result)) {
+            StreamingResults.write(result, out, streamFormat, flushBatchSize);
+        } else {
+            JSON.writeJSONString(out, StandardCharsets.UTF_8, result, SerializerFeature.WriteDateUseDateFormat);
+        }
+    }
+
+    /**
+     * 写出到 WritableByteChannel
+     * @param result 处理器返回值
+     * @param channel 输出, 不会关闭
+     * @throws IOException 写出失败
+     */
+    public void write(Object result, WritableByteChannel channel) throws IOException {
+        if (result instanceof ByteBuffer) {
+            writeFully(((ByteBuffer) result).duplicate(), channel);
+        } else if (result instanceof byte[]) {
+            writeFully(ByteBuffer.wrap((byte[]) result), channel);
+        } else if (result instanceof SerializedResult) {
+            writeFully(ByteBuffer.wrap(((SerializedResult) result).getBytes()), channel);
+        } else {
+            write(result, Channels.newOutputStream(channel));
+        }
+    }
+
+    private static void writeBuffer(ByteBuffer buffer, OutputStream out) throws IOException {
+        if (buffer.hasArray()) {
+            out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            return;
+        }
+        // 堆外 buffer 只能分段复制
+        byte[] chunk = new byte[Math.min(COPY_BUFFER_SIZE, buffer.remaining())];
+        while (buffer.hasRemaining()) {
+            int length = Math.min(chunk.length, buffer.remaining());
+            buffer.get(chunk, 0, length);
+            out.write(chunk, 0, length);
+        }
+    }
+
+    private static void writeFully(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.zsz.uniitf.dispatcher.support;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.JSONSerializable;
+import com.alibaba.fastjson.serializer.JSONSerializer;
+import org.zsz.uniitf.dispatcher.async.AsyncResults;
+import org.zsz.uniitf.dispatcher.stream.StreamingResults;
+
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * 已序列化的结果(UTF-8 JSON 字节), 写出时不再序列化
+ * 作为其它对象的属性序列化时原样嵌入; 以 JSON 以外的格式写出时, 最近一种格式的编码结果同样缓存, 不再每次解析 JSON
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 18:30
+ */
+public final class SerializedResult implements JSONSerializable {
+
+    private final byte[] bytes;
+
+    /**
+     * 最近一次按其它格式编码的结果, 没有时为 null
+     */
+    private volatile Encoded encoded;
+
+    public SerializedResult(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * 是否可以预先序列化后重复使用, 流式结果、异步结果和二进制结果不可以
+     */
+    public static boolean isSupported(Object result) {
+        return !StreamingResults.isStreaming(result) && !AsyncResults.isAsync(result)
+                && !(result instanceof byte[]) && !(result instanceof ByteBuffer);
+    }
+
+    /**
+     * 序列化处理器返回值
+     * @param result {@link #isSupported} 为 true 的返回值
+     */
+    public static SerializedResult of(Object result) {
+        if (result instanceof SerializedResult) {
+            return (SerializedResult) result;
+        }
+        return new SerializedResult(ResultWriter.toJsonBytes(result));
+    }
+
+    /**
+     * 序列化后的字节, 调用方不能修改
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * 解析为 JSON 值(JSONObject、JSONArray、String、数值等), 每次调用重新解析, 调用方可以修改
+     */
+    public Object parse() {
+        return JSON.parse(toString());
+    }
+
+    /**
+     * 按 contentType 编码后的字节, 第一次调用时编码并缓存, 并发调用时可能重复编码
+     * 缓存的字节不计入响应缓存的内存预算
+     * @param contentType 编码格式
+     * @param encoder 编码, 相同 contentType 的结果必须相同
+     * @return 调用方不能修改
+     */
+    public byte[] encoded(String contentType, Function<SerializedResult, byte[]> encoder) {
+        Encoded current = encoded;
+        if (current != null && current.contentType.equals(contentType)) {
+            return current.bytes;
+        }
+        byte[] result = encoder.apply(this);
+        encoded = new Encoded(contentType, result);
+        return result;
+    }
+
+    @Override
+    public void write(JSONSerializer serializer, Object fieldName, Type fieldType, int features) {
+        serializer.out.write(toString());
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Encoded {
+
+        private final String contentType;
+
+        private final byte[] bytes;
+
+        private Encoded(String contentType, byte[] bytes) {
+            this.contentType = contentType;
+            this.bytes = bytes;
+        }
+    }
+}
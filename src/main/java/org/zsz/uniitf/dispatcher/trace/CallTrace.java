@@ -0,0 +1,173 @@
+package org.zsz.uniitf.dispatcher.trace;
+
+import org.zsz.uniitf.dispatcher.HandlerDefinition;
+
+import java.util.Map;
+
+/**
+ * 单次调用的分阶段耗时, 同一时刻只在一个线程中使用(异步调用时依次交给执行处理器、完成结果的线程)
+ * 每个阶段结束时以单调时钟(System.nanoTime)打点, 阶段耗时为与上一次打点的差
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 16:50
+ */
+public final class CallTrace {
+
+    private final String url;
+
+    private final String httpMethod;
+
+    private final int argCount;
+
+    /**
+     * 参数 key 与 value 的字符总数
+     */
+    private final long argChars;
+
+    private final long startNanos;
+
+    private final long startMillis;
+
+    private long lastNanos;
+
+    private HandlerDefinition definition;
+
+    private long resolveNanos;
+
+    private long bindNanos;
+
+    private long invokeNanos;
+
+    private long serializeNanos;
+
+    private long totalNanos;
+
+    private boolean failed;
+
+    CallTrace(String url, String httpMethod, Map<String, ?> argMap) {
+        this.url = url;
+        this.httpMethod = httpMethod;
+        int count = 0;
+        long chars = 0;
+        if (argMap != null) {
+            for (Map.Entry<String, ?> entry : argMap.entrySet()) {
+                count++;
+                chars += length(entry.getKey()) + length(entry.getValue());
+            }
+        }
+        this.argCount = count;
+        this.argChars = chars;
+        this.startMillis = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+        this.lastNanos = startNanos;
+    }
+
+    /**
+     * 查找处理器结束
+     */
+    public void resolved(HandlerDefinition definition) {
+        this.definition = definition;
+        resolveNanos = lap();
+    }
+
+    /**
+     * 参数转换结束
+     */
+    public void bound() {
+        bindNanos = lap();
+    }
+
+    /**
+     * 处理器方法返回
+     */
+    public void invoked() {
+        invokeNanos = lap();
+    }
+
+    /**
+     * 异步结果完成, 等待的时间计入方法执行
+     */
+    public void awaited() {
+        invokeNanos += lap();
+    }
+
+    /**
+     * 结果序列化(写出)结束
+     */
+    public void serialized() {
+        serializeNanos = lap();
+    }
+
+    public void failed() {
+        failed = true;
+    }
+
+    void finish() {
+        totalNanos = System.nanoTime() - startNanos;
+    }
+
+    private long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - lastNanos;
+        lastNanos = now;
+        return elapsed;
+    }
+
+    /**
+     * 编解码器解码的参数值不是 String, 不计入字符数
+     */
+    private static int length(Object value) {
+        return value instanceof String ? ((String) value).length() : 0;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    public int getArgCount() {
+        return argCount;
+    }
+
+    public long getArgChars() {
+        return argChars;
+    }
+
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    long getEndNanos() {
+        return startNanos + totalNanos;
+    }
+
+    public HandlerDefinition getDefinition() {
+        return definition;
+    }
+
+    public long getResolveNanos() {
+        return resolveNanos;
+    }
+
+    public long getBindNanos() {
+        return bindNanos;
+    }
+
+    public long getInvokeNanos() {
+        return invokeNanos;
+    }
+
+    public long getSerializeNanos() {
+        return serializeNanos;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+}
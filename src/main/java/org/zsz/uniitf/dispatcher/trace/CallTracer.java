@@ -0,0 +1,135 @@
+package org.zsz.uniitf.dispatcher.trace;
+
+import org.zsz.uniitf.dispatcher.dto.SlowCallStats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分阶段耗时追踪, 保留最近一段时间内最慢的 N 次调用
+ * 固定大小的数组保存慢调用; 比当前门槛快的调用只做一次 volatile 读即返回, 不加锁.
+ * 超过时间窗口的记录视为过期, 可被任意新调用替换
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 16:50
+ */
+public final class CallTracer {
+
+    private static final double NANOS_PER_MICRO = 1000.0;
+
+    private final CallTrace[] slowest;
+
+    private final long windowNanos;
+
+    /**
+     * 低于此耗时的调用不会进入慢调用记录
+     */
+    private volatile long thresholdNanos;
+
+    /**
+     * 门槛的有效期, 之后最早的记录过期, 门槛需要重新计算
+     */
+    private volatile long thresholdExpiresAt;
+
+    public CallTracer(int capacity, long windowMillis) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("慢调用记录数必须大于 0");
+        }
+        this.slowest = new CallTrace[capacity];
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.thresholdExpiresAt = System.nanoTime();
+    }
+
+    /**
+     * 调用开始
+     */
+    public CallTrace begin(String url, String httpMethod, Map<String, ?> argMap) {
+        return new CallTrace(url, httpMethod, argMap);
+    }
+
+    /**
+     * 调用结束, 耗时进入最慢的 N 次时记录
+     */
+    public void finish(CallTrace trace) {
+        trace.finish();
+        long end = trace.getEndNanos();
+        if (trace.getTotalNanos() < thresholdNanos && end - thresholdExpiresAt < 0) {
+            return;
+        }
+        synchronized (slowest) {
+            int replace = -1;
+            long fastest = Long.MAX_VALUE;
+            for (int i = 0; i < slowest.length; i++) {
+                CallTrace recorded = slowest[i];
+                if (recorded == null || end - recorded.getEndNanos() > windowNanos) {
+                    replace = i;
+                    break;
+                }
+                if (recorded.getTotalNanos() < fastest) {
+                    fastest = recorded.getTotalNanos();
+                    replace = i;
+                }
+            }
+            if (slowest[replace] != null && end - slowest[replace].getEndNanos() <= windowNanos
+                    && slowest[replace].getTotalNanos() >= trace.getTotalNanos()) {
+                return;
+            }
+            slowest[replace] = trace;
+            updateThreshold(end);
+        }
+    }
+
+    private void updateThreshold(long now) {
+        long min = Long.MAX_VALUE;
+        CallTrace oldest = null;
+        for (CallTrace recorded : slowest) {
+            if (recorded == null) {
+                // 未满时全部记录
+                thresholdNanos = 0L;
+                thresholdExpiresAt = now;
+                return;
+            }
+            min = Math.min(min, recorded.getTotalNanos());
+            if (oldest == null || recorded.getEndNanos() - oldest.getEndNanos() < 0) {
+                oldest = recorded;
+            }
+        }
+        thresholdNanos = min;
+        thresholdExpiresAt = oldest.getEndNanos() + windowNanos;
+    }
+
+    /**
+     * 时间窗口内最慢的调用, 按耗时降序
+     */
+    public List<SlowCallStats> snapshot() {
+        List<CallTrace> traces = new ArrayList<>(slowest.length);
+        long now = System.nanoTime();
+        synchronized (slowest) {
+            for (CallTrace recorded : slowest) {
+                if (recorded != null && now - recorded.getEndNanos() <= windowNanos) {
+                    traces.add(recorded);
+                }
+            }
+        }
+        traces.sort(Comparator.comparingLong(CallTrace::getTotalNanos).reversed());
+        List<SlowCallStats> stats = new ArrayList<>(traces.size());
+        for (CallTrace trace : traces) {
+            stats.add(new SlowCallStats()
+                    .setUrl(trace.getUrl())
+                    .setHttpMethod(trace.getHttpMethod())
+                    .setUrlPattern(trace.getDefinition() == null ? null : trace.getDefinition().getRequestInfo().getUrlPattern())
+                    .setStartTime(trace.getStartMillis())
+                    .setFailed(trace.isFailed())
+                    .setArgCount(trace.getArgCount())
+                    .setArgChars(trace.getArgChars())
+                    .setTotalMicros(trace.getTotalNanos() / NANOS_PER_MICRO)
+                    .setResolveMicros(trace.getResolveNanos() / NANOS_PER_MICRO)
+                    .setBindMicros(trace.getBindNanos() / NANOS_PER_MICRO)
+                    .setInvokeMicros(trace.getInvokeNanos() / NANOS_PER_MICRO)
+                    .setSerializeMicros(trace.getSerializeNanos() / NANOS_PER_MICRO));
+        }
+        return stats;
+    }
+}
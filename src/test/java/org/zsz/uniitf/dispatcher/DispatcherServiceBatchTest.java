@@ -0,0 +1,206 @@
+package org.zsz.uniitf.dispatcher;
+
+import com.alibaba.fastjson.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.zsz.uniitf.dispatcher.annotation.RemoteMethod;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.dto.BatchEntry;
+import org.zsz.uniitf.dispatcher.dto.Result;
+import org.zsz.uniitf.dispatcher.enumerate.BatchMode;
+import org.zsz.uniitf.dispatcher.enumerate.ErrorCode;
+import org.zsz.uniitf.dispatcher.metrics.MetricsRegistry;
+import org.zsz.uniitf.dispatcher.support.SerializedResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * DispatcherService 批量调用: 结果顺序、单个调用失败的隔离、数量上限、两种执行方式的总超时, 以及命中缓存的结果
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 15:00
+ */
+public class DispatcherServiceBatchTest {
+
+    private static final int MAX_SIZE = 8;
+
+    private static final long BATCH_TIMEOUT_MILLIS = 300;
+
+    private final SampleController controller = new SampleController();
+
+    private DispatcherService dispatcherService;
+
+    @Before
+    public void setUp() {
+        DispatcherProperties properties = new DispatcherProperties();
+        properties.getBatch().setMaxSize(MAX_SIZE);
+        properties.getBatch().setTimeoutMillis(BATCH_TIMEOUT_MILLIS);
+        properties.getBatch().setThreads(4);
+        dispatcherService = new DispatcherService(properties, new MetricsRegistry());
+        dispatcherService.register(controller);
+    }
+
+    @After
+    public void tearDown() {
+        dispatcherService.destroy();
+    }
+
+    @Test
+    public void keepsEntryOrder() {
+        for (BatchMode mode : BatchMode.values()) {
+            List<BatchEntry> entries = new ArrayList<>();
+            for (int i = 0; i < MAX_SIZE; i++) {
+                // 并行时先提交的调用执行更久
+                entries.add(entry("/batch/echo", "value", "v" + i, "ms", String.valueOf((MAX_SIZE - i) * 5)));
+            }
+            List<Result<Object>> results = dispatcherService.invokeBatch(entries, mode);
+            assertEquals(MAX_SIZE, results.size());
+            for (int i = 0; i < MAX_SIZE; i++) {
+                assertEquals(mode + " #" + i, "v" + i, results.get(i).getData());
+            }
+        }
+    }
+
+    @Test
+    public void isolatesFailedEntries() {
+        for (BatchMode mode : BatchMode.values()) {
+            List<Result<Object>> results = dispatcherService.invokeBatch(Arrays.asList(
+                    entry("/batch/echo", "value", "a"),
+                    entry("/batch/fail"),
+                    entry("/batch/missing"),
+                    entry("/batch/echo", "ms", "not a number"),
+                    entry("/batch/echo", "value", "b")), mode);
+            assertEquals(Result.SUCCESS, results.get(0).getCode());
+            assertEquals("a", results.get(0).getData());
+            assertEquals(Result.COMMON_FAILED, results.get(1).getCode());
+            assertTrue(results.get(1).getMessage(), results.get(1).getMessage().contains("boom"));
+            assertFalse(Result.SUCCESS.equals(results.get(2).getCode()));
+            assertFalse(Result.SUCCESS.equals(results.get(3).getCode()));
+            assertEquals("b", results.get(4).getData());
+        }
+    }
+
+    @Test
+    public void rejectsOversizedBatch() {
+        List<BatchEntry> entries = new ArrayList<>(Collections.nCopies(MAX_SIZE + 1, entry("/batch/echo", "value", "a")));
+        try {
+            dispatcherService.invokeBatch(entries, BatchMode.SEQUENTIAL);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(String.valueOf(MAX_SIZE)));
+        }
+        assertEquals(0, controller.echoed.get());
+        assertEquals(MAX_SIZE, dispatcherService.invokeBatch(entries.subList(0, MAX_SIZE), BatchMode.PARALLEL).size());
+        assertTrue(dispatcherService.invokeBatch(Collections.emptyList(), BatchMode.PARALLEL).isEmpty());
+    }
+
+    @Test
+    public void interruptsRunningEntryWhenSequentialBatchTimesOut() {
+        long start = System.nanoTime();
+        List<Result<Object>> results = dispatcherService.invokeBatch(Arrays.asList(
+                entry("/batch/echo", "value", "a"),
+                entry("/batch/echo", "value", "slow", "ms", "10000"),
+                entry("/batch/echo", "value", "c")), BatchMode.SEQUENTIAL);
+        // 执行中的调用在总超时时被中断, 不等到处理器返回
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+        assertEquals("a", results.get(0).getData());
+        assertEquals(ErrorCode.BATCH_TIMEOUT.getCode(), results.get(1).getCode());
+        assertEquals(ErrorCode.BATCH_TIMEOUT.getCode(), results.get(2).getCode());
+        assertEquals(1, controller.interrupted.get());
+        assertFalse(Thread.currentThread().isInterrupted());
+        // 超时的批量调用不影响之后的调用
+        assertEquals("d", dispatcherService.invokeBatch(Collections.singletonList(entry("/batch/echo", "value", "d")),
+                BatchMode.SEQUENTIAL).get(0).getData());
+    }
+
+    @Test
+    public void timesOutUnfinishedParallelEntries() {
+        long start = System.nanoTime();
+        List<Result<Object>> results = dispatcherService.invokeBatch(Arrays.asList(
+                entry("/batch/echo", "value", "slow", "ms", "10000"),
+                entry("/batch/echo", "value", "b")), BatchMode.PARALLEL);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+        assertEquals(ErrorCode.BATCH_TIMEOUT.getCode(), results.get(0).getCode());
+        assertEquals("b", results.get(1).getData());
+    }
+
+    @Test
+    public void returnsParsedValuesForCachedEntries() {
+        for (BatchMode mode : BatchMode.values()) {
+            List<BatchEntry> entries = Arrays.asList(entry("/batch/cached", "id", "1"), entry("/batch/cached", "id", "1"));
+            List<Result<Object>> results = dispatcherService.invokeBatch(entries, mode);
+            for (Result<Object> result : results) {
+                assertFalse(result.getData() instanceof SerializedResult);
+                assertTrue(String.valueOf(result.getData()), result.getData() instanceof JSONObject);
+                assertEquals(1, ((JSONObject) result.getData()).getIntValue("id"));
+                assertEquals("cached", ((JSONObject) result.getData()).getString("name"));
+            }
+        }
+        assertEquals(1, controller.cached.get());
+    }
+
+    /**
+     * @param args 参数名及参数值交替
+     */
+    private static BatchEntry entry(String url, String... args) {
+        JSONObject argMap = new JSONObject();
+        for (int i = 0; i < args.length; i += 2) {
+            argMap.put(args[i], args[i + 1]);
+        }
+        return new BatchEntry().setUrl(url).setHttpMethod("GET").setArgMap(argMap);
+    }
+
+    @RequestMapping("/batch")
+    public static class SampleController {
+
+        private final AtomicInteger echoed = new AtomicInteger();
+
+        private final AtomicInteger interrupted = new AtomicInteger();
+
+        private final AtomicInteger cached = new AtomicInteger();
+
+        @RemoteMethod
+        @GetMapping("/echo")
+        public String echo(@RequestParam(value = "value", defaultValue = "") String value,
+                           @RequestParam(value = "ms", defaultValue = "0") long ms) throws InterruptedException {
+            echoed.incrementAndGet();
+            try {
+                Thread.sleep(ms);
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+                throw e;
+            }
+            return value;
+        }
+
+        @RemoteMethod
+        @GetMapping("/fail")
+        public String fail() {
+            throw new IllegalStateException("boom");
+        }
+
+        @RemoteMethod(cacheTtlMillis = 60000)
+        @GetMapping("/cached")
+        public Map<String, Object> cached(@RequestParam("id") int id) {
+            cached.incrementAndGet();
+            JSONObject result = new JSONObject();
+            result.put("id", id);
+            result.put("name", "cached");
+            return result;
+        }
+    }
+}
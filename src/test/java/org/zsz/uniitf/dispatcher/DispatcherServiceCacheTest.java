@@ -0,0 +1,158 @@
+package org.zsz.uniitf.dispatcher;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.zsz.uniitf.dispatcher.annotation.RemoteMethod;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.dto.InvokeOptions;
+import org.zsz.uniitf.dispatcher.dto.ResponseCacheStats;
+import org.zsz.uniitf.dispatcher.metrics.MetricsRegistry;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * DispatcherService 响应缓存: 过期后返回旧结果并在后台刷新、按 url 模板清除、只缓存 GET 处理器, 以及命中率统计
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 19:40
+ */
+public class DispatcherServiceCacheTest {
+
+    private final SampleController controller = new SampleController();
+
+    private DispatcherService dispatcherService;
+
+    @Before
+    public void setUp() {
+        dispatcherService = new DispatcherService(new DispatcherProperties(), new MetricsRegistry());
+        dispatcherService.register(controller);
+    }
+
+    @After
+    public void tearDown() {
+        dispatcherService.destroy();
+    }
+
+    @Test
+    public void refreshesStaleResultInBackground() throws InterruptedException {
+        assertEquals("1", invoke("/cache/stale", "GET"));
+        assertEquals("1", invoke("/cache/stale", "GET"));
+        assertEquals(1, controller.stale.get());
+        Thread.sleep(80);
+        // 过期后仍返回旧结果, 只触发一次刷新
+        assertEquals("1", invoke("/cache/stale", "GET"));
+        assertEquals("1", invoke("/cache/stale", "GET"));
+        awaitResult("/cache/stale", "2");
+        assertEquals(2, controller.stale.get());
+        ResponseCacheStats stats = stats("/cache/stale");
+        assertEquals(1, stats.getMissCount());
+        assertTrue(stats.getStaleHitCount() >= 2);
+    }
+
+    @Test
+    public void invalidatesByUrlPattern() {
+        assertEquals("1", invoke("/cache/fresh", "GET"));
+        assertEquals("1", invoke("/cache/stale", "GET"));
+        assertEquals(1, dispatcherService.invalidateResponseCache("/cache/fresh"));
+        assertEquals("2", invoke("/cache/fresh", "GET"));
+        assertEquals("1", invoke("/cache/stale", "GET"));
+        assertEquals(2, dispatcherService.invalidateResponseCache());
+        assertEquals("2", invoke("/cache/stale", "GET"));
+    }
+
+    @Test
+    public void cachesOnlyGetHandlers() {
+        assertEquals("1", invoke("/cache/update", "POST"));
+        assertEquals("2", invoke("/cache/update", "POST"));
+        for (ResponseCacheStats stats : dispatcherService.getResponseCacheStats()) {
+            if ("/cache/update".equals(stats.getUrlPattern())) {
+                fail("POST 处理器不应缓存");
+            }
+        }
+    }
+
+    @Test
+    public void reportsHitRate() {
+        for (int i = 0; i < 4; i++) {
+            assertEquals("1", invoke("/cache/fresh", "GET", Collections.singletonMap("id", "1")));
+        }
+        assertEquals("2", invoke("/cache/fresh", "GET", Collections.singletonMap("id", "2")));
+        ResponseCacheStats stats = stats("/cache/fresh");
+        assertEquals(3, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(2, stats.getSize());
+        assertEquals(0.6, stats.getHitRate(), 1e-9);
+    }
+
+    private String invoke(String url, String httpMethod) {
+        return invoke(url, httpMethod, Collections.emptyMap());
+    }
+
+    private String invoke(String url, String httpMethod, Map<String, String> argMap) {
+        return dispatcherService.invoke(url, httpMethod, argMap, (InvokeOptions) null);
+    }
+
+    private ResponseCacheStats stats(String urlPattern) {
+        List<ResponseCacheStats> all = dispatcherService.getResponseCacheStats();
+        for (ResponseCacheStats stats : all) {
+            if (urlPattern.equals(stats.getUrlPattern())) {
+                return stats;
+            }
+        }
+        throw new AssertionError(urlPattern + " 没有缓存: " + all);
+    }
+
+    /**
+     * 刷新期间返回旧结果, 直到刷新的结果写入缓存
+     */
+    private void awaitResult(String url, String expected) throws InterruptedException {
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!expected.equals(invoke(url, "GET"))) {
+            if (System.nanoTime() > end) {
+                fail("等待刷新超时");
+            }
+            Thread.sleep(2);
+        }
+    }
+
+    @RequestMapping("/cache")
+    public static class SampleController {
+
+        private final AtomicInteger stale = new AtomicInteger();
+
+        private final AtomicInteger fresh = new AtomicInteger();
+
+        private final AtomicInteger update = new AtomicInteger();
+
+        @RemoteMethod(cacheTtlMillis = 50, cacheStaleMillis = 60000)
+        @GetMapping("/stale")
+        public String stale() {
+            return String.valueOf(stale.incrementAndGet());
+        }
+
+        @RemoteMethod(cacheTtlMillis = 60000)
+        @GetMapping("/fresh")
+        public String fresh(@RequestParam(value = "id", defaultValue = "") String id) {
+            int count = fresh.incrementAndGet();
+            return id.isEmpty() ? String.valueOf(count) : id;
+        }
+
+        @RemoteMethod(cacheTtlMillis = 60000)
+        @PostMapping("/update")
+        public String update() {
+            return String.valueOf(update.incrementAndGet());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package org.zsz.uniitf.dispatcher;
+
+import com.alibaba.fastjson.JSON;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.zsz.uniitf.dispatcher.annotation.RemoteMethod;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.dto.ConcurrencyLimitStats;
+import org.zsz.uniitf.dispatcher.dto.ConcurrencyStats;
+import org.zsz.uniitf.dispatcher.dto.InvokeOptions;
+import org.zsz.uniitf.dispatcher.enumerate.ErrorCode;
+import org.zsz.uniitf.dispatcher.metrics.MetricsRegistry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * DispatcherService 并发数上限: 配置覆盖注解、超过上限时拒绝, 以及拒绝和异常时名额的释放
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 20:00
+ */
+public class DispatcherServiceConcurrencyTest {
+
+    private final SampleController controller = new SampleController();
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    private DispatcherService dispatcherService;
+
+    @Before
+    public void setUp() {
+        DispatcherProperties properties = new DispatcherProperties();
+        properties.getConcurrency().setGlobalLimit(3);
+        properties.getConcurrency().getRouteLimits().put("/limit/configured", 1);
+        dispatcherService = new DispatcherService(properties, new MetricsRegistry());
+        dispatcherService.register(controller);
+    }
+
+    @After
+    public void tearDown() {
+        controller.release.countDown();
+        callers.shutdownNow();
+        dispatcherService.destroy();
+    }
+
+    @Test
+    public void rejectsOverRouteLimitAndReleasesGlobal() throws Exception {
+        Future<String> running = callers.submit(() -> invoke("/limit/configured"));
+        awaitInFlight(1);
+        // 配置的上限 1 优先于注解的 10
+        assertLimited(invoke("/limit/configured"));
+        ConcurrencyStats stats = dispatcherService.getConcurrencyStats();
+        assertEquals(1, stats.getGlobal().getInFlight());
+        ConcurrencyLimitStats route = route(stats, "/limit/configured");
+        assertEquals(1, route.getLimit());
+        assertEquals(1, route.getRejectedCount());
+        controller.release.countDown();
+        assertEquals("done", running.get(5, TimeUnit.SECONDS));
+        assertReleased();
+    }
+
+    @Test
+    public void rejectsOverGlobalLimit() throws Exception {
+        Future<String> first = callers.submit(() -> invoke("/limit/annotated"));
+        Future<String> second = callers.submit(() -> invoke("/limit/annotated"));
+        Future<String> third = callers.submit(() -> invoke("/limit/configured"));
+        awaitInFlight(3);
+        assertLimited(invoke("/limit/annotated"));
+        assertEquals(1, dispatcherService.getConcurrencyStats().getGlobal().getRejectedCount());
+        assertEquals(10, route(dispatcherService.getConcurrencyStats(), "/limit/annotated").getLimit());
+        controller.release.countDown();
+        for (Future<String> future : Arrays.asList(first, second, third)) {
+            assertEquals("done", future.get(5, TimeUnit.SECONDS));
+        }
+        assertReleased();
+    }
+
+    @Test
+    public void releasesWhenHandlerFails() {
+        for (int i = 0; i < 5; i++) {
+            String result = invoke("/limit/fail");
+            assertTrue(result, result.contains("boom"));
+        }
+        assertReleased();
+        assertEquals(0, dispatcherService.getConcurrencyStats().getGlobal().getRejectedCount());
+    }
+
+    private String invoke(String url) {
+        return dispatcherService.invoke(url, "GET", Collections.<String, String>emptyMap(), (InvokeOptions) null);
+    }
+
+    private void awaitInFlight(int expected) throws InterruptedException {
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dispatcherService.getConcurrencyStats().getGlobal().getInFlight() < expected
+                || controller.entered.getCount() > 3 - expected) {
+            assertTrue("等待调用开始超时", System.nanoTime() < end);
+            Thread.sleep(2);
+        }
+    }
+
+    private void assertReleased() {
+        ConcurrencyStats stats = dispatcherService.getConcurrencyStats();
+        assertEquals(0, stats.getGlobal().getInFlight());
+        for (ConcurrencyLimitStats route : stats.getRoutes()) {
+            assertEquals(route.getUrlPattern(), 0, route.getInFlight());
+        }
+    }
+
+    private static void assertLimited(String result) {
+        assertEquals(result, ErrorCode.CONCURRENCY_LIMITED.getCode(), JSON.parseObject(result).getString("code"));
+    }
+
+    private static ConcurrencyLimitStats route(ConcurrencyStats stats, String urlPattern) {
+        for (ConcurrencyLimitStats route : stats.getRoutes()) {
+            if (urlPattern.equals(route.getUrlPattern())) {
+                return route;
+            }
+        }
+        throw new AssertionError(urlPattern + " 没有并发数上限: " + stats);
+    }
+
+    @RequestMapping("/limit")
+    public static class SampleController {
+
+        private final CountDownLatch entered = new CountDownLatch(3);
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @RemoteMethod(maxConcurrency = 10)
+        @GetMapping("/configured")
+        public String configured() throws InterruptedException {
+            return block();
+        }
+
+        @RemoteMethod(maxConcurrency = 10)
+        @GetMapping("/annotated")
+        public String annotated() throws InterruptedException {
+            return block();
+        }
+
+        @RemoteMethod(maxConcurrency = 1)
+        @GetMapping("/fail")
+        public String fail() {
+            throw new IllegalStateException("boom");
+        }
+
+        private String block() throws InterruptedException {
+            entered.countDown();
+            release.await();
+            return "done";
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package org.zsz.uniitf.dispatcher;
+
+import com.alibaba.fastjson.JSON;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.zsz.uniitf.dispatcher.annotation.RemoteMethod;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.dto.InvokeOptions;
+import org.zsz.uniitf.dispatcher.dto.Result;
+import org.zsz.uniitf.dispatcher.dto.RouteMetricsStats;
+import org.zsz.uniitf.dispatcher.enumerate.ErrorCode;
+import org.zsz.uniitf.dispatcher.metrics.MetricsRegistry;
+import org.zsz.uniitf.dispatcher.support.ResultWriter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * DispatcherService 按截止时间执行处理器: 超时的错误码、超时计数, 中断只针对本次调用, 以及截止时间参数不区分缓存与合并执行
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:55
+ */
+public class DispatcherServiceDeadlineTest {
+
+    private final SampleController controller = new SampleController();
+
+    private DispatcherService dispatcherService;
+
+    /**
+     * 执行调用的线程, 超时的调用结束后检查线程的中断标记
+     */
+    private ExecutorService pool;
+
+    @Before
+    public void setUp() {
+        DispatcherProperties properties = new DispatcherProperties();
+        properties.getDeadline().getRouteTimeouts().put("/deadline/configured", 30L);
+        dispatcherService = new DispatcherService(properties, new MetricsRegistry());
+        dispatcherService.register(controller);
+        pool = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+        dispatcherService.destroy();
+    }
+
+    @Test
+    public void timesOutBeforeBinding() {
+        Map<String, String> argMap = new HashMap<>();
+        // 参数无法转换, 截止时间已过时不再转换参数
+        argMap.put("ms", "not a number");
+        String result = invoke("/deadline/sleep", argMap, new InvokeOptions().setTimeoutMillis(0L));
+        assertEquals(ErrorCode.CALL_TIMEOUT.getCode(), codeOf(result));
+        argMap.put("_deadlineMillis", String.valueOf(System.currentTimeMillis() - 1000));
+        assertEquals(ErrorCode.CALL_TIMEOUT.getCode(), codeOf(invoke("/deadline/sleep", argMap, null)));
+        assertEquals(0, controller.calls.get());
+        assertEquals(2, metrics("/deadline/sleep").getTimeoutCount());
+        // 没有截止时间时按原方式转换参数
+        argMap.remove("_deadlineMillis");
+        assertEquals(Result.COMMON_FAILED, codeOf(invoke("/deadline/sleep", argMap, null)));
+        assertEquals(2, metrics("/deadline/sleep").getTimeoutCount());
+    }
+
+    @Test
+    public void interruptsHandlerAndClearsInterruptFlag() throws Exception {
+        long start = System.nanoTime();
+        String result = invokeOnPool("/deadline/capped", sleepArgs(10000), null);
+        assertEquals(ErrorCode.CALL_TIMEOUT.getCode(), codeOf(result));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+        assertEquals(1, controller.interrupted.get());
+        assertEquals(1, metrics("/deadline/capped").getTimeoutCount());
+        // 中断只针对超时的调用, 同一线程之后的调用不受影响
+        String next = invokeOnPool("/deadline/sleep", sleepArgs(20), null);
+        assertEquals(ResultWriter.toJsonString("slept"), next);
+    }
+
+    @Test
+    public void timesOutAfterUninterruptibleHandlerReturns() throws Exception {
+        // 配置的执行时间上限, 处理器不响应中断, 返回后判定超时
+        String result = invokeOnPool("/deadline/configured", sleepArgs(100), null);
+        assertEquals(ErrorCode.CALL_TIMEOUT.getCode(), codeOf(result));
+        assertEquals(1, metrics("/deadline/configured").getTimeoutCount());
+        assertEquals(ResultWriter.toJsonString("spun"), invoke("/deadline/configured", sleepArgs(0), null));
+        assertEquals(1, metrics("/deadline/configured").getTimeoutCount());
+    }
+
+    @Test
+    public void countsTimeoutsPerRoute() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            invokeOnPool("/deadline/capped", sleepArgs(10000), null);
+        }
+        assertEquals(ResultWriter.toJsonString("capped"), invoke("/deadline/capped", sleepArgs(0), null));
+        assertEquals(3, metrics("/deadline/capped").getTimeoutCount());
+        assertEquals(0, metrics("/deadline/sleep").getTimeoutCount());
+        // 调用方指定的截止时间同样计入处理器的超时数
+        String result = invokeOnPool("/deadline/sleep", sleepArgs(10000), new InvokeOptions().setTimeoutMillis(20L));
+        assertEquals(ErrorCode.CALL_TIMEOUT.getCode(), codeOf(result));
+        assertEquals(1, metrics("/deadline/sleep").getTimeoutCount());
+        assertEquals(3, metrics("/deadline/capped").getTimeoutCount());
+    }
+
+    @Test
+    public void ignoresDeadlineArgsInCacheKey() {
+        Map<String, String> argMap = sleepArgs(0);
+        argMap.put("_deadlineMillis", String.valueOf(System.currentTimeMillis() + 10000));
+        assertEquals(ResultWriter.toJsonString("cached"), invoke("/deadline/cached", argMap, null));
+        argMap.put("_deadlineMillis", String.valueOf(System.currentTimeMillis() + 20000));
+        argMap.put("_timeoutMillis", "30000");
+        assertEquals(ResultWriter.toJsonString("cached"), invoke("/deadline/cached", argMap, null));
+        assertEquals(1, controller.cachedCalls.get());
+        assertEquals(1, dispatcherService.getResponseCacheStats().get(0).getHitCount());
+        // 其它参数不同时仍区分
+        argMap.put("ms", "1");
+        invoke("/deadline/cached", argMap, null);
+        assertEquals(2, controller.cachedCalls.get());
+    }
+
+    @Test
+    public void ignoresDeadlineArgsInCoalescingKey() throws Exception {
+        Map<String, String> first = sleepArgs(0);
+        first.put("_deadlineMillis", String.valueOf(System.currentTimeMillis() + 10000));
+        Map<String, String> second = sleepArgs(0);
+        second.put("_deadlineMillis", String.valueOf(System.currentTimeMillis() + 20000));
+        Future<String> running = pool.submit(() -> invoke("/deadline/coalesced", first, null));
+        assertTrue(controller.coalescedStarted.await(5, TimeUnit.SECONDS));
+        Future<String> joined = pool.submit(() -> invoke("/deadline/coalesced", second, null));
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dispatcherService.getCoalescingStats().get(0).getCoalescedCount() == 0 && System.nanoTime() < end) {
+            Thread.sleep(5);
+        }
+        controller.coalescedRelease.countDown();
+        assertEquals(ResultWriter.toJsonString("coalesced"), running.get(5, TimeUnit.SECONDS));
+        assertEquals(ResultWriter.toJsonString("coalesced"), joined.get(5, TimeUnit.SECONDS));
+        assertEquals(1, controller.coalescedCalls.get());
+        assertEquals(1, dispatcherService.getCoalescingStats().get(0).getCoalescedCount());
+    }
+
+    /**
+     * 在线程池中调用, 并在同一任务中检查中断标记(ThreadPoolExecutor 在任务之间会清除中断标记)
+     */
+    private String invokeOnPool(String url, Map<String, String> argMap, InvokeOptions options) throws Exception {
+        return pool.submit(() -> {
+            String result = invoke(url, argMap, options);
+            assertFalse("调用结束后线程仍有中断标记", Thread.currentThread().isInterrupted());
+            return result;
+        }).get(5, TimeUnit.SECONDS);
+    }
+
+    private String invoke(String url, Map<String, String> argMap, InvokeOptions options) {
+        return dispatcherService.invoke(url, "GET", argMap, options);
+    }
+
+    /**
+     * 失败时的错误码
+     */
+    private static String codeOf(String json) {
+        return JSON.parseObject(json).getString("code");
+    }
+
+    private RouteMetricsStats metrics(String urlPattern) {
+        return dispatcherService.getMetrics().getRoutes().stream()
+                .filter(route -> route.getUrlPattern().equals(urlPattern))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    private static Map<String, String> sleepArgs(long millis) {
+        Map<String, String> argMap = new HashMap<>();
+        argMap.put("ms", String.valueOf(millis));
+        return argMap;
+    }
+
+    @RequestMapping("/deadline")
+    public static class SampleController {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private final AtomicInteger interrupted = new AtomicInteger();
+
+        private final AtomicInteger cachedCalls = new AtomicInteger();
+
+        private final AtomicInteger coalescedCalls = new AtomicInteger();
+
+        private final CountDownLatch coalescedStarted = new CountDownLatch(1);
+
+        private final CountDownLatch coalescedRelease = new CountDownLatch(1);
+
+        @RemoteMethod
+        @GetMapping("/sleep")
+        public String sleep(@RequestParam("ms") long ms) throws InterruptedException {
+            calls.incrementAndGet();
+            Thread.sleep(ms);
+            return "slept";
+        }
+
+        @RemoteMethod(timeoutMillis = 50)
+        @GetMapping("/capped")
+        public String capped(@RequestParam("ms") long ms) throws InterruptedException {
+            try {
+                Thread.sleep(ms);
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+                throw e;
+            }
+            return "capped";
+        }
+
+        @RemoteMethod
+        @GetMapping("/configured")
+        public String configured(@RequestParam("ms") long ms) {
+            long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ms);
+            while (System.nanoTime() < end) {
+                Thread.yield();
+            }
+            return "spun";
+        }
+
+        @RemoteMethod(cacheTtlMillis = 60000)
+        @GetMapping("/cached")
+        public String cached(@RequestParam("ms") long ms) {
+            cachedCalls.incrementAndGet();
+            return "cached";
+        }
+
+        @RemoteMethod(coalesce = true)
+        @GetMapping("/coalesced")
+        public String coalesced(@RequestParam("ms") long ms) throws InterruptedException {
+            coalescedCalls.incrementAndGet();
+            coalescedStarted.countDown();
+            coalescedRelease.await(5, TimeUnit.SECONDS);
+            return "coalesced";
+        }
+    }
+}
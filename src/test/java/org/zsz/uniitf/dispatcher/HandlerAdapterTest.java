@@ -0,0 +1,128 @@
+package org.zsz.uniitf.dispatcher;
+
+import com.alibaba.fastjson.JSON;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.zsz.uniitf.dispatcher.annotation.RemoteMethod;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.dto.InvokeOptions;
+import org.zsz.uniitf.dispatcher.metrics.MetricsRegistry;
+import org.zsz.uniitf.dispatcher.support.ResultWriter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * HandlerAdapter 以整个 argMap 转换的参数: Map 类型直接复制, 自定义类型直接绑定, 结果与经 JSON 文本转换一致
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 13:00
+ */
+public class HandlerAdapterTest {
+
+    private DispatcherService dispatcherService;
+
+    @After
+    public void tearDown() {
+        dispatcherService.destroy();
+    }
+
+    @Test
+    public void copiesArgMapForMapParameters() {
+        start(false);
+        Map<String, String> argMap = argMap();
+        String expected = ResultWriter.toJsonString(JSON.parseObject(JSON.toJSONString(argMap), Map.class));
+        assertEquals(expected, invoke("/adapter/map", argMap));
+        assertEquals(expected, invoke("/adapter/hashMap", argMap));
+        // 处理器修改的是副本
+        assertFalse(argMap.containsKey("touched"));
+    }
+
+    @Test
+    public void bindsCustomTypeFromArgMapLikeJson() {
+        start(true);
+        Map<String, String> argMap = argMap();
+        Sample expected = JSON.parseObject(JSON.toJSONString(argMap), Sample.class);
+        assertEquals(ResultWriter.toJsonString(expected), invoke("/adapter/sample", argMap));
+    }
+
+    @Test
+    public void bindsCustomTypeByNameByDefault() {
+        start(false);
+        Map<String, String> argMap = argMap();
+        argMap.put("sample", "{\"name\":\"by name\"}");
+        assertEquals("by name", JSON.parseObject(invoke("/adapter/sample", argMap)).getString("name"));
+    }
+
+    private void start(boolean bindCustomTypeFromArgMap) {
+        DispatcherProperties properties = new DispatcherProperties();
+        properties.setBindCustomTypeFromArgMap(bindCustomTypeFromArgMap);
+        dispatcherService = new DispatcherService(properties, new MetricsRegistry());
+        dispatcherService.register(new SampleController());
+    }
+
+    private String invoke(String url, Map<String, String> argMap) {
+        return dispatcherService.invoke(url, "GET", argMap, (InvokeOptions) null);
+    }
+
+    private static Map<String, String> argMap() {
+        Map<String, String> argMap = new HashMap<>();
+        argMap.put("name", "通用 \"接口\"");
+        argMap.put("count", "3");
+        argMap.put("nested", "{\"a\":1}");
+        return argMap;
+    }
+
+    @RequestMapping("/adapter")
+    public static class SampleController {
+
+        @RemoteMethod
+        @GetMapping("/map")
+        public Map<String, String> map(Map<String, String> params) {
+            Map<String, String> result = new HashMap<>(params);
+            params.put("touched", "true");
+            return result;
+        }
+
+        @RemoteMethod
+        @GetMapping("/hashMap")
+        public Map<String, String> hashMap(HashMap<String, String> params) {
+            Map<String, String> result = new HashMap<>(params);
+            params.put("touched", "true");
+            return result;
+        }
+
+        @RemoteMethod
+        @GetMapping("/sample")
+        public Sample sample(Sample sample) {
+            return sample;
+        }
+    }
+
+    public static class Sample {
+
+        private String name;
+
+        private int count;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package org.zsz.uniitf.dispatcher.bind;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.annotation.JSONField;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * BeanBinder 直接绑定与经 JSON 文本绑定(原有方式)的结果逐项一致, 以及无法生成绑定计划的类型
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 13:00
+ */
+public class BeanBinderTest {
+
+    /**
+     * 参数名, 参数值; 值为字符串时与 HTTP 参数相同, 其它类型与编解码器解码的值相同.
+     * 自定义类型、集合、Map、数组属性的值为 JSON 文本, JSON 方式绑定时作为嵌套的 JSON 值
+     */
+    private static final Object[][] CASES = {
+            // 基本类型
+            {"intValue", "42"},
+            {"intValue", "-7"},
+            {"intValue", ""},
+            {"intValue", 42},
+            {"intValue", 42L},
+            {"longValue", "9007199254740993"},
+            {"longValue", 12345678901L},
+            {"doubleValue", "1.5e3"},
+            {"doubleValue", "-0.25"},
+            {"doubleValue", new BigDecimal("2.5")},
+            {"floatValue", "3.25"},
+            {"booleanValue", "true"},
+            {"booleanValue", "1"},
+            {"booleanValue", false},
+            {"charValue", "x"},
+            // 包装类型
+            {"integerValue", "13"},
+            {"integerValue", ""},
+            {"longBoxed", "-1"},
+            {"booleanBoxed", "false"},
+            {"decimal", "12345678901234567890.125"},
+            {"decimal", 1.5d},
+            {"bigInteger", "123456789012345678901234567890"},
+            {"text", "通用 \"接口\""},
+            {"text", "{\"a\":1}"},
+            // 枚举
+            {"color", "GREEN"},
+            {"color", "1"},
+            {"color", ""},
+            // 日期
+            {"date", "2026-10-18"},
+            {"date", "2026-10-18 13:00:00"},
+            {"date", "1760763600000"},
+            {"date", 1760763600000L},
+            // 嵌套的 JSON
+            {"nested", "{\"name\":\"n\",\"values\":[1,2]}"},
+            {"samples", "[{\"name\":\"a\"},{\"name\":\"b\",\"values\":[3]}]"},
+            {"tags", "[\"x\",\"y\"]"},
+            {"attributes", "{\"k\":1,\"v\":\"2\"}"},
+            {"numbers", "[1,2,3]"},
+            // 忽略大小写及 _ - 的属性名
+            {"INT_VALUE", "5"},
+            {"long-boxed", "6"},
+            {"unknown", "ignored"},
+    };
+
+    /**
+     * 值按 JSON 解析的属性
+     */
+    private static final String[] JSON_PROPERTIES = {"nested", "samples", "tags", "attributes", "numbers"};
+
+    private final BeanBinder binder = BeanBinder.forType(Sample.class);
+
+    @Test
+    public void bindsLikeJson() {
+        assertNotNull(binder);
+        for (Object[] row : CASES) {
+            Map<String, Object> argMap = new HashMap<>();
+            argMap.put((String) row[0], row[1]);
+            assertSameBinding(argMap);
+        }
+    }
+
+    @Test
+    public void bindsAllPropertiesTogether() {
+        Map<String, Object> argMap = new HashMap<>();
+        for (Object[] row : CASES) {
+            String name = (String) row[0];
+            // 同一属性的不同写法同时出现时取值取决于遍历顺序, 不参与比较
+            if (name.indexOf('_') == -1 && name.indexOf('-') == -1) {
+                argMap.putIfAbsent(name, row[1]);
+            }
+        }
+        assertSameBinding(argMap);
+        Sample sample = (Sample) binder.bind(argMap);
+        assertEquals(42, sample.getIntValue());
+        assertEquals(Color.GREEN, sample.getColor());
+        assertEquals("n", sample.getNested().getName());
+        assertEquals(2, sample.getSamples().size());
+    }
+
+    @Test
+    public void skipsNullValues() {
+        Map<String, Object> argMap = new HashMap<>();
+        argMap.put("text", null);
+        argMap.put("intValue", null);
+        Sample sample = (Sample) binder.bind(argMap);
+        assertNull(sample.getText());
+        assertEquals(0, sample.getIntValue());
+        assertSameBinding(argMap);
+    }
+
+    @Test
+    public void rejectsMalformedValuesLikeJson() {
+        Object[][] malformed = {{"intValue", "abc"}, {"longBoxed", "1.2.3"}, {"decimal", "1e"}, {"date", "not a date"}};
+        for (Object[] row : malformed) {
+            Map<String, Object> argMap = new HashMap<>();
+            argMap.put((String) row[0], row[1]);
+            try {
+                binder.bind(argMap);
+                fail("应拒绝 " + argMap);
+            } catch (ClassCastException e) {
+                // 转换失败统一为 ClassCastException
+            }
+            try {
+                JSON.parseObject(JSON.toJSONString(argMap), Sample.class);
+                fail("JSON 方式应拒绝 " + argMap);
+            } catch (RuntimeException e) {
+                // 与直接绑定一致
+            }
+        }
+    }
+
+    @Test
+    public void rejectsMalformedNestedJson() {
+        for (String name : JSON_PROPERTIES) {
+            Map<String, Object> argMap = new HashMap<>();
+            argMap.put(name, "{");
+            try {
+                binder.bind(argMap);
+                fail("应拒绝 " + argMap);
+            } catch (ClassCastException e) {
+                // 嵌套的 JSON 解析失败同样为 ClassCastException
+            }
+        }
+    }
+
+    @Test
+    public void declinesUnsupportedTypes() {
+        assertNull(BeanBinder.forType(String.class));
+        assertNull(BeanBinder.forType(Color.class));
+        assertNull(BeanBinder.forType(Annotated.class));
+        assertNull(BeanBinder.forType(Generic.class));
+        assertNull(BeanBinder.forType(NoDefaultConstructor.class));
+    }
+
+    /**
+     * 与 JSON 方式比较: 嵌套属性的 JSON 文本作为 JSON 值, 与请求体为 JSON 时相同
+     */
+    private void assertSameBinding(Map<String, Object> argMap) {
+        Map<String, Object> document = new HashMap<>(argMap);
+        for (String name : JSON_PROPERTIES) {
+            Object value = document.get(name);
+            if (value instanceof String) {
+                document.put(name, JSON.parse((String) value));
+            }
+        }
+        Object expected = JSON.parseObject(JSON.toJSONString(document), Sample.class);
+        Object actual = binder.bind(argMap);
+        assertEquals(argMap.toString(), JSON.toJSONString(expected), JSON.toJSONString(actual));
+    }
+
+    public enum Color {
+        RED, GREEN
+    }
+
+    public static class Sample {
+
+        private int intValue;
+
+        private long longValue;
+
+        private double doubleValue;
+
+        private float floatValue;
+
+        private boolean booleanValue;
+
+        private char charValue;
+
+        private Integer integerValue;
+
+        private Long longBoxed;
+
+        private Boolean booleanBoxed;
+
+        private BigDecimal decimal;
+
+        private BigInteger bigInteger;
+
+        private String text;
+
+        private Color color;
+
+        private Date date;
+
+        private Nested nested;
+
+        private List<Nested> samples;
+
+        private String[] tags;
+
+        private Map<String, Object> attributes;
+
+        public long[] numbers;
+
+        public int getIntValue() {
+            return intValue;
+        }
+
+        public void setIntValue(int intValue) {
+            this.intValue = intValue;
+        }
+
+        public long getLongValue() {
+            return longValue;
+        }
+
+        public void setLongValue(long longValue) {
+            this.longValue = longValue;
+        }
+
+        public double getDoubleValue() {
+            return doubleValue;
+        }
+
+        public void setDoubleValue(double doubleValue) {
+            this.doubleValue = doubleValue;
+        }
+
+        public float getFloatValue() {
+            return floatValue;
+        }
+
+        public void setFloatValue(float floatValue) {
+            this.floatValue = floatValue;
+        }
+
+        public boolean isBooleanValue() {
+            return booleanValue;
+        }
+
+        public void setBooleanValue(boolean booleanValue) {
+            this.booleanValue = booleanValue;
+        }
+
+        public char getCharValue() {
+            return charValue;
+        }
+
+        public void setCharValue(char charValue) {
+            this.charValue = charValue;
+        }
+
+        public Integer getIntegerValue() {
+            return integerValue;
+        }
+
+        public void setIntegerValue(Integer integerValue) {
+            this.integerValue = integerValue;
+        }
+
+        public Long getLongBoxed() {
+            return longBoxed;
+        }
+
+        public void setLongBoxed(Long longBoxed) {
+            this.longBoxed = longBoxed;
+        }
+
+        public Boolean getBooleanBoxed() {
+            return booleanBoxed;
+        }
+
+        public void setBooleanBoxed(Boolean booleanBoxed) {
+            this.booleanBoxed = booleanBoxed;
+        }
+
+        public BigDecimal getDecimal() {
+            return decimal;
+        }
+
+        public void setDecimal(BigDecimal decimal) {
+            this.decimal = decimal;
+        }
+
+        public BigInteger getBigInteger() {
+            return bigInteger;
+        }
+
+        public void setBigInteger(BigInteger bigInteger) {
+            this.bigInteger = bigInteger;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public void setText(String text) {
+            this.text = text;
+        }
+
+        public Color getColor() {
+            return color;
+        }
+
+        public void setColor(Color color) {
+            this.color = color;
+        }
+
+        public Date getDate() {
+            return date;
+        }
+
+        public void setDate(Date date) {
+            this.date = date;
+        }
+
+        public Nested getNested() {
+            return nested;
+        }
+
+        public void setNested(Nested nested) {
+            this.nested = nested;
+        }
+
+        public List<Nested> getSamples() {
+            return samples;
+        }
+
+        public void setSamples(List<Nested> samples) {
+            this.samples = samples;
+        }
+
+        public String[] getTags() {
+            return tags;
+        }
+
+        public void setTags(String[] tags) {
+            this.tags = tags;
+        }
+
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        public void setAttributes(Map<String, Object> attributes) {
+            this.attributes = attributes;
+        }
+    }
+
+    public static class Nested {
+
+        private String name;
+
+        private long[] values;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public long[] getValues() {
+            return values;
+        }
+
+        public void setValues(long[] values) {
+            this.values = values;
+        }
+    }
+
+    public static class Annotated {
+
+        @JSONField(name = "other")
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class Generic<T> {
+
+        private T value;
+
+        public T getValue() {
+            return value;
+        }
+
+        public void setValue(T value) {
+            this.value = value;
+        }
+    }
+
+    public static class NoDefaultConstructor {
+
+        private final String name;
+
+        public NoDefaultConstructor(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.zsz.uniitf.dispatcher.bind;
+
+import org.junit.Test;
+import org.zsz.uniitf.dispatcher.support.ClassUtil;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Objects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * StringConverters 的快速路径与原转换方式(ClassUtil.converterStringOrJsonValue)的结果及异常一致
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 13:00
+ */
+public class StringConvertersTest {
+
+    private static final Class<?>[] TYPES = {
+            int.class, Integer.class, long.class, Long.class, short.class, Short.class, byte.class, Byte.class,
+            double.class, Double.class, float.class, Float.class, boolean.class, Boolean.class,
+            BigDecimal.class, BigInteger.class, Color.class
+    };
+
+    private static final String[] VALUES = {
+            // 普通及带符号的值
+            "0", "42", "-42", "+42", "007", "1.5", "-0.25", "+.5", "5.",
+            // 指数
+            "1e3", "1E-3", "-2.5e+2", "1e400", "1e-400", "1e39", "1e-46", "1e-45", "0e0", "-0.0",
+            // 格式错误: 由数字及符号组成
+            "1-2", "1..2", "1e2e3", "--1", "+-1", "1e", "e1", ".", "-", "1.2.3",
+            // 格式错误: 其它字符
+            "abc", "NaN", "Infinity", "1d", "0x10", "1_000", " 1", "1 ",
+            // 空白
+            "", " ", "\t",
+            // 超出范围
+            "2147483648", "9223372036854775808", "128", "32768",
+            // 布尔值及枚举
+            "true", "false", "TRUE", "1", "RED", "green", "0"
+    };
+
+    @Test
+    public void matchesOriginalConversion() {
+        for (Class<?> type : TYPES) {
+            StringConverter original = value -> ClassUtil.converterStringOrJsonValue(value, type);
+            StringConverter converter = StringConverters.forType(type, original);
+            for (String value : VALUES) {
+                assertSameOutcome(type, value, original, converter);
+            }
+        }
+    }
+
+    @Test
+    public void neverLeaksNumberFormatException() {
+        StringConverter fallback = value -> {
+            throw new ClassCastException(value);
+        };
+        for (Class<?> type : new Class<?>[]{double.class, Float.class, BigDecimal.class}) {
+            StringConverter converter = StringConverters.forType(type, fallback);
+            for (String value : new String[]{"1-2", "1..2", "1e2e3", "--1", "1+1"}) {
+                try {
+                    converter.convert(value);
+                    fail(type + " 应拒绝 " + value);
+                } catch (ClassCastException e) {
+                    assertEquals(value, e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void usesFastPathForPlainValues() {
+        StringConverter fallback = value -> {
+            throw new AssertionError("不应使用 fallback: " + value);
+        };
+        assertEquals(-42, StringConverters.forType(int.class, fallback).convert("-42"));
+        assertEquals(1500d, StringConverters.forType(Double.class, fallback).convert("1.5e3"));
+        assertEquals(-0.25f, StringConverters.forType(float.class, fallback).convert("-0.25"));
+        assertEquals(new BigDecimal("2.5E+2"), StringConverters.forType(BigDecimal.class, fallback).convert("2.5e2"));
+        assertEquals(Boolean.TRUE, StringConverters.forType(boolean.class, fallback).convert("true"));
+        assertSame(Color.GREEN, StringConverters.forType(Color.class, fallback).convert("GREEN"));
+        assertSame(fallback, StringConverters.forType(Object.class, fallback));
+    }
+
+    /**
+     * 结果相等, 或抛出同一类型的异常
+     */
+    private static void assertSameOutcome(Class<?> type, String value, StringConverter original, StringConverter converter) {
+        String context = type.getSimpleName() + " [" + value + "]";
+        Object expected;
+        try {
+            expected = original.convert(value);
+        } catch (RuntimeException e) {
+            try {
+                Object actual = converter.convert(value);
+                fail(context + " 应抛出 " + e.getClass().getSimpleName() + ", 实际为 " + actual);
+            } catch (RuntimeException actual) {
+                assertEquals(context, e.getClass(), actual.getClass());
+            }
+            return;
+        }
+        Object actual = converter.convert(value);
+        if (!Objects.equals(expected, actual)) {
+            fail(context + " 期望 " + expected + ", 实际为 " + actual);
+        }
+    }
+
+    public enum Color {
+        RED, GREEN
+    }
+}
@@ -0,0 +1,41 @@
+package org.zsz.uniitf.dispatcher.cache;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ResponseCacheBudget 的上限及淘汰目标
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 19:40
+ */
+public class ResponseCacheBudgetTest {
+
+    @Test
+    public void tracksUsageAgainstLimitAndTarget() {
+        ResponseCacheBudget budget = new ResponseCacheBudget(1000);
+        assertFalse(budget.isExceeded());
+        assertTrue(budget.isBelowTarget());
+        budget.add(900);
+        assertTrue(budget.isBelowTarget());
+        budget.add(100);
+        // 等于上限不算超出, 但高于淘汰目标
+        assertFalse(budget.isExceeded());
+        assertFalse(budget.isBelowTarget());
+        budget.add(1);
+        assertTrue(budget.isExceeded());
+        budget.add(-101);
+        assertFalse(budget.isExceeded());
+        assertTrue(budget.isBelowTarget());
+    }
+
+    @Test
+    public void zeroLimitRejectsAnyUsage() {
+        ResponseCacheBudget budget = new ResponseCacheBudget(0);
+        assertFalse(budget.isExceeded());
+        budget.add(1);
+        assertTrue(budget.isExceeded());
+        assertFalse(budget.isBelowTarget());
+    }
+}
@@ -0,0 +1,134 @@
+package org.zsz.uniitf.dispatcher.cache;
+
+import org.junit.Test;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.zsz.uniitf.dispatcher.HandlerDefinition;
+import org.zsz.uniitf.dispatcher.RemoteRequestInfo;
+import org.zsz.uniitf.dispatcher.annotation.RemoteMethod;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.dto.ResponseCacheStats;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * ResponseCacheRegistry 按注解及 http method 创建缓存、按 url 模板清除, 以及注销后释放容量
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 19:40
+ */
+public class ResponseCacheRegistryTest {
+
+    private final SampleController controller = new SampleController();
+
+    @Test
+    public void registersDeclaredGetAndHeadHandlers() throws NoSuchMethodException {
+        ResponseCacheRegistry registry = registry(true, Long.MAX_VALUE);
+        HandlerDefinition get = definition("/item", RequestMethod.GET, "cached");
+        ResponseCache cache = registry.register(get);
+        assertNotNull(cache);
+        assertSame(cache, registry.register(get));
+        assertNotNull(registry.register(definition("/item", RequestMethod.HEAD, "cached")));
+        assertNull(registry.register(definition("/plain", RequestMethod.GET, "plain")));
+        assertNull(registry.register(definition("/marked", RequestMethod.GET, "marked")));
+        assertEquals(2, registry.snapshot().size());
+    }
+
+    @Test
+    public void ignoresHandlersWithSideEffects() throws NoSuchMethodException {
+        ResponseCacheRegistry registry = registry(true, Long.MAX_VALUE);
+        for (RequestMethod method : new RequestMethod[]{RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE,
+                RequestMethod.PATCH, null}) {
+            assertNull(String.valueOf(method), registry.register(definition("/item", method, "cached")));
+        }
+        assertEquals(0, registry.snapshot().size());
+    }
+
+    @Test
+    public void ignoresDeclarationsWhenDisabled() throws NoSuchMethodException {
+        ResponseCacheRegistry registry = registry(false, Long.MAX_VALUE);
+        assertNull(registry.register(definition("/item", RequestMethod.GET, "cached")));
+    }
+
+    @Test
+    public void invalidatesByUrlPattern() throws NoSuchMethodException {
+        ResponseCacheRegistry registry = registry(true, Long.MAX_VALUE);
+        ResponseCache item = registry.register(definition("/item/{id}", RequestMethod.GET, "cached"));
+        ResponseCache other = registry.register(definition("/other", RequestMethod.GET, "cached"));
+        item.put("a", "1");
+        item.put("b", "2");
+        other.put("a", "3");
+        assertEquals(0, registry.invalidate("/item"));
+        assertEquals(2, registry.invalidate("/item/{id}"));
+        assertNull(item.get("a"));
+        assertNotNull(other.get("a"));
+        item.put("a", "1");
+        assertEquals(2, registry.invalidateAll());
+        assertNull(other.get("a"));
+    }
+
+    @Test
+    public void releasesBudgetOnUnregister() throws NoSuchMethodException {
+        ResponseCacheRegistry registry = registry(true, 1000);
+        HandlerDefinition first = definition("/first", RequestMethod.GET, "cached");
+        ResponseCache firstCache = registry.register(first);
+        ResponseCache second = registry.register(definition("/second", RequestMethod.GET, "cached"));
+        firstCache.put("a", text(300));
+        firstCache.put("b", text(300));
+        registry.unregister(first);
+        assertEquals(1, registry.snapshot().size());
+        // 注销的缓存释放了容量, 另一个缓存不需要淘汰
+        second.put("a", text(300));
+        second.put("b", text(300));
+        List<ResponseCacheStats> stats = registry.snapshot();
+        assertEquals("/second", stats.get(0).getUrlPattern());
+        assertEquals(2, stats.get(0).getSize());
+        assertEquals(0, stats.get(0).getEvictionCount());
+        // 已注销的缓存不再保留结果
+        firstCache.put("c", "value");
+        assertNull(firstCache.get("c"));
+        assertNotSame(firstCache, registry.register(first));
+    }
+
+    private ResponseCacheRegistry registry(boolean enabled, long maxBytes) {
+        DispatcherProperties.ResponseCacheProperties properties = new DispatcherProperties.ResponseCacheProperties();
+        properties.setEnabled(enabled);
+        properties.setMaxBytes(maxBytes);
+        return new ResponseCacheRegistry(properties, Collections.emptySet());
+    }
+
+    private HandlerDefinition definition(String url, RequestMethod httpMethod, String methodName) throws NoSuchMethodException {
+        return new HandlerDefinition(new RemoteRequestInfo(url, httpMethod), controller,
+                SampleController.class.getMethod(methodName));
+    }
+
+    private static String text(int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append('x');
+        }
+        return builder.toString();
+    }
+
+    public static class SampleController {
+
+        @RemoteMethod(cacheTtlMillis = 60000)
+        public String cached() {
+            return "cached";
+        }
+
+        @RemoteMethod
+        public String marked() {
+            return "marked";
+        }
+
+        public String plain() {
+            return "plain";
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package org.zsz.uniitf.dispatcher.cache;
+
+import org.junit.Test;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.zsz.uniitf.dispatcher.HandlerDefinition;
+import org.zsz.uniitf.dispatcher.RemoteRequestInfo;
+import org.zsz.uniitf.dispatcher.dto.ResponseCacheStats;
+import org.zsz.uniitf.dispatcher.support.SerializedResult;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ResponseCache 的过期及 stale 时间、条目数及字节数上限的淘汰、清除, 以及命中率统计
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 19:40
+ */
+public class ResponseCacheTest {
+
+    private static final String[] ALL_PARAMS = {};
+
+    @Test
+    public void expiresAfterTtl() throws InterruptedException {
+        ResponseCache cache = cache(50, 0, 100, ALL_PARAMS, budget());
+        Object result = cache.put("k", "value");
+        assertTrue(result instanceof SerializedResult);
+        assertSame(result, cache.get("k").getResult());
+        Thread.sleep(80);
+        assertNull(cache.get("k"));
+        ResponseCacheStats stats = cache.snapshot();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        // 过期的条目在查找时移除
+        assertEquals(0, stats.getSize());
+        assertEquals(0, stats.getBytes());
+    }
+
+    @Test
+    public void returnsStaleEntryAndRefreshesOnce() throws InterruptedException {
+        ResponseCache cache = cache(50, 60000, 100, ALL_PARAMS, budget());
+        cache.put("k", "old");
+        ResponseCache.Entry fresh = cache.get("k");
+        // 未过期时不刷新
+        assertFalse(fresh.tryStartRefresh());
+        Thread.sleep(80);
+        ResponseCache.Entry stale = cache.get("k");
+        assertEquals("old", stale.getResult().toString());
+        assertTrue(stale.tryStartRefresh());
+        assertFalse(cache.get("k").tryStartRefresh());
+        // 刷新失败后允许再次触发
+        stale.refreshFailed();
+        assertTrue(cache.get("k").tryStartRefresh());
+        cache.put("k", "new");
+        ResponseCache.Entry refreshed = cache.get("k");
+        assertEquals("new", refreshed.getResult().toString());
+        assertFalse(refreshed.tryStartRefresh());
+        ResponseCacheStats stats = cache.snapshot();
+        assertEquals(2, stats.getHitCount());
+        assertEquals(3, stats.getStaleHitCount());
+        assertEquals(1.0, stats.getHitRate(), 0.0);
+    }
+
+    @Test
+    public void reportsHitRate() {
+        ResponseCache cache = cache(60000, 0, 100, ALL_PARAMS, budget());
+        assertEquals(0.0, cache.snapshot().getHitRate(), 0.0);
+        assertNull(cache.get("k"));
+        cache.put("k", "value");
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(cache.get("k"));
+        }
+        ResponseCacheStats stats = cache.snapshot();
+        assertEquals(3, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(0.75, stats.getHitRate(), 1e-9);
+        assertEquals(60000, stats.getTtlMillis());
+        assertEquals("/cache", stats.getUrlPattern());
+    }
+
+    @Test
+    public void evictsEarliestExpiringEntriesOverMaxEntries() {
+        ResponseCache cache = cache(60000, 0, 10, ALL_PARAMS, budget());
+        for (int i = 0; i <= 10; i++) {
+            cache.put("k" + i, i);
+        }
+        // 超出后淘汰到上限的 90%
+        ResponseCacheStats stats = cache.snapshot();
+        assertEquals(9, stats.getSize());
+        assertEquals(2, stats.getEvictionCount());
+        assertNull(cache.get("k0"));
+        assertNull(cache.get("k1"));
+        assertNotNull(cache.get("k10"));
+    }
+
+    @Test
+    public void evictsWhenBudgetIsExceeded() {
+        ResponseCacheBudget budget = new ResponseCacheBudget(1000);
+        ResponseCache cache = cache(60000, 0, 100, ALL_PARAMS, budget);
+        String value = text(200);
+        for (int i = 0; i < 10; i++) {
+            cache.put("k" + i, value);
+            assertFalse(budget.isExceeded());
+        }
+        ResponseCacheStats stats = cache.snapshot();
+        assertTrue(stats.getEvictionCount() > 0);
+        assertTrue(stats.getBytes() <= 1000);
+        assertNull(cache.get("k0"));
+        assertNotNull(cache.get("k9"));
+    }
+
+    @Test
+    public void sharesBudgetBetweenCaches() {
+        ResponseCacheBudget budget = new ResponseCacheBudget(1000);
+        ResponseCache first = cache(60000, 0, 100, ALL_PARAMS, budget);
+        ResponseCache second = cache(60000, 0, 100, ALL_PARAMS, budget);
+        String value = text(200);
+        first.put("a0", value);
+        first.put("a1", value);
+        second.put("b0", value);
+        assertFalse(budget.isExceeded());
+        assertEquals(0, first.snapshot().getEvictionCount());
+        // 另一个缓存占用的容量也计入上限
+        first.put("a2", value);
+        assertFalse(budget.isExceeded());
+        assertTrue(first.snapshot().getEvictionCount() > 0);
+        assertNotNull(second.get("b0"));
+    }
+
+    @Test
+    public void invalidatesAllEntries() {
+        ResponseCacheBudget budget = new ResponseCacheBudget(1000);
+        ResponseCache cache = cache(60000, 0, 100, ALL_PARAMS, budget);
+        cache.put("a", text(400));
+        cache.put("b", text(400));
+        assertEquals(2, cache.snapshot().getSize());
+        assertFalse(budget.isBelowTarget());
+        assertEquals(2, cache.invalidate());
+        assertEquals(0, cache.snapshot().getBytes());
+        assertTrue(budget.isBelowTarget());
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    public void keepsNothingAfterClose() {
+        ResponseCache cache = cache(60000, 0, 100, ALL_PARAMS, budget());
+        cache.put("a", "value");
+        cache.close();
+        assertEquals(0, cache.snapshot().getSize());
+        assertEquals("value", cache.put("a", "value").toString());
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.snapshot().getBytes());
+    }
+
+    @Test
+    public void skipsUnsupportedResults() {
+        ResponseCache cache = cache(60000, 0, 100, ALL_PARAMS, budget());
+        CompletableFuture<String> async = CompletableFuture.completedFuture("async");
+        assertSame(async, cache.put("k", async));
+        byte[] bytes = {1, 2};
+        assertSame(bytes, cache.put("k", bytes));
+        assertNull(cache.get("k"));
+    }
+
+    @Test
+    public void buildsKeyFromDeclaredOrAllParams() {
+        Map<String, Object> argMap = new HashMap<>();
+        argMap.put("id", "1");
+        argMap.put("trace", "x");
+        argMap.put("timeout", "100");
+        Map<String, Object> other = new HashMap<>(argMap);
+        other.put("trace", "y");
+        other.put("timeout", "200");
+
+        ResponseCache byId = cache(60000, 0, 100, new String[]{"id"}, budget());
+        assertEquals(byId.key(argMap), byId.key(other));
+
+        ResponseCache byAll = new ResponseCache(definition(), 60000, 0, 100, ALL_PARAMS,
+                Collections.singleton("timeout"), budget());
+        assertNotEquals(byAll.key(argMap), byAll.key(other));
+        other.put("trace", "x");
+        // 忽略的参数不参与 key
+        assertEquals(byAll.key(argMap), byAll.key(other));
+        other.put("id", "2");
+        assertNotEquals(byAll.key(argMap), byAll.key(other));
+    }
+
+    private static ResponseCache cache(long ttlMillis, long staleMillis, int maxEntries, String[] keyParams,
+                                       ResponseCacheBudget budget) {
+        return new ResponseCache(definition(), ttlMillis, staleMillis, maxEntries, keyParams, Collections.emptySet(), budget);
+    }
+
+    private static ResponseCacheBudget budget() {
+        return new ResponseCacheBudget(Long.MAX_VALUE);
+    }
+
+    private static HandlerDefinition definition() {
+        try {
+            return new HandlerDefinition(new RemoteRequestInfo("/cache", RequestMethod.GET),
+                    new Object(), Object.class.getMethod("toString"));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String text(int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append('x');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,343 @@
+package org.zsz.uniitf.dispatcher.client;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.zsz.uniitf.dispatcher.DispatcherService;
+import org.zsz.uniitf.dispatcher.annotation.RemoteMethod;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.dto.Result;
+import org.zsz.uniitf.dispatcher.exception.RemoteInvokeException;
+import org.zsz.uniitf.dispatcher.metrics.MetricsRegistry;
+import org.zsz.uniitf.dispatcher.server.DispatcherHttpServer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * DispatcherClient 经内嵌 HTTP 服务(随机端口)调用 DispatcherService
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:40
+ */
+public class DispatcherClientIT {
+
+    /**
+     * 服务端关闭空闲连接的时间, 客户端的空闲超时更长, 使连接池中留下已被服务端关闭的连接
+     */
+    private static final long SERVER_IDLE_TIMEOUT_MILLIS = 200;
+
+    /**
+     * 等待服务端关闭空闲连接, selector 线程每秒检查一次空闲连接
+     */
+    private static final long STALE_WAIT_MILLIS = SERVER_IDLE_TIMEOUT_MILLIS + 1500;
+
+    private final SampleController controller = new SampleController();
+
+    private DispatcherService dispatcherService;
+
+    private DispatcherHttpServer server;
+
+    private final List<DispatcherClient> clients = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        DispatcherProperties properties = new DispatcherProperties();
+        properties.getServer().setPort(0);
+        properties.getServer().setIdleTimeoutMillis(SERVER_IDLE_TIMEOUT_MILLIS);
+        properties.setBindCustomTypeFromArgMap(true);
+        dispatcherService = new DispatcherService(properties, new MetricsRegistry());
+        dispatcherService.register(controller);
+        server = new DispatcherHttpServer(dispatcherService, properties);
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        for (DispatcherClient client : clients) {
+            client.destroy();
+        }
+        server.stop();
+        dispatcherService.destroy();
+    }
+
+    @Test
+    public void invokesSynchronously() {
+        SampleApi api = client(0, 1).create(SampleApi.class);
+        assertSame(api, clients.get(0).create(SampleApi.class));
+        assertEquals("hello 通用 接口", api.hello("通用 接口"));
+        assertEquals(3, api.length("abc"));
+        // 服务端按参数名绑定, 与 @RequestParam 的名称无关
+        assertEquals(2, api.lengthOf("ab"));
+        api.touch();
+        assertEquals(1, controller.touched.get());
+    }
+
+    @Test
+    public void invokesAsynchronously() throws Exception {
+        SampleApi api = client(0, 1).create(SampleApi.class);
+        CompletableFuture<String> future = api.helloAsync("a");
+        assertEquals("hello a!", future.thenApply(value -> value + "!").get(5, TimeUnit.SECONDS));
+        try {
+            api.failAsync().get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RemoteInvokeException);
+            assertEquals(Result.COMMON_FAILED, ((RemoteInvokeException) e.getCause()).getCode());
+        }
+    }
+
+    @Test
+    public void expandsUrlTemplate() {
+        SampleApi api = client(0, 1).create(SampleApi.class);
+        Map<String, Object> order = api.order(42L, 7);
+        assertEquals(42L, ((Number) order.get("id")).longValue());
+        assertEquals(7, order.get("count"));
+        // 模板变量不再作为参数传递, 可选参数为 null 时使用服务端的默认值
+        assertEquals(1, api.order(43L, null).get("count"));
+    }
+
+    @Test
+    public void expandsDtoArguments() {
+        SampleApi api = client(0, 1).create(SampleApi.class);
+        Sample sample = new Sample();
+        sample.setName("s");
+        sample.setValues(new long[]{1, 2});
+        Sample echoed = api.echo(sample, 3);
+        assertEquals("s", echoed.getName());
+        assertArrayEquals(new long[]{3, 6}, echoed.getValues());
+    }
+
+    @Test
+    public void mapsFailedResults() {
+        SampleApi api = client(0, 1).create(SampleApi.class);
+        try {
+            api.fail();
+            fail();
+        } catch (RemoteInvokeException e) {
+            assertEquals(Result.COMMON_FAILED, e.getCode());
+            assertTrue(e.getMessage(), e.getMessage().contains("boom"));
+        }
+        try {
+            api.missing();
+            fail();
+        } catch (RemoteInvokeException e) {
+            assertTrue(e.getCode() != null && !Result.SUCCESS.equals(e.getCode()));
+        }
+        try {
+            api.nothing();
+            fail();
+        } catch (RemoteInvokeException e) {
+            assertEquals(Result.SUCCESS, e.getCode());
+            assertTrue(e.getMessage(), e.getMessage().contains("不能转为基本类型"));
+        }
+        assertNull(api.nothingBoxed());
+    }
+
+    @Test
+    public void batchesCallsAcrossThreads() throws Exception {
+        SampleApi api = client(20, 50).create(SampleApi.class);
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                int index = i;
+                // 同一批中混合不同的方法、GET 与 POST
+                futures.add(callers.submit(() -> index % 10 == 0
+                        ? String.valueOf(api.order((long) index, 2).get("id"))
+                        : index % 10 == 1 ? String.valueOf(api.length("n" + index)) : api.hello("n" + index)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                String expected = i % 10 == 0 ? String.valueOf(i) : i % 10 == 1 ? String.valueOf(("n" + i).length()) : "hello n" + i;
+                assertEquals(expected, futures.get(i).get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        // 批量请求中失败的调用只影响自己
+        try {
+            api.fail();
+            fail();
+        } catch (RemoteInvokeException e) {
+            assertEquals(Result.COMMON_FAILED, e.getCode());
+        }
+    }
+
+    @Test
+    public void retriesStaleConnectionForIdempotentCalls() throws Exception {
+        SampleApi api = client(0, 1).create(SampleApi.class);
+        assertEquals("hello a", api.hello("a"));
+        // 连接池中唯一的连接已被服务端因空闲关闭, GET 调用换新连接重试
+        Thread.sleep(STALE_WAIT_MILLIS);
+        assertEquals("hello b", api.hello("b"));
+    }
+
+    @Test
+    public void doesNotResendNonIdempotentCallsOnStaleConnection() throws Exception {
+        SampleApi api = client(0, 1).create(SampleApi.class);
+        api.touch();
+        Thread.sleep(STALE_WAIT_MILLIS);
+        try {
+            // 请求已写出而服务端可能已执行, POST 调用不重试
+            api.touch();
+            fail();
+        } catch (RemoteInvokeException e) {
+            assertNull(e.getCode());
+        }
+        assertEquals(1, controller.touched.get());
+        api.touch();
+        assertEquals(2, controller.touched.get());
+    }
+
+    private DispatcherClient client(long batchWindowMillis, int maxBatchSize) {
+        DispatcherProperties properties = new DispatcherProperties();
+        properties.getClient().setPort(server.getPort());
+        properties.getClient().setMaxConnections(1);
+        properties.getClient().setReadTimeoutMillis(5000);
+        properties.getClient().setIdleTimeoutMillis(60000);
+        properties.getClient().setBatchWindowMillis(batchWindowMillis);
+        properties.getClient().setMaxBatchSize(maxBatchSize);
+        DispatcherClient client = new DispatcherClient(properties);
+        clients.add(client);
+        return client;
+    }
+
+    @RequestMapping("/sample")
+    public interface SampleApi {
+
+        @GetMapping("/hello")
+        String hello(@RequestParam("name") String name);
+
+        @GetMapping("/hello")
+        CompletableFuture<String> helloAsync(@RequestParam("name") String name);
+
+        @GetMapping("/length")
+        int length(@RequestParam("text") String text);
+
+        @GetMapping("/length")
+        int lengthOf(@RequestParam("value") String text);
+
+        @PostMapping("/touch")
+        void touch();
+
+        @GetMapping("/orders/{id}")
+        Map<String, Object> order(@RequestParam("id") Long id, @RequestParam("count") Integer count);
+
+        @PostMapping("/echo")
+        Sample echo(Sample sample, @RequestParam("factor") int factor);
+
+        @GetMapping("/fail")
+        String fail();
+
+        @GetMapping("/fail")
+        CompletableFuture<String> failAsync();
+
+        @GetMapping("/missing")
+        String missing();
+
+        @GetMapping("/nothing")
+        int nothing();
+
+        @GetMapping("/nothing")
+        Integer nothingBoxed();
+    }
+
+    @Controller
+    @RequestMapping("/sample")
+    public static class SampleController {
+
+        private final AtomicInteger touched = new AtomicInteger();
+
+        @RemoteMethod
+        @GetMapping("/hello")
+        public String hello(@RequestParam("name") String name) {
+            return "hello " + name;
+        }
+
+        @RemoteMethod
+        @GetMapping("/length")
+        public int length(@RequestParam("text") String text) {
+            return text.length();
+        }
+
+        @RemoteMethod
+        @PostMapping("/touch")
+        public void touch() {
+            touched.incrementAndGet();
+        }
+
+        @RemoteMethod
+        @GetMapping("/orders/{id}")
+        public Map<String, Object> order(@RequestParam("id") long id, @RequestParam(value = "count", defaultValue = "1") int count) {
+            Map<String, Object> order = new LinkedHashMap<>();
+            order.put("id", id);
+            order.put("count", count);
+            return order;
+        }
+
+        @RemoteMethod
+        @PostMapping("/echo")
+        public Sample echo(Sample sample, @RequestParam("factor") int factor) {
+            long[] values = sample.getValues();
+            for (int i = 0; i < values.length; i++) {
+                values[i] *= factor;
+            }
+            return sample;
+        }
+
+        @RemoteMethod
+        @GetMapping("/fail")
+        public String fail() {
+            throw new IllegalStateException("boom");
+        }
+
+        @RemoteMethod
+        @GetMapping("/nothing")
+        public Integer nothing() {
+            return null;
+        }
+    }
+
+    public static class Sample {
+
+        private String name;
+
+        private long[] values;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public long[] getValues() {
+            return values;
+        }
+
+        public void setValues(long[] values) {
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package org.zsz.uniitf.dispatcher.coalesce;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.zsz.uniitf.dispatcher.HandlerDefinition;
+import org.zsz.uniitf.dispatcher.RemoteRequestInfo;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.deadline.Deadline;
+import org.zsz.uniitf.dispatcher.deadline.DeadlineWatchdog;
+import org.zsz.uniitf.dispatcher.dto.CoalescingStats;
+import org.zsz.uniitf.dispatcher.support.HandlerCall;
+import org.zsz.uniitf.dispatcher.support.SerializedResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * SingleFlight 并发调用的合并: 共用结果及异常、等待数上限、不能共用的结果, 以及有上限的等待
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 19:10
+ */
+public class SingleFlightTest {
+
+    private static final Map<String, String> ARGS = Collections.singletonMap("id", "1");
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    public void sharesResultWithWaiters() throws Throwable {
+        SingleFlight flight = flight(10, 10000);
+        List<Future<Object>> futures = submit(flight, 5, blocking("value"));
+        awaitStats(flight, stats -> stats.getCoalescedCount() == 4);
+        release.countDown();
+        Object first = futures.get(0).get(5, TimeUnit.SECONDS);
+        assertTrue(first instanceof SerializedResult);
+        for (Future<Object> future : futures) {
+            assertSame(first, future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        CoalescingStats stats = flight.snapshot();
+        assertEquals(1, stats.getExecutionCount());
+        assertEquals(0, stats.getInFlight());
+        // 执行结束即移除, 不保留结果
+        assertEquals("value", flight.execute(ARGS, () -> "value").toString());
+        assertEquals(2, flight.snapshot().getExecutionCount());
+    }
+
+    @Test
+    public void startsNewFlightWhenWaitersAreFull() throws Exception {
+        SingleFlight flight = flight(2, 10000);
+        List<Future<Object>> futures = submit(flight, 3, blocking("value"));
+        awaitStats(flight, stats -> stats.getCoalescedCount() == 2);
+        // 等待数已满, 新的调用替换为新的一次执行, 之后的调用加入新的执行
+        futures.addAll(submit(flight, 2, blocking("value")));
+        awaitStats(flight, stats -> stats.getOverflowCount() == 1 && stats.getCoalescedCount() == 3);
+        release.countDown();
+        for (Future<Object> future : futures) {
+            assertEquals("value", future.get(5, TimeUnit.SECONDS).toString());
+        }
+        assertEquals(2, calls.get());
+        assertEquals(2, flight.snapshot().getExecutionCount());
+    }
+
+    @Test
+    public void propagatesSameException() throws Exception {
+        SingleFlight flight = flight(10, 10000);
+        IllegalStateException error = new IllegalStateException("boom");
+        List<Future<Object>> futures = submit(flight, 3, () -> {
+            calls.incrementAndGet();
+            release.await();
+            throw error;
+        });
+        awaitStats(flight, stats -> stats.getCoalescedCount() == 2);
+        release.countDown();
+        for (Future<Object> future : futures) {
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                fail();
+            } catch (ExecutionException e) {
+                assertSame(error, e.getCause());
+            }
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void runsSeparatelyWhenResultIsNotShareable() throws Exception {
+        SingleFlight flight = flight(10, 10000);
+        List<Future<Object>> futures = submit(flight, 3, () -> {
+            calls.incrementAndGet();
+            release.await();
+            return CompletableFuture.completedFuture("async");
+        });
+        awaitStats(flight, stats -> stats.getCoalescedCount() == 2);
+        release.countDown();
+        List<Object> results = new ArrayList<>();
+        for (Future<Object> future : futures) {
+            Object result = future.get(5, TimeUnit.SECONDS);
+            assertTrue(result instanceof CompletableFuture);
+            results.add(result);
+        }
+        // 异步结果不共用, 等待的调用各自执行
+        assertEquals(3, calls.get());
+        assertNotSame(results.get(0), results.get(1));
+        assertEquals(1, flight.snapshot().getExecutionCount());
+    }
+
+    @Test(timeout = 10000)
+    public void runsItselfWhenWaitExceedsWindow() throws Throwable {
+        SingleFlight flight = flight(10, 100);
+        Future<Object> leader = submit(flight, 1, blocking("slow")).get(0);
+        awaitStats(flight, stats -> stats.getInFlight() == 1);
+        long start = System.nanoTime();
+        // 执行中的调用没有结束, 等待一个窗口后自己执行
+        assertEquals("fast", flight.execute(ARGS, () -> "fast"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 100);
+        assertEquals(1, flight.snapshot().getWaitTimeoutCount());
+        release.countDown();
+        assertEquals("slow", leader.get(5, TimeUnit.SECONDS).toString());
+    }
+
+    @Test(timeout = 10000)
+    public void stopsWaitingAtDeadline() throws Throwable {
+        SingleFlight flight = flight(10, 60000);
+        submit(flight, 1, blocking("slow"));
+        awaitStats(flight, stats -> stats.getInFlight() == 1);
+        DispatcherProperties.DeadlineProperties properties = new DispatcherProperties.DeadlineProperties();
+        // 检查间隔很长, 由等待本身在截止时返回
+        properties.setTickMillis(60000);
+        DeadlineWatchdog watchdog = new DeadlineWatchdog(properties);
+        long start = System.nanoTime();
+        DeadlineWatchdog.Guard guard = watchdog.guard(Deadline.after(100));
+        try {
+            flight.execute(ARGS, () -> {
+                fail("已截止的调用不应执行");
+                return null;
+            });
+            fail();
+        } catch (TimeoutException e) {
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 100);
+        } finally {
+            assertTrue(guard.release());
+            watchdog.shutdown();
+        }
+        assertEquals(1, flight.snapshot().getWaitTimeoutCount());
+    }
+
+    private HandlerCall blocking(String value) {
+        return () -> {
+            calls.incrementAndGet();
+            release.await();
+            return value;
+        };
+    }
+
+    /**
+     * 依次提交, 第一个调用开始执行后再提交其余调用
+     */
+    private List<Future<Object>> submit(SingleFlight flight, int count, HandlerCall call) throws Exception {
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            futures.add(callers.submit(() -> {
+                try {
+                    return flight.execute(ARGS, call);
+                } catch (Exception | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new IllegalStateException(t);
+                }
+            }));
+            if (i == 0) {
+                awaitStats(flight, stats -> stats.getInFlight() == 1);
+            }
+        }
+        return futures;
+    }
+
+    private static void awaitStats(SingleFlight flight, Predicate<CoalescingStats> condition) throws InterruptedException {
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.test(flight.snapshot())) {
+            if (System.nanoTime() > end) {
+                fail("等待超时: " + flight.snapshot());
+            }
+            Thread.sleep(2);
+        }
+    }
+
+    private static SingleFlight flight(int maxWaiters, long windowMillis) throws NoSuchMethodException {
+        HandlerDefinition definition = new HandlerDefinition(new RemoteRequestInfo("/flight", RequestMethod.GET),
+                new Object(), Object.class.getMethod("toString"));
+        return new SingleFlight(definition, maxWaiters, windowMillis, Collections.emptySet());
+    }
+}
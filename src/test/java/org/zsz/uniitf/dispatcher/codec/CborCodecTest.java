@@ -0,0 +1,313 @@
+package org.zsz.uniitf.dispatcher.codec;
+
+import com.alibaba.fastjson.JSONObject;
+import org.junit.Test;
+import org.zsz.uniitf.dispatcher.support.SerializedResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * CborWriter 输出的每种类型经 CborReader 读回, 以及格式错误、数据不完整时的错误
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 22:10
+ */
+public class CborCodecTest {
+
+    private final CborCodec codec = new CborCodec();
+
+    @Test
+    public void roundTripsScalars() throws IOException {
+        assertNull(roundTrip(null));
+        assertEquals(Boolean.TRUE, roundTrip(true));
+        assertEquals(Boolean.FALSE, roundTrip(false));
+        assertEquals("", roundTrip(""));
+        assertEquals("通用接口 😀", roundTrip("通用接口 😀"));
+        char[] longText = new char[20000];
+        Arrays.fill(longText, 'x');
+        // 超过写缓冲区大小, 不经过缓冲区写出
+        assertEquals(new String(longText), roundTrip(new String(longText)));
+        assertEquals("c", roundTrip('c'));
+        assertEquals("SECONDS", roundTrip(java.util.concurrent.TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void roundTripsIntegersWithShortestHead() throws IOException {
+        long[] values = {0, 23, 24, 255, 256, 65535, 65536, 0xffffffffL, 0x100000000L, Long.MAX_VALUE,
+                -1, -24, -25, -256, -257, -65536, -65537, Integer.MIN_VALUE, Integer.MIN_VALUE - 1L, Long.MIN_VALUE};
+        int[] headLengths = {1, 1, 2, 2, 3, 3, 5, 5, 9, 9, 1, 1, 2, 2, 3, 3, 5, 5, 5, 9};
+        for (int i = 0; i < values.length; i++) {
+            long value = values[i];
+            byte[] encoded = encode(value);
+            assertEquals("head of " + value, headLengths[i], encoded.length);
+            Object decoded = decode(encoded);
+            assertEquals(String.valueOf(value), ((Number) decoded).longValue(), value);
+            // 在 int 范围内时读回为 Integer
+            assertEquals(String.valueOf(value), value == (int) value ? Integer.class : Long.class, decoded.getClass());
+        }
+        assertEquals(7, roundTrip((short) 7));
+        assertEquals(-7, roundTrip((byte) -7));
+        assertEquals(5, roundTrip(new AtomicInteger(5)));
+        assertEquals(6, roundTrip(new AtomicLong(6)));
+        LongAdder adder = new LongAdder();
+        adder.add(8);
+        assertEquals(8, roundTrip(adder));
+    }
+
+    @Test
+    public void roundTripsFloatingPoint() throws IOException {
+        // 可以无损表示为 float32 的 double 使用 float32
+        assertEquals(5, encode(1.5d).length);
+        assertEquals(1.5f, roundTrip(1.5d));
+        assertEquals(9, encode(0.1d).length);
+        assertEquals(0.1d, roundTrip(0.1d));
+        assertEquals(0.1f, roundTrip(0.1f));
+        assertEquals(Double.NaN, ((Number) roundTrip(Double.NaN)).doubleValue(), 0d);
+        assertEquals(Float.NEGATIVE_INFINITY, roundTrip(Double.NEGATIVE_INFINITY));
+        DoubleAdder other = new DoubleAdder();
+        other.add(2.5);
+        assertEquals(2.5f, roundTrip(other));
+    }
+
+    @Test
+    public void roundTripsBigNumbers() throws IOException {
+        assertEquals(42, roundTrip(BigInteger.valueOf(42)));
+        BigInteger large = BigInteger.ONE.shiftLeft(100).add(BigInteger.TEN);
+        assertEquals(large, roundTrip(large));
+        assertEquals(large.negate(), roundTrip(large.negate()));
+        // 64 位无符号整数超出 long 的范围
+        BigInteger unsigned = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        assertEquals(unsigned, roundTrip(unsigned));
+        assertEquals(unsigned.negate().subtract(BigInteger.ONE), roundTrip(unsigned.negate().subtract(BigInteger.ONE)));
+        assertEquals(new BigDecimal("123.4500"), roundTrip(new BigDecimal("123.4500")));
+        assertEquals(new BigDecimal("-1E+5"), roundTrip(new BigDecimal("-1E+5")));
+        BigDecimal precise = new BigDecimal(large, 30);
+        assertEquals(precise, roundTrip(precise));
+    }
+
+    @Test
+    public void roundTripsArrays() throws IOException {
+        byte[] bytes = {1, -2, 3};
+        assertArrayEquals(bytes, (byte[]) roundTrip(bytes));
+        assertArrayEquals(bytes, (byte[]) roundTrip(ByteBuffer.wrap(bytes)));
+        ByteBuffer direct = ByteBuffer.allocateDirect(20000);
+        direct.put(0, (byte) 9);
+        byte[] copied = (byte[]) roundTrip(direct);
+        assertEquals(20000, copied.length);
+        assertEquals(9, copied[0]);
+        assertArrayEquals(new int[]{1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE},
+                (int[]) roundTrip(new int[]{1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE}));
+        assertArrayEquals(new long[]{Long.MIN_VALUE, 0, Long.MAX_VALUE}, (long[]) roundTrip(new long[]{Long.MIN_VALUE, 0, Long.MAX_VALUE}));
+        assertArrayEquals(new short[]{-1, 300}, (short[]) roundTrip(new short[]{-1, 300}));
+        assertArrayEquals(new float[]{0.1f, -2f}, (float[]) roundTrip(new float[]{0.1f, -2f}), 0f);
+        assertArrayEquals(new double[]{0.1, 1e300}, (double[]) roundTrip(new double[]{0.1, 1e300}), 0d);
+        assertArrayEquals(new double[0], (double[]) roundTrip(new double[0]), 0d);
+        assertEquals("abc", roundTrip(new char[]{'a', 'b', 'c'}));
+        assertEquals(Arrays.asList(true, false), roundTrip(new boolean[]{true, false}));
+        assertEquals(Arrays.asList("a", 1, null), roundTrip(new Object[]{"a", 1, null}));
+    }
+
+    @Test
+    public void roundTripsContainers() throws IOException {
+        Map<Object, Object> map = new LinkedHashMap<>();
+        map.put("name", "a");
+        map.put(7, Collections.singletonList(1));
+        map.put("nested", Collections.singletonMap("x", null));
+        JSONObject decoded = (JSONObject) roundTrip(map);
+        // Map 的非字符串 key 读回为字符串
+        assertEquals(new HashSet<>(Arrays.asList("name", "7", "nested")), decoded.keySet());
+        assertEquals("a", decoded.get("name"));
+        assertEquals(Collections.singletonList(1), decoded.get("7"));
+        assertTrue(decoded.getJSONObject("nested").containsKey("x"));
+        assertEquals(Collections.emptyList(), roundTrip(Collections.emptyList()));
+        assertEquals(Arrays.asList(1, 2, 3), roundTrip(Stream.of(1, 2, 3)));
+        assertEquals(Arrays.asList("a", null), roundTrip(Arrays.asList("a", null).iterator()));
+    }
+
+    @Test
+    public void roundTripsOtherTypes() throws IOException {
+        assertEquals(1234L, ((Number) roundTrip(new Date(1234))).longValue());
+        UUID uuid = UUID.randomUUID();
+        assertEquals(uuid.toString(), roundTrip(uuid));
+        Sample sample = new Sample();
+        sample.setName("s");
+        sample.setValues(new int[]{1, 2});
+        JSONObject decoded = (JSONObject) roundTrip(sample);
+        // 值为 null 的属性不输出
+        assertEquals(2, decoded.size());
+        assertEquals("s", decoded.get("name"));
+        assertArrayEquals(new int[]{1, 2}, (int[]) decoded.get("values"));
+    }
+
+    @Test
+    public void embedsSerializedResultAndCachesEncoding() throws IOException {
+        SerializedResult serialized = new SerializedResult("{\"a\":[1,2.5,\"x\"],\"b\":null}".getBytes(StandardCharsets.UTF_8));
+        JSONObject decoded = (JSONObject) roundTrip(Collections.singletonMap("cached", serialized));
+        JSONObject cached = decoded.getJSONObject("cached");
+        assertEquals(Arrays.asList(1, 2.5f, "x"), cached.get("a"));
+        assertTrue(cached.containsKey("b"));
+        byte[] first = serialized.encoded(CborCodec.CONTENT_TYPE, result -> {
+            throw new AssertionError("已缓存的编码结果不应再次编码");
+        });
+        assertArrayEquals(first, encode(serialized));
+        assertSame(first, serialized.encoded(CborCodec.CONTENT_TYPE, result -> null));
+    }
+
+    @Test
+    public void rejectsCyclicValues() throws IOException {
+        List<Object> cyclic = new ArrayList<>();
+        cyclic.add(cyclic);
+        try {
+            encode(cyclic);
+            fail();
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("循环引用"));
+        }
+    }
+
+    @Test
+    public void decodesMapDocuments() throws IOException {
+        assertTrue(codec.decode(null).isEmpty());
+        assertTrue(codec.decode(new byte[0]).isEmpty());
+        assertEquals(1, codec.decode(encode(Collections.singletonMap("a", 1))).get("a"));
+        assertMalformed("不是 CBOR map", encode(Collections.singletonList(1)));
+    }
+
+    @Test
+    public void decodesEncodingsTheWriterDoesNotEmit() {
+        // half float 1.0、undefined、分段 text string、indefinite map、未知标签
+        assertEquals(1.0f, decode(bytes(0xf9, 0x3c, 0x00)));
+        assertEquals(-2.0f, decode(bytes(0xf9, 0xc0, 0x00)));
+        assertNull(decode(bytes(0xf7)));
+        assertEquals("abc", decode(bytes(0x7f, 0x62, 'a', 'b', 0x61, 'c', 0xff)));
+        assertEquals(Collections.singletonMap("a", 1), decode(bytes(0xbf, 0x61, 'a', 0x01, 0xff)));
+        assertEquals("x", decode(bytes(0xd8, 0x20, 0x61, 'x')));
+    }
+
+    @Test
+    public void rejectsEveryTruncation() throws IOException {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("text", "通用");
+        document.put("ints", new int[]{1, 2});
+        document.put("long", Long.MAX_VALUE);
+        document.put("double", 0.1d);
+        document.put("big", BigInteger.ONE.shiftLeft(80));
+        document.put("decimal", new BigDecimal("1.25"));
+        document.put("stream", Stream.of(1, "a"));
+        document.put("list", Arrays.asList(true, null));
+        byte[] encoded = encode(document);
+        assertEquals(8, codec.decode(encoded).size());
+        for (int length = 1; length < encoded.length; length++) {
+            assertMalformed("", Arrays.copyOf(encoded, length));
+        }
+    }
+
+    @Test
+    public void rejectsMalformedInput() {
+        // 顶层之后有多余的字节
+        assertMalformed("多余的字节", bytes(0xa0, 0x00));
+        assertMalformed("意外的 break", bytes(0xff));
+        assertMalformed("意外的 break", bytes(0x82, 0x01, 0xff));
+        assertMalformed("意外的 break", bytes(0xa1, 0xff));
+        // 声明的长度超过剩余字节数, 不会按声明的长度分配
+        assertMalformed("超过剩余的字节数", bytes(0x5b, 0x7f, 0xff, 0xff, 0xff, 0xff, 0xff, 0xff, 0xff));
+        assertMalformed("超过剩余的字节数", bytes(0x9a, 0x7f, 0xff, 0xff, 0xff));
+        assertMalformed("不支持的长度编码", bytes(0x1c));
+        assertMalformed("不支持的 simple value", bytes(0xf0));
+        assertMalformed("分段字符串的类型不一致", bytes(0x7f, 0x41, 'a', 0xff));
+        assertMalformed("bignum", bytes(0xc2, 0x01));
+        assertMalformed("decimal fraction", bytes(0xc4, 0x81, 0x01));
+        assertMalformed("decimal fraction", bytes(0xc4, 0x82, 0xf9, 0x3c, 0x00, 0x01));
+        assertMalformed("类型化数组的内容", bytes(0xd8, 0x4a, 0x01));
+        assertMalformed("整数倍", bytes(0xd8, 0x4a, 0x43, 0x00, 0x00, 0x01));
+        byte[] deep = new byte[CborWriter.MAX_DEPTH + 2];
+        Arrays.fill(deep, (byte) 0x81);
+        deep[deep.length - 1] = 0x00;
+        assertMalformed("嵌套层数", deep);
+    }
+
+    private void assertMalformed(String reason, byte[] data) {
+        try {
+            codec.decode(data);
+            fail("应拒绝 " + Arrays.toString(data));
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(reason));
+        }
+    }
+
+    private Object roundTrip(Object value) throws IOException {
+        return decode(encode(value));
+    }
+
+    private byte[] encode(Object value) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.encode(value, out);
+        return out.toByteArray();
+    }
+
+    private static Object decode(byte[] data) {
+        return new CborReader(data).readDocument();
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+
+    public static class Sample {
+
+        private String name;
+
+        private String missing;
+
+        private int[] values;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getMissing() {
+            return missing;
+        }
+
+        public int[] getValues() {
+            return values;
+        }
+
+        public void setValues(int[] values) {
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package org.zsz.uniitf.dispatcher.codec;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.TypeReference;
+import org.junit.Test;
+import org.zsz.uniitf.dispatcher.support.ResultWriter;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * JsonCodec 解码为 LazyJsonObject 后与 fastjson 完整解析的结果一致, 以及格式错误、数据不完整时的错误
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 22:40
+ */
+public class LazyJsonObjectTest {
+
+    private final JsonCodec codec = new JsonCodec(ResultWriter.DEFAULT);
+
+    @Test
+    public void roundTripsWriterOutput() {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("text", "通用 \"接口\"\n\\");
+        document.put("int", 42);
+        document.put("long", Long.MIN_VALUE);
+        document.put("decimal", new BigDecimal("12345678901234567890.125"));
+        document.put("double", -1.5e-7);
+        document.put("flag", true);
+        document.put("nothing", null);
+        document.put("ints", new int[]{1, -2, Integer.MAX_VALUE});
+        document.put("nested", Collections.singletonMap("list", Arrays.asList("a", null, 1)));
+        document.put("sample", new Sample().setName("s").setValues(new long[]{3, 4}));
+        byte[] body = ResultWriter.toJsonBytes(document);
+
+        JSONObject decoded = codec.decode(body);
+        assertTrue(decoded instanceof LazyJsonObject);
+        assertEquals(JSONObject.parseObject(new String(body, StandardCharsets.UTF_8)), decoded);
+        assertEquals("通用 \"接口\"\n\\", decoded.getString("text"));
+        assertEquals(Long.MIN_VALUE, decoded.getLongValue("long"));
+        assertEquals(new BigDecimal("12345678901234567890.125"), decoded.getBigDecimal("decimal"));
+        // ResultWriter 不输出值为 null 的字段
+        assertFalse(decoded.containsKey("nothing"));
+        assertEquals(Arrays.asList("a", null, 1), decoded.getJSONObject("nested").getJSONArray("list"));
+    }
+
+    @Test
+    public void readsTypedFieldsFromSource() {
+        LazyJsonObject decoded = decode("{\"ints\":[1, -2 ,3],\"longs\":[12345678901],\"doubles\":[0.5,-1e3,2],"
+                + "\"empty\":[ ],\"withNull\":[1,null],\"big\":[1234567890123456789012],\"overflow\":[2147483648],"
+                + "\"sample\":{\"name\":\"s\",\"values\":[5]},\"samples\":[{\"name\":\"t\"}]}");
+        assertArrayEquals(new int[]{1, -2, 3}, decoded.getObject("ints", int[].class));
+        assertArrayEquals(new long[]{1, -2, 3}, decoded.getObject("ints", long[].class));
+        assertArrayEquals(new long[]{12345678901L}, decoded.getObject("longs", long[].class));
+        assertArrayEquals(new double[]{0.5, -1000, 2}, decoded.getObject("doubles", double[].class), 0d);
+        assertArrayEquals(new int[0], decoded.getObject("empty", int[].class));
+        // 不能直接解析的数组由 fastjson 解析
+        assertArrayEquals(new int[]{1, 0}, decoded.getObject("withNull", int[].class));
+        assertArrayEquals(new double[]{1234567890123456789012d}, decoded.getObject("big", double[].class), 0d);
+        try {
+            decoded.getObject("big", long[].class);
+            fail();
+        } catch (RuntimeException e) {
+            // 与 fastjson 一致, 超出范围时报错
+        }
+        assertArrayEquals(new long[]{2147483648L}, decoded.getObject("overflow", long[].class));
+        Sample sample = decoded.getObject("sample", Sample.class);
+        assertEquals("s", sample.getName());
+        assertArrayEquals(new long[]{5}, sample.getValues());
+        List<Sample> samples = decoded.getObject("samples", new TypeReference<List<Sample>>() {
+        }.getType());
+        assertEquals("t", samples.get(0).getName());
+        assertNull(decoded.getObject("missing", Sample.class));
+        // 已解析的字段按 TypeUtils 转换
+        assertTrue(decoded.get("ints") instanceof JSONArray);
+        assertArrayEquals(new int[]{1, -2, 3}, decoded.getObject("ints", int[].class));
+    }
+
+    @Test
+    public void reportsTextWithoutParsing() {
+        LazyJsonObject decoded = decode("{\"text\":\"1\",\"number\":1,\"array\":[\"a\"]}");
+        assertTrue(decoded.isText("text"));
+        assertFalse(decoded.isText("number"));
+        assertFalse(decoded.isText("array"));
+        assertFalse(decoded.isText("missing"));
+        decoded.put("number", "2");
+        assertTrue(decoded.isText("number"));
+    }
+
+    @Test
+    public void convertsWholeObject() {
+        LazyJsonObject decoded = decode("{\"name\":\"s\",\"values\":[1,2]}");
+        Sample sample = decoded.toJavaObject(Sample.class);
+        assertEquals("s", sample.getName());
+        assertArrayEquals(new long[]{1, 2}, sample.getValues());
+        assertEquals(decoded, decoded.toJavaObject(JSONObject.class));
+
+        // 修改后按修改后的字段转换
+        assertEquals("s", decoded.remove("name"));
+        decoded.put("values", new long[]{3});
+        sample = decoded.toJavaObject(Sample.class);
+        assertNull(sample.getName());
+        assertArrayEquals(new long[]{3}, sample.getValues());
+        decoded.clear();
+        assertTrue(decoded.isEmpty());
+        assertNull(decoded.toJavaObject(Sample.class).getValues());
+    }
+
+    @Test
+    public void keepsLastDuplicateKeyAndUnescapesKeys() {
+        LazyJsonObject decoded = decode("{\"a\":1,\"a\":2,\"b\\u0063\":3}");
+        assertEquals(2, decoded.size());
+        assertEquals(2, decoded.getIntValue("a"));
+        assertEquals(3, decoded.getIntValue("bc"));
+    }
+
+    @Test
+    public void parsesLenientJsonFully() {
+        JSONObject decoded = codec.decode("{'a':1, /* 注释 */ b:[1,2,],}".getBytes(StandardCharsets.UTF_8));
+        assertFalse(decoded instanceof LazyJsonObject);
+        assertEquals(1, decoded.getIntValue("a"));
+        assertTrue(codec.decode(new byte[0]).isEmpty());
+        assertTrue(codec.decode(null).isEmpty());
+    }
+
+    @Test
+    public void rejectsEveryTruncation() {
+        byte[] body = ResultWriter.toJsonBytes(Collections.singletonMap("a", Arrays.asList("通用", 1.5e10, true, null,
+                Collections.singletonMap("b", false))));
+        assertTrue(codec.decode(body) instanceof LazyJsonObject);
+        for (int length = 1; length < body.length; length++) {
+            byte[] truncated = Arrays.copyOf(body, length);
+            try {
+                codec.decode(truncated);
+                fail("应拒绝 " + new String(truncated, StandardCharsets.UTF_8));
+            } catch (IllegalArgumentException e) {
+                // 期望的错误
+            }
+        }
+    }
+
+    @Test
+    public void rejectsMalformedInput() {
+        assertRejected("{\"a\":1}}", "不是合法的 JSON");
+        assertRejected("{\"a\":}", "不是合法的 JSON");
+        assertRejected("[1,2]", "不是 JSON 对象");
+        assertRejected("\"text\"", "不是 JSON 对象");
+    }
+
+    private void assertRejected(String body, String reason) {
+        try {
+            codec.decode(body.getBytes(StandardCharsets.UTF_8));
+            fail("应拒绝 " + body);
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(reason));
+        }
+    }
+
+    private LazyJsonObject decode(String body) {
+        JSONObject decoded = codec.decode(body.getBytes(StandardCharsets.UTF_8));
+        assertTrue(decoded instanceof LazyJsonObject);
+        return (LazyJsonObject) decoded;
+    }
+
+    public static class Sample {
+
+        private String name;
+
+        private long[] values;
+
+        public String getName() {
+            return name;
+        }
+
+        public Sample setName(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public long[] getValues() {
+            return values;
+        }
+
+        public Sample setValues(long[] values) {
+            this.values = values;
+            return this;
+        }
+    }
+}
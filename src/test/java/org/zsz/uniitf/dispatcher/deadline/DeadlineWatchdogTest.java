@@ -0,0 +1,137 @@
+package org.zsz.uniitf.dispatcher.deadline;
+
+import org.junit.After;
+import org.junit.Test;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.dto.InvokeOptions;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * DeadlineWatchdog 截止时间的解析, 以及 Guard 中断与结束监视的状态转换
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:55
+ */
+public class DeadlineWatchdogTest {
+
+    private DeadlineWatchdog watchdog;
+
+    @After
+    public void tearDown() {
+        if (watchdog != null) {
+            watchdog.shutdown();
+        }
+        // 失败的用例不能影响之后的用例
+        Thread.interrupted();
+    }
+
+    @Test
+    public void interruptsExpiredCallAndClearsFlagOnRelease() {
+        watchdog = watchdog(5);
+        DeadlineWatchdog.Guard guard = watchdog.guard(Deadline.after(20));
+        try {
+            Thread.sleep(5000);
+            fail("截止时应被中断");
+        } catch (InterruptedException e) {
+            // sleep 已清除中断标记
+        }
+        assertTrue(guard.release());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    public void clearsUnhandledInterruptOnRelease() {
+        watchdog = watchdog(5);
+        DeadlineWatchdog.Guard guard = watchdog.guard(Deadline.after(20));
+        // 处理器不响应中断, 中断标记保留到结束监视
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Thread.currentThread().isInterrupted() && System.nanoTime() < end) {
+            Thread.yield();
+        }
+        assertTrue(Thread.currentThread().isInterrupted());
+        assertTrue(guard.release());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    public void neverInterruptsAfterRelease() throws InterruptedException {
+        watchdog = watchdog(5);
+        DeadlineWatchdog.Guard guard = watchdog.guard(Deadline.after(30));
+        assertFalse(guard.release());
+        // 截止时间已过, 检查线程不再中断已结束的调用
+        Thread.sleep(100);
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    public void reportsExpiryWithoutInterrupt() throws InterruptedException {
+        // 检查间隔很长, 截止后返回时还没有中断
+        watchdog = watchdog(60000);
+        DeadlineWatchdog.Guard guard = watchdog.guard(Deadline.after(1));
+        Thread.sleep(20);
+        assertTrue(guard.release());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    public void restoresEnclosingDeadline() {
+        watchdog = watchdog(60000);
+        assertNull(DeadlineContext.current());
+        assertEquals(Long.MAX_VALUE, DeadlineContext.remainingMillis());
+        Deadline outer = Deadline.after(10000);
+        Deadline inner = Deadline.after(5000);
+        DeadlineWatchdog.Guard outerGuard = watchdog.guard(outer);
+        DeadlineWatchdog.Guard innerGuard = watchdog.guard(inner);
+        assertSame(inner, DeadlineContext.current());
+        assertTrue(DeadlineContext.remainingMillis() <= 5000);
+        assertFalse(innerGuard.release());
+        assertSame(outer, DeadlineContext.current());
+        assertFalse(outerGuard.release());
+        assertNull(DeadlineContext.current());
+        assertFalse(DeadlineContext.isExpired());
+    }
+
+    @Test
+    public void resolvesEarliestDeadline() {
+        watchdog = watchdog(5);
+        assertNull(watchdog.resolve(0, Collections.emptyMap(), null));
+        // 调用选项优先于保留参数
+        Map<String, Object> argMap = new HashMap<>();
+        argMap.put("_timeoutMillis", "100000");
+        assertRemaining(100000, watchdog.resolve(0, argMap, null));
+        assertRemaining(50000, watchdog.resolve(0, argMap, new InvokeOptions().setTimeoutMillis(50000L)));
+        argMap.put("_deadlineMillis", System.currentTimeMillis() + 20000);
+        assertRemaining(20000, watchdog.resolve(0, argMap, null));
+        // 处理器的执行时间上限更早时以其为准
+        assertRemaining(3000, watchdog.resolve(3000, argMap, null));
+        assertTrue(watchdog.resolve(0, argMap, new InvokeOptions().setDeadlineMillis(0L)).isExpired());
+        argMap.put("_timeoutMillis", "soon");
+        try {
+            watchdog.resolve(0, argMap, null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("_timeoutMillis"));
+        }
+    }
+
+    private static void assertRemaining(long expectedMillis, Deadline deadline) {
+        long remaining = deadline.remainingMillis();
+        assertTrue(deadline.toString(), remaining <= expectedMillis && remaining > expectedMillis - 1000);
+    }
+
+    private static DeadlineWatchdog watchdog(long tickMillis) {
+        DispatcherProperties.DeadlineProperties properties = new DispatcherProperties.DeadlineProperties();
+        properties.setTickMillis(tickMillis);
+        return new DeadlineWatchdog(properties);
+    }
+}
@@ -0,0 +1,67 @@
+package org.zsz.uniitf.dispatcher.limit;
+
+import org.junit.Test;
+import org.zsz.uniitf.dispatcher.enumerate.ConcurrencyLimitMode;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * AimdLimiter 在模拟耗时下的上限调整: 上限被用到时加 1, 超时时按比例减少, 保持在 [minLimit, maxLimit] 内
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 20:00
+ */
+public class AimdLimiterTest {
+
+    private static final long FAST = 10;
+
+    private static final long SLOW = 200;
+
+    @Test
+    public void growsWhileLimitIsUsed() {
+        AimdLimiter limiter = new AimdLimiter(10, 1, 100, 100, 0.5);
+        assertEquals(ConcurrencyLimitMode.AIMD, limiter.snapshot().getMode());
+        LimiterLoad load = new LimiterLoad(limiter, 10);
+        load.run(5, FAST);
+        assertEquals(15, limiter.getLimit());
+        // 并发数 10 在上限 20 以内时仍视为用到上限, 超过后不再增加
+        load.run(100, FAST);
+        assertEquals(21, limiter.getLimit());
+        load.finish(FAST);
+    }
+
+    @Test
+    public void keepsLimitWhenMostlyIdle() {
+        AimdLimiter limiter = new AimdLimiter(10, 1, 100, 100, 0.5);
+        LimiterLoad load = new LimiterLoad(limiter, 2);
+        load.run(50, FAST);
+        assertEquals(10, limiter.getLimit());
+        load.finish(FAST);
+    }
+
+    @Test
+    public void backsOffMultiplicativelyOnSlowCalls() {
+        AimdLimiter limiter = new AimdLimiter(40, 3, 100, 100, 0.5);
+        LimiterLoad load = new LimiterLoad(limiter, 40);
+        load.run(1, SLOW);
+        assertEquals(20, limiter.getLimit());
+        load.run(1, SLOW);
+        assertEquals(10, limiter.getLimit());
+        // 不低于 minLimit
+        load.run(10, SLOW);
+        assertEquals(3, limiter.getLimit());
+        // 耗时恢复后逐步增加
+        load.run(3, FAST);
+        assertEquals(6, limiter.getLimit());
+        load.finish(FAST);
+    }
+
+    @Test
+    public void staysWithinMaxLimit() {
+        AimdLimiter limiter = new AimdLimiter(200, 1, 12, 100, 0.5);
+        assertEquals(12, limiter.getLimit());
+        LimiterLoad load = new LimiterLoad(limiter, 12);
+        load.run(20, FAST);
+        assertEquals(12, limiter.getLimit());
+        load.finish(FAST);
+    }
+}
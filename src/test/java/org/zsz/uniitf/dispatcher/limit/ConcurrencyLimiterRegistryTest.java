@@ -0,0 +1,99 @@
+package org.zsz.uniitf.dispatcher.limit;
+
+import org.junit.Test;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.zsz.uniitf.dispatcher.HandlerDefinition;
+import org.zsz.uniitf.dispatcher.RemoteRequestInfo;
+import org.zsz.uniitf.dispatcher.annotation.RemoteMethod;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.dto.ConcurrencyStats;
+import org.zsz.uniitf.dispatcher.enumerate.ConcurrencyLimitMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ConcurrencyLimiterRegistry 的上限来源(配置 route-limits 优先于注解)、调整方式及全局上限
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 20:00
+ */
+public class ConcurrencyLimiterRegistryTest {
+
+    private final SampleController controller = new SampleController();
+
+    @Test
+    public void routeLimitsOverrideAnnotation() throws NoSuchMethodException {
+        DispatcherProperties.ConcurrencyProperties properties = new DispatcherProperties.ConcurrencyProperties();
+        properties.getRouteLimits().put("/configured", 3);
+        properties.getRouteLimits().put("/disabled", 0);
+        properties.getRouteLimits().put("/plain", 5);
+        ConcurrencyLimiterRegistry registry = new ConcurrencyLimiterRegistry(properties);
+
+        assertEquals(3, registry.register(definition("/configured", "limited")).getLimit());
+        assertEquals(10, registry.register(definition("/annotated", "limited")).getLimit());
+        // 配置为 0 时不限制, 即使注解声明了上限
+        assertNull(registry.register(definition("/disabled", "limited")));
+        // 没有注解上限时使用配置
+        assertEquals(5, registry.register(definition("/plain", "plain")).getLimit());
+        assertNull(registry.register(definition("/other", "plain")));
+        assertNull(registry.getGlobal());
+    }
+
+    @Test
+    public void reusesLimiterUntilUnregistered() throws NoSuchMethodException {
+        ConcurrencyLimiterRegistry registry = new ConcurrencyLimiterRegistry(new DispatcherProperties.ConcurrencyProperties());
+        HandlerDefinition definition = definition("/annotated", "limited");
+        ConcurrencyLimiter limiter = registry.register(definition);
+        assertSame(limiter, registry.register(definition));
+        assertTrue(limiter.tryAcquire());
+        ConcurrencyStats stats = registry.snapshot();
+        assertEquals(1, stats.getRoutes().size());
+        assertEquals("/annotated", stats.getRoutes().get(0).getUrlPattern());
+        assertEquals(RequestMethod.GET, stats.getRoutes().get(0).getHttpMethod());
+        assertEquals(1, stats.getRoutes().get(0).getInFlight());
+        registry.unregister(definition);
+        assertTrue(registry.snapshot().getRoutes().isEmpty());
+        limiter.release(0L);
+    }
+
+    @Test
+    public void createsLimiterForMode() throws NoSuchMethodException {
+        for (ConcurrencyLimitMode mode : ConcurrencyLimitMode.values()) {
+            DispatcherProperties.ConcurrencyProperties properties = new DispatcherProperties.ConcurrencyProperties();
+            properties.setMode(mode);
+            properties.setMinLimit(2);
+            properties.setMaxLimit(8);
+            properties.setGlobalLimit(50);
+            ConcurrencyLimiterRegistry registry = new ConcurrencyLimiterRegistry(properties);
+            ConcurrencyLimiter limiter = registry.register(definition("/annotated", "limited"));
+            assertEquals(mode, limiter.snapshot().getMode());
+            // 自适应方式下初始上限限制在 [minLimit, maxLimit] 内
+            assertEquals(mode == ConcurrencyLimitMode.FIXED ? 10 : 8, limiter.getLimit());
+            // 全局上限固定不变
+            assertNotNull(registry.getGlobal());
+            assertEquals(ConcurrencyLimitMode.FIXED, registry.snapshot().getGlobal().getMode());
+            assertEquals(50, registry.snapshot().getGlobal().getLimit());
+        }
+    }
+
+    private HandlerDefinition definition(String url, String methodName) throws NoSuchMethodException {
+        return new HandlerDefinition(new RemoteRequestInfo(url, RequestMethod.GET), controller,
+                SampleController.class.getMethod(methodName));
+    }
+
+    public static class SampleController {
+
+        @RemoteMethod(maxConcurrency = 10)
+        public String limited() {
+            return "limited";
+        }
+
+        @RemoteMethod
+        public String plain() {
+            return "plain";
+        }
+    }
+}
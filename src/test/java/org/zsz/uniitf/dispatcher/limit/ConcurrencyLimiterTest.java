@@ -0,0 +1,89 @@
+package org.zsz.uniitf.dispatcher.limit;
+
+import org.junit.Test;
+import org.zsz.uniitf.dispatcher.dto.ConcurrencyLimitStats;
+import org.zsz.uniitf.dispatcher.enumerate.ConcurrencyLimitMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ConcurrencyLimiter 的名额获取(CAS)与释放: 并发获取时不超过上限, 释放后名额及拒绝次数一致
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 20:00
+ */
+public class ConcurrencyLimiterTest {
+
+    @Test
+    public void rejectsAtLimitAndAdmitsAfterRelease() {
+        ConcurrencyLimiter limiter = new FixedLimiter(2);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        limiter.release(0L);
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        ConcurrencyLimitStats stats = limiter.snapshot();
+        assertEquals(ConcurrencyLimitMode.FIXED, stats.getMode());
+        assertEquals(2, stats.getLimit());
+        assertEquals(2, stats.getInFlight());
+        assertEquals(2, stats.getRejectedCount());
+        limiter.release(0L);
+        limiter.release(0L);
+        assertEquals(0, limiter.snapshot().getInFlight());
+    }
+
+    @Test
+    public void neverExceedsLimitUnderContention() throws Exception {
+        int limit = 4;
+        int threads = 16;
+        int attempts = 2000;
+        ConcurrencyLimiter limiter = new FixedLimiter(limit);
+        AtomicInteger holders = new AtomicInteger();
+        AtomicInteger maxHolders = new AtomicInteger();
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < attempts; i++) {
+                        if (!limiter.tryAcquire()) {
+                            continue;
+                        }
+                        admitted.incrementAndGet();
+                        int current = holders.incrementAndGet();
+                        maxHolders.accumulateAndGet(current, Math::max);
+                        Thread.yield();
+                        holders.decrementAndGet();
+                        limiter.release(0L);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        ConcurrencyLimitStats stats = limiter.snapshot();
+        assertTrue(String.valueOf(maxHolders.get()), maxHolders.get() <= limit);
+        // 每次获取都对应一次释放
+        assertEquals(0, stats.getInFlight());
+        assertEquals((long) threads * attempts, admitted.get() + stats.getRejectedCount());
+    }
+}
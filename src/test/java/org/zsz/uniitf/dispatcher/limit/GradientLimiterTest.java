@@ -0,0 +1,67 @@
+package org.zsz.uniitf.dispatcher.limit;
+
+import org.junit.Test;
+import org.zsz.uniitf.dispatcher.enumerate.ConcurrencyLimitMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * GradientLimiter 在模拟耗时下的上限调整: 耗时稳定时增加, 耗时上升时下降, 恢复后再次增加, 空闲时不增加
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 20:00
+ */
+public class GradientLimiterTest {
+
+    private static final long FAST = 10;
+
+    private static final long SLOW = 100;
+
+    @Test
+    public void adaptsToLatencyChanges() {
+        GradientLimiter limiter = new GradientLimiter(20, 1, 200, 10, 0.5);
+        assertEquals(ConcurrencyLimitMode.GRADIENT, limiter.snapshot().getMode());
+        LimiterLoad load = new LimiterLoad(limiter, 20);
+
+        load.run(50, FAST);
+        int stable = limiter.getLimit();
+        // 并发数 20 用到上限一半以上时才增加, 上限不超过 40 + sqrt(40)
+        assertTrue(String.valueOf(stable), stable > 20 && stable <= 46);
+
+        load.run(3, SLOW);
+        int overloaded = limiter.getLimit();
+        assertTrue(stable + " -> " + overloaded, overloaded < stable);
+        load.run(2, SLOW);
+        assertTrue(overloaded + " -> " + limiter.getLimit(), limiter.getLimit() < overloaded);
+
+        int lowest = limiter.getLimit();
+        load.run(20, FAST);
+        assertTrue(lowest + " -> " + limiter.getLimit(), limiter.getLimit() > lowest);
+        load.finish(FAST);
+    }
+
+    @Test
+    public void onlyLowersLimitWhenMostlyIdle() {
+        GradientLimiter limiter = new GradientLimiter(20, 1, 200, 10, 0.5);
+        LimiterLoad load = new LimiterLoad(limiter, 5);
+        load.run(50, FAST);
+        assertEquals(20, limiter.getLimit());
+        // 上限未被用到时耗时上升仍然下降
+        load.run(3, SLOW);
+        assertTrue(String.valueOf(limiter.getLimit()), limiter.getLimit() < 20);
+        load.finish(FAST);
+    }
+
+    @Test
+    public void staysWithinBounds() {
+        GradientLimiter limiter = new GradientLimiter(20, 8, 24, 10, 1.0);
+        LimiterLoad load = new LimiterLoad(limiter, 24);
+        load.run(50, FAST);
+        assertEquals(24, limiter.getLimit());
+        load.run(50, SLOW * 10);
+        assertTrue(String.valueOf(limiter.getLimit()), limiter.getLimit() >= 8);
+        load.finish(FAST);
+        assertEquals(0, load.getHeld());
+        assertEquals(0, limiter.snapshot().getInFlight());
+    }
+}
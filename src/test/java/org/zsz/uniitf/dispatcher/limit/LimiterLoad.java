@@ -0,0 +1,55 @@
+package org.zsz.uniitf.dispatcher.limit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 模拟固定并发数的负载: 每轮结束一个调用(按给定耗时释放)并补充一个新调用, 上限不足时并发数随之下降
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 20:00
+ */
+final class LimiterLoad {
+
+    private final ConcurrencyLimiter limiter;
+
+    private final int concurrency;
+
+    private int held;
+
+    LimiterLoad(ConcurrencyLimiter limiter, int concurrency) {
+        this.limiter = limiter;
+        this.concurrency = concurrency;
+        fill();
+    }
+
+    /**
+     * @param rounds 结束的调用数
+     * @param latencyMillis 每个调用的耗时
+     */
+    void run(int rounds, long latencyMillis) {
+        for (int i = 0; i < rounds && held > 0; i++) {
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+            held--;
+            fill();
+        }
+    }
+
+    /**
+     * 结束全部调用
+     */
+    void finish(long latencyMillis) {
+        while (held > 0) {
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+            held--;
+        }
+    }
+
+    int getHeld() {
+        return held;
+    }
+
+    private void fill() {
+        while (held < concurrency && limiter.tryAcquire()) {
+            held++;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package org.zsz.uniitf.dispatcher.route;
+
+import org.junit.Test;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.zsz.uniitf.dispatcher.HandlerDefinition;
+import org.zsz.uniitf.dispatcher.HandlerExecution;
+import org.zsz.uniitf.dispatcher.RemoteRequestInfo;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * RouteIndex 与原线性扫描(AntPathMatcher 逐个匹配后按 getPatternComparator 排序)选出相同的处理器及模板变量
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 10:30
+ */
+public class RouteIndexTest {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private static final Method METHOD;
+
+    static {
+        try {
+            METHOD = SampleController.class.getMethod("handle");
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * 同一 urlPattern 只使用全部指定或全部不指定 http method 的映射, 原线性扫描在两者混用时的选择见
+     * {@link #prefersMethodSpecificMapping()}
+     */
+    private static List<HandlerExecution> fixture() {
+        List<HandlerExecution> handlers = new ArrayList<>();
+        // 字面量, 同一 url 多个 http method
+        handlers.add(handler("/users", RequestMethod.GET));
+        handlers.add(handler("/users", RequestMethod.POST));
+        // 字面量与 {var} 同时匹配
+        handlers.add(handler("/users/me", null));
+        handlers.add(handler("/users/{id}", RequestMethod.GET));
+        handlers.add(handler("/users/{id}", RequestMethod.DELETE));
+        handlers.add(handler("/users/{id}/orders/{orderId}", null));
+        // * / ** / 段内后缀模式
+        handlers.add(handler("/files/*", RequestMethod.GET));
+        handlers.add(handler("/files/**", RequestMethod.GET));
+        handlers.add(handler("/files/{name}.json", RequestMethod.GET));
+        handlers.add(handler("/static/**/*.css", null));
+        handlers.add(handler("/api/{version:v\\d+}/items", null));
+        handlers.add(handler("/x?z", null));
+        // 同一方法映射多个路径
+        HandlerExecution health = handler("/health", null);
+        handlers.add(health);
+        handlers.add(new HandlerExecution(new HandlerDefinition(new RemoteRequestInfo("/status", null),
+                health.getDefinition().getController(), METHOD), null));
+        // 优先级相同的模式, 模板变量合并
+        handlers.add(handler("/a/{x}", null));
+        handlers.add(handler("/{y}/b", null));
+        // 只匹配 PUT 的兜底
+        handlers.add(handler("/**", RequestMethod.PUT));
+        // 前缀树无法表达, 回退为线性匹配
+        handlers.add(handler("/trail/{x}/", null));
+        handlers.add(handler("/double//{x}", null));
+        return handlers;
+    }
+
+    private static final List<String> URLS = Arrays.asList(
+            "/users", "/users/", "/users?", "/users/me", "/users/42", "/users/42/", "/users/42/orders/7",
+            "/users/42/orders", "/files/a", "/files/a.json", "/files/a/b/c", "/files", "/files/",
+            "/static/app.css", "/static/css/app.css", "/static/app.js", "/api/v2/items", "/api/vx/items",
+            "/xyz", "/xz", "/health", "/status", "/a/b", "/a/c", "/c/b", "/trail/1", "/trail/1/",
+            "/double/5", "/nothing", "/", "");
+
+    @Test
+    public void matchesLikeLinearScan() {
+        List<HandlerExecution> handlers = fixture();
+        RouteIndex uncached = new RouteIndex(handlers, 0);
+        RouteIndex cached = new RouteIndex(handlers, 16);
+        for (RequestMethod requestMethod : RequestMethod.values()) {
+            for (String url : URLS) {
+                RouteMatch expected = linearScan(handlers, url, requestMethod);
+                String message = requestMethod + " " + url;
+                assertMatch(message, expected, uncached.match(url, requestMethod));
+                // 第二次查找命中解析结果缓存
+                assertMatch(message, expected, cached.match(url, requestMethod));
+                assertMatch(message, expected, cached.match(url, requestMethod));
+            }
+        }
+    }
+
+    @Test
+    public void mergesVariablesOfEquallyRankedPatterns() {
+        List<HandlerExecution> handlers = fixture();
+        RouteMatch match = new RouteIndex(handlers).match("/a/b", RequestMethod.GET);
+        assertNotNull(match);
+        assertEquals("/a/{x}", match.getDefinition().getRequestInfo().getUrlPattern());
+        Map<String, String> expected = new HashMap<>();
+        expected.put("x", "b");
+        expected.put("y", "a");
+        assertEquals(expected, match.getUriTemplateVariables());
+    }
+
+    /**
+     * 与原线性扫描不同: 同一 urlPattern 总是优先选择指定了 http method 的映射, 与注册顺序无关
+     */
+    @Test
+    public void prefersMethodSpecificMapping() {
+        HandlerExecution anyLiteral = handler("/p", null);
+        HandlerExecution getLiteral = handler("/p", RequestMethod.GET);
+        HandlerExecution getPattern = handler("/q/{id}", RequestMethod.GET);
+        HandlerExecution anyPattern = handler("/q/{id}", null);
+        RouteIndex index = new RouteIndex(Arrays.asList(anyLiteral, getLiteral, getPattern, anyPattern));
+
+        assertSame(getLiteral, index.match("/p", RequestMethod.GET).getHandler());
+        assertSame(anyLiteral, index.match("/p", RequestMethod.POST).getHandler());
+        assertSame(getPattern, index.match("/q/1", RequestMethod.GET).getHandler());
+        assertSame(anyPattern, index.match("/q/1", RequestMethod.POST).getHandler());
+        // 原线性扫描: 字面量选先注册的, 模式选后注册的
+        List<HandlerExecution> handlers = Arrays.asList(anyLiteral, getLiteral, getPattern, anyPattern);
+        assertSame(anyLiteral, linearScan(handlers, "/p", RequestMethod.GET).getHandler());
+        assertSame(anyPattern, linearScan(handlers, "/q/1", RequestMethod.GET).getHandler());
+    }
+
+    private static void assertMatch(String message, RouteMatch expected, RouteMatch actual) {
+        if (expected == null) {
+            assertNull(message, actual);
+            return;
+        }
+        assertNotNull(message, actual);
+        assertSame(message, expected.getHandler(), actual.getHandler());
+        assertEquals(message, expected.getUriTemplateVariables(), actual.getUriTemplateVariables());
+    }
+
+    /**
+     * 原 DispatcherService 的线性扫描
+     */
+    private static RouteMatch linearScan(List<HandlerExecution> handlers, String url, RequestMethod requestMethod) {
+        if (url.endsWith("/") || url.endsWith("?")) {
+            url = url.substring(0, url.length() - 1);
+        }
+        List<String> matchingPatterns = new ArrayList<>();
+        Map<String, Integer> matchingIndexMap = new HashMap<>(10);
+        for (int index = 0; index < handlers.size(); index++) {
+            RemoteRequestInfo info = handlers.get(index).getDefinition().getRequestInfo();
+            boolean methodMatched = info.getHttpMethod() == null || info.getHttpMethod() == requestMethod;
+            if (info.getUrlPattern().equals(url)) {
+                if (methodMatched) {
+                    return new RouteMatch(handlers.get(index), Collections.emptyMap());
+                }
+                continue;
+            }
+            if (methodMatched && PATH_MATCHER.match(info.getUrlPattern(), url)) {
+                matchingPatterns.add(info.getUrlPattern());
+                matchingIndexMap.put(info.getUrlPattern(), index);
+            }
+        }
+        if (matchingPatterns.isEmpty()) {
+            return null;
+        }
+        Comparator<String> patternComparator = PATH_MATCHER.getPatternComparator(url);
+        matchingPatterns.sort(patternComparator);
+        String bestMatch = matchingPatterns.get(0);
+        Map<String, String> variables = new LinkedHashMap<>();
+        for (String matchingPattern : matchingPatterns) {
+            if (patternComparator.compare(bestMatch, matchingPattern) == 0) {
+                variables.putAll(PATH_MATCHER.extractUriTemplateVariables(matchingPattern, url));
+            }
+        }
+        return new RouteMatch(handlers.get(matchingIndexMap.get(bestMatch)), variables);
+    }
+
+    private static HandlerExecution handler(String urlPattern, RequestMethod httpMethod) {
+        HandlerDefinition definition = new HandlerDefinition(new RemoteRequestInfo(urlPattern, httpMethod), new SampleController(), METHOD);
+        return new HandlerExecution(definition, null);
+    }
+
+    public static class SampleController {
+
+        public String handle() {
+            return "ok";
+        }
+    }
+}
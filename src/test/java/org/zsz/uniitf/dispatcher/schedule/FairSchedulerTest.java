@@ -0,0 +1,229 @@
+package org.zsz.uniitf.dispatcher.schedule;
+
+import org.junit.After;
+import org.junit.Test;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.dto.TenantStats;
+import org.zsz.uniitf.dispatcher.enumerate.ErrorCode;
+import org.zsz.uniitf.dispatcher.exception.DispatcherException;
+import org.zsz.uniitf.dispatcher.support.HandlerCall;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * FairScheduler 按权重的出队顺序、租户排队上限, 以及租户数已满时淘汰空闲租户
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 20:30
+ */
+public class FairSchedulerTest {
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    private final CountDownLatch gate = new CountDownLatch(1);
+
+    private FairScheduler scheduler;
+
+    @After
+    public void tearDown() {
+        gate.countDown();
+        callers.shutdownNow();
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void dequeuesByWeight() throws Exception {
+        DispatcherProperties.SchedulerProperties properties = properties(1);
+        properties.getWeights().put("heavy", 3);
+        scheduler = new FairScheduler(properties);
+        List<Future<Object>> futures = new ArrayList<>();
+        futures.add(blockWorker());
+        StringBuffer order = new StringBuffer();
+        // 先排队的 heavy 调用与 light 调用标记相同时按到达顺序
+        for (int i = 0; i < 6; i++) {
+            futures.add(submit("heavy", () -> order.append('H')));
+        }
+        for (int i = 0; i < 6; i++) {
+            futures.add(submit("light", () -> order.append('L')));
+        }
+        gate.countDown();
+        for (Future<Object> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        // 积压期间按权重 3:1 出队, heavy 排空后只剩 light
+        assertEquals("HHHLHHHLLLLL", order.toString());
+        assertEquals(6, stats("heavy").getStartedCount());
+        assertEquals(3, stats("heavy").getWeight());
+        assertEquals(1, stats("light").getWeight());
+    }
+
+    @Test
+    public void rejectsOverQueueDepth() throws Throwable {
+        DispatcherProperties.SchedulerProperties properties = properties(1);
+        properties.getQueueDepths().put("small", 2);
+        scheduler = new FairScheduler(properties);
+        List<Future<Object>> futures = new ArrayList<>();
+        futures.add(blockWorker());
+        futures.add(submit("small", () -> "a"));
+        futures.add(submit("small", () -> "b"));
+        try {
+            scheduler.execute("small", () -> "c");
+            fail();
+        } catch (DispatcherException e) {
+            assertEquals(ErrorCode.TENANT_QUEUE_FULL, e.getErrorCode());
+        }
+        // 其它租户不受影响
+        futures.add(submit("other", () -> "d"));
+        TenantStats small = stats("small");
+        assertEquals(2, small.getQueueDepth());
+        assertEquals(2, small.getMaxQueueDepth());
+        assertEquals(1, small.getRejectedCount());
+        gate.countDown();
+        for (Future<Object> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(0, stats("small").getQueueDepth());
+        assertEquals("e", scheduler.execute("small", () -> "e"));
+    }
+
+    @Test
+    public void evictsIdleTenantsWhenFull() throws Throwable {
+        DispatcherProperties.SchedulerProperties properties = properties(2);
+        properties.setMaxTenants(3);
+        properties.setTenantIdleMillis(50);
+        properties.getWeights().put("vip", 2);
+        scheduler = new FairScheduler(properties);
+        for (String tenant : Arrays.asList("vip", "a", "b")) {
+            scheduler.execute(tenant, () -> tenant);
+        }
+        assertEquals(set("vip", "a", "b"), tenants());
+        Thread.sleep(80);
+        // 空闲的未配置租户连同统计被淘汰, 配置的租户保留
+        scheduler.execute("c", () -> "c");
+        assertEquals(set("vip", "c"), tenants());
+        scheduler.execute("d", () -> "d");
+        // 没有空闲租户可淘汰时计入默认租户
+        assertEquals("e", scheduler.execute("e", () -> "e"));
+        assertEquals(set("vip", "c", "d", "default"), tenants());
+        assertEquals(1, stats("default").getSubmittedCount());
+        assertEquals(1, stats("vip").getSubmittedCount());
+    }
+
+    @Test
+    public void keepsCountsConsistentWhileTenantsChurn() throws Exception {
+        DispatcherProperties.SchedulerProperties properties = properties(4);
+        properties.setMaxTenants(4);
+        properties.setTenantIdleMillis(0);
+        scheduler = new FairScheduler(properties);
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            futures.add(callers.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    String tenant = "t" + ((thread + i) % 12);
+                    Object result = execute(tenant, () -> tenant);
+                    assertEquals(tenant, result);
+                }
+                return null;
+            }));
+        }
+        for (Future<Object> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        List<TenantStats> stats = scheduler.snapshot();
+        // 默认租户总是可以加入
+        assertTrue(String.valueOf(stats.size()), stats.size() <= 5);
+        for (TenantStats tenant : stats) {
+            assertEquals(tenant.getTenant(), 0, tenant.getQueueDepth());
+            assertEquals(tenant.getTenant(), tenant.getSubmittedCount(), tenant.getStartedCount());
+        }
+    }
+
+    /**
+     * 占用唯一的执行线程, 之后的调用都在队列中等待
+     */
+    private Future<Object> blockWorker() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        Future<Object> future = callers.submit(() -> execute("gate", () -> {
+            started.countDown();
+            return gate.await(5, TimeUnit.SECONDS);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return future;
+    }
+
+    /**
+     * 在另一线程中提交, 排队后返回, 保证提交顺序
+     */
+    private Future<Object> submit(String tenant, HandlerCall call) throws InterruptedException {
+        long queued = depth(tenant);
+        Future<Object> future = callers.submit(() -> execute(tenant, call));
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (depth(tenant) <= queued) {
+            assertTrue("等待排队超时", System.nanoTime() < end);
+            Thread.sleep(1);
+        }
+        return future;
+    }
+
+    private Object execute(String tenant, HandlerCall call) throws Exception {
+        try {
+            return scheduler.execute(tenant, call);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private long depth(String tenant) {
+        for (TenantStats stats : scheduler.snapshot()) {
+            if (stats.getTenant().equals(tenant)) {
+                return stats.getQueueDepth();
+            }
+        }
+        return 0;
+    }
+
+    private TenantStats stats(String tenant) {
+        for (TenantStats stats : scheduler.snapshot()) {
+            if (stats.getTenant().equals(tenant)) {
+                return stats;
+            }
+        }
+        throw new AssertionError("没有租户 " + tenant);
+    }
+
+    private Set<String> tenants() {
+        Set<String> names = new HashSet<>();
+        for (TenantStats stats : scheduler.snapshot()) {
+            names.add(stats.getTenant());
+        }
+        return names;
+    }
+
+    private static Set<String> set(String... names) {
+        return new HashSet<>(Arrays.asList(names));
+    }
+
+    private static DispatcherProperties.SchedulerProperties properties(int threads) {
+        DispatcherProperties.SchedulerProperties properties = new DispatcherProperties.SchedulerProperties();
+        properties.setEnabled(true);
+        properties.setThreads(threads);
+        return properties;
+    }
+}
@@ -0,0 +1,260 @@
+package org.zsz.uniitf.dispatcher.server;
+
+import com.alibaba.fastjson.JSON;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.zsz.uniitf.dispatcher.DispatcherService;
+import org.zsz.uniitf.dispatcher.annotation.RemoteMethod;
+import org.zsz.uniitf.dispatcher.config.DispatcherProperties;
+import org.zsz.uniitf.dispatcher.metrics.MetricsRegistry;
+import org.zsz.uniitf.dispatcher.support.ResultWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * DispatcherHttpServer 经原始 socket 访问: 流水线请求的响应顺序、100-continue、请求大小限制、空闲连接关闭及 HEAD
+ * @author Zhang Shengzhe
+ * @create 2026-10-18 23:58
+ */
+public class DispatcherHttpServerIT {
+
+    private static final int MAX_HEADER_BYTES = 1024;
+
+    private static final int MAX_BODY_BYTES = 1024;
+
+    private static final long IDLE_TIMEOUT_MILLIS = 200;
+
+    /**
+     * 读取响应的超时, 大于 selector 线程检查空闲连接的间隔(1 秒)与空闲时间之和
+     */
+    private static final int READ_TIMEOUT_MILLIS = 5000;
+
+    private DispatcherService dispatcherService;
+
+    private DispatcherHttpServer server;
+
+    private Socket socket;
+
+    @Before
+    public void setUp() throws IOException {
+        DispatcherProperties properties = new DispatcherProperties();
+        properties.getServer().setPort(0);
+        properties.getServer().setHost("127.0.0.1");
+        properties.getServer().setHandlerThreads(4);
+        properties.getServer().setMaxHeaderBytes(MAX_HEADER_BYTES);
+        properties.getServer().setMaxBodyBytes(MAX_BODY_BYTES);
+        properties.getServer().setIdleTimeoutMillis(IDLE_TIMEOUT_MILLIS);
+        dispatcherService = new DispatcherService(properties, new MetricsRegistry());
+        dispatcherService.register(new SampleController());
+        server = new DispatcherHttpServer(dispatcherService, properties);
+        server.start();
+        socket = new Socket();
+        socket.connect(new InetSocketAddress("127.0.0.1", server.getPort()), READ_TIMEOUT_MILLIS);
+        socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        socket.close();
+        server.stop();
+        dispatcherService.destroy();
+    }
+
+    @Test
+    public void writesPipelinedResponsesInRequestOrder() throws IOException {
+        // 一次写出, 先到的请求执行最久, 响应仍按请求顺序
+        write(get("/http/sleep?ms=300&tag=a") + get("/http/sleep?ms=100&tag=b") + get("/http/sleep?ms=0&tag=c"));
+        for (String tag : new String[]{"a", "b", "c"}) {
+            Response response = read(false);
+            assertEquals(200, response.status);
+            assertEquals(ResultWriter.toJsonString(tag), response.body);
+            assertEquals("keep-alive", response.header("connection"));
+        }
+    }
+
+    @Test
+    public void sendsContinueBeforeBody() throws IOException {
+        String body = "{\"text\":\"通用\"}";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        write("POST /http/echo HTTP/1.1\r\nHost: localhost\r\nContent-Type: application/json\r\n"
+                + "Expect: 100-continue\r\nContent-Length: " + bytes.length + "\r\n\r\n");
+        assertEquals("HTTP/1.1 100 Continue", readLine());
+        assertEquals("", readLine());
+        socket.getOutputStream().write(bytes);
+        Response response = read(false);
+        assertEquals(200, response.status);
+        assertEquals(ResultWriter.toJsonString("通用"), response.body);
+        // 之后的请求不再收到 100 Continue
+        write(get("/http/sleep?ms=0&tag=next"));
+        assertEquals(ResultWriter.toJsonString("next"), read(false).body);
+    }
+
+    @Test
+    public void rejectsOversizedBody() throws IOException {
+        write("POST /http/echo HTTP/1.1\r\nHost: localhost\r\nContent-Type: application/json\r\n"
+                + "Content-Length: " + (MAX_BODY_BYTES + 1) + "\r\n\r\n");
+        Response response = read(false);
+        assertEquals(413, response.status);
+        assertEquals("close", response.header("connection"));
+        assertTrue(response.body, JSON.parseObject(response.body).getString("message").contains(String.valueOf(MAX_BODY_BYTES)));
+        assertClosed();
+    }
+
+    @Test
+    public void rejectsOversizedHeader() throws IOException {
+        StringBuilder padding = new StringBuilder();
+        while (padding.length() <= MAX_HEADER_BYTES) {
+            padding.append('x');
+        }
+        // 请求头没有结束, 缓冲的字节超过上限时即拒绝
+        write("GET /http/sleep?ms=0&tag=a HTTP/1.1\r\nHost: localhost\r\nX-Padding: " + padding);
+        Response response = read(false);
+        assertEquals(431, response.status);
+        assertEquals("close", response.header("connection"));
+        assertClosed();
+    }
+
+    @Test
+    public void closesIdleConnection() throws IOException {
+        write(get("/http/sleep?ms=0&tag=a"));
+        assertEquals(200, read(false).status);
+        // 空闲超时后服务端关闭连接, 读到流结束而不是超时
+        long start = System.nanoTime();
+        assertClosed();
+        assertTrue((System.nanoTime() - start) / 1000000 >= IDLE_TIMEOUT_MILLIS - 50);
+    }
+
+    @Test
+    public void answersHeadWithoutBody() throws IOException {
+        write(get("/http/hello?name=a"));
+        Response get = read(false);
+        assertEquals(200, get.status);
+        write("HEAD /http/hello?name=a HTTP/1.1\r\nHost: localhost\r\n\r\n");
+        Response head = read(true);
+        assertEquals(200, head.status);
+        assertEquals(get.header("content-length"), head.header("content-length"));
+        assertEquals(get.header("content-type"), head.header("content-type"));
+        assertEquals("", head.body);
+        // 连接中没有多余的响应体, 之后的响应可以正常解析
+        write(get("/http/hello?name=b"));
+        assertEquals(ResultWriter.toJsonString("hello b"), read(false).body);
+    }
+
+    private static String get(String target) {
+        return "GET " + target + " HTTP/1.1\r\nHost: localhost\r\n\r\n";
+    }
+
+    private void write(String text) throws IOException {
+        OutputStream out = socket.getOutputStream();
+        out.write(text.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    /**
+     * 读取一个响应
+     * @param head 是否为 HEAD 请求的响应, 此时不读取响应体
+     */
+    private Response read(boolean head) throws IOException {
+        Response response = new Response();
+        String statusLine = readLine();
+        response.status = Integer.parseInt(statusLine.split(" ")[1]);
+        for (String line = readLine(); !line.isEmpty(); line = readLine()) {
+            int colon = line.indexOf(':');
+            response.headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+        }
+        int length = head ? 0 : Integer.parseInt(response.header("content-length"));
+        byte[] body = new byte[length];
+        InputStream in = socket.getInputStream();
+        for (int offset = 0; offset < length; ) {
+            int read = in.read(body, offset, length - offset);
+            if (read < 0) {
+                fail("响应体不完整");
+            }
+            offset += read;
+        }
+        response.body = new String(body, StandardCharsets.UTF_8);
+        return response;
+    }
+
+    private String readLine() throws IOException {
+        InputStream in = socket.getInputStream();
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        for (int b = in.read(); b != '\n'; b = in.read()) {
+            if (b < 0) {
+                fail("连接已关闭");
+            }
+            if (b != '\r') {
+                line.write(b);
+            }
+        }
+        return new String(line.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private void assertClosed() throws IOException {
+        try {
+            assertEquals(-1, socket.getInputStream().read());
+        } catch (SocketTimeoutException e) {
+            fail("服务端没有关闭连接");
+        } catch (IOException e) {
+            // 连接被重置, 同样视为已关闭
+        }
+    }
+
+    private static final class Response {
+
+        private int status;
+
+        private final Map<String, String> headers = new HashMap<>();
+
+        private String body;
+
+        private String header(String name) {
+            return headers.get(name);
+        }
+    }
+
+    @RequestMapping("/http")
+    public static class SampleController {
+
+        @RemoteMethod
+        @GetMapping("/sleep")
+        public String sleep(@RequestParam("ms") long ms, @RequestParam("tag") String tag) throws InterruptedException {
+            Thread.sleep(ms);
+            return tag;
+        }
+
+        @RemoteMethod
+        @PostMapping("/echo")
+        public String echo(@RequestParam("text") String text) {
+            return text;
+        }
+
+        /**
+         * 不限定 method, 同时响应 GET 与 HEAD
+         */
+        @RemoteMethod
+        @RequestMapping("/hello")
+        public String hello(@RequestParam("name") String name) {
+            return "hello " + name;
+        }
+    }
+}